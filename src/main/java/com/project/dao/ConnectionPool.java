@@ -0,0 +1,244 @@
+package com.project.dao;
+
+import java.sql.Connection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Pool de connexions HikariCP que fa servir la SessionFactory del Manager.
+ *
+ * PROBLEMA:
+ * El pool intern d'Hibernate (hibernate.connection.pool_size) no està pensat
+ * per producció: amb càrrega concurrent els fils es disputen les connexions
+ * i obtenir-ne una acaba sent la major part de la latència.
+ *
+ * SOLUCIÓ:
+ * - Es crea un HikariDataSource amb les mateixes propietats de connexió
+ *   (jakarta.persistence.jdbc.url, driver, user i password, o els noms
+ *   antics hibernate.connection.*, i les propietats del driver) i
+ *   Hibernate el rep com a DataSource
+ * - Les opcions del pool es llegeixen de hibernate.hikari.* amb els noms de
+ *   HikariConfig (maximumPoolSize, minimumIdle, connectionTimeout...).
+ *   Si no hi ha maximumPoolSize es fa servir hibernate.connection.pool_size
+ * - Les connexions es lliuren amb autocommit desactivat: Hibernate no l'ha
+ *   de canviar a cada transacció i pot endarrerir l'obtenció de la connexió
+ *   fins a la primera sentència
+ * - Un MetricsTracker propi compta les obtencions i el temps d'espera
+ *
+ * El pool el tanca el Manager a close(), després de la SessionFactory.
+ */
+final class ConnectionPool implements AutoCloseable {
+
+    /** Prefix de les opcions de HikariConfig a les propietats. */
+    static final String HIKARI_PREFIX = "hibernate.hikari.";
+
+    private static final String POOL_NAME = "project-pool";
+
+    /*
+     * Noms antics de les propietats jakarta.persistence.jdbc.* (obsolets a
+     * AvailableSettings). Només es llegeixen, com a alternativa, perquè els
+     * fitxers de propietats encara els fan servir.
+     */
+    static final String LEGACY_URL = "hibernate.connection.url";
+    static final String LEGACY_DRIVER = "hibernate.connection.driver_class";
+    static final String LEGACY_USER = "hibernate.connection.username";
+    static final String LEGACY_PASSWORD = "hibernate.connection.password";
+    static final String LEGACY_DATASOURCE = "hibernate.connection.datasource";
+
+    private static final String CONNECTION_PREFIX = AvailableSettings.CONNECTION_PREFIX + ".";
+    private static final String ISOLATION = "hibernate.connection.isolation";
+
+    /**
+     * Propietats hibernate.connection.* que són d'Hibernate i no del driver.
+     * La resta es passen al driver sense el prefix.
+     */
+    private static final Set<String> HIBERNATE_CONNECTION_SETTINGS = Set.of(
+            LEGACY_URL, LEGACY_DRIVER, LEGACY_USER, LEGACY_PASSWORD, LEGACY_DATASOURCE, ISOLATION,
+            "hibernate.connection.pool_size",
+            "hibernate.connection.autocommit",
+            "hibernate.connection.provider_class",
+            "hibernate.connection.provider_disables_autocommit",
+            "hibernate.connection.handling_mode");
+
+    /** Nivells d'aïllament de java.sql.Connection amb el nom que espera HikariConfig. */
+    private static final Map<Integer, String> ISOLATION_LEVELS = Map.of(
+            Connection.TRANSACTION_NONE, "TRANSACTION_NONE",
+            Connection.TRANSACTION_READ_UNCOMMITTED, "TRANSACTION_READ_UNCOMMITTED",
+            Connection.TRANSACTION_READ_COMMITTED, "TRANSACTION_READ_COMMITTED",
+            Connection.TRANSACTION_REPEATABLE_READ, "TRANSACTION_REPEATABLE_READ",
+            Connection.TRANSACTION_SERIALIZABLE, "TRANSACTION_SERIALIZABLE");
+
+    private final HikariDataSource dataSource;
+    private final AcquireTracker tracker = new AcquireTracker();
+
+    private ConnectionPool(HikariConfig config) {
+        config.setMetricsTrackerFactory(tracker);
+        this.dataSource = new HikariDataSource(config);
+    }
+
+    /**
+     * Crea el pool amb les propietats de la configuració d'Hibernate.
+     * Obre les connexions mínimes: si la BD no és accessible falla aquí.
+     */
+    static ConnectionPool create(Properties settings) {
+        Properties hikari = new Properties();
+        Properties driver = new Properties();
+        for (String name : settings.stringPropertyNames()) {
+            String value = settings.getProperty(name);
+            if (name.startsWith(HIKARI_PREFIX)) {
+                hikari.setProperty(name.substring(HIKARI_PREFIX.length()), value);
+            } else if (name.startsWith(CONNECTION_PREFIX) && !HIBERNATE_CONNECTION_SETTINGS.contains(name)) {
+                // Propietats del driver (hibernate.connection.foreign_keys -> foreign_keys...)
+                driver.setProperty(name.substring(CONNECTION_PREFIX.length()), value);
+            }
+        }
+
+        HikariConfig config = new HikariConfig(hikari);
+        if (config.getPoolName() == null) {
+            config.setPoolName(POOL_NAME);
+        }
+        String url = jdbcSetting(settings, AvailableSettings.JAKARTA_JDBC_URL, LEGACY_URL);
+        String driverClass = jdbcSetting(settings, AvailableSettings.JAKARTA_JDBC_DRIVER, LEGACY_DRIVER);
+        String user = jdbcSetting(settings, AvailableSettings.JAKARTA_JDBC_USER, LEGACY_USER);
+        String password = jdbcSetting(settings, AvailableSettings.JAKARTA_JDBC_PASSWORD, LEGACY_PASSWORD);
+        if (config.getJdbcUrl() == null && config.getDataSourceClassName() == null) {
+            config.setJdbcUrl(url);
+        }
+        if (config.getDriverClassName() == null && driverClass != null) {
+            config.setDriverClassName(driverClass);
+        }
+        if (config.getUsername() == null && user != null) {
+            config.setUsername(user);
+        }
+        if (config.getPassword() == null && password != null) {
+            config.setPassword(password);
+        }
+        if (!hikari.containsKey("maximumPoolSize") && settings.getProperty(AvailableSettings.POOL_SIZE) != null) {
+            config.setMaximumPoolSize(Integer.parseInt(settings.getProperty(AvailableSettings.POOL_SIZE).trim()));
+        }
+        if (!hikari.containsKey("autoCommit")) {
+            config.setAutoCommit(false);
+        }
+        String isolation = settings.getProperty(ISOLATION);
+        if (isolation != null && config.getTransactionIsolation() == null) {
+            config.setTransactionIsolation(isolationName(isolation));
+        }
+        driver.forEach((key, value) -> config.addDataSourceProperty((String) key, value));
+
+        return new ConnectionPool(config);
+    }
+
+    /**
+     * Valor d'una propietat de connexió: el nom jakarta.persistence.jdbc.* o,
+     * si no hi és, el nom antic hibernate.connection.*.
+     */
+    static String jdbcSetting(Properties settings, String jakartaName, String legacyName) {
+        String value = settings.getProperty(jakartaName);
+        return value != null ? value : settings.getProperty(legacyName);
+    }
+
+    /**
+     * Nom TRANSACTION_* d'un hibernate.connection.isolation donat com a
+     * número (2) o com a nom (READ_COMMITTED o TRANSACTION_READ_COMMITTED).
+     */
+    static String isolationName(String isolation) {
+        String value = isolation.trim();
+        if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+            String name = ISOLATION_LEVELS.get(Integer.parseInt(value));
+            if (name == null) {
+                throw new IllegalArgumentException(ISOLATION + " no és un nivell d'aïllament: " + isolation);
+            }
+            return name;
+        }
+        String name = value.toUpperCase(Locale.ROOT);
+        if (!name.startsWith("TRANSACTION_")) {
+            name = "TRANSACTION_" + name;
+        }
+        if (!ISOLATION_LEVELS.containsValue(name)) {
+            throw new IllegalArgumentException(ISOLATION + " no és un nivell d'aïllament: " + isolation);
+        }
+        return name;
+    }
+
+    DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Indica si les connexions surten del pool amb autocommit desactivat.
+     */
+    boolean disablesAutoCommit() {
+        return !dataSource.isAutoCommit();
+    }
+
+    PoolMetrics metrics() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        long acquisitions = tracker.acquisitions.sum();
+        double totalMillis = tracker.acquireNanos.sum() / 1_000_000.0;
+        return new PoolMetrics(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection(),
+                dataSource.getMaximumPoolSize(),
+                acquisitions,
+                tracker.timeouts.sum(),
+                acquisitions == 0 ? 0.0 : totalMillis / acquisitions,
+                tracker.maxAcquireNanos.get() / 1_000_000.0);
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    /**
+     * Recull el temps d'obtenció de cada connexió. HikariCP el crida des
+     * dels fils que demanen connexions, per això fa servir comptadors
+     * sense bloqueig.
+     */
+    private static final class AcquireTracker implements MetricsTrackerFactory, IMetricsTracker {
+
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            return this;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquisitions.increment();
+            acquireNanos.add(elapsedAcquiredNanos);
+            maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        @Override
+        public void close() {
+            // Res a alliberar: els comptadors es consulten fins que es crea un pool nou
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.dao;
+
+/**
+ * Resultat de Manager.searchContacts: les dades del contacte que guarda
+ * l'índex de cerca, sense carregar l'entitat Contact.
+ *
+ * @param contactId ID del contacte
+ * @param employeeId ID de l'empleat propietari
+ * @param contactType Tipus de contacte (EMAIL, PHONE...)
+ * @param value Valor del contacte tal com està a la BD
+ */
+public record ContactMatch(long contactId, long employeeId, String contactType, String value) {
+}
@@ -0,0 +1,353 @@
+package com.project.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índex en memòria de trigrames sobre Contact.value per cerques per
+ * fragment (conté) i per prefix (comença per).
+ *
+ * ESTRUCTURA:
+ * - Cada contacte ocupa una posició (slot) en arrays paral·lels: ID,
+ *   empleat, tipus, valor i valor en minúscules
+ * - Per cada trigrama (3 caràcters seguits) del valor en minúscules hi ha
+ *   una llista de slots ordenada (els slots s'assignen en ordre creixent)
+ * - El valor s'indexa amb una marca d'inici davant: el trigrama
+ *   (marca, c0, c1) només apareix als valors que comencen per c0c1, i
+ *   serveix les cerques per prefix
+ *
+ * CERCA:
+ * - Es recorre la llista del trigrama MÉS RAR del fragment i cada candidat
+ *   es verifica amb contains/startsWith (un trigrama no garanteix l'ordre)
+ * - S'atura en arribar al límit
+ * - Fragments de menys de 3 caràcters (2 amb prefix) no tenen trigrama
+ *   i es recorren tots els slots
+ *
+ * ACTUALITZACIONS:
+ * - Eliminar o modificar un contacte deixa el slot antic buit (no es treu
+ *   de les llistes: la verificació el descarta)
+ * - Després de cada put, update o remove, si els slots buits superen els
+ *   vius es compacta tot: un contacte modificat moltes vegades no fa créixer
+ *   els arrays ni les llistes
+ *
+ * CONCURRÈNCIA: les cerques comparteixen un lock de lectura i les
+ * escriptures prenen el d'escriptura. Cada put, update o remove incrementa
+ * updateCount: load() rep el valor d'abans de llegir la taula i indica si
+ * entremig s'ha aplicat algun canvi que la lectura podria no incloure.
+ *
+ * El manté el Manager: es construeix a partir de la taula contacts i
+ * s'actualitza després de cada commit que la modifica.
+ */
+final class ContactSearchIndex {
+
+    private static final char START = '\u0002';
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] contactIds = new long[INITIAL_CAPACITY];
+    private long[] employeeIds = new long[INITIAL_CAPACITY];
+    private String[] types = new String[INITIAL_CAPACITY];
+    private String[] values = new String[INITIAL_CAPACITY];
+    private String[] folded = new String[INITIAL_CAPACITY];  // null = slot buit
+    private int size;
+    private int live;
+    private long updateCount;
+
+    private final Map<Long, Integer> slotByContact = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Llista de slots d'un trigrama, ordenada i sense repetits.
+     */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size > 0 && slots[size - 1] == slot) return;  // trigrama repetit al mateix valor
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+    }
+
+    // ================================================================
+    // CONSTRUCCIÓ
+    // ================================================================
+
+    /**
+     * Substitueix tot el contingut pels contactes de 0 a count.
+     *
+     * @param readFrom updateCount() d'abans de llegir els contactes
+     * @return false si des de readFrom s'ha aplicat algun canvi: els
+     *         contactes poden ser més antics i l'índex s'ha de tornar a llegir
+     */
+    boolean load(long[] ids, long[] owners, String[] contactTypes, String[] contactValues, int count,
+                 long readFrom) {
+        lock.writeLock().lock();
+        try {
+            clear(Math.max(INITIAL_CAPACITY, count));
+            for (int i = 0; i < count; i++) {
+                append(ids[i], owners[i], contactTypes[i], contactValues[i]);
+            }
+            return updateCount == readFrom;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre de canvis incrementals aplicats fins ara (veure load).
+     */
+    long updateCount() {
+        lock.readLock().lock();
+        try {
+            return updateCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear(int capacity) {
+        contactIds = new long[capacity];
+        employeeIds = new long[capacity];
+        types = new String[capacity];
+        values = new String[capacity];
+        folded = new String[capacity];
+        size = 0;
+        live = 0;
+        slotByContact.clear();
+        postings.clear();
+    }
+
+    // ================================================================
+    // CONSULTES
+    // ================================================================
+
+    /**
+     * Contactes el valor dels quals conté el fragment (sense distingir
+     * majúscules), com a màxim limit.
+     */
+    List<ContactMatch> search(String fragment, int limit) {
+        return find(fold(fragment), false, limit);
+    }
+
+    /**
+     * Contactes el valor dels quals comença pel prefix (sense distingir
+     * majúscules), com a màxim limit.
+     */
+    List<ContactMatch> searchPrefix(String prefix, int limit) {
+        return find(fold(prefix), true, limit);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Slots reservats (vius, buits i lliures): no creix si només es
+     * modifiquen contactes que ja hi són.
+     */
+    int capacity() {
+        lock.readLock().lock();
+        try {
+            return contactIds.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Total d'entrades a les llistes de trigrames, incloses les que apunten
+     * a slots buits.
+     */
+    long postingEntries() {
+        lock.readLock().lock();
+        try {
+            long entries = 0;
+            for (Postings list : postings.values()) {
+                entries += list.size;
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<ContactMatch> find(String text, boolean prefix, int limit) {
+        String pattern = prefix ? START + text : text;
+        List<ContactMatch> result = new ArrayList<>(Math.min(limit, 64));
+        lock.readLock().lock();
+        try {
+            if (pattern.length() < 3) {
+                for (int slot = 0; slot < size && result.size() < limit; slot++) {
+                    collect(slot, text, prefix, result);
+                }
+                return result;
+            }
+            Postings rarest = null;
+            for (int i = 0; i + 3 <= pattern.length(); i++) {
+                Postings candidate = postings.get(trigram(pattern, i));
+                if (candidate == null) return result;  // cap valor té aquest trigrama
+                if (rarest == null || candidate.size < rarest.size) rarest = candidate;
+            }
+            for (int i = 0; i < rarest.size && result.size() < limit; i++) {
+                collect(rarest.slots[i], text, prefix, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(int slot, String text, boolean prefix, List<ContactMatch> result) {
+        String value = folded[slot];
+        if (value != null && (prefix ? value.startsWith(text) : value.contains(text))) {
+            result.add(new ContactMatch(contactIds[slot], employeeIds[slot], types[slot], values[slot]));
+        }
+    }
+
+    // ================================================================
+    // ACTUALITZACIONS INCREMENTALS
+    // ================================================================
+
+    /**
+     * Afegeix un contacte o en substitueix les dades si ja hi era.
+     */
+    void put(long contactId, long employeeId, String contactType, String value) {
+        lock.writeLock().lock();
+        try {
+            updateCount++;
+            free(contactId);
+            append(contactId, employeeId, contactType, value);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Canvia el tipus i el valor d'un contacte existent (mateix empleat).
+     * No fa res si el contacte no hi és.
+     */
+    void update(long contactId, String contactType, String value) {
+        lock.writeLock().lock();
+        try {
+            updateCount++;
+            Integer slot = slotByContact.get(contactId);
+            if (slot != null) {
+                long employeeId = employeeIds[slot];
+                free(contactId);
+                append(contactId, employeeId, contactType, value);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long contactId) {
+        lock.writeLock().lock();
+        try {
+            updateCount++;
+            free(contactId);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Treu tots els contactes d'un empleat eliminat (recorre els slots).
+     */
+    void removeEmployee(long employeeId) {
+        lock.writeLock().lock();
+        try {
+            updateCount++;
+            for (int slot = 0; slot < size; slot++) {
+                if (folded[slot] != null && employeeIds[slot] == employeeId) {
+                    free(contactIds[slot]);
+                }
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(long contactId, long employeeId, String contactType, String value) {
+        if (size == contactIds.length) {
+            int capacity = size * 2;
+            contactIds = Arrays.copyOf(contactIds, capacity);
+            employeeIds = Arrays.copyOf(employeeIds, capacity);
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+            folded = Arrays.copyOf(folded, capacity);
+        }
+        int slot = size++;
+        String text = fold(value);
+        contactIds[slot] = contactId;
+        employeeIds[slot] = employeeId;
+        types[slot] = contactType;
+        values[slot] = value;
+        folded[slot] = text;
+        slotByContact.put(contactId, slot);
+        live++;
+
+        String indexed = START + text;
+        for (int i = 0; i + 3 <= indexed.length(); i++) {
+            postings.computeIfAbsent(trigram(indexed, i), k -> new Postings()).add(slot);
+        }
+    }
+
+    private void free(long contactId) {
+        Integer slot = slotByContact.remove(contactId);
+        if (slot != null) {
+            folded[slot] = null;
+            types[slot] = null;
+            values[slot] = null;
+            live--;
+        }
+    }
+
+    /**
+     * Torna a indexar els contactes vius si els slots buits són majoria.
+     */
+    private void compactIfSparse() {
+        if (size < INITIAL_CAPACITY || size - live <= live) {
+            return;
+        }
+        long[] ids = contactIds;
+        long[] owners = employeeIds;
+        String[] contactTypes = types;
+        String[] contactValues = values;
+        String[] texts = folded;
+        int count = size;
+        clear(Math.max(INITIAL_CAPACITY, live * 2));
+        for (int slot = 0; slot < count; slot++) {
+            if (texts[slot] != null) {
+                append(ids[slot], owners[slot], contactTypes[slot], contactValues[slot]);
+            }
+        }
+    }
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32)
+             | ((long) text.charAt(start + 1) << 16)
+             | text.charAt(start + 2);
+    }
+}
@@ -0,0 +1,332 @@
+package com.project.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.project.domain.Contact;
+
+/**
+ * Buffer d'escriptura diferida (write-behind) per a altes i canvis de contactes.
+ *
+ * PROBLEMA:
+ * Un feed que envia milers de contactes per segon fa un addContactToEmployee
+ * per cada un: sessió, transacció i commit per fila.
+ *
+ * SOLUCIÓ (project.contact_buffer=true):
+ * - submit() deixa l'escriptura a una cua acotada i retorna un future
+ *   sense esperar la BD
+ * - Un fil propi buida la cua per lots: quan n'hi ha batchSize o quan la
+ *   primera escriptura del lot fa flushMillis que espera, el que passi abans
+ * - Cada lot s'escriu en una sola transacció (veure Manager.writeContacts)
+ *   i els futures es completen després del commit
+ * - Si el lot falla, cada escriptura es torna a provar sola: només fallen
+ *   les que tenen l'error. Amb un Error (OutOfMemoryError...) no es torna a
+ *   provar res: fallen totes les del lot i el fil continua
+ *
+ * MEMÒRIA I CONTRAPRESSIÓ:
+ * La cua té capacity places. Quan és plena, submit() bloqueja el fil que
+ * escriu fins que el buffer en buida un lot: el productor va al ritme de la BD.
+ *
+ * TANCAMENT:
+ * close() espera els submit() en curs, deixa d'acceptar-ne i escriu tot
+ * el que queda a la cua abans d'aturar el fil.
+ *
+ * Si el fil s'atura per un error inesperat, les escriptures encuades i les
+ * que arribin després fallen amb aquest error: ni submit() ni close()
+ * esperen un fil que ja no buida la cua.
+ */
+final class ContactWriteBuffer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactWriteBuffer.class);
+
+    private static final String THREAD_NAME = "project-contact-buffer";
+
+    /** Cada quant es torna a mirar si el fil s'ha aturat amb la cua plena. */
+    private static final long OFFER_RETRY_MILLIS = 100;
+
+    /**
+     * Alta (contactId null) o canvi d'un contacte.
+     */
+    record ContactWrite(Long contactId, long employeeId, String contactType,
+                        String value, String description) {
+
+        static ContactWrite insert(long employeeId, String contactType, String value, String description) {
+            return new ContactWrite(null, employeeId, contactType, value, description);
+        }
+
+        static ContactWrite update(long contactId, String contactType, String value, String description) {
+            return new ContactWrite(contactId, 0L, contactType, value, description);
+        }
+
+        boolean isInsert() {
+            return contactId == null;
+        }
+    }
+
+    /**
+     * Element de la cua: una escriptura, una petició de flush() o el final.
+     */
+    private record Pending(ContactWrite write, CompletableFuture<Contact> future, Kind kind) {}
+
+    private enum Kind { WRITE, FLUSH, STOP }
+
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final long flushNanos;
+    private final Function<List<ContactWrite>, List<Contact>> writer;
+    private final Thread flusher;
+
+    /** submit() la fa servir en lectura i close() en escriptura (veure close). */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    /** Error que ha aturat el fil (null mentre funciona). */
+    private volatile Throwable failure;
+
+    /**
+     * @param writer Escriu un lot en una transacció i retorna el contacte de
+     *               cada escriptura, en ordre (null si l'empleat o el contacte
+     *               no existeix)
+     */
+    ContactWriteBuffer(int capacity, int batchSize, long flushMillis,
+                       Function<List<ContactWrite>, List<Contact>> writer) {
+        if (capacity <= 0 || batchSize <= 0 || flushMillis < 0) {
+            throw new IllegalArgumentException("Configuració del buffer invàlida: capacity=" + capacity
+                    + ", batchSize=" + batchSize + ", flushMillis=" + flushMillis);
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.writer = writer;
+        this.flusher = new Thread(this::run, THREAD_NAME);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Encua una escriptura. Si la cua és plena, espera que n'hi hagi lloc.
+     *
+     * @throws IllegalStateException si el buffer ja està tancat
+     */
+    CompletableFuture<Contact> submit(ContactWrite write) {
+        return enqueue(new Pending(write, new CompletableFuture<>(), Kind.WRITE));
+    }
+
+    /**
+     * Escriu tot el que s'ha encuat fins ara, sense esperar el lot ni el temps.
+     * El future es completa quan totes aquestes escriptures s'han acabat.
+     */
+    CompletableFuture<Contact> flush() {
+        return enqueue(new Pending(null, new CompletableFuture<>(), Kind.FLUSH));
+    }
+
+    private CompletableFuture<Contact> enqueue(Pending pending) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("El buffer de contactes està tancat");
+            }
+            if (!offer(pending)) {
+                throw new IllegalStateException("El fil del buffer de contactes s'ha aturat", failure);
+            }
+            if (failure != null) {
+                // El fil s'ha aturat després de buidar la cua: ningú no l'escriurà
+                failPending(failure);
+            }
+            return pending.future();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Escriptures encuades que encara no s'han escrit.
+     */
+    int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Deixa d'acceptar escriptures, escriu les pendents i atura el fil.
+     *
+     * El bloqueig d'escriptura espera els submit() que estan bloquejats
+     * amb la cua plena (el fil la continua buidant), així cap escriptura
+     * no queda darrere de la marca de final.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            offer(new Pending(null, null, Kind.STOP));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            failPending(failure);
+        }
+        logger.info("Buffer de contactes tancat");
+    }
+
+    /**
+     * Encua esperant lloc mentre el fil funcioni.
+     *
+     * @return false si el fil s'ha aturat (la cua no es buidarà)
+     */
+    private boolean offer(Pending pending) throws InterruptedException {
+        while (!queue.offer(pending, OFFER_RETRY_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (failure != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Treu de la cua tot el que hi queda i en fa fallar els futures.
+     */
+    private void failPending(Throwable cause) {
+        List<Pending> orphans = new ArrayList<>();
+        queue.drainTo(orphans);
+        for (Pending pending : orphans) {
+            if (pending.future() != null) {
+                pending.future().completeExceptionally(cause);
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            flushUntilStopped();
+        } catch (Throwable e) {
+            // Primer l'error i després buidar: qui encua després ho veu (veure enqueue)
+            logger.error("El fil del buffer de contactes s'ha aturat", e);
+            failure = e;
+            failPending(e);
+        }
+    }
+
+    private void flushUntilStopped() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        List<Pending> flushRequests = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            Pending first = take();
+            stop = first.kind() == Kind.STOP;
+            add(first, batch, flushRequests);
+            // Es completa el lot fins a batchSize o fins que passi flushNanos
+            long deadline = System.nanoTime() + flushNanos;
+            while (!stop && flushRequests.isEmpty() && batch.size() < batchSize) {
+                Pending next = poll(deadline - System.nanoTime());
+                if (next == null) {
+                    break;
+                }
+                stop = next.kind() == Kind.STOP;
+                add(next, batch, flushRequests);
+            }
+            try {
+                write(batch);
+            } catch (Throwable e) {
+                fail(batch, e);
+            }
+            batch.clear();
+            for (Pending request : flushRequests) {
+                request.future().complete(null);
+            }
+            flushRequests.clear();
+        }
+    }
+
+    private static void add(Pending pending, List<Pending> batch, List<Pending> flushRequests) {
+        if (pending.kind() == Kind.WRITE) {
+            batch.add(pending);
+        } else if (pending.kind() == Kind.FLUSH) {
+            flushRequests.add(pending);
+        }
+    }
+
+    private Pending take() {
+        while (true) {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                // Només la marca de final atura el fil
+            }
+        }
+    }
+
+    private Pending poll(long nanos) {
+        if (nanos <= 0) {
+            return null;
+        }
+        try {
+            return queue.poll(nanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            return null;
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ContactWrite> writes = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            writes.add(pending.write());
+        }
+        try {
+            List<Contact> contacts = writer.apply(writes);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(contacts.get(i));
+            }
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future().completeExceptionally(e);
+                return;
+            }
+            logger.warn("Error escrivint un lot de {} contactes: es tornen a provar un a un", batch.size(), e);
+        } catch (Error e) {
+            logger.error("Error greu escrivint un lot de {} contactes: fallen totes", batch.size(), e);
+            fail(batch, e);
+            return;
+        }
+        for (Pending pending : batch) {
+            try {
+                pending.future().complete(writer.apply(List.of(pending.write())).get(0));
+            } catch (Throwable e) {
+                pending.future().completeExceptionally(e);
+            }
+        }
+    }
+
+    private static void fail(List<Pending> batch, Throwable error) {
+        for (Pending pending : batch) {
+            pending.future().completeExceptionally(error);
+        }
+    }
+}
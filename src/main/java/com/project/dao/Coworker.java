@@ -0,0 +1,15 @@
+package com.project.dao;
+
+/**
+ * Company d'un empleat: algú que comparteix almenys un projecte amb ell.
+ *
+ * Projecció (DTO) de findCoworkers(): el recompte de projectes compartits
+ * es calcula a la BD amb una sola consulta sobre employee_project.
+ *
+ * @param id ID del company
+ * @param firstName Nom
+ * @param lastName Cognom
+ * @param sharedProjects Nombre de projectes que comparteixen
+ */
+public record Coworker(long id, String firstName, String lastName, long sharedProjects) {
+}
@@ -0,0 +1,34 @@
+package com.project.dao;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Condició WHERE per a les operacions massives del Manager (Criteria API).
+ *
+ * Es construeix amb el CriteriaBuilder i l'arrel de l'entitat, així la
+ * condició és tipada i no cal concatenar HQL ni SQL. Exemple:
+ *
+ *   Manager.adjustSalaries((cb, e) -> cb.lt(e.get("salary"), 30000), 5.0);
+ *
+ * @param <T> Entitat sobre la qual s'aplica la condició
+ */
+@FunctionalInterface
+public interface CriteriaFilter<T> {
+
+    /**
+     * Construeix el predicat per l'arrel indicada.
+     *
+     * @param cb CriteriaBuilder de la sessió
+     * @param root Arrel de l'UPDATE o DELETE
+     */
+    Predicate toPredicate(CriteriaBuilder cb, Root<T> root);
+
+    /**
+     * Filtre que accepta totes les files.
+     */
+    static <T> CriteriaFilter<T> all() {
+        return (cb, root) -> cb.conjunction();
+    }
+}
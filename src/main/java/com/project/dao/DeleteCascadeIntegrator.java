@@ -0,0 +1,70 @@
+package com.project.dao;
+
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Crea amb ON DELETE CASCADE les FK que apunten a employees des de contacts
+ * i employee_project, només en mode project.delete.cascade=database.
+ *
+ * PROBLEMA:
+ * Amb @OnDelete o foreignKeyDefinition a les entitats, la cascada quedaria
+ * a l'esquema en qualsevol mode: en mode orm un DELETE fet fora del Manager
+ * esborraria contactes i files de la taula pont sense que Hibernate ho sabés.
+ *
+ * SOLUCIÓ:
+ * El Manager el registra a cada SessionFactory (veure Manager.bootstrapRegistry).
+ * S'executa en construir-la, abans que hbm2ddl generi l'esquema, i en mode
+ * database marca les dues FK del model amb OnDeleteAction.CASCADE. Només
+ * canvia el DDL: els persisters no en depenen.
+ *
+ * NOTA: hbm2ddl.auto=update no modifica les FK d'unes taules que ja existeixen.
+ */
+final class DeleteCascadeIntegrator implements Integrator {
+
+    private static final String EMPLOYEES_TABLE = "employees";
+    private static final String EMPLOYEE_COLUMN = "employee_id";
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        if (!Manager.isDatabaseDeleteCascade(sessionFactory.getProperties())) {
+            return;
+        }
+        for (Table table : metadata.collectTableMappings()) {
+            if (!"contacts".equals(table.getName()) && !"employee_project".equals(table.getName())) {
+                continue;
+            }
+            for (ForeignKey fk : table.getForeignKeys().values()) {
+                if (referencesEmployee(fk)) {
+                    fk.setOnDeleteAction(OnDeleteAction.CASCADE);
+                }
+            }
+        }
+    }
+
+    private static boolean referencesEmployee(ForeignKey fk) {
+        if (fk.getReferencedTable() == null || !EMPLOYEES_TABLE.equals(fk.getReferencedTable().getName())) {
+            return false;
+        }
+        for (Column column : fk.getColumns()) {
+            if (EMPLOYEE_COLUMN.equals(column.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory,
+                             SessionFactoryServiceRegistry serviceRegistry) {
+        // Res a desfer: només ha canviat el model de l'esquema
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.dao;
+
+/**
+ * Resum d'un empleat per llistats de només lectura.
+ *
+ * És una projecció (DTO), no una entitat: Hibernate el construeix
+ * directament a partir de les columnes de la consulta, sense context de
+ * persistència, sense snapshots per dirty checking i sense col·leccions.
+ * Els recomptes es calculen a la mateixa SELECT.
+ *
+ * @param id ID de l'empleat
+ * @param firstName Nom
+ * @param lastName Cognom
+ * @param salary Salari
+ * @param contactCount Nombre de contactes
+ * @param projectCount Nombre de projectes assignats
+ */
+public record EmployeeSummary(long id, String firstName, String lastName, int salary,
+                              long contactCount, long projectCount) {
+}
@@ -3,28 +3,75 @@ package com.project.dao;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
-import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
 import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.boot.registry.BootstrapServiceRegistry;
+import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
 import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import jakarta.persistence.OneToMany;
-import jakarta.persistence.ManyToMany;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
 
 
 import com.project.domain.*;
@@ -53,6 +100,241 @@ public class Manager {
      */
     private static SessionFactory factory;
 
+    /**
+     * Índexs de les propietats col·lecció per classe d'entitat
+     * (veure initializeLazyCollections). Es buida en crear la SessionFactory.
+     */
+    private static final Map<Class<?>, int[]> lazyCollectionIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Mida del batch JDBC si hibernate.jdbc.batch_size no està configurat.
+     */
+    private static final int DEFAULT_JDBC_BATCH_SIZE = 50;
+
+    /**
+     * Fetch size JDBC de streamCollection si hibernate.jdbc.fetch_size no està configurat.
+     */
+    private static final int DEFAULT_JDBC_FETCH_SIZE = 1_000;
+
+    /**
+     * Nombre de files per transacció a les insercions massives.
+     */
+    public static final int DEFAULT_COMMIT_CHUNK_SIZE = 10_000;
+
+    /**
+     * Màxim d'IDs per clàusula IN a les operacions massives
+     * (SQLite i altres BD limiten el nombre de paràmetres per sentència).
+     */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    /**
+     * Propietat que tria com s'eliminen els empleats (veure deleteEmployee):
+     * - orm (per defecte): Hibernate carrega l'empleat i esborra fill a fill
+     * - database: un sol DELETE i la BD esborra en cascada (ON DELETE CASCADE)
+     */
+    public static final String DELETE_CASCADE_SETTING = "project.delete.cascade";
+
+    public static final String DELETE_CASCADE_ORM = "orm";
+    public static final String DELETE_CASCADE_DATABASE = "database";
+
+    /**
+     * Region de la cache de consultes per findEmployeesByContactType i
+     * findEmployeesByProject (límits a ehcache.xml).
+     */
+    public static final String EMPLOYEE_LOOKUP_CACHE_REGION = "lookups.employees";
+
+    /**
+     * Propietat que activa les sessions de només lectura a les consultes
+     * (getById, listCollection, find*, page*...). Per defecte: true.
+     */
+    public static final String READ_ONLY_QUERIES_SETTING = "project.query.read_only";
+
+    /**
+     * Propietat de sessió que marca que la connexió JDBC s'ha posat en només lectura.
+     */
+    static final String JDBC_READ_ONLY_PROPERTY = "project.jdbc_read_only";
+
+    private static volatile boolean readOnlyQueries = true;
+    private static volatile boolean jdbcReadOnlySupported = true;
+
+    /**
+     * Propietat que activa l'índex en memòria d'employee_project
+     * (veure findEmployeeIdsByProject). Per defecte: true.
+     */
+    public static final String MEMBERSHIP_INDEX_SETTING = "project.membership_index";
+
+    /**
+     * Índex de membres dels projectes (null si està desactivat).
+     * Es marca com a obsolet quan employee_project canvia amb SQL que el
+     * Manager no pot interpretar (queryUpdate) i es reconstrueix en la següent consulta.
+     */
+    private static volatile MembershipIndex membershipIndex;
+    private static volatile boolean membershipIndexStale;
+
+    /**
+     * Propietat que activa l'índex de cerca en memòria de Contact.value
+     * (veure searchContacts). Per defecte: true.
+     */
+    public static final String CONTACT_SEARCH_INDEX_SETTING = "project.contact_search_index";
+
+    /**
+     * Índex de cerca de contactes (null si està desactivat). Es marca com a
+     * obsolet igual que l'índex de membres.
+     */
+    private static volatile ContactSearchIndex contactSearchIndex;
+    private static volatile boolean contactSearchIndexStale;
+
+    /**
+     * Locks per franges d'ID de contacte (veure withContactLocks).
+     */
+    private static final int CONTACT_LOCK_STRIPES = 64;
+    private static final ReentrantLock[] contactLocks = new ReentrantLock[CONTACT_LOCK_STRIPES];
+
+    static {
+        for (int i = 0; i < CONTACT_LOCK_STRIPES; i++) {
+            contactLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Propietat que activa el registre de sentències per revisar-ne els plans
+     * (veure findFullTableScans). Per defecte: false.
+     */
+    public static final String QUERY_PLAN_REPORT_SETTING = "project.query_plan_report";
+
+    private static volatile QueryPlanRecorder queryPlanRecorder;
+
+    /**
+     * Propietat que tria el pool de connexions JDBC:
+     * - hikari (per defecte): HikariCP, configurable amb hibernate.hikari.*
+     * - hibernate: el pool intern d'Hibernate (no apte per producció)
+     */
+    public static final String CONNECTION_POOL_SETTING = "project.connection.pool";
+
+    public static final String CONNECTION_POOL_HIKARI = "hikari";
+    public static final String CONNECTION_POOL_HIBERNATE = "hibernate";
+
+    /**
+     * Pool de la SessionFactory actual (null amb el pool intern d'Hibernate).
+     */
+    private static volatile ConnectionPool connectionPool;
+
+    /**
+     * Propietat que tria les pragmes de SQLite de cada connexió (veure
+     * applySQLiteSettings):
+     * - performance (per defecte): WAL, synchronous=NORMAL, cache i mmap grans,
+     *   temporals en memòria i busy_timeout
+     * - default: els valors per defecte de SQLite (journal_mode=DELETE)
+     * Cada pragma es pot canviar amb project.sqlite.<pragma> (p. ex.
+     * project.sqlite.cache_size) en qualsevol dels dos perfils.
+     */
+    public static final String SQLITE_PROFILE_SETTING = "project.sqlite.profile";
+
+    public static final String SQLITE_PROFILE_PERFORMANCE = "performance";
+    public static final String SQLITE_PROFILE_DEFAULT = "default";
+
+    private static final String SQLITE_PRAGMA_PREFIX = "project.sqlite.";
+
+    /**
+     * Pragmes del perfil performance.
+     * - journal_mode=WAL: els lectors no bloquegen l'escriptor ni a la inversa
+     * - synchronous=NORMAL: amb WAL només es fa fsync als checkpoints; un
+     *   tall de corrent pot perdre l'últim commit, però no corromp la BD
+     * - cache_size negatiu = KiB (64 MB de pàgines per connexió)
+     * - mmap_size: lectures sense còpia fins a 256 MB del fitxer
+     * - busy_timeout: espera fins a 5 s el bloqueig en lloc de SQLITE_BUSY
+     */
+    private static final Map<String, String> SQLITE_PERFORMANCE_PRAGMAS = Map.of(
+            "journal_mode", "WAL",
+            "synchronous", "NORMAL",
+            "cache_size", "-65536",
+            "mmap_size", "268435456",
+            "temp_store", "MEMORY",
+            "busy_timeout", "5000");
+
+    /**
+     * El mode del journal es desa al fitxer: sense tornar-lo a DELETE, una
+     * BD que ja s'havia obert amb WAL hi continuaria.
+     */
+    private static final Map<String, String> SQLITE_DEFAULT_PRAGMAS = Map.of(
+            "journal_mode", "DELETE");
+
+    /**
+     * synchronous en mode single_writer (si no hi ha project.sqlite.synchronous).
+     * El future d'una escriptura encuada es completa després del commit: amb
+     * NORMAL i WAL un tall de corrent podria perdre un commit ja confirmat a
+     * qui l'esperava. El commit agrupat reparteix el cost del fsync.
+     */
+    private static final String SQLITE_SINGLE_WRITER_SYNCHRONOUS = "FULL";
+
+    /**
+     * Propietat que tria com s'executen les escriptures del Manager:
+     * - direct (per defecte): cada operació obre la seva sessió i transacció
+     *   al fil que la crida
+     * - single_writer: totes passen per un únic fil escriptor que agrupa les
+     *   operacions encuades en un sol commit (veure WriteQueue)
+     */
+    public static final String WRITE_MODE_SETTING = "project.write_mode";
+
+    public static final String WRITE_MODE_DIRECT = "direct";
+    public static final String WRITE_MODE_SINGLE_WRITER = "single_writer";
+
+    /**
+     * Màxim d'operacions per commit agrupat en mode single_writer.
+     */
+    public static final String WRITE_BATCH_SIZE_SETTING = "project.write_batch_size";
+
+    private static final int DEFAULT_WRITE_BATCH_SIZE = 100;
+
+    /**
+     * Cua de l'escriptor únic (null en mode direct).
+     */
+    private static volatile WriteQueue writeQueue;
+
+    /**
+     * Propietat que activa el buffer d'escriptura diferida de contactes
+     * (addContactToEmployeeBuffered, updateContactBuffered). Per defecte false.
+     */
+    public static final String CONTACT_BUFFER_SETTING = "project.contact_buffer";
+
+    /**
+     * Màxim d'escriptures a la cua del buffer. Amb la cua plena, qui escriu espera.
+     */
+    public static final String CONTACT_BUFFER_CAPACITY_SETTING = "project.contact_buffer.capacity";
+
+    /**
+     * Màxim d'escriptures per transacció del buffer.
+     */
+    public static final String CONTACT_BUFFER_BATCH_SIZE_SETTING = "project.contact_buffer.batch_size";
+
+    /**
+     * Temps màxim (ms) que una escriptura espera que el seu lot s'ompli.
+     */
+    public static final String CONTACT_BUFFER_FLUSH_MILLIS_SETTING = "project.contact_buffer.flush_millis";
+
+    private static final int DEFAULT_CONTACT_BUFFER_CAPACITY = 10_000;
+    private static final int DEFAULT_CONTACT_BUFFER_BATCH_SIZE = 500;
+    private static final long DEFAULT_CONTACT_BUFFER_FLUSH_MILLIS = 100;
+
+    /**
+     * Buffer de contactes (null si project.contact_buffer=false).
+     */
+    private static volatile ContactWriteBuffer contactBuffer;
+
+    /**
+     * Fils de ManagerAsync, és a dir operacions asíncrones que poden tenir
+     * una connexió alhora. Per defecte, la mida màxima del pool de connexions.
+     */
+    public static final String ASYNC_THREADS_SETTING = "project.async.threads";
+
+    /** Mida per defecte del pool intern d'Hibernate (hibernate.connection.pool_size). */
+    private static final int DEFAULT_HIBERNATE_POOL_SIZE = 20;
+
+    /**
+     * Executor de ManagerAsync (null sense SessionFactory).
+     */
+    private static volatile ThreadPoolExecutor asyncExecutor;
+
     // ================================================================
     // MÈTODES DE CONFIGURACIÓ I INICIALITZACIÓ
     // ================================================================
@@ -64,24 +346,45 @@ public class Manager {
      * amb addAnnotatedClass() quan NO utilitzem persistence.xml
      */
     public static void createSessionFactory() {
+        // Si ja n'hi ha una, es tanca abans amb els seus serveis i el seu pool:
+        // el que tenien encuat s'escriu a la SessionFactory antiga
+        close();
         try {
-            Configuration configuration = new Configuration();
+            BootstrapServiceRegistry bootstrapRegistry = bootstrapRegistry();
+            Configuration configuration = new Configuration(bootstrapRegistry);
             
             // Registrar totes les entitats JPA
             // IMPORTANT: Si afegeixes una nova entitat, cal registrar-la aquí!
             configuration.addAnnotatedClass(Employee.class);
             configuration.addAnnotatedClass(Contact.class);
+            configuration.addAnnotatedClass(ContactType.class);
             configuration.addAnnotatedClass(Project.class);
+            applyDeleteCascadeSettings(configuration);
+            applySQLiteSettings(configuration);
+            applyQueryPlanSettings(configuration);
+            applyConnectionPoolSettings(configuration);
 
             // El ServiceRegistry gestiona els serveis d'Hibernate (connexions, etc.)
-            StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+            StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder(bootstrapRegistry)
                 .applySettings(configuration.getProperties())
                 .build();
                 
             factory = configuration.buildSessionFactory(serviceRegistry);
+            lazyCollectionIndexes.clear();
+            applyReadOnlySettings(configuration);
+            applyWriteModeSettings(configuration);
+            applyContactBufferSettings(configuration);
+            applyAsyncSettings(configuration);
+            loadContactTypes();
+            applyMembershipIndexSettings(configuration);
+            applyContactSearchIndexSettings(configuration);
             logger.info("SessionFactory creada amb èxit");
         } catch (Throwable ex) {
             logger.error("No s'ha pogut crear la SessionFactory", ex);
+            closeAsyncExecutor();
+            closeContactBuffer();
+            closeWriteQueue();
+            closeConnectionPool();
             throw new ExceptionInInitializerError(ex);
         }
     }
@@ -91,11 +394,16 @@ public class Manager {
      * Útil per tenir diferents configuracions (dev, test, prod).
      */
     public static void createSessionFactory(String propertiesFileName) {
+        // Si ja n'hi ha una, es tanca abans amb els seus serveis i el seu pool:
+        // el que tenien encuat s'escriu a la SessionFactory antiga
+        close();
         try {
-            Configuration configuration = new Configuration();
+            BootstrapServiceRegistry bootstrapRegistry = bootstrapRegistry();
+            Configuration configuration = new Configuration(bootstrapRegistry);
             
             configuration.addAnnotatedClass(Employee.class);
             configuration.addAnnotatedClass(Contact.class);
+            configuration.addAnnotatedClass(ContactType.class);
             configuration.addAnnotatedClass(Project.class);
 
             // Carregar propietats des del classpath
@@ -109,392 +417,2372 @@ public class Manager {
             }
 
             configuration.addProperties(properties);
+            applyDeleteCascadeSettings(configuration);
+            applySQLiteSettings(configuration);
+            applyQueryPlanSettings(configuration);
+            applyConnectionPoolSettings(configuration);
 
-            StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+            StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder(bootstrapRegistry)
                 .applySettings(configuration.getProperties())
                 .build();
                 
             factory = configuration.buildSessionFactory(serviceRegistry);
+            lazyCollectionIndexes.clear();
+            applyReadOnlySettings(configuration);
+            applyWriteModeSettings(configuration);
+            applyContactBufferSettings(configuration);
+            applyAsyncSettings(configuration);
+            loadContactTypes();
+            applyMembershipIndexSettings(configuration);
+            applyContactSearchIndexSettings(configuration);
             logger.info("SessionFactory creada amb èxit utilitzant {}", propertiesFileName);
         } catch (Throwable ex) {
             logger.error("Error creant la SessionFactory amb {}", propertiesFileName, ex);
+            closeAsyncExecutor();
+            closeContactBuffer();
+            closeWriteQueue();
+            closeConnectionPool();
             throw new ExceptionInInitializerError(ex);
         }
     }
 
     /**
-     * Tanca la SessionFactory i allibera recursos.
-     * IMPORTANT: Cridar sempre al final de l'aplicació!
+     * Registre d'arrencada compartit per la Configuration i el ServiceRegistry,
+     * amb DeleteCascadeIntegrator (les FK amb ON DELETE CASCADE del mode database).
      */
-    public static void close() {
-        if (factory != null && !factory.isClosed()) {
-            factory.close();
-            logger.info("SessionFactory tancada");
-        }
+    private static BootstrapServiceRegistry bootstrapRegistry() {
+        return new BootstrapServiceRegistryBuilder()
+            .applyIntegrator(new DeleteCascadeIntegrator())
+            .build();
     }
 
-    // ================================================================
-    // MÈTODES CRUD PER EMPLOYEE
-    // ================================================================
+    /**
+     * En mode project.delete.cascade=database amb SQLite, activa les FK a cada
+     * connexió (PRAGMA foreign_keys=ON). Sense això SQLite ignora les FK i
+     * l'ON DELETE CASCADE no s'aplicaria.
+     *
+     * Les propietats hibernate.connection.* es passen al driver JDBC sense el
+     * prefix, i el driver de SQLite aplica foreign_keys en obrir la connexió.
+     */
+    private static void applyDeleteCascadeSettings(Configuration configuration) {
+        String mode = configuration.getProperty(DELETE_CASCADE_SETTING);
+        if (DELETE_CASCADE_DATABASE.equalsIgnoreCase(mode) && isSQLite(configuration)) {
+            configuration.setProperty(AvailableSettings.CONNECTION_PREFIX + ".foreign_keys", "true");
+        }
+    }
 
     /**
-     * Crea un nou empleat a la base de dades.
-     * 
-     * FLUX:
-     * 1. Obrir sessió (try-with-resources la tanca automàticament)
-     * 2. Iniciar transacció
-     * 3. Crear objecte i persistir
-     * 4. Commit si tot OK, rollback si hi ha error
-     * 
-     * @return L'empleat amb l'ID assignat per la BD
+     * Amb SQLite, afegeix les pragmes del perfil project.sqlite.profile a les
+     * propietats de connexió (hibernate.connection.<pragma>). El driver les
+     * aplica cada vegada que obre una connexió, tant amb HikariCP com amb el
+     * pool intern, igual que foreign_keys.
+     *
+     * Una hibernate.connection.<pragma> explícita té prioritat sobre el perfil.
+     * En mode single_writer, synchronous és FULL en qualsevol perfil.
      */
-    public static Employee addEmployee(String firstName, String lastName, int salary) {
-        Employee result = null;
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                result = new Employee(firstName, lastName, salary);
-                session.persist(result);  // PERSIST: L'objecte passa a estat "managed"
-                tx.commit();
-                logger.info("Empleat creat amb ID: {}", result.getEmployeeId());
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error creant empleat", e);
-                throw e;
+    private static void applySQLiteSettings(Configuration configuration) {
+        if (!isSQLite(configuration)) {
+            return;
+        }
+        String profile = configuration.getProperty(SQLITE_PROFILE_SETTING);
+        profile = profile == null ? SQLITE_PROFILE_PERFORMANCE : profile.trim();
+        Map<String, String> pragmas;
+        if (SQLITE_PROFILE_PERFORMANCE.equalsIgnoreCase(profile)) {
+            pragmas = SQLITE_PERFORMANCE_PRAGMAS;
+        } else if (SQLITE_PROFILE_DEFAULT.equalsIgnoreCase(profile)) {
+            pragmas = SQLITE_DEFAULT_PRAGMAS;
+        } else {
+            throw new IllegalArgumentException(SQLITE_PROFILE_SETTING + " ha de ser "
+                    + SQLITE_PROFILE_PERFORMANCE + " o " + SQLITE_PROFILE_DEFAULT + ": " + profile);
+        }
+        String writeMode = configuration.getProperty(WRITE_MODE_SETTING);
+        if (writeMode != null && WRITE_MODE_SINGLE_WRITER.equalsIgnoreCase(writeMode.trim())) {
+            pragmas = new HashMap<>(pragmas);
+            pragmas.put("synchronous", SQLITE_SINGLE_WRITER_SYNCHRONOUS);
+        }
+        Map<String, String> applied = new TreeMap<>();
+        for (String pragma : SQLITE_PERFORMANCE_PRAGMAS.keySet()) {
+            String value = configuration.getProperty(SQLITE_PRAGMA_PREFIX + pragma);
+            if (value == null) {
+                value = pragmas.get(pragma);
+            }
+            String connectionProperty = AvailableSettings.CONNECTION_PREFIX + "." + pragma;
+            if (value != null && configuration.getProperty(connectionProperty) == null) {
+                configuration.setProperty(connectionProperty, value.trim());
+                applied.put(pragma, value.trim());
             }
         }
-        return result;
+        logger.info("Perfil SQLite {}: {}", profile, applied);
     }
 
     /**
-     * Actualitza les dades d'un empleat existent.
-     * 
-     * IMPORTANT: session.get() retorna l'objecte en estat "managed"
-     * Els canvis es sincronitzen automàticament amb la BD al fer commit.
-     * El merge() és opcional en aquest cas, però explícit és més clar.
+     * Indica si la configuració fa servir SQLiteDialect (o una subclasse,
+     * com SQLiteForeignKeyDialect). Sense dialecte, es mira la URL.
+     * Tots els camins que depenen de SQLite (pragmes, FK) ho decideixen aquí.
      */
-    public static void updateEmployee(long employeeId, String firstName, String lastName, int salary) {
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
+    private static boolean isSQLite(Configuration configuration) {
+        String dialect = configuration.getProperty(AvailableSettings.DIALECT);
+        if (dialect != null) {
             try {
-                Employee emp = session.get(Employee.class, employeeId);
-                if (emp != null) {
-                    emp.setFirstName(firstName);
-                    emp.setLastName(lastName);
-                    emp.setSalary(salary);
-                    // No cal merge() explícit perquè emp ja és "managed"
-                    // Però ho deixem per claredat
-                    session.merge(emp);
-                    logger.info("Empleat actualitzat: {}", employeeId);
-                } else {
-                    logger.warn("No s'ha trobat l'empleat amb ID: {}", employeeId);
-                }
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error actualitzant empleat: {}", employeeId, e);
-                throw e;
+                return SQLiteDialect.class.isAssignableFrom(
+                        Class.forName(dialect.trim(), false, Manager.class.getClassLoader()));
+            } catch (ClassNotFoundException e) {
+                return false;
             }
         }
+        String url = jdbcUrl(configuration);
+        return url != null && url.startsWith("jdbc:sqlite:");
     }
 
     /**
-     * Cerca empleats que tinguin un tipus de contacte específic.
-     * 
-     * HQL (Hibernate Query Language):
-     * - Similar a SQL però treballa amb entitats i atributs, no taules i columnes
-     * - JOIN automàtic gràcies a les relacions definides a les entitats
-     * - DISTINCT evita duplicats quan un empleat té múltiples contactes del mateix tipus
-     * 
-     * NOTA: No cal Transaction per a consultes SELECT, però és bona pràctica
-     * tenir-la per consistència i per si la consulta modifica cache.
+     * URL JDBC de la configuració: jakarta.persistence.jdbc.url o, als
+     * fitxers de propietats que encara la posen així, hibernate.connection.url.
      */
-    public static Collection<Employee> findEmployeesByContactType(String contactType) {
-        Collection<Employee> result = Collections.emptyList();
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                String hql = "SELECT DISTINCT e FROM Employee e " +
-                            "JOIN e.contacts c " +
-                            "WHERE c.contactType = :type";
-                result = session.createQuery(hql, Employee.class)
-                            .setParameter("type", contactType)
-                            .list();
-                
-                // AFEGIT: Inicialitzar col·leccions LAZY abans de tancar la sessió
-                for (Employee emp : result) {
-                    initializeLazyCollections(emp);
-                }
-                
-                logger.info("Trobats {} empleats amb tipus de contacte: {}", 
-                        result.size(), contactType);
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error cercant empleats per tipus de contacte: {}", contactType, e);
-                throw e;
-            }
+    private static String jdbcUrl(Configuration configuration) {
+        return ConnectionPool.jdbcSetting(configuration.getProperties(),
+                AvailableSettings.JAKARTA_JDBC_URL, ConnectionPool.LEGACY_URL);
+    }
+
+    /**
+     * Llegeix project.connection.pool (per defecte hikari) i, si cal, crea
+     * el pool HikariCP i el passa a Hibernate com a DataSource.
+     *
+     * No fa res si la configuració ja porta el seu DataSource o
+     * ConnectionProvider. Usuari i contrasenya es treuen de les propietats
+     * perquè Hibernate no demani getConnection(user, password), que HikariCP
+     * no admet (el pool ja els té).
+     */
+    private static void applyConnectionPoolSettings(Configuration configuration) {
+        String mode = configuration.getProperty(CONNECTION_POOL_SETTING);
+        Properties settings = configuration.getProperties();
+        if (CONNECTION_POOL_HIBERNATE.equalsIgnoreCase(mode == null ? null : mode.trim())
+                || settings.get(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE) != null
+                || settings.get(ConnectionPool.LEGACY_DATASOURCE) != null
+                || settings.get(AvailableSettings.CONNECTION_PROVIDER) != null) {
+            return;
+        }
+        if (mode != null && !CONNECTION_POOL_HIKARI.equalsIgnoreCase(mode.trim())) {
+            throw new IllegalArgumentException(CONNECTION_POOL_SETTING + " ha de ser "
+                    + CONNECTION_POOL_HIKARI + " o " + CONNECTION_POOL_HIBERNATE + ": " + mode);
+        }
+        ConnectionPool pool = ConnectionPool.create(settings);
+        connectionPool = pool;
+        settings.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, pool.dataSource());
+        settings.remove(AvailableSettings.JAKARTA_JDBC_USER);
+        settings.remove(AvailableSettings.JAKARTA_JDBC_PASSWORD);
+        settings.remove(ConnectionPool.LEGACY_USER);
+        settings.remove(ConnectionPool.LEGACY_PASSWORD);
+        if (pool.disablesAutoCommit()) {
+            configuration.setProperty(AvailableSettings.CONNECTION_PROVIDER_DISABLES_AUTOCOMMIT, "true");
+        }
+        logger.info("Pool de connexions HikariCP creat: {}", pool.metrics());
+    }
+
+    private static void closeConnectionPool() {
+        ConnectionPool pool = connectionPool;
+        connectionPool = null;
+        if (pool != null) {
+            pool.close();
         }
-        return result;
     }
 
     /**
-     * Troba tots els empleats assignats a un projecte.
-     * 
-     * PROBLEMA POTENCIAL AMB LAZY LOADING:
-     * Si Project.employees és LAZY, accedir a getEmployees() fora de la sessió
-     * causaria LazyInitializationException.
-     * 
-     * SOLUCIÓ: Inicialitzar la col·lecció dins la sessió o usar FETCH JOIN.
+     * Llegeix project.query_plan_report (per defecte false) i, si està
+     * activat, registra el QueryPlanRecorder com a StatementInspector.
+     * S'ha de cridar abans de construir la SessionFactory.
      */
-    public static Collection<Employee> findEmployeesByProject(long projectId) {
-        Collection<Employee> result = Collections.emptyList();
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                String hql = "SELECT DISTINCT p FROM Project p " +
-                            "LEFT JOIN FETCH p.employees " +
-                            "WHERE p.projectId = :id";
-                Project project = session.createQuery(hql, Project.class)
-                                        .setParameter("id", projectId)
-                                        .uniqueResult();
-                
-                if (project != null) {
-                    result = project.getEmployees();
-                    
-                    // AFEGIT: Inicialitzar col·leccions LAZY dels empleats
-                    for (Employee emp : result) {
-                        initializeLazyCollections(emp);
-                    }
-                    
-                    logger.info("Trobats {} empleats al projecte {}", result.size(), projectId);
-                } else {
-                    logger.warn("No s'ha trobat el projecte amb ID: {}", projectId);
-                }
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error cercant empleats per projecte: {}", projectId, e);
-                throw e;
-            }
+    private static void applyQueryPlanSettings(Configuration configuration) {
+        String value = configuration.getProperty(QUERY_PLAN_REPORT_SETTING);
+        if (value != null && Boolean.parseBoolean(value.trim())) {
+            queryPlanRecorder = new QueryPlanRecorder();
+            configuration.setStatementInspector(queryPlanRecorder);
+        } else {
+            queryPlanRecorder = null;
         }
-        return result;
     }
 
     /**
-     * Actualitza els projectes assignats a un empleat.
-     * 
-     * IMPORTANT per ManyToMany:
-     * - Cal obtenir referències "managed" dels projectes (session.get)
-     * - Utilitzar els mètodes helper (addProject) per mantenir consistència bidireccional
+     * Llegeix project.query.read_only (per defecte true) i decideix, un cop
+     * per SessionFactory, si les connexions es poden posar en només lectura.
+     * SQLite no ho permet amb la connexió oberta (caldria SQLiteConfig en
+     * crear-la), així que amb SQLite ni es prova: el driver registraria un
+     * ERROR a cada primera consulta.
      */
-    public static void updateEmployeeProjects(long employeeId, Set<Project> newProjects) {
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Employee emp = session.get(Employee.class, employeeId);
-                if (emp != null) {
-                    // Primer, eliminar totes les assignacions actuals
-                    // Fem còpia per evitar ConcurrentModificationException
-                    for (Project oldProject : Set.copyOf(emp.getProjects())) {
-                        emp.removeProject(oldProject);
-                    }
-                    
-                    // Afegir els nous projectes
-                    for (Project project : newProjects) {
-                        // CRÍTIC: Obtenir el projecte "managed" de la sessió
-                        Project managedProject = session.get(Project.class, project.getProjectId());
-                        if (managedProject != null) {
-                            emp.addProject(managedProject);
-                        }
-                    }
-                    session.merge(emp);
-                    logger.info("Projectes actualitzats per l'empleat: {}", employeeId);
-                } else {
-                    logger.warn("No s'ha trobat l'empleat amb ID: {}", employeeId);
-                }
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error actualitzant projectes de l'empleat: {}", employeeId, e);
-                throw e;
-            }
+    private static void applyReadOnlySettings(Configuration configuration) {
+        String value = configuration.getProperty(READ_ONLY_QUERIES_SETTING);
+        readOnlyQueries = value == null || Boolean.parseBoolean(value.trim());
+        jdbcReadOnlySupported = !isSQLite(configuration);
+    }
+
+    /**
+     * Llegeix project.write_mode (per defecte direct) i, en mode
+     * single_writer, engega el fil escriptor amb la nova SessionFactory.
+     */
+    private static void applyWriteModeSettings(Configuration configuration) {
+        String mode = configuration.getProperty(WRITE_MODE_SETTING);
+        mode = mode == null ? WRITE_MODE_DIRECT : mode.trim();
+        if (WRITE_MODE_DIRECT.equalsIgnoreCase(mode)) {
+            return;
+        }
+        if (!WRITE_MODE_SINGLE_WRITER.equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException(WRITE_MODE_SETTING + " ha de ser "
+                    + WRITE_MODE_DIRECT + " o " + WRITE_MODE_SINGLE_WRITER + ": " + mode);
+        }
+        String batchSize = configuration.getProperty(WRITE_BATCH_SIZE_SETTING);
+        int maxBatch = batchSize == null ? DEFAULT_WRITE_BATCH_SIZE : Integer.parseInt(batchSize.trim());
+        writeQueue = new WriteQueue(factory, maxBatch);
+        logger.info("Escriptures amb un sol fil i commit agrupat (màxim {} operacions per commit)", maxBatch);
+    }
+
+    /**
+     * Executa les escriptures pendents i atura el fil escriptor.
+     */
+    private static void closeWriteQueue() {
+        WriteQueue queue = writeQueue;
+        writeQueue = null;
+        if (queue != null) {
+            queue.close();
         }
     }
 
+    /**
+     * Llegeix project.contact_buffer (per defecte false) i, si està activat,
+     * engega el fil del buffer de contactes amb la capacitat, la mida de lot
+     * i el temps màxim d'espera configurats.
+     */
+    private static void applyContactBufferSettings(Configuration configuration) {
+        String value = configuration.getProperty(CONTACT_BUFFER_SETTING);
+        if (value == null || !Boolean.parseBoolean(value.trim())) {
+            return;
+        }
+        int capacity = intSetting(configuration, CONTACT_BUFFER_CAPACITY_SETTING, DEFAULT_CONTACT_BUFFER_CAPACITY);
+        int batchSize = intSetting(configuration, CONTACT_BUFFER_BATCH_SIZE_SETTING, DEFAULT_CONTACT_BUFFER_BATCH_SIZE);
+        String flush = configuration.getProperty(CONTACT_BUFFER_FLUSH_MILLIS_SETTING);
+        long flushMillis = flush == null ? DEFAULT_CONTACT_BUFFER_FLUSH_MILLIS : Long.parseLong(flush.trim());
+        contactBuffer = new ContactWriteBuffer(capacity, batchSize, flushMillis, Manager::writeContacts);
+        logger.info("Buffer de contactes actiu: {} places, lots de {}, {} ms", capacity, batchSize, flushMillis);
+    }
+
+    private static int intSetting(Configuration configuration, String name, int defaultValue) {
+        String value = configuration.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Escriu els contactes pendents del buffer i n'atura el fil.
+     */
+    private static void closeContactBuffer() {
+        ContactWriteBuffer buffer = contactBuffer;
+        contactBuffer = null;
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    /**
+     * Crea l'executor de ManagerAsync amb project.async.threads fils o, si no
+     * s'indica, tants com connexions pot obrir el pool: més fils només
+     * esperarien una connexió.
+     */
+    private static void applyAsyncSettings(Configuration configuration) {
+        String value = configuration.getProperty(ASYNC_THREADS_SETTING);
+        int threads;
+        if (value != null) {
+            threads = Integer.parseInt(value.trim());
+        } else if (connectionPool != null) {
+            threads = connectionPool.metrics().maxPoolSize();
+        } else {
+            threads = intSetting(configuration, AvailableSettings.POOL_SIZE, DEFAULT_HIBERNATE_POOL_SIZE);
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException(ASYNC_THREADS_SETTING + " ha de ser positiu: " + threads);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "project-async-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        asyncExecutor = executor;
+        logger.info("ManagerAsync: {} fils", threads);
+    }
+
+    /**
+     * Executor de ManagerAsync.
+     *
+     * @throws IllegalStateException si no hi ha SessionFactory
+     */
+    static ThreadPoolExecutor asyncExecutor() {
+        ThreadPoolExecutor executor = asyncExecutor;
+        if (executor == null) {
+            throw new IllegalStateException("No hi ha SessionFactory: cal cridar createSessionFactory()");
+        }
+        return executor;
+    }
+
+    /**
+     * Deixa d'acceptar operacions asíncrones i espera les que ja s'han encuat.
+     */
+    private static void closeAsyncExecutor() {
+        ThreadPoolExecutor executor = asyncExecutor;
+        asyncExecutor = null;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Llegeix project.membership_index (per defecte true) i, si està activat,
+     * construeix l'índex a partir de la taula employee_project.
+     */
+    private static void applyMembershipIndexSettings(Configuration configuration) {
+        String value = configuration.getProperty(MEMBERSHIP_INDEX_SETTING);
+        if (value == null || Boolean.parseBoolean(value.trim())) {
+            membershipIndex = new MembershipIndex();
+            rebuildMembershipIndex();
+        } else {
+            membershipIndex = null;
+        }
+    }
+
+    /**
+     * Llegeix project.contact_search_index (per defecte true) i, si està
+     * activat, construeix l'índex a partir de la taula contacts.
+     */
+    private static void applyContactSearchIndexSettings(Configuration configuration) {
+        String value = configuration.getProperty(CONTACT_SEARCH_INDEX_SETTING);
+        if (value == null || Boolean.parseBoolean(value.trim())) {
+            contactSearchIndex = new ContactSearchIndex();
+            rebuildContactSearchIndex();
+        } else {
+            contactSearchIndex = null;
+        }
+    }
+
+    /**
+     * Indica si deleteEmployee ha de delegar les cascades a la BD.
+     */
+    static boolean isDatabaseDeleteCascade() {
+        return isDatabaseDeleteCascade(factory.getProperties());
+    }
+
+    static boolean isDatabaseDeleteCascade(Map<String, Object> settings) {
+        Object mode = settings.get(DELETE_CASCADE_SETTING);
+        return mode != null && DELETE_CASCADE_DATABASE.equalsIgnoreCase(mode.toString().trim());
+    }
+
+    /**
+     * Activa o desactiva les sessions de només lectura de les consultes
+     * (per defecte segons project.query.read_only, veure openReadOnlySession).
+     */
+    public static void setReadOnlyQueries(boolean enabled) {
+        readOnlyQueries = enabled;
+    }
+
+    /**
+     * Indica si les consultes posen la connexió JDBC en només lectura
+     * (decidit a applyReadOnlySettings).
+     */
+    static boolean isJdbcReadOnlySupported() {
+        return jdbcReadOnlySupported;
+    }
+
+    /**
+     * Obre una sessió per als mètodes de consulta.
+     * 
+     * MODE NOMÉS LECTURA (project.query.read_only=true, per defecte):
+     * - setDefaultReadOnly(true): les entitats carregades no guarden snapshot
+     *   de l'estat original, així que ocupen menys i no hi ha dirty checking
+     * - FlushMode.MANUAL: el commit no fa flush (no hi ha res a escriure)
+     * - Connection.setReadOnly(true) si el driver ho admet (veure
+     *   applyReadOnlySettings); si un altre driver falla, es recorda i no es
+     *   torna a provar
+     * 
+     * IMPORTANT: Cal cridar endReadOnlySession() abans de tancar la sessió,
+     * perquè la connexió torna al pool i l'han de poder fer servir les escriptures.
+     */
+    private static Session openReadOnlySession() {
+        if (!readOnlyQueries) {
+            return factory.openSession();
+        }
+        // La connexió es manté fins al close(): si s'alliberés en acabar la
+        // transacció tornaria al pool marcada com a només lectura
+        Session session = factory.withOptions()
+            .connectionHandlingMode(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_HOLD)
+            .openSession();
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        if (jdbcReadOnlySupported) {
+            try {
+                session.doWork(connection -> connection.setReadOnly(true));
+                session.setProperty(JDBC_READ_ONLY_PROPERTY, Boolean.TRUE);
+            } catch (HibernateException e) {
+                jdbcReadOnlySupported = false;
+                logger.info("El driver JDBC no admet connexions de només lectura: {}", e.getMessage());
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Executa una consulta en una sessió de només lectura (veure
+     * openReadOnlySession) amb el patró de transacció i errors del Manager.
+     * Per a les classes del paquet que fan consultes pròpies (StaffingStats).
+     */
+    static <T> T inReadOnlySession(String label, Function<Session, T> work) {
+        try (Session session = openReadOnlySession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                T result = work.apply(session);
+                tx.commit();
+                return result;
+            } catch (HibernateException e) {
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.error("Error executant la consulta: {}", label, e);
+                throw e;
+            } finally {
+                endReadOnlySession(session);
+            }
+        }
+    }
+
+    /**
+     * Torna la connexió a lectura-escriptura si openReadOnlySession() l'havia canviat.
+     */
+    private static void endReadOnlySession(Session session) {
+        if (Boolean.TRUE.equals(session.getProperties().get(JDBC_READ_ONLY_PROPERTY))) {
+            session.doWork(connection -> connection.setReadOnly(false));
+        }
+    }
+
+    /**
+     * Executa una escriptura amb el patró de transacció i errors del Manager.
+     *
+     * MODE D'ESCRIPTURA (project.write_mode):
+     * - direct: s'executa en aquest fil, amb la seva sessió i transacció
+     * - single_writer: s'encua i l'executa el fil escriptor, potser en la
+     *   mateixa transacció que altres operacions (veure WriteQueue). El fil
+     *   que crida espera el commit, així que l'API continua sent síncrona
+     *
+     * work s'ha de poder tornar a executar: si el seu grup falla, l'escriptor
+     * el repeteix sol. Per això els canvis a índexs i cache es registren amb
+     * afterCommit() i no es fan directament.
+     *
+     * @param label Descripció per al missatge d'error ("Error " + label)
+     */
+    private static <T> T write(String label, Function<Session, T> work) {
+        WriteQueue queue = writeQueue;
+        if (queue == null || queue.isWriterThread()) {
+            return inWriteTransaction(label, work);
+        }
+        return await(queue.submit(label, work, () -> inWriteTransaction(label, work)));
+    }
+
+    /**
+     * Com write(), per a les operacions que gestionen les seves pròpies
+     * transaccions (commits per chunks). En mode single_writer s'executen
+     * soles al fil escriptor, sense agrupar-les amb cap altra.
+     */
+    private static <T> T writeExclusive(String label, Supplier<T> work) {
+        WriteQueue queue = writeQueue;
+        if (queue == null || queue.isWriterThread()) {
+            return work.get();
+        }
+        return await(queue.submitExclusive(label, work));
+    }
+
+    private static <T> T inWriteTransaction(String label, Function<Session, T> work) {
+        try (Session session = factory.openSession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                T result = work.apply(session);
+                tx.commit();
+                return result;
+            } catch (HibernateException e) {
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.error("Error {}", label, e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Espera el resultat d'una operació encuada i, si ha fallat, llança la
+     * mateixa excepció que hauria llançat en mode direct.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Registra una acció que s'executa només si la transacció de la sessió
+     * es confirma (índexs en memòria, invalidacions de cache...). Si la
+     * transacció es desfà, l'acció es descarta.
+     */
+    private static void afterCommit(Session session, Runnable action) {
+        session.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Res: l'acció depèn del resultat del commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Estadístiques d'Hibernate (consultes, càrregues, col·leccions...).
+     * Només acumulen valors si hibernate.generate_statistics=true.
+     */
+    public static Statistics getStatistics() {
+        return factory.getStatistics();
+    }
+
+    /**
+     * Comptadors de cada region de la cache de segon nivell (encerts,
+     * fallades, insercions i entrades en memòria), per nom de region.
+     * Inclou les regions d'entitats i col·leccions i les de la cache de consultes.
+     * Només acumulen valors si hibernate.generate_statistics=true.
+     */
+    public static Map<String, CacheRegionStatistics> getCacheRegionStatistics() {
+        Statistics statistics = factory.getStatistics();
+        CacheImplementor cache = factory.unwrap(SessionFactoryImplementor.class).getCache();
+        Map<String, CacheRegionStatistics> regions = new TreeMap<>();
+        for (String region : cache.getCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = null;
+            if (cache.getRegion(region) instanceof DomainDataRegion) {
+                regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            } else if (cache.getRegion(region) instanceof QueryResultsRegion) {
+                regionStatistics = statistics.getQueryRegionStatistics(region);
+            }
+            if (regionStatistics != null) {
+                regions.put(region, regionStatistics);
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Buida totes les regions de la cache de segon nivell.
+     */
+    public static void evictSecondLevelCache() {
+        factory.getCache().evictAllRegions();
+    }
+
+    /**
+     * Tanca la SessionFactory i allibera recursos.
+     * IMPORTANT: Cridar sempre al final de l'aplicació!
+     */
+    public static void close() {
+        // Primer les operacions asíncrones en curs, que poden encuar escriptures.
+        // Després les escriptures encuades: necessiten la SessionFactory.
+        // El buffer de contactes escriu els seus lots a través de la cua
+        closeAsyncExecutor();
+        closeContactBuffer();
+        closeWriteQueue();
+        if (factory != null && !factory.isClosed()) {
+            factory.close();
+            logger.info("SessionFactory tancada");
+        }
+        closeConnectionPool();
+    }
+
+    /**
+     * Estat del pool de connexions: connexions actives, lliures, fils esperant
+     * i temps d'obtenció (veure PoolMetrics).
+     *
+     * @throws IllegalStateException si la SessionFactory fa servir el pool
+     *         intern d'Hibernate (project.connection.pool=hibernate)
+     */
+    public static PoolMetrics getPoolMetrics() {
+        ConnectionPool pool = connectionPool;
+        if (pool == null) {
+            throw new IllegalStateException(
+                    "No hi ha pool HikariCP (" + CONNECTION_POOL_SETTING + "=" + CONNECTION_POOL_HIBERNATE + ")");
+        }
+        return pool.metrics();
+    }
+
+    /**
+     * Estat de la cua de l'escriptor únic: operacions pendents, commits i
+     * operacions per commit (veure WriteQueueMetrics).
+     *
+     * @throws IllegalStateException si les escriptures són directes
+     *         (project.write_mode=direct)
+     */
+    public static WriteQueueMetrics getWriteQueueMetrics() {
+        WriteQueue queue = writeQueue;
+        if (queue == null) {
+            throw new IllegalStateException(
+                    "No hi ha cua d'escriptura (" + WRITE_MODE_SETTING + "=" + WRITE_MODE_DIRECT + ")");
+        }
+        return queue.metrics();
+    }
+
+    // ================================================================
+    // MÈTODES CRUD PER EMPLOYEE
+    // ================================================================
+
+    /**
+     * Crea un nou empleat a la base de dades.
+     * 
+     * FLUX (veure write()):
+     * 1. Obrir sessió (try-with-resources la tanca automàticament)
+     * 2. Iniciar transacció
+     * 3. Crear objecte i persistir
+     * 4. Commit si tot OK, rollback si hi ha error
+     *
+     * @return L'empleat amb l'ID assignat per la BD
+     */
+    public static Employee addEmployee(String firstName, String lastName, int salary) {
+        return write("creant empleat", session -> {
+            Employee emp = new Employee(firstName, lastName, salary);
+            session.persist(emp);  // PERSIST: L'objecte passa a estat "managed"
+            logger.info("Empleat creat amb ID: {}", emp.getEmployeeId());
+            return emp;
+        });
+    }
+
+    /**
+     * Actualitza les dades d'un empleat existent.
+     * 
+     * IMPORTANT: session.get() retorna l'objecte en estat "managed"
+     * Els canvis es sincronitzen automàticament amb la BD al fer commit.
+     * El merge() és opcional en aquest cas, però explícit és més clar.
+     */
+    public static void updateEmployee(long employeeId, String firstName, String lastName, int salary) {
+        write("actualitzant empleat: " + employeeId, session -> {
+            Employee emp = session.get(Employee.class, employeeId);
+            if (emp != null) {
+                emp.setFirstName(firstName);
+                emp.setLastName(lastName);
+                emp.setSalary(salary);
+                // No cal merge() explícit perquè emp ja és "managed"
+                // Però ho deixem per claredat
+                session.merge(emp);
+                logger.info("Empleat actualitzat: {}", employeeId);
+            } else {
+                logger.warn("No s'ha trobat l'empleat amb ID: {}", employeeId);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Cerca empleats que tinguin un tipus de contacte específic.
+     * 
+     * HQL (Hibernate Query Language):
+     * - Similar a SQL però treballa amb entitats i atributs, no taules i columnes
+     * - JOIN automàtic gràcies a les relacions definides a les entitats
+     * - DISTINCT evita duplicats quan un empleat té múltiples contactes del mateix tipus
+     * 
+     * NOTA: No cal Transaction per a consultes SELECT, però és bona pràctica
+     * tenir-la per consistència i per si la consulta modifica cache.
+     * 
+     * CACHE DE CONSULTES (region EMPLOYEE_LOOKUP_CACHE_REGION):
+     * - El resultat es guarda per consulta + paràmetres (EMAIL, PHONE...)
+     * - Hibernate apunta l'hora de l'última escriptura de cada taula
+     *   (default-update-timestamps-region). Un resultat només es reutilitza si
+     *   cap de les seves taules (employees, contacts) ha canviat després
+     * - Així un canvi a projects o employee_project no invalida aquesta consulta
+     */
+    public static Collection<Employee> findEmployeesByContactType(String contactType) {
+        if (isUnknownContactType(contactType)) {
+            return Collections.emptyList();
+        }
+        Collection<Employee> result = Collections.emptyList();
+        try (Session session = openReadOnlySession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                String hql = "SELECT DISTINCT e FROM Employee e " +
+                            "JOIN e.contacts c " +
+                            "WHERE c.contactType = :type";
+                List<Employee> employees = session.createQuery(hql, Employee.class)
+                                                  .setParameter("type", contactType)
+                                                  .setCacheable(true)
+                                                  .setCacheRegion(EMPLOYEE_LOOKUP_CACHE_REGION)
+                                                  .list();
+                result = employees;
+                
+                // Inicialitzar col·leccions LAZY abans de tancar la sessió (des de
+                // la cache de segon nivell o per blocs d'IDs: si el resultat ve de
+                // la cache de consultes no hi ha subconsulta SUBSELECT)
+                initializeLazyCollections(session, Employee.class, employees);
+                
+                logger.info("Trobats {} empleats amb tipus de contacte: {}", 
+                        result.size(), contactType);
+                tx.commit();
+            } catch (HibernateException e) {
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.error("Error cercant empleats per tipus de contacte: {}", contactType, e);
+                throw e;
+            } finally {
+                endReadOnlySession(session);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Troba tots els empleats assignats a un projecte.
+     * 
+     * PROBLEMA POTENCIAL AMB LAZY LOADING:
+     * Si Project.employees és LAZY, accedir a getEmployees() fora de la sessió
+     * causaria LazyInitializationException.
+     * 
+     * SOLUCIÓ: Consultar directament els empleats i inicialitzar les seves
+     * col·leccions dins la sessió.
+     * 
+     * CACHE DE CONSULTES: veure findEmployeesByContactType(). Depèn de les
+     * taules employees, employee_project i projects; els canvis de contactes
+     * no la invaliden.
+     */
+    public static Collection<Employee> findEmployeesByProject(long projectId) {
+        Collection<Employee> result = Collections.emptyList();
+        try (Session session = openReadOnlySession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                String hql = "SELECT e FROM Employee e " +
+                            "JOIN e.projects p " +
+                            "WHERE p.projectId = :id";
+                List<Employee> employees = session.createQuery(hql, Employee.class)
+                                                  .setParameter("id", projectId)
+                                                  .setCacheable(true)
+                                                  .setCacheRegion(EMPLOYEE_LOOKUP_CACHE_REGION)
+                                                  .list();
+                result = employees;
+                
+                if (!employees.isEmpty()) {
+                    // Les entitats d'una consulta a la cache no tenen subconsulta
+                    // SUBSELECT: les col·leccions s'inicialitzen per blocs d'IDs
+                    initializeLazyCollections(session, Employee.class, employees);
+                    
+                    logger.info("Trobats {} empleats al projecte {}", result.size(), projectId);
+                } else {
+                    logger.warn("No s'ha trobat cap empleat al projecte amb ID: {}", projectId);
+                }
+                tx.commit();
+            } catch (HibernateException e) {
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.error("Error cercant empleats per projecte: {}", projectId, e);
+                throw e;
+            } finally {
+                endReadOnlySession(session);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Actualitza els projectes assignats a un empleat.
+     * 
+     * IMPORTANT per ManyToMany:
+     * - Cal obtenir referències "managed" dels projectes (no els objectes rebuts)
+     * - Employee és el propietari: n'hi ha prou de modificar emp.getProjects()
+     *
+     * ACTUALITZACIÓ PER DIFERÈNCIA (delta):
+     * - Es comparen els IDs actuals amb els demanats
+     * - Només es treuen els projectes que sobren i s'afegeixen els que falten,
+     *   així Hibernate només genera els DELETE/INSERT necessaris a employee_project
+     * - Els projectes nous es carreguen tots amb una sola consulta (multiLoad)
+     * - Si el conjunt no canvia, no s'escriu res
+     * 
+     * Project.employees (costat invers) no es modifica si és LAZY, així que
+     * cal invalidar a mà la cache dels projectes afegits i trets.
+     */
+    public static void updateEmployeeProjects(long employeeId, Set<Project> newProjects) {
+        write("actualitzant projectes de l'empleat: " + employeeId, session -> {
+            Employee emp = session.get(Employee.class, employeeId);
+            if (emp == null) {
+                logger.warn("No s'ha trobat l'empleat amb ID: {}", employeeId);
+                return null;
+            }
+            Set<Long> requestedIds = new HashSet<>();
+            for (Project project : newProjects) {
+                if (project.getProjectId() != null) {
+                    requestedIds.add(project.getProjectId());
+                }
+            }
+
+            // Treure només els projectes que ja no hi han de ser
+            // Fem còpia per evitar ConcurrentModificationException
+            Set<Long> changedProjectIds = new HashSet<>();
+            Set<Long> currentIds = new HashSet<>();
+            for (Project current : Set.copyOf(emp.getProjects())) {
+                if (requestedIds.contains(current.getProjectId())) {
+                    currentIds.add(current.getProjectId());
+                } else {
+                    unlinkProject(emp, current);
+                    changedProjectIds.add(current.getProjectId());
+                }
+            }
+
+            // Afegir només els que falten, carregats amb una sola consulta
+            List<Long> missingIds = new ArrayList<>(requestedIds);
+            missingIds.removeAll(currentIds);
+            if (!missingIds.isEmpty()) {
+                List<Project> managedProjects = session.byMultipleIds(Project.class)
+                                                       .multiLoad(missingIds);
+                for (Project managedProject : managedProjects) {
+                    if (managedProject != null) {
+                        linkProject(emp, managedProject);
+                        changedProjectIds.add(managedProject.getProjectId());
+                    }
+                }
+            }
+            Set<Long> linkedProjectIds = new HashSet<>();
+            for (Project project : emp.getProjects()) {
+                linkedProjectIds.add(project.getProjectId());
+            }
+            logger.info("Projectes actualitzats per l'empleat: {}", employeeId);
+            if (!changedProjectIds.isEmpty()) {
+                long[] projectIds = toArray(linkedProjectIds);
+                afterCommit(session, () -> {
+                    evictProjectMembers(changedProjectIds);
+                    updateMembershipIndex(index -> index.setProjectsOf(employeeId, projectIds));
+                });
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Vincula un projecte a l'empleat dins d'una sessió.
+     *
+     * A diferència d'Employee.addProject(), NO inicialitza Project.employees
+     * si encara és LAZY: el costat invers no es persisteix i carregar-lo
+     * costaria una SELECT per projecte.
+     */
+    private static void linkProject(Employee emp, Project project) {
+        emp.getProjects().add(project);
+        if (Hibernate.isInitialized(project.getEmployees())) {
+            project.getEmployees().add(emp);
+        }
+    }
+
+    /**
+     * Desvincula un projecte de l'empleat dins d'una sessió (veure linkProject).
+     */
+    private static void unlinkProject(Employee emp, Project project) {
+        emp.getProjects().remove(project);
+        if (Hibernate.isInitialized(project.getEmployees())) {
+            project.getEmployees().remove(emp);
+        }
+    }
+
+    /**
+     * Invalida la cache de Project.employees dels projectes indicats.
+     * És el costat invers de la relació: Hibernate no l'invalida quan
+     * només es modifica Employee.projects.
+     */
+    private static void evictProjectMembers(Collection<Long> projectIds) {
+        Cache cache = factory.getCache();
+        for (Long projectId : projectIds) {
+            cache.evictCollectionData(Project.class.getName() + ".employees", projectId);
+        }
+    }
+
+    // ================================================================
+    // MÈTODES CRUD PER CONTACT
+    // ================================================================
+
+    /**
+     * Afegeix un contacte a un empleat existent.
+     * 
+     * NOTA: Com Employee té cascade=ALL amb Contact,
+     * podríem només fer emp.addContact() i session.merge(emp)
+     * sense session.persist(contact) explícit.
+     * Ho deixem per claredat.
+     */
+    public static Contact addContactToEmployee(long employeeId, String contactType, 
+                                                String value, String description) {
+        registerContactTypes(List.of(contactType));
+        return write("afegint contacte a l'empleat: " + employeeId, session -> {
+            Employee emp = session.get(Employee.class, employeeId);
+            if (emp == null) {
+                logger.warn("No s'ha trobat l'empleat amb ID: {}", employeeId);
+                return null;
+            }
+            Contact contact = new Contact(contactType, value, description);
+            emp.addContact(contact);
+            session.persist(contact);  // AFEGIR AQUESTA LÍNIA - persistir explícitament
+            session.merge(emp);
+            // Ara contact té l'ID assignat
+            long contactId = contact.getContactId();
+            logger.info("Contacte afegit a l'empleat {}: {}", employeeId, contactId);
+            afterCommit(session, () -> updateContactSearchIndex(index ->
+                    index.put(contactId, employeeId, contactType, value)));
+            return contact;
+        });
+    }
+    
+    /**
+     * Indica si el tipus no és a ContactTypeDictionary. ContactTypeConverter
+     * no el pot traduir (llança IllegalArgumentException perquè un INSERT no
+     * desi un ID fals), però en una consulta un tipus desconegut simplement
+     * no troba res: les consultes per tipus tornen buit sense anar a la BD.
+     */
+    private static boolean isUnknownContactType(String contactType) {
+        return contactType != null && ContactTypeDictionary.idOf(contactType) == null;
+    }
+
+    /**
+     * Cerca contactes d'un empleat filtrats per tipus.
+     */
+    public static Collection<Contact> findContactsByEmployeeAndType(long employeeId, 
+                                                                     String contactType) {
+        if (isUnknownContactType(contactType)) {
+            return Collections.emptyList();
+        }
+        Collection<Contact> result = Collections.emptyList();
+        try (Session session = openReadOnlySession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                String hql = "FROM Contact c " +
+                            "WHERE c.employee.employeeId = :empId " +
+                            "AND c.contactType = :type";
+                result = session.createQuery(hql, Contact.class)
+                              .setParameter("empId", employeeId)
+                              .setParameter("type", contactType)
+                              .list();
+                logger.info("Trobats {} contactes per l'empleat {} de tipus {}", 
+                          result.size(), employeeId, contactType);
+                tx.commit();
+            } catch (HibernateException e) {
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.error("Error cercant contactes per empleat {} i tipus {}", 
+                           employeeId, contactType, e);
+                throw e;
+            } finally {
+                endReadOnlySession(session);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Elimina un contacte d'un empleat.
+     * Gràcies a orphanRemoval=true, el contact s'elimina de la BD.
+     */
+    public static void removeContactFromEmployee(long employeeId, long contactId) {
+        write("eliminant contacte " + contactId + " de l'empleat " + employeeId, session -> {
+            Employee emp = session.get(Employee.class, employeeId);
+            Contact contact = session.get(Contact.class, contactId);
+            
+            if (emp != null && contact != null) {
+                emp.removeContact(contact);  // orphanRemoval s'encarrega d'eliminar-lo
+                session.merge(emp);
+                logger.info("Contacte {} eliminat de l'empleat {}", contactId, employeeId);
+                afterCommit(session, () -> updateContactSearchIndex(index -> index.remove(contactId)));
+            } else {
+                logger.warn("No s'ha trobat l'empleat {} o el contacte {}", 
+                           employeeId, contactId);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Actualitza la informació d'un contacte.
+     */
+    public static void updateContact(long contactId, String contactType, 
+                                     String value, String description) {
+        registerContactTypes(List.of(contactType));
+        withContactLocks(List.of(contactId), () -> write("actualitzant contacte: " + contactId, session -> {
+            Contact contact = session.get(Contact.class, contactId);
+            if (contact != null) {
+                contact.setContactType(contactType);
+                contact.setValue(value);
+                contact.setDescription(description);
+                session.merge(contact);
+                logger.info("Contacte actualitzat: {}", contactId);
+                afterCommit(session, () ->
+                        updateContactSearchIndex(index -> index.update(contactId, contactType, value)));
+            } else {
+                logger.warn("No s'ha trobat el contacte amb ID: {}", contactId);
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Executa un canvi de contactes amb els locks de les seves franges d'ID.
+     *
+     * PROBLEMA:
+     * L'índex de cerca s'actualitza després del commit (afterCommit). En mode
+     * direct, dos updateContact del mateix contacte fan commit en ordre (la BD
+     * bloqueja la fila), però les actualitzacions de l'índex les fan fils
+     * diferents i poden arribar a l'inrevés: l'índex quedaria amb el valor vell.
+     *
+     * SOLUCIÓ:
+     * El lock es manté des d'abans de la transacció fins després de
+     * l'afterCommit: per un mateix contacte, commit i índex van junts i
+     * segueixen l'ordre dels commits. Els locks es prenen ordenats, així
+     * dos lots amb contactes en comú no es poden bloquejar entre ells.
+     */
+    private static <T> T withContactLocks(Collection<Long> contactIds, Supplier<T> work) {
+        int[] stripes = contactIds.stream()
+                .mapToInt(id -> Math.floorMod(Long.hashCode(id), CONTACT_LOCK_STRIPES))
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int stripe : stripes) {
+            contactLocks[stripe].lock();
+        }
+        try {
+            return work.get();
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                contactLocks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    // ================================================================
+    // BUFFER D'ESCRIPTURA DIFERIDA DE CONTACTES (project.contact_buffer)
+    // ================================================================
+
+    /**
+     * Com addContactToEmployee però sense esperar la BD: el contacte es
+     * desa amb el proper lot del buffer (veure ContactWriteBuffer).
+     *
+     * Si la cua del buffer és plena, espera que se n'escrigui un lot.
+     *
+     * @return Future amb el contacte desat (amb ID), amb null si l'empleat
+     *         no existeix, o amb l'error si no s'ha pogut desar
+     * @throws IllegalStateException si el buffer no està activat o ja s'ha tancat
+     */
+    public static CompletableFuture<Contact> addContactToEmployeeBuffered(long employeeId, String contactType,
+                                                                          String value, String description) {
+        return contactBuffer().submit(
+                ContactWriteBuffer.ContactWrite.insert(employeeId, contactType, value, description));
+    }
+
+    /**
+     * Com updateContact però sense esperar la BD: el canvi es desa amb el
+     * proper lot del buffer. Els canvis d'un mateix contacte s'apliquen en
+     * l'ordre en què s'han encuat.
+     *
+     * @return Future amb el contacte actualitzat, amb null si no existeix,
+     *         o amb l'error si no s'ha pogut desar
+     * @throws IllegalStateException si el buffer no està activat o ja s'ha tancat
+     */
+    public static CompletableFuture<Contact> updateContactBuffered(long contactId, String contactType,
+                                                                   String value, String description) {
+        return contactBuffer().submit(
+                ContactWriteBuffer.ContactWrite.update(contactId, contactType, value, description));
+    }
+
+    /**
+     * Escriu ara tot el que hi ha al buffer i espera que acabi, per exemple
+     * abans de llegir contactes encuats fa menys de flush_millis.
+     */
+    public static void flushContactBuffer() {
+        contactBuffer().flush().join();
+    }
+
+    /**
+     * Escriptures encuades al buffer de contactes que encara no s'han escrit.
+     */
+    public static int getContactBufferPending() {
+        return contactBuffer().pending();
+    }
+
+    private static ContactWriteBuffer contactBuffer() {
+        ContactWriteBuffer buffer = contactBuffer;
+        if (buffer == null) {
+            throw new IllegalStateException(
+                    "El buffer de contactes està desactivat (" + CONTACT_BUFFER_SETTING + "=false)");
+        }
+        return buffer;
+    }
+
+    /**
+     * Escriu un lot del buffer de contactes en una sola transacció.
+     *
+     * FUNCIONAMENT:
+     * - Els tipus nous es registren primer, tots junts
+     * - Una consulta per saber quins empleats existeixen i una altra
+     *   (multiLoad) per carregar els contactes a actualitzar, en lloc d'un
+     *   get() per escriptura com addContactToEmployee i updateContact
+     * - Les altes fan servir una referència a l'empleat (sense SELECT),
+     *   com addContacts: els INSERT van per lots JDBC
+     * - L'índex de cerca s'actualitza després del commit
+     *
+     * Passa per write(): amb project.write_mode=single_writer el lot és una
+     * operació més de l'escriptor únic.
+     *
+     * @return El contacte de cada escriptura, en ordre (null si l'empleat
+     *         o el contacte no existeix)
+     */
+    private static List<Contact> writeContacts(List<ContactWriteBuffer.ContactWrite> writes) {
+        Set<String> contactTypes = new HashSet<>();
+        Set<Long> employeeIds = new HashSet<>();
+        Set<Long> contactIds = new HashSet<>();
+        for (ContactWriteBuffer.ContactWrite write : writes) {
+            contactTypes.add(write.contactType());
+            if (write.isInsert()) {
+                employeeIds.add(write.employeeId());
+            } else {
+                contactIds.add(write.contactId());
+            }
+        }
+        registerContactTypes(contactTypes);
+        // Els canvis de contactes existents segueixen l'ordre dels commits a l'índex
+        String label = "escrivint " + writes.size() + " contactes del buffer";
+        return withContactLocks(contactIds, () -> write(label, session -> {
+            Set<Long> existing = new HashSet<>();
+            List<Long> ids = new ArrayList<>(employeeIds);
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+                existing.addAll(session.createQuery(
+                            "SELECT e.employeeId FROM Employee e WHERE e.employeeId IN (:ids)", Long.class)
+                        .setParameterList("ids", chunk)
+                        .list());
+            }
+            Map<Long, Contact> loaded = new HashMap<>();
+            for (Contact contact : session.byMultipleIds(Contact.class).multiLoad(new ArrayList<>(contactIds))) {
+                if (contact != null) {
+                    loaded.put(contact.getContactId(), contact);
+                }
+            }
+
+            List<Contact> contacts = new ArrayList<>(writes.size());
+            List<Runnable> indexUpdates = new ArrayList<>(writes.size());
+            int inserted = 0;
+            int updated = 0;
+            for (ContactWriteBuffer.ContactWrite write : writes) {
+                Contact contact;
+                if (write.isInsert()) {
+                    if (!existing.contains(write.employeeId())) {
+                        logger.warn("No s'ha trobat l'empleat amb ID: {}", write.employeeId());
+                        contacts.add(null);
+                        continue;
+                    }
+                    contact = new Contact(write.contactType(), write.value(), write.description());
+                    contact.setEmployee(session.getReference(Employee.class, write.employeeId()));
+                    session.persist(contact);
+                    long contactId = contact.getContactId();
+                    indexUpdates.add(() -> updateContactSearchIndex(index ->
+                            index.put(contactId, write.employeeId(), write.contactType(), write.value())));
+                    inserted++;
+                } else {
+                    contact = loaded.get(write.contactId());
+                    if (contact == null) {
+                        logger.warn("No s'ha trobat el contacte amb ID: {}", write.contactId());
+                        contacts.add(null);
+                        continue;
+                    }
+                    contact.setContactType(write.contactType());
+                    contact.setValue(write.value());
+                    contact.setDescription(write.description());
+                    long contactId = write.contactId();
+                    indexUpdates.add(() -> updateContactSearchIndex(index ->
+                            index.update(contactId, write.contactType(), write.value())));
+                    updated++;
+                }
+                contacts.add(contact);
+            }
+            logger.info("Buffer de contactes: {} afegits, {} actualitzats", inserted, updated);
+            afterCommit(session, () -> indexUpdates.forEach(Runnable::run));
+            return contacts;
+        }));
+    }
+
+    // ================================================================
+    // TIPUS DE CONTACTE (TAULA contact_types)
+    // ================================================================
+
+    /**
+     * Carrega tota la taula contact_types al diccionari (ContactTypeDictionary).
+     * Són pocs tipus: una sola SELECT en crear la SessionFactory.
+     */
+    private static void loadContactTypes() {
+        try (Session session = factory.openSession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                List<ContactType> types = session.createQuery("FROM ContactType", ContactType.class).list();
+                tx.commit();
+                ContactTypeDictionary.clear();
+                for (ContactType type : types) {
+                    ContactTypeDictionary.register(type.getId(), type.getName());
+                }
+                logger.info("Diccionari de tipus de contacte carregat: {} tipus", types.size());
+            } catch (HibernateException e) {
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.error("Error carregant els tipus de contacte", e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Assegura que els tipus existeixen a contact_types abans de desar
+     * contactes que els fan servir.
+     *
+     * FLUX:
+     * - Els tipus ja coneguts no fan cap consulta (cas habitual)
+     * - Els nous es cerquen per nom (algú altre els pot haver creat) i, si no
+     *   hi són, s'insereixen amb ID = MAX(id) + 1
+     * - Només després del commit s'afegeixen al diccionari
+     *
+     * synchronized: dos fils no poden assignar el mateix ID.
+     */
+    private static synchronized void registerContactTypes(Collection<String> names) {
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            if (name != null && ContactTypeDictionary.idOf(name) == null && !missing.contains(name)) {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> registered = write("registrant els tipus de contacte " + missing, session -> {
+            Map<String, Integer> types = new HashMap<>();
+            int nextId = session.createQuery(
+                        "SELECT COALESCE(MAX(t.id), 0) FROM ContactType t", Integer.class)
+                    .uniqueResult() + 1;
+            for (String name : missing) {
+                ContactType type = session.createQuery(
+                            "FROM ContactType t WHERE t.name = :name", ContactType.class)
+                        .setParameter("name", name)
+                        .uniqueResult();
+                if (type == null) {
+                    type = new ContactType(nextId++, name);
+                    session.persist(type);
+                }
+                types.put(name, type.getId());
+            }
+            afterCommit(session, () -> types.forEach((name, id) -> ContactTypeDictionary.register(id, name)));
+            return types;
+        });
+        logger.info("Tipus de contacte registrats: {}", registered);
+    }
+
+    // ================================================================
+    // MÈTODES CRUD PER PROJECT
+    // ================================================================
+
+    /**
+     * Crea un nou projecte.
+     */
+    public static Project addProject(String name, String description, String status) {
+        return write("creant projecte", session -> {
+            Project project = new Project(name, description, status);
+            session.persist(project);
+            logger.info("Projecte creat amb ID: {}", project.getProjectId());
+            return project;
+        });
+    }
+
+    /**
+     * Actualitza un projecte existent.
+     */
+    public static void updateProject(long projectId, String name, 
+                                     String description, String status) {
+        write("actualitzant projecte: " + projectId, session -> {
+            Project project = session.get(Project.class, projectId);
+            if (project != null) {
+                project.setName(name);
+                project.setDescription(description);
+                project.setStatus(status);
+                session.merge(project);
+                logger.info("Projecte actualitzat: {}", projectId);
+            } else {
+                logger.warn("No s'ha trobat el projecte amb ID: {}", projectId);
+            }
+            return null;
+        });
+    }
+
+    // ================================================================
+    // MÈTODES D'INSERCIÓ MASSIVA (BATCH)
+    // ================================================================
+
+    /**
+     * Insereix molts empleats en una única sessió.
+     *
+     * DIFERÈNCIA AMB addEmployee():
+     * - addEmployee obre una sessió i fa un commit per cada fila
+     * - addEmployees reutilitza la mateixa sessió, agrupa els INSERT en
+     *   batches JDBC i només fa commit cada commitChunkSize files
+     *
+     * @return Els IDs generats, en el mateix ordre que la llista d'entrada
+     */
+    public static List<Long> addEmployees(List<Employee> employees) {
+        return addEmployees(employees, DEFAULT_COMMIT_CHUNK_SIZE);
+    }
+
+    /**
+     * Com addEmployees(List) però indicant cada quantes files es fa commit.
+     *
+     * IMPORTANT: Els chunks ja confirmats NO es desfan si un chunk posterior falla.
+     */
+    public static List<Long> addEmployees(List<Employee> employees, int commitChunkSize) {
+        // Els contactes que porten es persisteixen en cascada: els seus tipus han d'existir
+        Set<String> contactTypes = new HashSet<>();
+        for (Employee emp : employees) {
+            for (Contact contact : emp.getContacts()) {
+                contactTypes.add(contact.getContactType());
+            }
+        }
+        registerContactTypes(contactTypes);
+        // Els projectes de l'entrada: durant el persist se substitueixen per referències
+        List<Set<Project>> callerProjects = new ArrayList<>(employees.size());
+        for (Employee emp : employees) {
+            callerProjects.add(emp.getProjects());
+        }
+        List<Long> ids;
+        try {
+            ids = persistInBatches(employees, commitChunkSize,
+                    (session, emp) -> {
+                        emp.setProjects(linkableProjects(session, emp.getProjects()));
+                        session.persist(emp);
+                    },
+                    Employee::getEmployeeId, "empleats");
+        } catch (RuntimeException e) {
+            // Els chunks confirmats abans de l'error poden portar projectes i contactes.
+            // RuntimeException: persist llança també excepcions JPA (EntityExistsException...)
+            invalidateMembershipIndex();
+            invalidateContactSearchIndex();
+            throw e;
+        } finally {
+            // Les referències queden desconnectades en tancar la sessió
+            for (int i = 0; i < employees.size(); i++) {
+                employees.get(i).setProjects(callerProjects.get(i));
+            }
+        }
+        for (Employee emp : employees) {
+            for (Contact contact : emp.getContacts()) {
+                updateContactSearchIndex(index -> index.put(contact.getContactId(),
+                        emp.getEmployeeId(), contact.getContactType(), contact.getValue()));
+            }
+        }
+        // Empleats nous que ja porten projectes: canvien els membres d'aquests projectes
+        Set<Long> projectIds = new HashSet<>();
+        for (Employee emp : employees) {
+            if (emp.getProjects().isEmpty()) {
+                continue;
+            }
+            List<Long> linked = new ArrayList<>();
+            for (Project project : emp.getProjects()) {
+                projectIds.add(project.getProjectId());
+                linked.add(project.getProjectId());
+            }
+            long[] linkedIds = toArray(linked);
+            updateMembershipIndex(index -> index.setProjectsOf(emp.getEmployeeId(), linkedIds));
+        }
+        evictProjectMembers(projectIds);
+        return ids;
+    }
+
+    /**
+     * Projectes que es poden enllaçar a un empleat nou dins la sessió.
+     *
+     * Employee.projects té cascade PERSIST: un projecte que ja té ID (per
+     * exemple el retornat per addProject) és una entitat desconnectada i
+     * persist fallaria ("detached entity passed to persist"). Se substitueix
+     * per una referència de la sessió; els projectes nous (sense ID) es
+     * mantenen i es persisteixen en cascada.
+     */
+    private static Set<Project> linkableProjects(Session session, Set<Project> projects) {
+        boolean detached = false;
+        for (Project project : projects) {
+            detached |= project.getProjectId() != null;
+        }
+        if (!detached) {
+            return projects;
+        }
+        Set<Project> linked = new HashSet<>();
+        for (Project project : projects) {
+            linked.add(project.getProjectId() == null
+                    ? project
+                    : session.getReference(Project.class, project.getProjectId()));
+        }
+        return linked;
+    }
+
+    /**
+     * Insereix molts contactes en una única sessió.
+     *
+     * Cada contacte ha de tenir l'empleat assignat (contact.getEmployee())
+     * amb un ID existent, per exemple els empleats retornats per addEmployees().
+     * L'empleat NO es torna a carregar: només se n'utilitza l'ID per la FK.
+     *
+     * @return Els IDs generats, en el mateix ordre que la llista d'entrada
+     */
+    public static List<Long> addContacts(List<Contact> contacts) {
+        return addContacts(contacts, DEFAULT_COMMIT_CHUNK_SIZE);
+    }
+
+    /**
+     * Com addContacts(List) però indicant cada quantes files es fa commit.
+     */
+    public static List<Long> addContacts(List<Contact> contacts, int commitChunkSize) {
+        for (Contact contact : contacts) {
+            if (contact.getEmployee() == null || contact.getEmployee().getEmployeeId() == null) {
+                throw new IllegalArgumentException(
+                        "Cada contacte ha de tenir un empleat amb ID assignat: " + contact);
+            }
+        }
+        // Els empleats de l'entrada: durant el persist se substitueixen per referències
+        Employee[] callerEmployees = new Employee[contacts.size()];
+        long[] owners = new long[contacts.size()];
+        Set<String> contactTypes = new HashSet<>();
+        for (int i = 0; i < owners.length; i++) {
+            callerEmployees[i] = contacts.get(i).getEmployee();
+            owners[i] = callerEmployees[i].getEmployeeId();
+            contactTypes.add(contacts.get(i).getContactType());
+        }
+        registerContactTypes(contactTypes);
+        List<Long> ids;
+        try {
+            ids = persistInBatches(contacts, commitChunkSize,
+                    (session, contact) -> {
+                        // Referència sense SELECT: només cal l'ID per omplir employee_id
+                        contact.setEmployee(session.getReference(Employee.class,
+                                contact.getEmployee().getEmployeeId()));
+                        session.persist(contact);
+                    },
+                    Contact::getContactId, "contactes");
+        } catch (RuntimeException e) {
+            // Els chunks confirmats abans de l'error ja són a la BD
+            invalidateContactSearchIndex();
+            throw e;
+        } finally {
+            // La referència queda desconnectada en tancar la sessió: es torna l'empleat original
+            for (int i = 0; i < callerEmployees.length; i++) {
+                contacts.get(i).setEmployee(callerEmployees[i]);
+            }
+        }
+        updateContactSearchIndex(index -> {
+            for (int i = 0; i < owners.length; i++) {
+                Contact contact = contacts.get(i);
+                index.put(ids.get(i), owners[i], contact.getContactType(), contact.getValue());
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * Insereix molts projectes en una única sessió.
+     *
+     * @return Els IDs generats, en el mateix ordre que la llista d'entrada
+     */
+    public static List<Long> addProjects(List<Project> projects) {
+        return addProjects(projects, DEFAULT_COMMIT_CHUNK_SIZE);
+    }
+
+    /**
+     * Com addProjects(List) però indicant cada quantes files es fa commit.
+     */
+    public static List<Long> addProjects(List<Project> projects, int commitChunkSize) {
+        return persistInBatches(projects, commitChunkSize,
+                (session, project) -> session.persist(project),
+                Project::getProjectId, "projectes");
+    }
+
+    /**
+     * Bucle comú de les insercions massives.
+     *
+     * FLUX:
+     * 1. Una sola sessió amb batching JDBC (hibernate.jdbc.batch_size)
+     * 2. Cada batchSize entitats: flush() + clear() per buidar el context
+     *    de persistència i evitar que la memòria creixi amb la llista
+     * 3. Cada commitChunkSize entitats: commit i nova transacció
+     */
+    private static <T> List<Long> persistInBatches(List<T> entities, int commitChunkSize,
+                                                   BiConsumer<Session, T> persister,
+                                                   Function<T, Long> idExtractor,
+                                                   String label) {
+        if (commitChunkSize <= 0) {
+            throw new IllegalArgumentException("commitChunkSize ha de ser positiu: " + commitChunkSize);
+        }
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Fa commits per chunks i buida la sessió: no es pot agrupar amb altres escriptures
+        return writeExclusive("inserció massiva de " + label,
+                () -> persistInChunks(entities, commitChunkSize, persister, idExtractor, label));
+    }
+
+    private static <T> List<Long> persistInChunks(List<T> entities, int commitChunkSize,
+                                                  BiConsumer<Session, T> persister,
+                                                  Function<T, Long> idExtractor,
+                                                  String label) {
+        List<Long> ids = new ArrayList<>(entities.size());
+        int batchSize = getJdbcBatchSize();
+        try (Session session = factory.openSession()) {
+            session.setJdbcBatchSize(batchSize);
+            Transaction tx = session.beginTransaction();
+            try {
+                int count = 0;
+                for (T entity : entities) {
+                    persister.accept(session, entity);
+                    ids.add(idExtractor.apply(entity));
+                    count++;
+
+                    if (count % batchSize == 0) {
+                        session.flush();
+                        session.clear();
+                    }
+                    if (count % commitChunkSize == 0 && count < entities.size()) {
+                        tx.commit();
+                        tx = session.beginTransaction();
+                    }
+                }
+                tx.commit();
+                logger.info("Inserits {} {} en batches de {}", count, label, batchSize);
+            } catch (RuntimeException e) {
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.error("Error en la inserció massiva de {}", label, e);
+                throw e;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Mida del batch JDBC configurada a hibernate.jdbc.batch_size
+     * (o DEFAULT_JDBC_BATCH_SIZE si no s'ha configurat).
+     */
+    static int getJdbcBatchSize() {
+        Object value = factory.getProperties().get(AvailableSettings.STATEMENT_BATCH_SIZE);
+        if (value != null) {
+            try {
+                int size = Integer.parseInt(value.toString().trim());
+                if (size > 0) return size;
+            } catch (NumberFormatException e) {
+                logger.warn("Valor invàlid per {}: {}", AvailableSettings.STATEMENT_BATCH_SIZE, value);
+            }
+        }
+        return DEFAULT_JDBC_BATCH_SIZE;
+    }
+
+    // ================================================================
+    // MÈTODES MASSIUS SOBRE LA TAULA PONT employee_project
+    // ================================================================
+
+    /**
+     * Assigna molts empleats a un projecte escrivint directament a employee_project.
+     *
+     * DIFERÈNCIA AMB updateEmployeeProjects():
+     * - No es carrega cap Employee ni Project, ni les seves col·leccions
+     * - Els INSERT es fan per blocs d'IDs amb INSERT ... SELECT, que ja
+     *   descarta els empleats inexistents i les assignacions que ja hi són
+     *
+     * Com que es salta el context de persistència, s'invaliden les entrades
+     * de cache de les col·leccions afectades (veure evictProjectMembership).
+     *
+     * @return Nombre de files inserides a employee_project
+     */
+    public static int assignEmployeesToProject(long projectId, Collection<Long> employeeIds) {
+        String sql = "INSERT INTO employee_project (employee_id, project_id) " +
+                     "SELECT e.id, :projectId FROM employees e " +
+                     "WHERE e.id IN (:ids) " +
+                     "AND NOT EXISTS (SELECT 1 FROM employee_project ep " +
+                     "WHERE ep.employee_id = e.id AND ep.project_id = :projectId)";
+        return updateMembershipInChunks(projectId, employeeIds, sql, true);
+    }
+
+    /**
+     * Desassigna molts empleats d'un projecte amb DELETE per blocs d'IDs.
+     *
+     * @return Nombre de files eliminades d'employee_project
+     */
+    public static int unassignEmployeesFromProject(long projectId, Collection<Long> employeeIds) {
+        String sql = "DELETE FROM employee_project " +
+                     "WHERE project_id = :projectId AND employee_id IN (:ids)";
+        return updateMembershipInChunks(projectId, employeeIds, sql, false);
+    }
+
+    /**
+     * Executa una sentència sobre employee_project per blocs de IN_CLAUSE_CHUNK_SIZE IDs,
+     * tot dins d'una única transacció.
+     *
+     * ÍNDEX DE MEMBRES: treure IDs és exacte. En assignar, si s'han inserit
+     * tantes files com IDs que l'índex no tenia, tots els empleats existeixen;
+     * si no, alguns no existeixen i es rellegeixen els membres del projecte.
+     */
+    private static int updateMembershipInChunks(long projectId, Collection<Long> employeeIds,
+                                                String sql, boolean assign) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String action = assign ? "assignats al" : "desassignats del";
+        long[] requested = toArray(ids);
+
+        int affected = write("modificant empleats del projecte: " + projectId, session -> {
+            if (session.get(Project.class, projectId) == null) {
+                logger.warn("No s'ha trobat el projecte amb ID: {}", projectId);
+                return 0;
+            }
+            long[] previous = membershipIndex != null && !membershipIndexStale
+                    ? membershipIndex.membersOf(projectId) : null;
+            int count = 0;
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+                count += session.createNativeQuery(sql, Void.class)
+                                // Només afecta employee_project: no invalidar la resta de caches
+                                .addSynchronizedQuerySpace("employee_project")
+                                .setParameter("projectId", projectId)
+                                .setParameterList("ids", chunk)
+                                .executeUpdate();
+            }
+            Consumer<MembershipIndex> update;
+            if (!assign) {
+                update = index -> index.removeMembers(projectId, requested);
+            } else if (previous != null && count == newMembers(requested, previous).length) {
+                // Es torna a calcular amb l'índex del moment del commit: en un
+                // commit agrupat, les operacions anteriors l'han pogut canviar
+                int inserted = count;
+                update = index -> {
+                    long[] current = index.membersOf(projectId);
+                    long[] added = newMembers(requested, current);
+                    if (added.length == inserted) {
+                        index.setMembersOf(projectId, MembershipIndex.union(current, added));
+                    } else {
+                        invalidateMembershipIndex();
+                    }
+                };
+            } else if (previous != null) {
+                long[] members = toArray(session.createNativeQuery(
+                            "SELECT employee_id FROM employee_project WHERE project_id = :projectId",
+                            Long.class)
+                        .setParameter("projectId", projectId)
+                        .list());
+                update = index -> index.setMembersOf(projectId, members);
+            } else {
+                update = null;
+            }
+            afterCommit(session, () -> {
+                evictProjectMembership(projectId, ids);
+                if (update != null) {
+                    updateMembershipIndex(update);
+                } else {
+                    invalidateMembershipIndex();
+                }
+            });
+            return count;
+        });
+        logger.info("{} empleats {} projecte {}", affected, action, projectId);
+        return affected;
+    }
+
+    /**
+     * IDs demanats que encara no són membres (tots dos ordenats, sense repetits).
+     */
+    private static long[] newMembers(long[] requested, long[] members) {
+        return MembershipIndex.difference(MembershipIndex.distinctSorted(requested.clone()), members);
+    }
+
+    /**
+     * Invalida les col·leccions Employee.projects i Project.employees de la
+     * cache de segon nivell després d'escriure employee_project amb SQL.
+     */
+    private static void evictProjectMembership(long projectId, Collection<Long> employeeIds) {
+        Cache cache = factory.getCache();
+        cache.evictCollectionData(Project.class.getName() + ".employees", projectId);
+        for (Long employeeId : employeeIds) {
+            cache.evictCollectionData(Employee.class.getName() + ".projects", employeeId);
+        }
+    }
+
+    // ================================================================
+    // ÍNDEX EN MEMÒRIA DE LA TAULA PONT employee_project
+    // ================================================================
+
+    /**
+     * IDs dels empleats d'un projecte, ordenats, sense consultar la BD.
+     *
+     * ÍNDEX DE MEMBRES (project.membership_index=true, per defecte):
+     * - Es construeix en crear la SessionFactory amb una sola SELECT
+     *   d'employee_project (veure rebuildMembershipIndex)
+     * - Cada escriptura del Manager a la taula pont l'actualitza després del
+     *   commit: updateEmployeeProjects, assign/unassignEmployeesToProject,
+     *   addEmployees, deleteProject, deleteEmployee i delete
+     * - queryUpdate el marca com a obsolet (l'SQL és opac) i la consulta
+     *   següent el reconstrueix
+     *
+     * A diferència de findEmployeesByProject() només retorna IDs: és per
+     * decidir a qui afecta alguna cosa, no per carregar les entitats.
+     *
+     * @throws IllegalStateException si l'índex està desactivat
+     */
+    public static long[] findEmployeeIdsByProject(long projectId) {
+        return membershipIndex().membersOf(projectId);
+    }
+
+    /**
+     * IDs dels projectes d'un empleat, ordenats (veure findEmployeeIdsByProject).
+     */
+    public static long[] findProjectIdsByEmployee(long employeeId) {
+        return membershipIndex().projectsOf(employeeId);
+    }
+
+    /**
+     * Indica si l'empleat és membre del projecte (veure findEmployeeIdsByProject).
+     */
+    public static boolean isEmployeeInProject(long employeeId, long projectId) {
+        return membershipIndex().isMember(employeeId, projectId);
+    }
+
+    /**
+     * IDs dels empleats que són a TOTS els projectes indicats (intersecció).
+     * Sense projectes retorna un array buit.
+     */
+    public static long[] findEmployeeIdsInAllProjects(long... projectIds) {
+        return membershipIndex().membersOfAll(projectIds);
+    }
+
+    /**
+     * IDs dels empleats que són en ALGUN dels projectes indicats (unió).
+     */
+    public static long[] findEmployeeIdsInAnyProject(long... projectIds) {
+        return membershipIndex().membersOfAny(projectIds);
+    }
+
+    /**
+     * Torna a construir l'índex de membres llegint tota la taula employee_project.
+     *
+     * Es llegeix amb JDBC directe: dues columnes long per fila, sense entitats
+     * ni objectes intermedis. No fa res si l'índex està desactivat.
+     */
+    public static void rebuildMembershipIndex() {
+        MembershipIndex index = membershipIndex;
+        if (index == null) {
+            return;
+        }
+        // Abans de llegir: un queryUpdate que acabi mentre llegim el torna a marcar.
+        // Les escriptures que s'apliquen mentre llegim es detecten amb updateCount
+        membershipIndexStale = false;
+        long readFrom = index.updateCount();
+        try (Session session = openReadOnlySession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                session.doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "SELECT employee_id, project_id FROM employee_project")) {
+                        statement.setFetchSize(getJdbcFetchSize());
+                        try (ResultSet rs = statement.executeQuery()) {
+                            long[] employeeIds = new long[1024];
+                            long[] projectIds = new long[1024];
+                            int size = 0;
+                            while (rs.next()) {
+                                if (size == employeeIds.length) {
+                                    employeeIds = Arrays.copyOf(employeeIds, size * 2);
+                                    projectIds = Arrays.copyOf(projectIds, size * 2);
+                                }
+                                employeeIds[size] = rs.getLong(1);
+                                projectIds[size] = rs.getLong(2);
+                                size++;
+                            }
+                            if (!index.load(employeeIds, projectIds, size, readFrom)) {
+                                // Un commit ha tocat l'índex durant la lectura: la
+                                // foto pot no incloure'l, es tornarà a llegir
+                                membershipIndexStale = true;
+                            }
+                        }
+                    }
+                });
+                tx.commit();
+                logger.info("Índex de membres construït: {} empleats en {} projectes",
+                        index.employeeCount(), index.projectCount());
+            } catch (HibernateException e) {
+                membershipIndexStale = true;
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.error("Error construint l'índex de membres", e);
+                throw e;
+            } finally {
+                endReadOnlySession(session);
+            }
+        }
+    }
+
+    /**
+     * Índex de membres a punt per consultar (el reconstrueix si és obsolet).
+     */
+    private static MembershipIndex membershipIndex() {
+        MembershipIndex index = membershipIndex;
+        if (index == null) {
+            throw new IllegalStateException(
+                    "L'índex de membres està desactivat (" + MEMBERSHIP_INDEX_SETTING + "=false)");
+        }
+        if (membershipIndexStale) {
+            rebuildMembershipIndex();
+        }
+        return index;
+    }
+
+    /**
+     * Aplica a l'índex de membres un canvi ja confirmat a employee_project.
+     * Si l'índex és obsolet no cal: es reconstruirà sencer.
+     */
+    private static void updateMembershipIndex(Consumer<MembershipIndex> update) {
+        MembershipIndex index = membershipIndex;
+        if (index != null && !membershipIndexStale) {
+            update.accept(index);
+        }
+    }
+
+    /**
+     * Marca l'índex de membres com a obsolet.
+     */
+    private static void invalidateMembershipIndex() {
+        membershipIndexStale = true;
+    }
+
+    private static long[] toArray(Collection<Long> ids) {
+        long[] result = new long[ids.size()];
+        int i = 0;
+        for (Long id : ids) {
+            result[i++] = id;
+        }
+        return result;
+    }
+
+    // ================================================================
+    // CERCA DE CONTACTES PER FRAGMENT
+    // ================================================================
+
+    /**
+     * Contactes el valor dels quals conté el fragment, sense distingir
+     * majúscules (per exemple "@empresa.cat" o "666"), com a màxim limit.
+     *
+     * ÍNDEX DE TRIGRAMES (project.contact_search_index=true, per defecte):
+     * - Es construeix en crear la SessionFactory amb una sola SELECT de
+     *   contacts (veure rebuildContactSearchIndex i ContactSearchIndex)
+     * - addContactToEmployee, updateContact, removeContactFromEmployee,
+     *   addContacts, addEmployees, deleteEmployee i delete l'actualitzen
+     *   després del commit
+     * - deleteContacts i queryUpdate el marquen com a obsolet i la cerca
+     *   següent el reconstrueix
+     *
+     * Un LIKE '%fragment%' a la BD no pot fer servir cap índex i recorre
+     * tota la taula; aquí només es miren els contactes que tenen el
+     * trigrama menys freqüent del fragment.
+     *
+     * Els resultats no tenen un ordre definit.
+     *
+     * @throws IllegalArgumentException si el fragment és buit o limit <= 0
+     * @throws IllegalStateException si l'índex està desactivat
+     */
+    public static List<ContactMatch> searchContacts(String fragment, int limit) {
+        checkSearch(fragment, limit);
+        return contactSearchIndex().search(fragment, limit);
+    }
+
+    /**
+     * Contactes el valor dels quals comença pel prefix, sense distingir
+     * majúscules (veure searchContacts).
+     */
+    public static List<ContactMatch> searchContactsByPrefix(String prefix, int limit) {
+        checkSearch(prefix, limit);
+        return contactSearchIndex().searchPrefix(prefix, limit);
+    }
+
+    private static void checkSearch(String fragment, int limit) {
+        if (fragment == null || fragment.isEmpty()) {
+            throw new IllegalArgumentException("El fragment de cerca no pot ser buit");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit ha de ser positiu: " + limit);
+        }
+    }
+
+    /**
+     * Torna a construir l'índex de cerca llegint tota la taula contacts
+     * amb JDBC directe. No fa res si l'índex està desactivat.
+     */
+    public static void rebuildContactSearchIndex() {
+        ContactSearchIndex index = contactSearchIndex;
+        if (index == null) {
+            return;
+        }
+        // Com rebuildMembershipIndex: els canvis aplicats mentre llegim es
+        // detecten amb updateCount i deixen l'índex obsolet
+        contactSearchIndexStale = false;
+        long readFrom = index.updateCount();
+        try (Session session = openReadOnlySession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                session.doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "SELECT c.id, c.employee_id, t.name, c.contact_value FROM contacts c " +
+                            "JOIN contact_types t ON t.id = c.contact_type_id")) {
+                        statement.setFetchSize(getJdbcFetchSize());
+                        try (ResultSet rs = statement.executeQuery()) {
+                            long[] ids = new long[1024];
+                            long[] owners = new long[1024];
+                            String[] types = new String[1024];
+                            String[] values = new String[1024];
+                            int size = 0;
+                            while (rs.next()) {
+                                if (size == ids.length) {
+                                    ids = Arrays.copyOf(ids, size * 2);
+                                    owners = Arrays.copyOf(owners, size * 2);
+                                    types = Arrays.copyOf(types, size * 2);
+                                    values = Arrays.copyOf(values, size * 2);
+                                }
+                                ids[size] = rs.getLong(1);
+                                owners[size] = rs.getLong(2);
+                                types[size] = rs.getString(3);
+                                values[size] = rs.getString(4);
+                                size++;
+                            }
+                            if (!index.load(ids, owners, types, values, size, readFrom)) {
+                                contactSearchIndexStale = true;
+                            }
+                        }
+                    }
+                });
+                tx.commit();
+                logger.info("Índex de cerca de contactes construït: {} contactes", index.size());
+            } catch (HibernateException e) {
+                contactSearchIndexStale = true;
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.error("Error construint l'índex de cerca de contactes", e);
+                throw e;
+            } finally {
+                endReadOnlySession(session);
+            }
+        }
+    }
+
+    /**
+     * Índex de cerca a punt per consultar (el reconstrueix si és obsolet).
+     */
+    private static ContactSearchIndex contactSearchIndex() {
+        ContactSearchIndex index = contactSearchIndex;
+        if (index == null) {
+            throw new IllegalStateException("L'índex de cerca de contactes està desactivat ("
+                    + CONTACT_SEARCH_INDEX_SETTING + "=false)");
+        }
+        if (contactSearchIndexStale) {
+            rebuildContactSearchIndex();
+        }
+        return index;
+    }
+
+    /**
+     * Aplica a l'índex de cerca un canvi ja confirmat a contacts.
+     * Si l'índex és obsolet no cal: es reconstruirà sencer.
+     */
+    private static void updateContactSearchIndex(Consumer<ContactSearchIndex> update) {
+        ContactSearchIndex index = contactSearchIndex;
+        if (index != null && !contactSearchIndexStale) {
+            update.accept(index);
+        }
+    }
+
+    private static void invalidateContactSearchIndex() {
+        contactSearchIndexStale = true;
+    }
+
+    // ================================================================
+    // OPERACIONS MASSIVES AMB CRITERIA (UPDATE / DELETE)
+    // ================================================================
+
+    /**
+     * Canvia l'estat de molts projectes sense carregar-los.
+     *
+     * DIFERÈNCIA AMB updateProject():
+     * - updateProject carrega el projecte i el modifica (un per crida)
+     * - Aquí es genera un UPDATE per blocs de IN_CLAUSE_CHUNK_SIZE IDs,
+     *   tot dins d'una única transacció
+     *
+     * @return Nombre de projectes actualitzats
+     */
+    public static int bulkUpdateProjectStatus(Collection<Long> projectIds, String status) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(projectIds));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return executeBulkMutation("projectes actualitzats a " + status, session -> {
+            int affected = 0;
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+                affected += updateProjectStatus(session,
+                        (cb, p) -> p.get("projectId").in(chunk), status);
+            }
+            return affected;
+        });
+    }
+
+    /**
+     * Canvia l'estat de tots els projectes que compleixen el filtre.
+     *
+     * @return Nombre de projectes actualitzats
+     */
+    public static int updateProjectStatus(CriteriaFilter<Project> filter, String status) {
+        return executeBulkMutation("projectes actualitzats a " + status,
+                session -> updateProjectStatus(session, filter, status));
+    }
+
+    private static int updateProjectStatus(Session session, CriteriaFilter<Project> filter,
+                                           String status) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaUpdate<Project> update = cb.createCriteriaUpdate(Project.class);
+        Root<Project> root = update.from(Project.class);
+        update.set(root.<String>get("status"), status)
+              .where(filter.toPredicate(cb, root));
+        return session.createMutationQuery(update).executeUpdate();
+    }
+
+    /**
+     * Elimina tots els contactes d'un tipus amb un sol DELETE.
+     *
+     * @return Nombre de contactes eliminats
+     */
+    public static int deleteContactsByType(String contactType) {
+        if (isUnknownContactType(contactType)) {
+            return 0;
+        }
+        return deleteContacts((cb, c) -> cb.equal(c.get("contactType"), contactType));
+    }
+
+    /**
+     * Elimina tots els contactes que compleixen el filtre amb un sol DELETE.
+     *
+     * @return Nombre de contactes eliminats
+     */
+    public static int deleteContacts(CriteriaFilter<Contact> filter) {
+        int deleted = executeBulkMutation("contactes eliminats", session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaDelete<Contact> delete = cb.createCriteriaDelete(Contact.class);
+            Root<Contact> root = delete.from(Contact.class);
+            delete.where(filter.toPredicate(cb, root));
+            return session.createMutationQuery(delete).executeUpdate();
+        });
+        if (deleted > 0) {
+            // No sabem quins contactes eren: es reconstrueix a la cerca següent
+            invalidateContactSearchIndex();
+        }
+        return deleted;
+    }
+
+    /**
+     * Ajusta un percentatge el salari dels empleats que compleixen el filtre.
+     * El nou salari s'arrodoneix a l'enter més proper (percent = 5.0 puja un 5%,
+     * percent = -10.0 baixa un 10%).
+     *
+     * @return Nombre d'empleats actualitzats
+     */
+    public static int adjustSalaries(CriteriaFilter<Employee> filter, double percent) {
+        double factor = 1.0 + percent / 100.0;
+        return executeBulkMutation("salaris ajustats un " + percent + "%", session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+            Root<Employee> root = update.from(Employee.class);
+            Path<Integer> salary = root.get("salary");
+            update.set(salary, cb.round(cb.prod(salary, factor), 0).as(Integer.class))
+                  .where(filter.toPredicate(cb, root));
+            return session.createMutationQuery(update).executeUpdate();
+        });
+    }
+
+    /**
+     * Executa una operació massiva (UPDATE/DELETE de Criteria o HQL) en una transacció.
+     *
+     * CACHE:
+     * Hibernate invalida sol les regions de cache de segon nivell de les taules
+     * afectades (entitats i col·leccions) i els resultats de consultes que les
+     * fan servir. Com que cada mètode obre la seva sessió, no queda cap entitat
+     * desactualitzada en un context de persistència.
+     */
+    private static int executeBulkMutation(String label, Function<Session, Integer> mutation) {
+        int affected = write("en l'operació massiva: " + label, mutation);
+        logger.info("Operació massiva: {} {}", affected, label);
+        return affected;
+    }
+
     // ================================================================
-    // MÈTODES CRUD PER CONTACT
+    // PROJECCIONS DTO (LLISTATS DE NOMÉS LECTURA)
     // ================================================================
 
     /**
-     * Afegeix un contacte a un empleat existent.
+     * SELECT comuna de les projeccions EmployeeSummary.
      * 
-     * NOTA: Com Employee té cascade=ALL amb Contact,
-     * podríem només fer emp.addContact() i session.merge(emp)
-     * sense session.persist(contact) explícit.
-     * Ho deixem per claredat.
+     * Els recomptes són subconsultes correlacionades (SIZE genera un
+     * SELECT COUNT per empleat) que es resolen amb els índexs de les FK:
+     * - idx_contacts_employee per als contactes
+     * - la PK (employee_id, project_id) d'employee_project per als projectes
+     * Així una consulta filtrada només compta els empleats que retorna, en
+     * lloc d'agrupar contacts i employee_project sencers com feien les
+     * taules derivades d'abans (quan SQLite no tenia índex per employee_id).
+     * No hi ha producte cartesià entre contactes i projectes.
      */
-    public static Contact addContactToEmployee(long employeeId, String contactType, 
-                                                String value, String description) {
-        Contact result = null;
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Employee emp = session.get(Employee.class, employeeId);
-                if (emp != null) {
-                    Contact contact = new Contact(contactType, value, description);
-                    emp.addContact(contact);
-                    session.persist(contact);  // AFEGIR AQUESTA LÍNIA - persistir explícitament
-                    session.merge(emp);
-                    result = contact;  // Ara contact té l'ID assignat
-                    logger.info("Contacte afegit a l'empleat {}: {}", 
-                            employeeId, contact.getContactId());
-                } else {
-                    logger.warn("No s'ha trobat l'empleat amb ID: {}", employeeId);
-                }
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error afegint contacte a l'empleat: {}", employeeId, e);
-                throw e;
-            }
+    private static final String EMPLOYEE_SUMMARY_SELECT =
+            "SELECT new com.project.dao.EmployeeSummary(" +
+            "e.employeeId, e.firstName, e.lastName, e.salary, " +
+            "SIZE(e.contacts), SIZE(e.projects)) " +
+            "FROM Employee e ";
+
+    /**
+     * Com findEmployeesByContactType() però retornant resums (EmployeeSummary).
+     * 
+     * DIFERÈNCIA AMB LA VERSIÓ D'ENTITATS:
+     * - Una sola SELECT, sense inicialitzar col·leccions
+     * - No es creen entitats ni snapshots: no hi ha dirty checking al commit
+     */
+    public static List<EmployeeSummary> findEmployeeSummariesByContactType(String contactType) {
+        if (isUnknownContactType(contactType)) {
+            return Collections.emptyList();
         }
-        return result;
+        return querySummaries(EMPLOYEE_SUMMARY_SELECT +
+                "WHERE e.employeeId IN (SELECT c2.employee.employeeId FROM Contact c2 " +
+                "WHERE c2.contactType = :type) " +
+                "ORDER BY e.employeeId",
+                query -> query.setParameter("type", contactType),
+                "tipus de contacte " + contactType);
     }
-    
+
     /**
-     * Cerca contactes d'un empleat filtrats per tipus.
+     * Com findEmployeesByProject() però retornant resums (EmployeeSummary).
      */
-    public static Collection<Contact> findContactsByEmployeeAndType(long employeeId, 
-                                                                     String contactType) {
-        Collection<Contact> result = Collections.emptyList();
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                String hql = "FROM Contact c " +
-                            "WHERE c.employee.employeeId = :empId " +
-                            "AND c.contactType = :type";
-                result = session.createQuery(hql, Contact.class)
-                              .setParameter("empId", employeeId)
-                              .setParameter("type", contactType)
-                              .list();
-                logger.info("Trobats {} contactes per l'empleat {} de tipus {}", 
-                          result.size(), employeeId, contactType);
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error cercant contactes per empleat {} i tipus {}", 
-                           employeeId, contactType, e);
-                throw e;
-            }
-        }
-        return result;
+    public static List<EmployeeSummary> findEmployeeSummariesByProject(long projectId) {
+        return querySummaries(EMPLOYEE_SUMMARY_SELECT +
+                "WHERE e.employeeId IN (SELECT e3.employeeId FROM Project p3 JOIN p3.employees e3 " +
+                "WHERE p3.projectId = :projectId) " +
+                "ORDER BY e.employeeId",
+                query -> query.setParameter("projectId", projectId),
+                "projecte " + projectId);
     }
 
     /**
-     * Elimina un contacte d'un empleat.
-     * Gràcies a orphanRemoval=true, el contact s'elimina de la BD.
+     * Resum de tots els empleats.
      */
-    public static void removeContactFromEmployee(long employeeId, long contactId) {
-        try (Session session = factory.openSession()) {
+    public static List<EmployeeSummary> listEmployeeSummaries() {
+        return querySummaries(EMPLOYEE_SUMMARY_SELECT + "ORDER BY e.employeeId",
+                query -> {}, "tots els empleats");
+    }
+
+    private static List<EmployeeSummary> querySummaries(String hql,
+                                                        Consumer<Query<EmployeeSummary>> binder,
+                                                        String label) {
+        try (Session session = openReadOnlySession()) {
             Transaction tx = session.beginTransaction();
             try {
-                Employee emp = session.get(Employee.class, employeeId);
-                Contact contact = session.get(Contact.class, contactId);
-                
-                if (emp != null && contact != null) {
-                    emp.removeContact(contact);  // orphanRemoval s'encarrega d'eliminar-lo
-                    session.merge(emp);
-                    logger.info("Contacte {} eliminat de l'empleat {}", contactId, employeeId);
-                } else {
-                    logger.warn("No s'ha trobat l'empleat {} o el contacte {}", 
-                               employeeId, contactId);
-                }
+                Query<EmployeeSummary> query = session.createQuery(hql, EmployeeSummary.class);
+                binder.accept(query);
+                List<EmployeeSummary> result = query.list();
+                logger.info("Trobats {} resums d'empleats per {}", result.size(), label);
                 tx.commit();
+                return result;
             } catch (HibernateException e) {
                 if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error eliminant contacte {} de l'empleat {}", 
-                            contactId, employeeId, e);
+                logger.error("Error obtenint resums d'empleats per {}", label, e);
                 throw e;
+            } finally {
+                endReadOnlySession(session);
             }
         }
     }
 
     /**
-     * Actualitza la informació d'un contacte.
+     * Companys de projecte: projectes de l'empleat -> membres de cada projecte,
+     * agrupats per company. El top :limit es tria dins la subconsulta, només
+     * amb employee_project, i després es busquen els noms per la PK d'employees.
+     *
+     * El LIMIT va dins la subconsulta perquè la BD no hi pugui empènyer el
+     * JOIN amb employees: H2 ho feia i recalculava l'agregat per cada empleat.
      */
-    public static void updateContact(long contactId, String contactType, 
-                                     String value, String description) {
-        try (Session session = factory.openSession()) {
+    static final String COWORKERS_SQL =
+            "SELECT e.id, e.firstName, e.lastName, s.shared " +
+            "FROM (SELECT other.employee_id AS employee_id, COUNT(*) AS shared " +
+            "FROM employee_project mine " +
+            "JOIN employee_project other ON other.project_id = mine.project_id " +
+            "WHERE mine.employee_id = :id AND other.employee_id <> :id " +
+            "GROUP BY other.employee_id " +
+            "ORDER BY shared DESC, other.employee_id " +
+            "LIMIT :limit) s " +
+            "JOIN employees e ON e.id = s.employee_id " +
+            "ORDER BY s.shared DESC, e.id";
+
+    public static List<Coworker> findCoworkers(long employeeId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit ha de ser positiu: " + limit);
+        }
+        try (Session session = openReadOnlySession()) {
             Transaction tx = session.beginTransaction();
             try {
-                Contact contact = session.get(Contact.class, contactId);
-                if (contact != null) {
-                    contact.setContactType(contactType);
-                    contact.setValue(value);
-                    contact.setDescription(description);
-                    session.merge(contact);
-                    logger.info("Contacte actualitzat: {}", contactId);
-                } else {
-                    logger.warn("No s'ha trobat el contacte amb ID: {}", contactId);
+                List<Object[]> rows = session.createNativeQuery(COWORKERS_SQL, Object[].class)
+                        .addScalar("id", StandardBasicTypes.LONG)
+                        .addScalar("firstName", StandardBasicTypes.STRING)
+                        .addScalar("lastName", StandardBasicTypes.STRING)
+                        .addScalar("shared", StandardBasicTypes.LONG)
+                        .setParameter("id", employeeId)
+                        .setParameter("limit", limit)
+                        .list();
+                List<Coworker> result = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    result.add(new Coworker((Long) row[0], (String) row[1], (String) row[2], (Long) row[3]));
                 }
+                logger.info("Trobats {} companys de l'empleat {}", result.size(), employeeId);
                 tx.commit();
+                return result;
             } catch (HibernateException e) {
                 if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error actualitzant contacte: {}", contactId, e);
+                logger.error("Error cercant companys de l'empleat: {}", employeeId, e);
                 throw e;
+            } finally {
+                endReadOnlySession(session);
             }
         }
     }
 
     // ================================================================
-    // MÈTODES CRUD PER PROJECT
+    // PAGINACIÓ PER CLAU (KEYSET)
     // ================================================================
 
     /**
-     * Crea un nou projecte.
+     * Pàgina d'empleats ordenats per ID, a partir del següent a afterId.
+     * 
+     * PAGINACIÓ PER CLAU (keyset / seek) EN LLOC D'OFFSET:
+     * - OFFSET n obliga la BD a llegir i descartar n files: les pàgines
+     *   profundes són cada cop més lentes
+     * - WHERE id > :afterId ORDER BY id LIMIT n salta directament amb
+     *   l'índex de la clau primària: totes les pàgines costen igual
+     * 
+     * Ús: primera pàgina amb afterId = null, i per la següent passar l'ID
+     * de l'últim element rebut. Una pàgina buida (o més curta que limit)
+     * indica que no n'hi ha més.
+     * 
+     * Les col·leccions LAZY venen inicialitzades, com a listCollection().
      */
-    public static Project addProject(String name, String description, String status) {
-        Project result = null;
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                result = new Project(name, description, status);
-                session.persist(result);
-                logger.info("Projecte creat amb ID: {}", result.getProjectId());
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error creant projecte", e);
-                throw e;
-            }
+    public static List<Employee> pageEmployees(Long afterId, int limit) {
+        return fetchPage(Employee.class,
+                "SELECT e FROM Employee e " +
+                "WHERE e.employeeId > :afterId " +
+                "ORDER BY e.employeeId",
+                afterId, limit, query -> {});
+    }
+
+    /**
+     * Pàgina d'empleats que tenen algun contacte del tipus indicat (veure pageEmployees).
+     * EXISTS en lloc de JOIN + DISTINCT: cada empleat surt un sol cop sense ordenar duplicats.
+     */
+    public static List<Employee> pageEmployeesByContactType(String contactType, Long afterId, int limit) {
+        // Amb limit <= 0 continua fins a fetchPage, que el rebutja
+        if (limit > 0 && isUnknownContactType(contactType)) {
+            return Collections.emptyList();
         }
-        return result;
+        return fetchPage(Employee.class,
+                "SELECT e FROM Employee e " +
+                "WHERE e.employeeId > :afterId " +
+                "AND EXISTS (SELECT 1 FROM Contact c " +
+                "WHERE c.employee = e AND c.contactType = :type) " +
+                "ORDER BY e.employeeId",
+                afterId, limit, query -> query.setParameter("type", contactType));
     }
 
     /**
-     * Actualitza un projecte existent.
+     * Pàgina d'empleats assignats a un projecte (veure pageEmployees).
      */
-    public static void updateProject(long projectId, String name, 
-                                     String description, String status) {
-        try (Session session = factory.openSession()) {
+    public static List<Employee> pageEmployeesByProject(long projectId, Long afterId, int limit) {
+        return fetchPage(Employee.class,
+                "SELECT e FROM Project p JOIN p.employees e " +
+                "WHERE p.projectId = :projectId " +
+                "AND e.employeeId > :afterId " +
+                "ORDER BY e.employeeId",
+                afterId, limit, query -> query.setParameter("projectId", projectId));
+    }
+
+    /**
+     * Pàgina de projectes ordenats per ID (veure pageEmployees).
+     */
+    public static List<Project> pageProjects(Long afterId, int limit) {
+        return fetchPage(Project.class,
+                "SELECT p FROM Project p " +
+                "WHERE p.projectId > :afterId " +
+                "ORDER BY p.projectId",
+                afterId, limit, query -> {});
+    }
+
+    /**
+     * Pàgina de contactes ordenats per ID (veure pageEmployees).
+     */
+    public static List<Contact> pageContacts(Long afterId, int limit) {
+        return fetchPage(Contact.class,
+                "SELECT c FROM Contact c " +
+                "WHERE c.contactId > :afterId " +
+                "ORDER BY c.contactId",
+                afterId, limit, query -> {});
+    }
+
+    /**
+     * Pàgina de contactes d'un tipus (veure pageEmployees).
+     */
+    public static List<Contact> pageContactsByType(String contactType, Long afterId, int limit) {
+        // Amb limit <= 0 continua fins a fetchPage, que el rebutja
+        if (limit > 0 && isUnknownContactType(contactType)) {
+            return Collections.emptyList();
+        }
+        return fetchPage(Contact.class,
+                "SELECT c FROM Contact c " +
+                "WHERE c.contactId > :afterId " +
+                "AND c.contactType = :type " +
+                "ORDER BY c.contactId",
+                afterId, limit, query -> query.setParameter("type", contactType));
+    }
+
+    /**
+     * Executa una consulta de pàgina: la HQL ha de filtrar per ":afterId" i
+     * ordenar per la mateixa clau. afterId = null vol dir la primera pàgina.
+     */
+    private static <T> List<T> fetchPage(Class<T> clazz, String hql, Long afterId, int limit,
+                                         Consumer<Query<T>> binder) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit ha de ser positiu: " + limit);
+        }
+        try (Session session = openReadOnlySession()) {
             Transaction tx = session.beginTransaction();
             try {
-                Project project = session.get(Project.class, projectId);
-                if (project != null) {
-                    project.setName(name);
-                    project.setDescription(description);
-                    project.setStatus(status);
-                    session.merge(project);
-                    logger.info("Projecte actualitzat: {}", projectId);
-                } else {
-                    logger.warn("No s'ha trobat el projecte amb ID: {}", projectId);
-                }
+                Query<T> query = session.createQuery(hql, clazz)
+                                        .setParameter("afterId", afterId != null ? afterId : Long.MIN_VALUE)
+                                        .setMaxResults(limit);
+                binder.accept(query);
+                List<T> result = query.list();
+
+                // No es pot fer servir SUBSELECT aquí: la subconsulta no conserva
+                // el LIMIT i carregaria les col·leccions de totes les pàgines següents
+                initializeLazyCollections(session, clazz, result);
+
+                logger.info("Pàgina de {} {} després de l'ID {}",
+                        result.size(), clazz.getSimpleName(), afterId);
                 tx.commit();
+                return result;
             } catch (HibernateException e) {
                 if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error actualitzant projecte: {}", projectId, e);
+                logger.error("Error obtenint pàgina de {} després de l'ID {}",
+                        clazz.getSimpleName(), afterId, e);
                 throw e;
+            } finally {
+                endReadOnlySession(session);
             }
         }
     }
@@ -514,7 +2802,7 @@ public class Manager {
      */
     public static <T> T getById(Class<? extends T> clazz, long id) {
         T obj = null;
-        try (Session session = factory.openSession()) {
+        try (Session session = openReadOnlySession()) {
             Transaction tx = session.beginTransaction();
             try {
                 obj = session.get(clazz, id);
@@ -536,6 +2824,8 @@ public class Manager {
                 if (tx != null && tx.isActive()) tx.rollback();
                 logger.error("Error obtenint {} amb ID: {}", clazz.getSimpleName(), id, e);
                 throw e;
+            } finally {
+                endReadOnlySession(session);
             }
         }
         return obj;
@@ -544,123 +2834,351 @@ public class Manager {
     /**
      * Elimina un projecte, desvinculant primer tots els empleats.
      * Gestiona automàticament la taula pont employee_project.
+     * 
+     * ELIMINACIÓ PER CONJUNTS:
+     * - No es carrega el projecte ni els seus empleats
+     * - Un sol DELETE esborra totes les files del projecte a employee_project
+     * - Un DELETE HQL esborra el projecte
+     * - Cost constant en nombre de sentències, independent dels membres
+     * 
+     * Com que no passem pel context de persistència, cal invalidar a mà
+     * la cache del projecte i de les col·leccions que el contenien.
      */
     public static void deleteProject(long projectId) {
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Project project = session.get(Project.class, projectId);
-                if (project != null) {
-                    // IMPORTANT: Desvincullar tots els empleats primer
-                    for (Employee emp : Set.copyOf(project.getEmployees())) {
-                        emp.removeProject(project);
-                        session.merge(emp);
-                    }
-                    session.remove(project);
-                    logger.info("Projecte eliminat amb desvinculació automàtica: {}", projectId);
+        write("eliminant projecte: " + projectId, session -> {
+            int links = session.createNativeQuery(
+                        "DELETE FROM employee_project WHERE project_id = :id", Void.class)
+                    .addSynchronizedQuerySpace("employee_project")
+                    .setParameter("id", projectId)
+                    .executeUpdate();
+            int deleted = session.createMutationQuery(
+                        "DELETE FROM Project p WHERE p.projectId = :id")
+                    .setParameter("id", projectId)
+                    .executeUpdate();
+            afterCommit(session, () -> {
+                if (links > 0) {
+                    updateMembershipIndex(index -> index.removeProject(projectId));
                 }
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                throw e;
-            }
-        }
+                if (deleted > 0) {
+                    evictDeletedProject(projectId);
+                    logger.info("Projecte eliminat amb desvinculació automàtica: {} ({} empleats)",
+                            projectId, links);
+                }
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Invalida la cache d'un projecte eliminat amb sentències massives.
+     * No sabem quins Employee.projects el contenien: s'invalida tota la regió.
+     */
+    private static void evictDeletedProject(long projectId) {
+        Cache cache = factory.getCache();
+        cache.evictEntityData(Project.class, projectId);
+        cache.evictCollectionData(Project.class.getName() + ".employees", projectId);
+        cache.evictCollectionData(Employee.class.getName() + ".projects");
     }
 
     /**
      * Elimina un empleat amb totes les seves dades.
      * - Contactes s'eliminen per orphanRemoval
      * - Projectes es desvinculen però persisteixen
+     * 
+     * Amb project.delete.cascade=database no es carrega res: veure
+     * deleteEmployeeInDatabase().
      */
     public static void deleteEmployee(long employeeId) {
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Employee emp = session.get(Employee.class, employeeId);
-                if (emp != null) {
-                    // Desvincullar de tots els projectes (actualitza taula pont)
-                    for (Project proj : Set.copyOf(emp.getProjects())) {
-                        emp.removeProject(proj);
-                    }
-                    // Els contactes s'eliminen automàticament (orphanRemoval=true)
-                    session.remove(emp);
-                    logger.info("Empleat eliminat amb desvinculació automàtica: {}", employeeId);
+        if (isDatabaseDeleteCascade()) {
+            deleteEmployeeInDatabase(employeeId);
+            return;
+        }
+        write("eliminant empleat: " + employeeId, session -> {
+            Employee emp = session.get(Employee.class, employeeId);
+            if (emp != null) {
+                // Desvincullar de tots els projectes (actualitza taula pont)
+                for (Project proj : Set.copyOf(emp.getProjects())) {
+                    emp.removeProject(proj);
                 }
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                throw e;
+                // Els contactes s'eliminen automàticament (orphanRemoval=true)
+                session.remove(emp);
+                logger.info("Empleat eliminat amb desvinculació automàtica: {}", employeeId);
+                afterCommit(session, () -> {
+                    updateMembershipIndex(index -> index.removeEmployee(employeeId));
+                    updateContactSearchIndex(index -> index.removeEmployee(employeeId));
+                });
             }
-        }
+            return null;
+        });
+    }
+
+    /**
+     * Elimina un empleat amb un sol DELETE i deixa les cascades a la BD.
+     * 
+     * CASCADA A LA BD (ON DELETE CASCADE):
+     * - contacts.employee_id: s'esborren els contactes de l'empleat
+     * - employee_project.employee_id: s'esborren les files de la taula pont
+     *   (els projectes es mantenen)
+     * 
+     * Es fa amb SQL natiu perquè un DELETE HQL d'Employee esborraria abans
+     * la taula pont per la seva banda, i volem que ho faci la BD.
+     * Com que la BD esborra files que Hibernate no veu, cal invalidar a mà
+     * la cache de l'empleat, dels seus contactes i de les col·leccions.
+     */
+    private static void deleteEmployeeInDatabase(long employeeId) {
+        write("eliminant empleat: " + employeeId, session -> {
+            int deleted = session.createNativeQuery(
+                        "DELETE FROM employees WHERE id = :id", Void.class)
+                    .addSynchronizedQuerySpace("employees")
+                    .addSynchronizedQuerySpace("contacts")
+                    .addSynchronizedQuerySpace("employee_project")
+                    .setParameter("id", employeeId)
+                    .executeUpdate();
+            if (deleted > 0) {
+                afterCommit(session, () -> {
+                    evictDeletedEmployee(employeeId);
+                    updateMembershipIndex(index -> index.removeEmployee(employeeId));
+                    updateContactSearchIndex(index -> index.removeEmployee(employeeId));
+                    logger.info("Empleat eliminat amb cascada a la BD: {}", employeeId);
+                });
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Invalida la cache d'un empleat eliminat per la BD.
+     * No sabem quins contactes ni quins Project.employees hi havia:
+     * s'invaliden les regions senceres.
+     */
+    private static void evictDeletedEmployee(long employeeId) {
+        Cache cache = factory.getCache();
+        cache.evictEntityData(Employee.class, employeeId);
+        cache.evictCollectionData(Employee.class.getName() + ".contacts", employeeId);
+        cache.evictCollectionData(Employee.class.getName() + ".projects", employeeId);
+        cache.evictEntityData(Contact.class);
+        cache.evictCollectionData(Project.class.getName() + ".employees");
     }
 
     /**
      * Elimina una entitat per ID.
+     * Si és un Employee, s'invalida la cache dels projectes on era membre
+     * i es treu de l'índex de membres. Si és un Employee o un Contact, es
+     * treuen els contactes eliminats de l'índex de cerca.
      */
     public static <T> void delete(Class<? extends T> clazz, Serializable id) {
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
+        write("eliminant " + clazz.getSimpleName() + " amb ID: " + id, session -> {
+            T obj = session.get(clazz, id);
+            if (obj == null) {
+                logger.warn("No s'ha trobat {} amb ID: {} per eliminar", 
+                          clazz.getSimpleName(), id);
+                return null;
+            }
+            List<Long> memberOf = new ArrayList<>();
+            if (obj instanceof Employee emp) {
+                for (Project project : emp.getProjects()) {
+                    memberOf.add(project.getProjectId());
+                }
+            }
+            session.remove(obj);
+            logger.info("Eliminat {} amb ID: {}", clazz.getSimpleName(), id);
+            afterCommit(session, () -> {
+                evictProjectMembers(memberOf);
+                if (!memberOf.isEmpty()) {
+                    long employeeId = ((Number) id).longValue();
+                    updateMembershipIndex(index -> index.removeEmployee(employeeId));
+                }
+                if (obj instanceof Employee || obj instanceof Contact) {
+                    long removedId = ((Number) id).longValue();
+                    updateContactSearchIndex(obj instanceof Employee
+                            ? index -> index.removeEmployee(removedId)
+                            : index -> index.remove(removedId));
+                }
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Retorna tots els objectes d'una entitat amb les col·leccions LAZY inicialitzades.
+     */
+    public static <T> Collection<T> listCollection(Class<T> clazz) {
+        try (Session session = openReadOnlySession()) {
             try {
-                T obj = session.get(clazz, id);
-                if (obj != null) {
-                    session.remove(obj);
-                    logger.info("Eliminat {} amb ID: {}", clazz.getSimpleName(), id);
-                } else {
-                    logger.warn("No s'ha trobat {} amb ID: {} per eliminar", 
-                              clazz.getSimpleName(), id);
+                List<T> results = session.createQuery("FROM " + clazz.getSimpleName(), clazz).list();
+                
+                // Inicialitzar totes les col·leccions LAZY de cada entitat
+                for (T entity : results) {
+                    initializeLazyCollections(entity);
+                }
+                
+                return results;
+            } finally {
+                endReadOnlySession(session);
+            }
+        }
+    }
+
+    /**
+     * Recorre tots els objectes d'una entitat amb memòria constant.
+     * 
+     * DIFERÈNCIA AMB listCollection():
+     * - listCollection carrega TOTA la taula en una llista (la memòria creix
+     *   amb el nombre de files)
+     * - Aquí es llegeix amb ScrollableResults (cursor JDBC endavant) i es
+     *   crida el consumer per cada fila
+     * - Cada fetchSize files es fa clear() del context de persistència, així
+     *   les entitats ja processades es poden alliberar
+     * 
+     * IMPORTANT: L'entitat només és vàlida dins del consumer. Les col·leccions
+     * LAZY s'hi poden llegir (es carreguen sota demanda), però no s'han de
+     * guardar referències per fer-les servir després.
+     * 
+     * @return Nombre d'entitats processades
+     */
+    public static <T> long streamCollection(Class<T> clazz, Consumer<? super T> consumer) {
+        return streamCollection(clazz, getJdbcFetchSize(), consumer);
+    }
+
+    /**
+     * Com streamCollection(Class, Consumer) però indicant el fetch size JDBC,
+     * que també marca cada quantes files es buida el context de persistència.
+     */
+    public static <T> long streamCollection(Class<T> clazz, int fetchSize, Consumer<? super T> consumer) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize ha de ser positiu: " + fetchSize);
+        }
+        try (Session session = openReadOnlySession()) {
+            // Només lectura encara que project.query.read_only=false: sense snapshots
+            // per dirty checking ni cache de segon nivell
+            session.setDefaultReadOnly(true);
+            session.setCacheMode(CacheMode.IGNORE);
+            Transaction tx = session.beginTransaction();
+            try (ScrollableResults<T> rows = session.createQuery("FROM " + clazz.getSimpleName(), clazz)
+                                                    .setFetchSize(fetchSize)
+                                                    .setReadOnly(true)
+                                                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                long count = 0;
+                while (rows.next()) {
+                    consumer.accept(rows.get());
+                    if (++count % fetchSize == 0) {
+                        session.clear();
+                    }
                 }
                 tx.commit();
-            } catch (HibernateException e) {
+                logger.info("Recorreguts {} {} en mode streaming", count, clazz.getSimpleName());
+                return count;
+            } catch (RuntimeException e) {
+                // També desfem la transacció si falla el consumer
                 if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error eliminant {} amb ID: {}", clazz.getSimpleName(), id, e);
+                logger.error("Error recorrent {} en mode streaming", clazz.getSimpleName(), e);
                 throw e;
+            } finally {
+                endReadOnlySession(session);
             }
         }
     }
 
     /**
-     * Retorna tots els objectes d'una entitat amb les col·leccions LAZY inicialitzades.
+     * Fetch size JDBC configurat a hibernate.jdbc.fetch_size
+     * (o DEFAULT_JDBC_FETCH_SIZE si no s'ha configurat).
      */
-    public static <T> Collection<T> listCollection(Class<T> clazz) {
-        try (Session session = factory.openSession()) {
-            List<T> results = session.createQuery("FROM " + clazz.getSimpleName(), clazz).list();
-            
-            // Inicialitzar totes les col·leccions LAZY de cada entitat
-            for (T entity : results) {
-                initializeLazyCollections(entity);
+    static int getJdbcFetchSize() {
+        Object value = factory.getProperties().get(AvailableSettings.STATEMENT_FETCH_SIZE);
+        if (value != null) {
+            try {
+                int size = Integer.parseInt(value.toString().trim());
+                if (size > 0) return size;
+            } catch (NumberFormatException e) {
+                logger.warn("Valor invàlid per {}: {}", AvailableSettings.STATEMENT_FETCH_SIZE, value);
             }
-            
-            return results;
         }
+        return DEFAULT_JDBC_FETCH_SIZE;
     }
 
     /**
-     * Inicialitza totes les col·leccions LAZY d'una entitat usant reflexió.
-     * Detecta camps anotats amb @OneToMany o @ManyToMany.
+     * Inicialitza totes les col·leccions LAZY d'una entitat.
+     * 
+     * METAMODEL EN LLOC DE REFLEXIÓ:
+     * - Els índexs de les propietats col·lecció es llegeixen un sol cop per
+     *   classe del metamodel d'Hibernate (EntityPersister) i es guarden a cache
+     * - Els valors s'obtenen amb els accessors del persister, sense getDeclaredFields()
+     * 
+     * Les col·leccions són @Fetch(SUBSELECT): la primera inicialització d'un rol
+     * carrega el de TOTES les entitats de la consulta i la resta ja hi són.
+     * Així un llistat costa 1 + nombre de col·leccions SELECTs, no 2N+1.
      */
     private static void initializeLazyCollections(Object entity) {
         if (entity == null) return;
-        
-        Class<?> clazz = entity.getClass();
-        
-        for (Field field : clazz.getDeclaredFields()) {
-            // Només processem relacions que poden ser col·leccions LAZY
-            if (field.isAnnotationPresent(OneToMany.class) || 
-                field.isAnnotationPresent(ManyToMany.class)) {
-                
-                field.setAccessible(true);  // Permetre accés a camps privats
-                try {
-                    Object value = field.get(entity);
-                    if (value != null) {
-                        Hibernate.initialize(value);  // Inicialitzar la col·lecció
-                    }
-                } catch (IllegalAccessException e) {
-                    // Log error si cal, però continuar
-                    logger.warn("No s'ha pogut inicialitzar el camp: {}", field.getName());
+
+        EntityPersister persister = factory.unwrap(SessionFactoryImplementor.class)
+                                           .getMappingMetamodel()
+                                           .getEntityDescriptor(entity.getClass());
+        for (int index : lazyCollectionIndexes.computeIfAbsent(entity.getClass(),
+                clazz -> collectionPropertyIndexes(persister))) {
+            Object value = persister.getValue(entity, index);
+            if (value != null) {
+                Hibernate.initialize(value);  // No fa res si ja està inicialitzada
+            }
+        }
+    }
+
+    /**
+     * Inicialitza les col·leccions LAZY d'una llista d'entitats amb una
+     * consulta per col·lecció, filtrada pels IDs de la llista (en blocs de
+     * IN_CLAUSE_CHUNK_SIZE): SELECT e FROM T e LEFT JOIN FETCH e.col WHERE e.id IN (...)
+     * 
+     * Per resultats parcials (pàgines) on SUBSELECT carregaria massa files.
+     * Les col·leccions que ja són a la cache de segon nivell s'inicialitzen
+     * des de la cache i no entren a la consulta.
+     */
+    private static <T> void initializeLazyCollections(Session session, Class<T> clazz, List<T> entities) {
+        if (entities.isEmpty()) return;
+
+        EntityPersister persister = factory.unwrap(SessionFactoryImplementor.class)
+                                           .getMappingMetamodel()
+                                           .getEntityDescriptor(clazz);
+        List<Object> ids = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            ids.add(persister.getIdentifier(entity, (SharedSessionContractImplementor) session));
+        }
+        Cache cache = factory.getCache();
+        for (int index : lazyCollectionIndexes.computeIfAbsent(clazz,
+                c -> collectionPropertyIndexes(persister))) {
+            String property = persister.getPropertyNames()[index];
+            String role = persister.getEntityName() + "." + property;
+
+            // Les col·leccions que ja són a la cache de segon nivell no es consulten
+            List<Object> missingIds = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                if (cache.containsCollection(role, ids.get(i))) {
+                    Hibernate.initialize(persister.getValue(entities.get(i), index));
+                } else {
+                    missingIds.add(ids.get(i));
                 }
             }
+
+            String hql = "SELECT DISTINCT e FROM " + persister.getEntityName() + " e " +
+                         "LEFT JOIN FETCH e." + property + " " +
+                         "WHERE e." + persister.getIdentifierPropertyName() + " IN (:ids)";
+            for (int from = 0; from < missingIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+                session.createQuery(hql, clazz)
+                       .setParameterList("ids", missingIds.subList(from,
+                               Math.min(from + IN_CLAUSE_CHUNK_SIZE, missingIds.size())))
+                       .list();
+            }
         }
     }
+
+    /**
+     * Posicions de les propietats de tipus col·lecció segons el metamodel.
+     */
+    private static int[] collectionPropertyIndexes(EntityPersister persister) {
+        Type[] types = persister.getPropertyTypes();
+        return IntStream.range(0, types.length)
+                        .filter(i -> types[i].isCollectionType())
+                        .toArray();
+    }
     
     // ================================================================
     // MÈTODES PER QUERIES NATIVES SQL
@@ -679,19 +3197,17 @@ public class Manager {
      * - Perd els avantatges del cache d'Hibernate
      */
     public static void queryUpdate(String queryString) {
-        try (Session session = factory.openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                session.createNativeQuery(queryString, Void.class)
-                       .executeUpdate();
-                logger.info("Executada consulta d'actualització: {}", queryString);
-                tx.commit();
-            } catch (HibernateException e) {
-                if (tx != null && tx.isActive()) tx.rollback();
-                logger.error("Error executant consulta d'actualització: {}", queryString, e);
-                throw e;
-            }
-        }
+        write("executant consulta d'actualització: " + queryString, session -> {
+            session.createNativeQuery(queryString, Void.class)
+                   .executeUpdate();
+            logger.info("Executada consulta d'actualització: {}", queryString);
+            // No sabem si ha tocat employee_project o contacts (o hi ha esborrat en cascada)
+            afterCommit(session, () -> {
+                invalidateMembershipIndex();
+                invalidateContactSearchIndex();
+            });
+            return null;
+        });
     }
 
     /**
@@ -717,6 +3233,91 @@ public class Manager {
         return result;
     }
 
+    // ================================================================
+    // DIAGNÒSTIC DE PLANS D'EXECUCIÓ
+    // ================================================================
+
+    /**
+     * Plans d'execució de totes les sentències registrades des de l'inici
+     * (o des de l'últim clearRecordedQueries), ordenades per SQL.
+     *
+     * FUNCIONAMENT (project.query_plan_report=true):
+     * - Hibernate passa cada sentència pel QueryPlanRecorder, que guarda les
+     *   SELECT, UPDATE i DELETE diferents
+     * - Aquí es demana el pla de cadascuna sense executar-la: EXPLAIN a H2 i
+     *   EXPLAIN QUERY PLAN a SQLite (els paràmetres ? es deixen sense valor)
+     *
+     * Així es revisen les consultes que el Manager fa de debò, no una llista
+     * escrita a mà que es pot desfasar.
+     *
+     * @throws IllegalStateException si el registre està desactivat o la BD no
+     *         és H2 ni SQLite
+     */
+    public static List<QueryPlan> explainRecordedQueries() {
+        QueryPlanRecorder recorder = queryPlanRecorder;
+        if (recorder == null) {
+            throw new IllegalStateException(
+                    "El registre de sentències està desactivat (" + QUERY_PLAN_REPORT_SETTING + "=false)");
+        }
+        List<String> statements = recorder.statements();
+        List<QueryPlan> plans = new ArrayList<>(statements.size());
+        try (Session session = factory.openSession()) {
+            session.doWork(connection -> {
+                String product = connection.getMetaData().getDatabaseProductName();
+                boolean sqlite = product.toLowerCase().contains("sqlite");
+                if (!sqlite && !product.equalsIgnoreCase("H2")) {
+                    throw new IllegalStateException("Només es poden llegir plans d'H2 i SQLite: " + product);
+                }
+                for (String sql : statements) {
+                    List<String> plan = new ArrayList<>();
+                    try (PreparedStatement statement = connection.prepareStatement(
+                                (sqlite ? "EXPLAIN QUERY PLAN " : "EXPLAIN ") + sql);
+                         ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            // SQLite: id, parent, notused, detail. H2: una sola columna
+                            plan.add(rs.getString(sqlite ? 4 : 1).replaceAll("\\s+", " ").strip());
+                        }
+                    }
+                    plans.add(new QueryPlan(sql, plan, sqlite
+                            ? QueryPlanRecorder.sqliteScans(plan)
+                            : QueryPlanRecorder.h2Scans(plan)));
+                }
+            });
+        }
+        return plans;
+    }
+
+    /**
+     * Sentències registrades amb un WHERE que recorren alguna taula sencera:
+     * consultes per clau que no troben índex. Cada una s'escriu al log com a
+     * WARN amb el seu pla.
+     *
+     * Les lectures sense WHERE (listCollection, streamCollection...) recorren
+     * la taula per definició i no s'hi inclouen.
+     */
+    public static List<QueryPlan> findFullTableScans() {
+        List<QueryPlan> scans = new ArrayList<>();
+        for (QueryPlan plan : explainRecordedQueries()) {
+            if (plan.fullScan() && plan.sql().toLowerCase().contains(" where ")) {
+                scans.add(plan);
+                logger.warn("Recorregut sencer de {}: {}\n  pla: {}",
+                        plan.scannedTables(), plan.sql(), String.join(" | ", plan.plan()));
+            }
+        }
+        logger.info("Informe de plans: {} sentències amb recorreguts sencers", scans.size());
+        return scans;
+    }
+
+    /**
+     * Oblida les sentències registrades fins ara.
+     */
+    public static void clearRecordedQueries() {
+        QueryPlanRecorder recorder = queryPlanRecorder;
+        if (recorder != null) {
+            recorder.clear();
+        }
+    }
+
     // ================================================================
     // MÈTODES D'UTILITAT PER FORMATEJAR OUTPUT
     // ================================================================
@@ -0,0 +1,169 @@
+package com.project.dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+
+/**
+ * Versió asíncrona de les operacions del Manager: cada mètode retorna un
+ * CompletableFuture en lloc d'esperar la BD.
+ *
+ * PROBLEMA:
+ * Tots els mètodes del Manager són bloquejants. Un servei que per cada
+ * petició fa getById, findContactsByEmployeeAndType, findEmployeesByProject...
+ * un darrere l'altre paga la suma de les latències, encara que les consultes
+ * no depenguin entre elles.
+ *
+ * SOLUCIÓ:
+ * - Cada mètode encua la crida al Manager a un executor propi i torna el
+ *   future: les consultes independents s'executen alhora i el total és la
+ *   més lenta, no la suma
+ * - L'executor té tants fils com connexions el pool (project.async.threads
+ *   per canviar-ho): com a molt hi ha tantes operacions en curs com
+ *   connexions, i la resta espera a la cua de l'executor sense ocupar-ne cap
+ * - El crea createSessionFactory() i close() espera les operacions encuades
+ *   abans de tancar la SessionFactory
+ *
+ * Són fils de plataforma: amb Java 17 no hi ha fils virtuals, i amb el
+ * límit de fils igual a les connexions tampoc no n'hi hauria més en curs.
+ *
+ * Les entitats retornades són les mateixes que les dels mètodes síncrons
+ * (getById no carrega les col·leccions LAZY). Els errors arriben com a
+ * excepció del future (CompletionException amb la de Hibernate com a causa).
+ *
+ * IMPORTANT: una operació asíncrona no ha d'esperar (join/get) una altra
+ * operació de ManagerAsync: amb tots els fils ocupats no acabaria mai.
+ * Per encadenar-les, thenCompose.
+ *
+ * Ús:
+ *   CompletableFuture<Employee> emp = ManagerAsync.getById(Employee.class, id);
+ *   CompletableFuture<Collection<Contact>> emails =
+ *           ManagerAsync.findContactsByEmployeeAndType(id, "EMAIL");
+ *   CompletableFuture.allOf(emp, emails).join();
+ */
+public final class ManagerAsync {
+
+    private ManagerAsync() {}
+
+    /**
+     * Executa qualsevol operació del Manager a l'executor asíncron, per
+     * exemple supply(() -> Manager.findCoworkers(id, 10)).
+     *
+     * @throws IllegalStateException si no hi ha SessionFactory
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, Manager.asyncExecutor());
+        } catch (RejectedExecutionException e) {
+            // close() ha començat entre asyncExecutor() i l'encuament
+            throw new IllegalStateException("ManagerAsync està tancat", e);
+        }
+    }
+
+    /**
+     * Com supply() per a operacions sense resultat.
+     */
+    public static CompletableFuture<Void> run(Runnable operation) {
+        return supply(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Fils de l'executor: màxim d'operacions asíncrones en curs alhora.
+     */
+    public static int parallelism() {
+        return Manager.asyncExecutor().getMaximumPoolSize();
+    }
+
+    // ================================================================
+    // CONSULTES
+    // ================================================================
+
+    public static <T> CompletableFuture<T> getById(Class<? extends T> clazz, long id) {
+        return supply(() -> Manager.getById(clazz, id));
+    }
+
+    public static CompletableFuture<Collection<Contact>> findContactsByEmployeeAndType(long employeeId,
+                                                                                   String contactType) {
+        return supply(() -> Manager.findContactsByEmployeeAndType(employeeId, contactType));
+    }
+
+    public static CompletableFuture<Collection<Employee>> findEmployeesByProject(long projectId) {
+        return supply(() -> Manager.findEmployeesByProject(projectId));
+    }
+
+    public static CompletableFuture<Collection<Employee>> findEmployeesByContactType(String contactType) {
+        return supply(() -> Manager.findEmployeesByContactType(contactType));
+    }
+
+    public static CompletableFuture<List<EmployeeSummary>> findEmployeeSummariesByProject(long projectId) {
+        return supply(() -> Manager.findEmployeeSummariesByProject(projectId));
+    }
+
+    public static CompletableFuture<List<EmployeeSummary>> findEmployeeSummariesByContactType(String contactType) {
+        return supply(() -> Manager.findEmployeeSummariesByContactType(contactType));
+    }
+
+    public static CompletableFuture<List<Coworker>> findCoworkers(long employeeId, int limit) {
+        return supply(() -> Manager.findCoworkers(employeeId, limit));
+    }
+
+    public static CompletableFuture<List<Employee>> pageEmployees(Long afterId, int limit) {
+        return supply(() -> Manager.pageEmployees(afterId, limit));
+    }
+
+    public static CompletableFuture<List<Contact>> pageContacts(Long afterId, int limit) {
+        return supply(() -> Manager.pageContacts(afterId, limit));
+    }
+
+    public static CompletableFuture<List<Project>> pageProjects(Long afterId, int limit) {
+        return supply(() -> Manager.pageProjects(afterId, limit));
+    }
+
+    public static <T> CompletableFuture<Collection<T>> listCollection(Class<T> clazz) {
+        return supply(() -> Manager.listCollection(clazz));
+    }
+
+    // ================================================================
+    // ESCRIPTURES
+    // ================================================================
+
+    public static CompletableFuture<Employee> addEmployee(String firstName, String lastName, int salary) {
+        return supply(() -> Manager.addEmployee(firstName, lastName, salary));
+    }
+
+    public static CompletableFuture<Void> updateEmployee(long employeeId, String firstName,
+                                                         String lastName, int salary) {
+        return run(() -> Manager.updateEmployee(employeeId, firstName, lastName, salary));
+    }
+
+    public static CompletableFuture<Contact> addContactToEmployee(long employeeId, String contactType,
+                                                                  String value, String description) {
+        return supply(() -> Manager.addContactToEmployee(employeeId, contactType, value, description));
+    }
+
+    public static CompletableFuture<Void> updateContact(long contactId, String contactType,
+                                                        String value, String description) {
+        return run(() -> Manager.updateContact(contactId, contactType, value, description));
+    }
+
+    public static CompletableFuture<Project> addProject(String name, String description, String status) {
+        return supply(() -> Manager.addProject(name, description, status));
+    }
+
+    public static CompletableFuture<Void> deleteEmployee(long employeeId) {
+        return run(() -> Manager.deleteEmployee(employeeId));
+    }
+
+    public static CompletableFuture<Void> deleteProject(long projectId) {
+        return run(() -> Manager.deleteProject(projectId));
+    }
+}
@@ -0,0 +1,367 @@
+package com.project.dao;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índex en memòria del graf bipartit employee_project.
+ *
+ * ESTRUCTURA:
+ * - Dues llistes d'adjacència: empleat -> projectes i projecte -> empleats
+ * - Cada fila és un long[] ordenat i immutable (com una fila d'un CSR):
+ *   una consulta és un get del mapa, sense objectes per cada vincle
+ * - Les interseccions i unions es fan fusionant arrays ordenats
+ *
+ * CONCURRÈNCIA:
+ * - Les lectures no bloquegen: llegeixen la fila actual del ConcurrentHashMap
+ * - Les escriptures es serialitzen (synchronized) i substitueixen les files
+ *   afectades per còpies noves, així una lectura mai veu una fila a mitges
+ * - load() construeix dos mapes nous i els publica amb una sola escriptura
+ *   volàtil: una lectura durant la reconstrucció veu l'índex anterior sencer
+ * - Cada escriptura incrementa un comptador (updateCount). load() rep el valor
+ *   d'abans de llegir la taula i indica si entremig s'ha aplicat algun canvi
+ *   que la lectura podria no incloure
+ *
+ * El manté el Manager: es construeix a partir de la taula pont i s'actualitza
+ * després de cada commit que la modifica.
+ */
+final class MembershipIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    /**
+     * Les dues llistes d'adjacència. Es substitueixen juntes a load().
+     */
+    private record Rows(Map<Long, long[]> projectsByEmployee, Map<Long, long[]> employeesByProject) {}
+
+    private volatile Rows rows = new Rows(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    /** Escriptures incrementals aplicades (protegit per synchronized). */
+    private long updateCount;
+
+    // ================================================================
+    // CONSTRUCCIÓ
+    // ================================================================
+
+    /**
+     * Substitueix tot el contingut pels parells (employeeIds[i], projectIds[i])
+     * de 0 a size. Poden venir en qualsevol ordre i repetits.
+     *
+     * @param readFrom updateCount() d'abans de llegir els parells
+     * @return false si des de readFrom s'ha aplicat alguna escriptura: els
+     *         parells poden ser més antics i l'índex s'ha de tornar a llegir
+     */
+    boolean load(long[] employeeIds, long[] projectIds, int size, long readFrom) {
+        Map<Long, long[]> projectsByEmployee = new ConcurrentHashMap<>();
+        Map<Long, long[]> employeesByProject = new ConcurrentHashMap<>();
+        fill(projectsByEmployee, employeeIds, projectIds, size);
+        fill(employeesByProject, projectIds, employeeIds, size);
+        synchronized (this) {
+            rows = new Rows(projectsByEmployee, employeesByProject);
+            return updateCount == readFrom;
+        }
+    }
+
+    /**
+     * Nombre d'escriptures incrementals aplicades fins ara (veure load).
+     */
+    synchronized long updateCount() {
+        return updateCount;
+    }
+
+    /**
+     * Agrupa els parells per clau en files ordenades: primer es compten els
+     * valors de cada clau, després s'omple cada fila i finalment s'ordena.
+     */
+    private static void fill(Map<Long, long[]> rows, long[] keys, long[] values, int size) {
+        Map<Long, int[]> counts = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            counts.computeIfAbsent(keys[i], k -> new int[1])[0]++;
+        }
+        Map<Long, long[]> building = new HashMap<>(counts.size() * 2);
+        for (Map.Entry<Long, int[]> entry : counts.entrySet()) {
+            building.put(entry.getKey(), new long[entry.getValue()[0]]);
+            entry.getValue()[0] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            int[] next = counts.get(keys[i]);
+            building.get(keys[i])[next[0]++] = values[i];
+        }
+        for (Map.Entry<Long, long[]> entry : building.entrySet()) {
+            rows.put(entry.getKey(), distinctSorted(entry.getValue()));
+        }
+    }
+
+    // ================================================================
+    // CONSULTES
+    // ================================================================
+
+    /**
+     * IDs ordenats dels empleats del projecte (còpia).
+     */
+    long[] membersOf(long projectId) {
+        return rows.employeesByProject().getOrDefault(projectId, EMPTY).clone();
+    }
+
+    /**
+     * IDs ordenats dels projectes de l'empleat (còpia).
+     */
+    long[] projectsOf(long employeeId) {
+        return rows.projectsByEmployee().getOrDefault(employeeId, EMPTY).clone();
+    }
+
+    /**
+     * Indica si l'empleat és membre del projecte (cerca binària).
+     */
+    boolean isMember(long employeeId, long projectId) {
+        return Arrays.binarySearch(rows.projectsByEmployee().getOrDefault(employeeId, EMPTY), projectId) >= 0;
+    }
+
+    /**
+     * Empleats que són a TOTS els projectes indicats.
+     */
+    long[] membersOfAll(long... projectIds) {
+        if (projectIds.length == 0) return EMPTY;
+        // Començar per la fila més curta: cada intersecció només pot reduir-la
+        long[][] rows = rows(projectIds);
+        Arrays.sort(rows, (a, b) -> Integer.compare(a.length, b.length));
+        long[] result = rows[0];
+        for (int i = 1; i < rows.length && result.length > 0; i++) {
+            result = intersect(result, rows[i]);
+        }
+        return result == rows[0] ? result.clone() : result;
+    }
+
+    /**
+     * Empleats que són en ALGUN dels projectes indicats.
+     *
+     * Si els IDs són prou densos (rang < 256 x nombre d'IDs) es marquen en un
+     * bitmap i es llegeixen en ordre: sense comparacions per element, que amb
+     * files intercalades fallarien la predicció de salts a cada pas.
+     * Si no, es fusionen les files ordenades de dues en dues.
+     */
+    long[] membersOfAny(long... projectIds) {
+        long[][] rows = rows(projectIds);
+        if (rows.length == 1) return rows[0].clone();
+        int total = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long[] row : rows) {
+            if (row.length > 0) {
+                total += row.length;
+                min = Math.min(min, row[0]);
+                max = Math.max(max, row[row.length - 1]);
+            }
+        }
+        if (total == 0) return EMPTY;
+        if ((max - min) / 64 < 4L * total) {
+            return bitmapUnion(rows, min, max, total);
+        }
+        long[] result = EMPTY;
+        for (long[] row : rows) {
+            result = union(result, row);
+        }
+        for (long[] row : rows) {
+            if (result == row) return result.clone();  // union() retorna la fila si l'altra és buida
+        }
+        return result;
+    }
+
+    private static long[] bitmapUnion(long[][] rows, long min, long max, int total) {
+        long[] words = new long[(int) ((max - min) / 64) + 1];
+        for (long[] row : rows) {
+            for (long value : row) {
+                int bit = (int) (value - min);
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        long[] out = new long[total];
+        int size = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                out[size++] = min + ((long) w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+    int employeeCount() {
+        return rows.projectsByEmployee().size();
+    }
+
+    int projectCount() {
+        return rows.employeesByProject().size();
+    }
+
+    private long[][] rows(long[] projectIds) {
+        // Totes les files del mateix mapa, encara que un load() el substitueixi
+        Map<Long, long[]> employeesByProject = rows.employeesByProject();
+        long[][] result = new long[projectIds.length][];
+        for (int i = 0; i < projectIds.length; i++) {
+            result[i] = employeesByProject.getOrDefault(projectIds[i], EMPTY);
+        }
+        return result;
+    }
+
+    // ================================================================
+    // ACTUALITZACIONS INCREMENTALS
+    // ================================================================
+
+    /**
+     * Substitueix els projectes d'un empleat i ajusta les files dels
+     * projectes que hi entren o en surten.
+     */
+    synchronized void setProjectsOf(long employeeId, long[] projectIds) {
+        updateCount++;
+        Map<Long, long[]> projectsByEmployee = rows.projectsByEmployee();
+        Map<Long, long[]> employeesByProject = rows.employeesByProject();
+        long[] next = distinctSorted(projectIds.clone());
+        long[] previous = projectsByEmployee.getOrDefault(employeeId, EMPTY);
+        for (long projectId : difference(previous, next)) {
+            employeesByProject.computeIfPresent(projectId, (k, row) -> without(row, employeeId));
+        }
+        for (long projectId : difference(next, previous)) {
+            employeesByProject.merge(projectId, new long[] {employeeId}, MembershipIndex::union);
+        }
+        put(projectsByEmployee, employeeId, next);
+    }
+
+    /**
+     * Substitueix els membres d'un projecte i ajusta les files dels
+     * empleats que hi entren o en surten.
+     */
+    synchronized void setMembersOf(long projectId, long[] employeeIds) {
+        updateCount++;
+        Map<Long, long[]> projectsByEmployee = rows.projectsByEmployee();
+        Map<Long, long[]> employeesByProject = rows.employeesByProject();
+        long[] next = distinctSorted(employeeIds.clone());
+        long[] previous = employeesByProject.getOrDefault(projectId, EMPTY);
+        for (long employeeId : difference(previous, next)) {
+            projectsByEmployee.computeIfPresent(employeeId, (k, row) -> without(row, projectId));
+        }
+        for (long employeeId : difference(next, previous)) {
+            projectsByEmployee.merge(employeeId, new long[] {projectId}, MembershipIndex::union);
+        }
+        put(employeesByProject, projectId, next);
+    }
+
+    /**
+     * Treu els empleats indicats d'un projecte.
+     */
+    synchronized void removeMembers(long projectId, long[] employeeIds) {
+        long[] previous = rows.employeesByProject().getOrDefault(projectId, EMPTY);
+        setMembersOf(projectId, difference(previous, distinctSorted(employeeIds.clone())));
+    }
+
+    /**
+     * Treu un empleat eliminat de l'índex.
+     */
+    synchronized void removeEmployee(long employeeId) {
+        setProjectsOf(employeeId, EMPTY);
+    }
+
+    /**
+     * Treu un projecte eliminat de l'índex.
+     */
+    synchronized void removeProject(long projectId) {
+        setMembersOf(projectId, EMPTY);
+    }
+
+    private static void put(Map<Long, long[]> rows, long key, long[] row) {
+        if (row.length == 0) {
+            rows.remove(key);
+        } else {
+            rows.put(key, row);
+        }
+    }
+
+    private static long[] without(long[] row, long value) {
+        int pos = Arrays.binarySearch(row, value);
+        if (pos < 0) return row;
+        if (row.length == 1) return null;  // computeIfPresent elimina la fila
+        long[] next = new long[row.length - 1];
+        System.arraycopy(row, 0, next, 0, pos);
+        System.arraycopy(row, pos + 1, next, pos, row.length - pos - 1);
+        return next;
+    }
+
+    // ================================================================
+    // OPERACIONS SOBRE ARRAYS ORDENATS
+    // ================================================================
+
+    /**
+     * Ordena i treu duplicats (reutilitza l'array si no n'hi ha).
+     */
+    static long[] distinctSorted(long[] values) {
+        if (values.length < 2) return values;
+        Arrays.sort(values);
+        int size = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[size - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+    static long[] union(long[] a, long[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        long[] out = new long[a.length + b.length];
+        int i = 0, j = 0, size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                out[size++] = a[i++];
+            } else if (a[i] > b[j]) {
+                out[size++] = b[j++];
+            } else {
+                out[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        while (i < a.length) out[size++] = a[i++];
+        while (j < b.length) out[size++] = b[j++];
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+    /**
+     * Elements d'a que no són a b.
+     */
+    static long[] difference(long[] a, long[] b) {
+        long[] out = new long[a.length];
+        int i = 0, j = 0, size = 0;
+        while (i < a.length) {
+            if (j >= b.length || a[i] < b[j]) {
+                out[size++] = a[i++];
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.dao;
+
+/**
+ * Estat del pool de connexions JDBC en un moment donat.
+ *
+ * Resultat de Manager.getPoolMetrics(). Les connexions són comptadors
+ * instantanis; les obtencions s'acumulen des que es va crear el pool.
+ *
+ * @param active Connexions prestades ara mateix
+ * @param idle Connexions obertes esperant ús
+ * @param total Connexions obertes (active + idle)
+ * @param waiting Fils bloquejats esperant una connexió
+ * @param maxPoolSize Mida màxima configurada
+ * @param acquisitions Connexions obtingudes des de la creació del pool
+ * @param timeouts Obtencions que han esgotat connectionTimeout
+ * @param averageAcquireMillis Temps mitjà per obtenir una connexió
+ * @param maxAcquireMillis Temps màxim per obtenir una connexió
+ */
+public record PoolMetrics(int active, int idle, int total, int waiting, int maxPoolSize,
+                          long acquisitions, long timeouts,
+                          double averageAcquireMillis, double maxAcquireMillis) {
+
+    @Override
+    public String toString() {
+        return String.format("actives=%d, lliures=%d, total=%d/%d, esperant=%d, "
+                        + "obtencions=%d (mitjana %.3f ms, màx %.3f ms), timeouts=%d",
+                active, idle, total, maxPoolSize, waiting,
+                acquisitions, averageAcquireMillis, maxAcquireMillis, timeouts);
+    }
+}
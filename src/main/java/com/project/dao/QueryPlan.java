@@ -0,0 +1,22 @@
+package com.project.dao;
+
+import java.util.List;
+
+/**
+ * Pla d'execució d'una sentència SQL que ha executat el Manager.
+ *
+ * Resultat de Manager.explainRecordedQueries() i findFullTableScans().
+ *
+ * @param sql Sentència tal com l'ha generada Hibernate (amb paràmetres ?)
+ * @param plan Línies del pla (EXPLAIN a H2, EXPLAIN QUERY PLAN a SQLite)
+ * @param scannedTables Taules (o índexs) que el pla recorre sencers
+ */
+public record QueryPlan(String sql, List<String> plan, List<String> scannedTables) {
+
+    /**
+     * Indica si el pla recorre alguna taula sencera.
+     */
+    public boolean fullScan() {
+        return !scannedTables.isEmpty();
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.dao;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Recull les sentències SQL diferents que executa Hibernate per poder-ne
+ * revisar els plans (veure Manager.findFullTableScans).
+ *
+ * FUNCIONAMENT:
+ * - És un StatementInspector: Hibernate li passa cada sentència abans de
+ *   preparar-la i en retorna la mateixa, sense canvis
+ * - Es guarden les SELECT, UPDATE i DELETE (els INSERT no tenen pla)
+ *   sense el comentari inicial de hibernate.use_sql_comments
+ * - Com a màxim MAX_STATEMENTS sentències: el conjunt no creix sense límit
+ *   amb SQL que porta valors literals
+ *
+ * També sap llegir els plans de H2 i SQLite per trobar recorreguts de
+ * taula sencera.
+ */
+final class QueryPlanRecorder implements StatementInspector {
+
+    static final int MAX_STATEMENTS = 1_000;
+
+    /**
+     * H2: cada taula del pla porta un comentari amb l'índex triat. Si no té
+     * condició (": ...") es recorre sencer (tableScan o tot l'índex).
+     */
+    private static final Pattern H2_ACCESS =
+            Pattern.compile("/\\* ([\\w$\"]+\\.[\\w$.\"]+)(: [^*]*)? \\*/");
+
+    private final Set<String> statements = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public String inspect(String sql) {
+        if (statements.size() < MAX_STATEMENTS) {
+            String statement = withoutLeadingComment(sql);
+            String verb = statement.length() >= 6
+                    ? statement.substring(0, 6).toLowerCase(Locale.ROOT) : "";
+            if (verb.equals("select") || verb.equals("update") || verb.equals("delete")) {
+                statements.add(statement);
+            }
+        }
+        return sql;
+    }
+
+    List<String> statements() {
+        List<String> result = new ArrayList<>(statements);
+        result.sort(null);
+        return result;
+    }
+
+    void clear() {
+        statements.clear();
+    }
+
+    private static String withoutLeadingComment(String sql) {
+        String statement = sql.strip();
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end < 0) break;
+            statement = statement.substring(end + 2).strip();
+        }
+        return statement;
+    }
+
+    // ================================================================
+    // LECTURA DELS PLANS
+    // ================================================================
+
+    /**
+     * Taules o índexs recorreguts sencers segons el pla d'H2.
+     */
+    static List<String> h2Scans(List<String> plan) {
+        List<String> scans = new ArrayList<>();
+        for (String line : plan) {
+            Matcher matcher = H2_ACCESS.matcher(line);
+            while (matcher.find()) {
+                if (matcher.group(2) == null) {
+                    scans.add(matcher.group(1).replace(".tableScan", ""));
+                }
+            }
+        }
+        return scans;
+    }
+
+    /**
+     * Taules recorregudes senceres segons el pla de SQLite ("SCAN taula").
+     * Les subconsultes (CO-ROUTINE, MATERIALIZE) també surten com a SCAN,
+     * però són resultats intermedis, no taules.
+     */
+    static List<String> sqliteScans(List<String> plan) {
+        Set<String> derived = new HashSet<>();
+        for (String line : plan) {
+            String detail = line.strip();
+            if (detail.startsWith("CO-ROUTINE ") || detail.startsWith("MATERIALIZE ")) {
+                derived.add(detail.substring(detail.indexOf(' ') + 1).strip());
+            }
+        }
+        List<String> scans = new ArrayList<>();
+        for (String line : plan) {
+            String detail = line.strip();
+            if (detail.startsWith("SCAN ")) {
+                String name = detail.substring(5).split(" ")[0];
+                if (!derived.contains(name) && !name.equals("CONSTANT")) {
+                    scans.add(detail.substring(5));
+                }
+            }
+        }
+        return scans;
+    }
+}
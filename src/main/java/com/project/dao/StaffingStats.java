@@ -0,0 +1,190 @@
+package com.project.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Estadístiques de personal calculades a la BD.
+ *
+ * PROBLEMA:
+ * - Amb entitats, calia listCollection(Project.class), que inicialitza
+ *   Project.employees de tots els projectes, i sumar en Java
+ *
+ * SOLUCIÓ:
+ * - Cada mètode és una sola consulta SQL amb GROUP BY o funcions de finestra
+ *   (ROW_NUMBER() OVER) que retorna una fila per resultat
+ * - Es retornen records (projeccions), no entitats: no hi ha context de
+ *   persistència ni col·leccions
+ * - status filtra per Project.status (null = tots els projectes)
+ *
+ * Les consultes s'executen en sessions de només lectura del Manager.
+ */
+public final class StaffingStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaffingStats.class);
+
+    private StaffingStats() {}
+
+    /**
+     * Plantilla i salaris d'un projecte.
+     *
+     * @param headcount Nombre d'empleats assignats
+     * @param totalSalary Suma dels salaris dels empleats assignats
+     * @param averageSalary Salari mitjà (0 si no té empleats)
+     */
+    public record ProjectStaffing(long projectId, String name, String status,
+                                  long headcount, long totalSalary, double averageSalary) {
+    }
+
+    /**
+     * Nombre de projectes d'un empleat.
+     */
+    public record EmployeeProjectCount(long employeeId, String firstName, String lastName,
+                                       long projectCount) {
+    }
+
+    /**
+     * Un dels empleats més ben pagats d'un projecte.
+     *
+     * @param position Posició dins el projecte (1 = salari més alt)
+     */
+    public record TopEarner(long projectId, String projectName, long employeeId,
+                            String firstName, String lastName, int salary, int position) {
+    }
+
+    // ================================================================
+    // CONSULTES
+    // ================================================================
+
+    /**
+     * Plantilla, salari total i salari mitjà de cada projecte, ordenats per ID.
+     * Els projectes sense empleats hi surten amb 0.
+     *
+     * @param status Estat dels projectes a incloure (null = tots)
+     */
+    public static List<ProjectStaffing> byProject(String status) {
+        String sql = "SELECT p.id, p.name, p.status, COUNT(e.id) AS headcount, " +
+                     "COALESCE(SUM(e.salary), 0) AS total_salary " +
+                     "FROM projects p " +
+                     "LEFT JOIN employee_project ep ON ep.project_id = p.id " +
+                     "LEFT JOIN employees e ON e.id = ep.employee_id " +
+                     (status != null ? "WHERE p.status = :status " : "") +
+                     "GROUP BY p.id, p.name, p.status " +
+                     "ORDER BY p.id";
+        return Manager.inReadOnlySession("plantilla per projecte", session -> {
+            List<Object[]> rows = query(session, sql, status)
+                    .addScalar("id", StandardBasicTypes.LONG)
+                    .addScalar("name", StandardBasicTypes.STRING)
+                    .addScalar("status", StandardBasicTypes.STRING)
+                    .addScalar("headcount", StandardBasicTypes.LONG)
+                    .addScalar("total_salary", StandardBasicTypes.LONG)
+                    .list();
+            List<ProjectStaffing> result = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                long headcount = (Long) row[3];
+                long total = (Long) row[4];
+                // Mitjana a partir de SUM i COUNT: AVG d'un enter no retorna
+                // el mateix tipus a totes les BD
+                result.add(new ProjectStaffing((Long) row[0], (String) row[1], (String) row[2],
+                        headcount, total, headcount == 0 ? 0 : (double) total / headcount));
+            }
+            logger.info("Plantilla de {} projectes (estat: {})", result.size(), status);
+            return result;
+        });
+    }
+
+    /**
+     * Nombre de projectes de cada empleat, ordenats per ID.
+     * Tots els empleats hi surten, amb 0 si no en tenen cap de l'estat indicat.
+     *
+     * @param status Estat dels projectes a comptar (null = tots)
+     */
+    public static List<EmployeeProjectCount> projectCountByEmployee(String status) {
+        String sql = "SELECT e.id, e.firstName, e.lastName, COUNT(p.id) AS project_count " +
+                     "FROM employees e " +
+                     "LEFT JOIN employee_project ep ON ep.employee_id = e.id " +
+                     "LEFT JOIN projects p ON p.id = ep.project_id " +
+                     (status != null ? "AND p.status = :status " : "") +
+                     "GROUP BY e.id, e.firstName, e.lastName " +
+                     "ORDER BY e.id";
+        return Manager.inReadOnlySession("projectes per empleat", session -> {
+            List<Object[]> rows = query(session, sql, status)
+                    .addScalar("id", StandardBasicTypes.LONG)
+                    .addScalar("firstName", StandardBasicTypes.STRING)
+                    .addScalar("lastName", StandardBasicTypes.STRING)
+                    .addScalar("project_count", StandardBasicTypes.LONG)
+                    .list();
+            List<EmployeeProjectCount> result = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                result.add(new EmployeeProjectCount((Long) row[0], (String) row[1],
+                        (String) row[2], (Long) row[3]));
+            }
+            logger.info("Projectes de {} empleats (estat: {})", result.size(), status);
+            return result;
+        });
+    }
+
+    /**
+     * Els n empleats més ben pagats de cada projecte, ordenats per projecte i
+     * posició. Els empats de salari es desfan per ID d'empleat.
+     *
+     * FUNCIÓ DE FINESTRA:
+     * - ROW_NUMBER() OVER (PARTITION BY projecte ORDER BY salari DESC)
+     *   numera els membres de cada projecte en una sola passada
+     * - El filtre position <= n es fa a la consulta exterior (una funció de
+     *   finestra no es pot fer servir al WHERE de la mateixa consulta)
+     *
+     * @param status Estat dels projectes a incloure (null = tots)
+     */
+    public static List<TopEarner> topPaidByProject(int n, String status) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n ha de ser positiu: " + n);
+        }
+        String sql = "SELECT r.project_id, r.project_name, r.employee_id, r.firstName, " +
+                     "r.lastName, r.salary, r.salary_position " +
+                     "FROM (SELECT p.id AS project_id, p.name AS project_name, " +
+                     "e.id AS employee_id, e.firstName, e.lastName, e.salary, " +
+                     "ROW_NUMBER() OVER (PARTITION BY p.id ORDER BY e.salary DESC, e.id) " +
+                     "AS salary_position " +
+                     "FROM projects p " +
+                     "JOIN employee_project ep ON ep.project_id = p.id " +
+                     "JOIN employees e ON e.id = ep.employee_id " +
+                     (status != null ? "WHERE p.status = :status" : "") +
+                     ") r " +
+                     "WHERE r.salary_position <= :n " +
+                     "ORDER BY r.project_id, r.salary_position";
+        return Manager.inReadOnlySession("top " + n + " salaris per projecte", session -> {
+            List<Object[]> rows = query(session, sql, status)
+                    .setParameter("n", n)
+                    .addScalar("project_id", StandardBasicTypes.LONG)
+                    .addScalar("project_name", StandardBasicTypes.STRING)
+                    .addScalar("employee_id", StandardBasicTypes.LONG)
+                    .addScalar("firstName", StandardBasicTypes.STRING)
+                    .addScalar("lastName", StandardBasicTypes.STRING)
+                    .addScalar("salary", StandardBasicTypes.INTEGER)
+                    .addScalar("salary_position", StandardBasicTypes.INTEGER)
+                    .list();
+            List<TopEarner> result = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                result.add(new TopEarner((Long) row[0], (String) row[1], (Long) row[2],
+                        (String) row[3], (String) row[4], (Integer) row[5], (Integer) row[6]));
+            }
+            logger.info("Top {} salaris de {} files (estat: {})", n, result.size(), status);
+            return result;
+        });
+    }
+
+    private static NativeQuery<Object[]> query(Session session, String sql, String status) {
+        NativeQuery<Object[]> query = session.createNativeQuery(sql, Object[].class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query;
+    }
+}
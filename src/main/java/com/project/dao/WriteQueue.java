@@ -0,0 +1,281 @@
+package com.project.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cua d'escriptures amb un únic fil escriptor i commit agrupat.
+ *
+ * PROBLEMA:
+ * SQLite només admet un escriptor alhora. Amb diversos fils escrivint, cada
+ * transacció espera el bloqueig de la BD (busy_timeout) o falla amb
+ * SQLITE_BUSY, i cada commit paga el seu propi sync del fitxer.
+ *
+ * SOLUCIÓ (project.write_mode=single_writer):
+ * - Les operacions d'escriptura del Manager no obren sessió al fil que les
+ *   crida: s'encuen i les executa un sol fil, així no hi ha mai dues
+ *   transaccions d'escriptura competint pel bloqueig
+ * - Group commit: l'escriptor agafa la primera operació i totes les que ja
+ *   esperen a la cua (fins a maxBatch) i les executa en una sola sessió i
+ *   transacció, amb un flush() després de cadascuna
+ * - El future de cada operació es completa després del commit compartit
+ * - Si una operació del grup falla es desfà tot el grup i cada operació
+ *   es torna a executar sola: només falla la que tenia l'error
+ * - Si el grup falla amb un Error (OutOfMemoryError...) no es torna a
+ *   executar res: els futures del grup fallen amb l'Error i l'escriptor
+ *   continua amb la resta de la cua
+ * - Les operacions exclusives (insercions massives amb commits per chunks)
+ *   no s'agrupen: s'executen soles, en ordre
+ *
+ * Sense càrrega el grup és d'una sola operació: no s'espera mai a omplir-lo.
+ *
+ * Les lectures no passen per la cua. Amb journal_mode=WAL (perfil
+ * performance) llegeixen la darrera versió confirmada mentre l'escriptor treballa.
+ */
+final class WriteQueue implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteQueue.class);
+
+    private static final String THREAD_NAME = "project-writer";
+
+    /** Marca de final: les operacions encuades abans s'executen totes. */
+    private static final Entry<Void> STOP = new Entry<>("stop", null, () -> null);
+
+    private final SessionFactory factory;
+    private final int maxBatch;
+    private final BlockingQueue<Entry<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAccumulator largestBatch = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Operació encuada.
+     *
+     * @param work Cos de l'operació dins la sessió compartida d'un grup
+     *             (null per a les operacions exclusives)
+     * @param alone L'operació sola, amb la seva sessió i transacció
+     */
+    private record Entry<T>(String label, Function<Session, T> work, Supplier<T> alone,
+                            CompletableFuture<T> future) {
+
+        Entry(String label, Function<Session, T> work, Supplier<T> alone) {
+            this(label, work, alone, new CompletableFuture<>());
+        }
+
+        boolean exclusive() {
+            return work == null;
+        }
+    }
+
+    WriteQueue(SessionFactory factory, int maxBatch) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch ha de ser positiu: " + maxBatch);
+        }
+        this.factory = factory;
+        this.maxBatch = maxBatch;
+        this.writer = new Thread(this::run, THREAD_NAME);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Encua una operació que es pot agrupar amb d'altres.
+     *
+     * @param work Cos de l'operació. Es pot executar dues vegades (en grup i,
+     *             si el grup falla, sola): no ha de modificar estat de fora
+     *             excepte amb accions posteriors al commit
+     * @param alone La mateixa operació amb la seva pròpia transacció
+     */
+    <T> CompletableFuture<T> submit(String label, Function<Session, T> work, Supplier<T> alone) {
+        return enqueue(new Entry<>(label, work, alone));
+    }
+
+    /**
+     * Encua una operació que s'executa sola, sense cap altra al mateix temps.
+     */
+    <T> CompletableFuture<T> submitExclusive(String label, Supplier<T> alone) {
+        return enqueue(new Entry<>(label, null, alone));
+    }
+
+    private synchronized <T> CompletableFuture<T> enqueue(Entry<T> entry) {
+        if (closed) {
+            throw new IllegalStateException("La cua d'escriptura està tancada");
+        }
+        queue.add(entry);
+        return entry.future();
+    }
+
+    /**
+     * Indica si el fil actual és l'escriptor (una operació que n'encués una
+     * altra i l'esperés no acabaria mai).
+     */
+    boolean isWriterThread() {
+        return Thread.currentThread() == writer;
+    }
+
+    WriteQueueMetrics metrics() {
+        return new WriteQueueMetrics(queue.size(), running.get(), operations.sum(), commits.sum(),
+                (int) largestBatch.get(), retried.sum());
+    }
+
+    /**
+     * Deixa d'acceptar operacions, espera que s'executin les que ja són a
+     * la cua i atura l'escriptor.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(STOP);
+        }
+        if (!isWriterThread()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("Cua d'escriptura tancada: {}", metrics());
+    }
+
+    private void run() {
+        List<Entry<?>> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            Entry<?> first;
+            try {
+                first = queue.take();
+            } catch (InterruptedException e) {
+                // Només el close() atura l'escriptor
+                continue;
+            }
+            if (first == STOP) {
+                return;
+            }
+            batch.add(first);
+            if (!first.exclusive()) {
+                // Un sol consumidor: el peek() i el poll() veuen la mateixa operació
+                Entry<?> next;
+                while (batch.size() < maxBatch && (next = queue.peek()) != null
+                        && next != STOP && !next.exclusive()) {
+                    batch.add(queue.poll());
+                }
+            }
+            running.set(batch.size());
+            try {
+                execute(batch);
+            } catch (Throwable e) {
+                // Cap error no pot aturar l'escriptor: qui espera el future quedaria bloquejat
+                fail(batch, e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void execute(List<Entry<?>> batch) {
+        if (batch.size() == 1) {
+            runAlone(batch.get(0));
+            return;
+        }
+        Object[] results = new Object[batch.size()];
+        boolean committed = false;
+        try (Session session = factory.openSession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                for (int i = 0; i < results.length; i++) {
+                    results[i] = batch.get(i).work().apply(session);
+                    // Els errors de cada operació surten aquí i no al commit
+                    session.flush();
+                }
+                tx.commit();
+                committed = true;
+            } catch (RuntimeException e) {
+                if (tx != null && tx.isActive()) tx.rollback();
+                logger.warn("Error en un grup de {} escriptures: es tornen a executar una a una",
+                        batch.size(), e);
+            } catch (Error e) {
+                if (tx != null && tx.isActive()) tx.rollback();
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            // Error obrint o tancant la sessió: cada operació ho torna a provar sola
+            logger.warn("Error en la sessió d'un grup de {} escriptures", batch.size(), e);
+        } catch (Error e) {
+            logger.error("Error greu en un grup de {} escriptures: fallen totes", batch.size(), e);
+            fail(batch, e);
+            return;
+        }
+        if (!committed) {
+            retried.add(batch.size());
+            for (Entry<?> entry : batch) {
+                runAlone(entry);
+            }
+            return;
+        }
+        // Els comptadors abans dels futures: qui espera el resultat ja els veu actualitzats
+        commits.increment();
+        operations.add(batch.size());
+        largestBatch.accumulate(batch.size());
+        running.set(0);
+        for (int i = 0; i < results.length; i++) {
+            complete(batch.get(i), results[i]);
+        }
+    }
+
+    private void runAlone(Entry<?> entry) {
+        Object result = null;
+        Throwable error = null;
+        try {
+            result = entry.alone().get();
+            commits.increment();
+            largestBatch.accumulate(1);
+        } catch (Throwable e) {
+            error = e;
+            logger.debug("Escriptura fallida: {}", entry.label(), e);
+        }
+        operations.increment();
+        running.decrementAndGet();
+        if (error == null) {
+            complete(entry, result);
+        } else {
+            entry.future().completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Completa amb l'error els futures del grup que encara no s'han completat.
+     */
+    private void fail(List<Entry<?>> batch, Throwable error) {
+        operations.add(batch.size());
+        running.set(0);
+        for (Entry<?> entry : batch) {
+            entry.future().completeExceptionally(error);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void complete(Entry<T> entry, Object result) {
+        entry.future().complete((T) result);
+    }
+}
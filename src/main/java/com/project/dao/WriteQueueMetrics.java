@@ -0,0 +1,32 @@
+package com.project.dao;
+
+/**
+ * Estat de la cua d'escriptura del mode project.write_mode=single_writer.
+ *
+ * Resultat de Manager.getWriteQueueMetrics(). Els comptadors s'acumulen
+ * des que es va crear la SessionFactory.
+ *
+ * @param pending Operacions a la cua esperant l'escriptor
+ * @param running Operacions que l'escriptor executa ara mateix (el grup en curs)
+ * @param operations Operacions acabades (amb èxit o amb error)
+ * @param commits Transaccions que ha fet l'escriptor
+ * @param largestBatch Màxim d'operacions confirmades en un sol commit
+ * @param retried Operacions que s'han tornat a executar soles perquè
+ *                el seu grup ha fallat
+ */
+public record WriteQueueMetrics(int pending, int running, long operations, long commits,
+                                int largestBatch, long retried) {
+
+    /**
+     * Operacions per commit: 1.0 vol dir que no s'ha agrupat res.
+     */
+    public double operationsPerCommit() {
+        return commits == 0 ? 0.0 : (double) operations / commits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pendents=%d, en curs=%d, operacions=%d, commits=%d (%.2f op/commit, màx %d), reintents=%d",
+                pending, running, operations, commits, operationsPerCommit(), largestBatch, retried);
+    }
+}
@@ -0,0 +1,33 @@
+package com.project.domain;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Anotació per generar claus primàries per blocs amb BlockIdGenerator.
+ *
+ * S'utilitza en lloc de @GeneratedValue(strategy = IDENTITY):
+ *
+ *   @Id
+ *   @BlockId(sequenceName = "employees_seq")
+ *   private Long employeeId;
+ *
+ * L'estratègia concreta (seqüència/taula pooled o increment en memòria)
+ * es tria per desplegament, veure BlockIdGenerator.
+ */
+@IdGeneratorType(BlockIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface BlockId {
+
+    /**
+     * Nom de la seqüència (o de la taula que l'emula) que guarda el comptador.
+     */
+    String sequenceName();
+}
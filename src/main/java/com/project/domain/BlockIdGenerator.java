@@ -0,0 +1,167 @@
+package com.project.domain;
+
+import java.lang.reflect.Member;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Generador d'IDs per blocs, compatible amb el batching JDBC dels INSERT.
+ *
+ * PROBLEMA AMB IDENTITY:
+ * Amb IDENTITY la BD genera l'ID en fer l'INSERT, així que Hibernate ha
+ * d'executar cada INSERT immediatament per conèixer-lo i desactiva el
+ * batching (hibernate.jdbc.batch_size no té efecte sobre els INSERT).
+ *
+ * ESTRATÈGIES (propietat project.id.strategy):
+ * - pooled: SequenceStyleGenerator amb optimitzador pooled. Reserva
+ *   project.id.block_size IDs per cada accés i els reparteix en memòria.
+ *   Utilitza una seqüència si el dialecte en té (H2) o una taula si no (MySQL).
+ *   L'optimitzador es pot canviar amb hibernate.id.optimizer.pooled.preferred.
+ * - increment: llegeix MAX(id) un sol cop i a partir d'aquí compta en memòria.
+ *   Zero accessos a la BD per ID, però NOMÉS és segur si un sol procés escriu
+ *   a la BD (el cas d'un fitxer SQLite embegut).
+ * - auto (per defecte): increment amb SQLite i pooled amb la resta.
+ *
+ * PER QUÈ NO pooled AMB SQLITE:
+ * La taula que emula la seqüència s'actualitza amb una connexió a part
+ * (treball aïllat). SQLite només admet un escriptor: si la transacció
+ * principal ja ha llegit, la connexió aïllada no pot fer commit i es
+ * bloquegen mútuament (SQLITE_BUSY).
+ */
+public class BlockIdGenerator implements IdentifierGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Propietat per triar l'estratègia: auto, pooled o increment. */
+    public static final String STRATEGY_SETTING = "project.id.strategy";
+
+    /** Propietat amb la mida dels blocs de l'estratègia pooled. */
+    public static final String BLOCK_SIZE_SETTING = "project.id.block_size";
+
+    public static final String STRATEGY_AUTO = "auto";
+    public static final String STRATEGY_POOLED = "pooled";
+    public static final String STRATEGY_INCREMENT = "increment";
+
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private final String sequenceName;
+
+    /** Generador real de l'estratègia pooled (null amb increment). */
+    private SequenceStyleGenerator pooled;
+
+    /** Estat de l'estratègia increment. */
+    private Table table;
+    private String column;
+    private String maxIdSql;
+    private long lastId;
+    private boolean lastIdLoaded;
+
+    /**
+     * Hibernate crida aquest constructor amb el context de l'entitat (en
+     * lloc del create(GeneratorCreationContext) obsolet de Configurable).
+     *
+     * El SequenceStyleGenerator de pooled no rep el context: només en guarda
+     * la PhysicalNamingStrategy, i sense ella fa servir el nom lògic de la
+     * seqüència, que amb l'estratègia de noms per defecte és el mateix.
+     */
+    public BlockIdGenerator(BlockId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.sequenceName = config.sequenceName();
+        ServiceRegistry serviceRegistry = context.getServiceRegistry();
+        ConfigurationService settings = serviceRegistry.requireService(ConfigurationService.class);
+        String strategy = settings.getSetting(STRATEGY_SETTING, StandardConverters.STRING, STRATEGY_AUTO);
+        if (STRATEGY_AUTO.equalsIgnoreCase(strategy)) {
+            Dialect dialect = serviceRegistry.requireService(JdbcEnvironment.class).getDialect();
+            strategy = dialect instanceof SQLiteDialect ? STRATEGY_INCREMENT : STRATEGY_POOLED;
+        }
+
+        if (STRATEGY_POOLED.equalsIgnoreCase(strategy)) {
+            pooled = new SequenceStyleGenerator();
+        } else if (STRATEGY_INCREMENT.equalsIgnoreCase(strategy)) {
+            Dialect dialect = serviceRegistry.requireService(JdbcEnvironment.class).getDialect();
+            table = context.getPersistentClass().getRootTable();
+            column = context.getProperty().getColumns().get(0).getQuotedName(dialect);
+        } else {
+            throw new MappingException("Valor desconegut per " + STRATEGY_SETTING + ": " + strategy);
+        }
+    }
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry)
+            throws MappingException {
+        if (pooled != null) {
+            ConfigurationService settings = serviceRegistry.requireService(ConfigurationService.class);
+            Properties pooledParams = new Properties();
+            pooledParams.putAll(params);
+            pooledParams.put(SequenceStyleGenerator.SEQUENCE_PARAM, sequenceName);
+            pooledParams.put(SequenceStyleGenerator.INCREMENT_PARAM,
+                    String.valueOf(settings.getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_BLOCK_SIZE)));
+            pooled.configure(type, pooledParams, serviceRegistry);
+        }
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        if (pooled != null) {
+            pooled.registerExportables(database);
+        }
+    }
+
+    @Override
+    public void initialize(SqlStringGenerationContext context) {
+        if (pooled != null) {
+            pooled.initialize(context);
+        } else {
+            maxIdSql = "select max(" + column + ") from " + context.format(table.getQualifiedTableName());
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (pooled != null) {
+            return pooled.generate(session, object);
+        }
+        return nextIncrement(session);
+    }
+
+    /**
+     * Estratègia increment: MAX(id) la primera vegada, després només memòria.
+     */
+    private synchronized long nextIncrement(SharedSessionContractImplementor session) {
+        if (!lastIdLoaded) {
+            try {
+                PreparedStatement st = session.getJdbcCoordinator().getStatementPreparer()
+                        .prepareStatement(maxIdSql);
+                try {
+                    ResultSet rs = session.getJdbcCoordinator().getResultSetReturn().extract(st, maxIdSql);
+                    lastId = rs.next() ? rs.getLong(1) : 0L;
+                } finally {
+                    session.getJdbcCoordinator().getLogicalConnection().getResourceRegistry().release(st);
+                    session.getJdbcCoordinator().afterStatementExecution();
+                }
+            } catch (SQLException e) {
+                throw new HibernateException("No s'ha pogut llegir " + maxIdSql, e);
+            }
+            lastIdLoaded = true;
+        }
+        return ++lastId;
+    }
+}
@@ -1,6 +1,9 @@
 package com.project.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.io.Serializable;
 import java.util.Objects;
 
@@ -12,36 +15,63 @@ import java.util.Objects;
  * - @Table: Permet especificar el nom de la taula (si és diferent del nom de la classe)
  * - Requereix constructor sense arguments (JPA l'utilitza per instanciar objectes)
  * - La classe i els atributs persistents NO poden ser final
+ * - @Cache: Els contactes es guarden a la region "contacts" de la cache de segon nivell
+ * - indexes: (contact_type_id, employee_id) serveix les cerques per tipus
+ *   (findEmployeesByContactType...) llegint només l'índex; employee_id
+ *   serveix els contactes d'un empleat. SQLite no indexa les FK per si sol i,
+ *   sense aquest índex, cada càrrega de contactes recorria la taula sencera
  */
 @Entity  
-@Table(name = "contacts")  
+@Table(
+    name = "contacts",
+    indexes = {
+        @Index(name = "idx_contacts_type_employee", columnList = "contact_type_id, employee_id"),
+        @Index(name = "idx_contacts_employee", columnList = "employee_id")
+    }
+)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contacts")
 public class Contact implements Serializable {
     
     /**
      * Clau primària de l'entitat.
      * 
      * @Id: Marca aquest camp com la clau primària
-     * @GeneratedValue(strategy = IDENTITY): La BD genera el valor automàticament (autoincrement)
-     *   - Altres estratègies: SEQUENCE (Oracle), TABLE, AUTO (JPA decideix)
+     * @BlockId: Hibernate genera l'ID per blocs en memòria (veure BlockIdGenerator)
+     *   - A diferència d'IDENTITY (autoincrement), permet agrupar els INSERT en batches JDBC
+     *   - Altres estratègies JPA: IDENTITY, SEQUENCE, TABLE, AUTO (JPA decideix)
      * @Column(name = "id"): Nom de la columna a la BD (opcional si coincideix amb l'atribut)
      * 
      * NOTA: Utilitzem Long (objecte) en lloc de long (primitiu) per permetre valors null
      * abans de la persistència. Això és important per detectar entitats noves.
      */
     @Id  
-    @GeneratedValue(strategy = GenerationType.IDENTITY)  
+    @BlockId(sequenceName = "contacts_seq")
     @Column(name = "id")
     private Long contactId;  // CANVIAT: de long a Long per permetre null
 
     /**
      * Tipus de contacte (EMAIL, PHONE, ADDRESS, etc.).
      * 
+     * A l'entitat és un String, però a la BD es desa l'ID del tipus a la
+     * taula contact_types (columna contact_type_id, un enter en lloc d'un
+     * VARCHAR repetit a cada fila). La traducció la fa ContactTypeConverter.
+     * 
      * @Column:
      *   - nullable = false: La columna NO pot ser NULL (camp obligatori)
-     *   - length = 50: Longitud màxima de 50 caràcters (optimitza espai a BD)
      */
-    @Column(nullable = false, length = 50)
+    @Convert(converter = ContactTypeConverter.class)
+    @Column(name = "contact_type_id", nullable = false)
     private String contactType;
+
+    /**
+     * La mateixa columna com a relació amb ContactType, només de lectura
+     * (insertable/updatable = false): crea la FK cap a contact_types i permet
+     * navegar c.type.name a HQL. El valor el desa contactType.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "contact_type_id", insertable = false, updatable = false,
+                foreignKey = @ForeignKey(name = "fk_contacts_contact_type"))
+    private ContactType type;
     
     /**
      * Valor del contacte (l'email, telèfon o adreça concreta).
@@ -67,6 +97,10 @@ public class Contact implements Serializable {
      *   - name = "employee_id": Nom de la columna FK a la taula contacts
      *   - nullable = false: Tot contacte HA de tenir un empleat (integritat referencial)
      * 
+     * En mode database de Manager.deleteEmployee la FK es crea amb ON DELETE
+     *   CASCADE (veure DeleteCascadeIntegrator), així la BD esborra els
+     *   contactes quan s'esborra l'empleat. En mode orm els esborra Hibernate.
+     * 
      * IMPORTANT: Contact és el costat "propietari" d'aquesta relació bidireccional
      * perquè té la @JoinColumn (la FK està a la taula contacts).
      */
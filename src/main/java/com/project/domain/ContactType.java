@@ -0,0 +1,58 @@
+package com.project.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * Entitat JPA de la taula de tipus de contacte (EMAIL, PHONE...).
+ *
+ * CONCEPTES CLAU:
+ * - Taula de consulta (diccionari): cada nom apareix UNA vegada i
+ *   contacts.contact_type_id hi apunta amb un enter
+ * - L'ID l'assigna el Manager en registrar un tipus nou (MAX(id) + 1):
+ *   són pocs tipus i no cal cap generador
+ * - @Immutable: un tipus no canvia mai de nom
+ * - Contact continua exposant el tipus com a String (veure ContactTypeConverter)
+ */
+@Entity
+@Immutable
+@Table(
+    name = "contact_types",
+    uniqueConstraints = @UniqueConstraint(name = "uk_contact_types_name", columnNames = "name")
+)
+public class ContactType implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    /**
+     * Constructor per defecte - OBLIGATORI per JPA.
+     */
+    public ContactType() {}
+
+    public ContactType(Integer id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ContactType[id=%d, name='%s']", id, name);
+    }
+}
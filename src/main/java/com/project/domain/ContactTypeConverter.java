@@ -0,0 +1,47 @@
+package com.project.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Converteix Contact.contactType (String) en contacts.contact_type_id (enter).
+ *
+ * FUNCIONAMENT:
+ * - A la BD només hi ha l'ID; el nom és a contact_types
+ * - La traducció es fa amb ContactTypeDictionary, sense cap JOIN ni SELECT
+ * - Com que el converter també s'aplica als paràmetres, les consultes
+ *   existents (c.contactType = :type) filtren per l'enter i poden fer servir
+ *   l'índex (contact_type_id, employee_id)
+ *
+ * IMPORTANT: El tipus ha d'estar registrat abans de desar el contacte (ho fa
+ * el Manager). Un nom desconegut llança IllegalArgumentException: no es pot
+ * desar un ID que no és a contact_types. Les consultes del Manager per tipus
+ * no hi arriben amb noms desconeguts: tornen buit sense consultar la BD.
+ */
+@Converter
+public class ContactTypeConverter implements AttributeConverter<String, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = ContactTypeDictionary.idOf(name);
+        if (id == null) {
+            throw new IllegalArgumentException("Tipus de contacte no registrat: " + name);
+        }
+        return id;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String name = ContactTypeDictionary.nameOf(id);
+        if (name == null) {
+            throw new IllegalStateException("Tipus de contacte no registrat: " + id);
+        }
+        return name;
+    }
+}
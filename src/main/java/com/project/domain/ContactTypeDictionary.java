@@ -0,0 +1,47 @@
+package com.project.domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Còpia en memòria de la taula contact_types: nom <-> ID.
+ *
+ * La fa servir ContactTypeConverter per traduir Contact.contactType sense
+ * consultar la BD. El Manager la carrega en crear la SessionFactory i hi
+ * afegeix cada tipus nou després de confirmar-lo a la BD.
+ */
+public final class ContactTypeDictionary {
+
+    private static final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    private ContactTypeDictionary() {}
+
+    /**
+     * ID del tipus, o null si no està registrat.
+     */
+    public static Integer idOf(String name) {
+        return idsByName.get(name);
+    }
+
+    /**
+     * Nom del tipus, o null si l'ID no està registrat.
+     */
+    public static String nameOf(int id) {
+        return namesById.get(id);
+    }
+
+    public static void register(int id, String name) {
+        idsByName.put(name, id);
+        namesById.put(id, name);
+    }
+
+    public static void clear() {
+        idsByName.clear();
+        namesById.clear();
+    }
+
+    public static int size() {
+        return namesById.size();
+    }
+}
@@ -1,6 +1,11 @@
 package com.project.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Objects;
@@ -13,9 +18,13 @@ import java.util.Set;
  * - És el costat "propietari" de la relació ManyToMany amb Project (té @JoinTable)
  * - És el costat "invers" de la relació OneToMany amb Contact (té mappedBy a Contact)
  * - Implements Serializable: Necessari per JPA/cache de segon nivell
+ * - @Cache: L'entitat i les seves col·leccions es guarden a la cache de segon
+ *   nivell (regions "employees", "employees.contacts" i "employees.projects",
+ *   amb els límits definits a ehcache.xml)
  */
 @Entity
 @Table(name = "employees")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
 public class Employee implements Serializable {
     
     // Constant per serialització
@@ -24,9 +33,12 @@ public class Employee implements Serializable {
     /**
      * Clau primària amb generació automàtica.
      * Utilitzem Long (objecte) per detectar entitats noves (null abans de persistir).
+     * 
+     * @BlockId en lloc d'IDENTITY: els IDs es reparteixen per blocs en memòria,
+     * així Hibernate pot agrupar els INSERT en batches JDBC (veure BlockIdGenerator).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockId(sequenceName = "employees_seq")
     @Column(name = "id")
     private Long employeeId;  // CANVIAT: de long a Long
 
@@ -57,6 +69,10 @@ public class Employee implements Serializable {
      *   - orphanRemoval = true: Si un Contact es treu del Set, s'elimina de la BD
      *     (Un Contact sense Employee no té sentit en aquest model)
      * 
+     * @Fetch(SUBSELECT): En inicialitzar la col·lecció d'UN empleat, Hibernate
+     *   carrega la de TOTS els empleats de la mateixa consulta amb una subconsulta
+     *   (una sola SELECT en lloc d'una per empleat).
+     * 
      * IMPORTANT: Inicialitzar sempre les col·leccions per evitar NullPointerException
      */
     @OneToMany(
@@ -65,6 +81,8 @@ public class Employee implements Serializable {
         fetch = FetchType.LAZY,       // CANVIAT: de EAGER a LAZY per rendiment
         orphanRemoval = true          // Elimina contactes orfes
     )
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees.contacts")
     private Set<Contact> contacts = new HashSet<>();
 
     /**
@@ -79,6 +97,16 @@ public class Employee implements Serializable {
      *   - name = "employee_project": Nom de la taula pont
      *   - joinColumns: Columna que referencia AQUESTA entitat (Employee)
      *   - inverseJoinColumns: Columna que referencia l'ALTRA entitat (Project)
+     *   - indexes: La PK (employee_id, project_id) ja serveix les cerques per
+     *     empleat; l'índex (project_id, employee_id) serveix les cerques per
+     *     projecte llegint només l'índex (veure Manager.findCoworkers)
+     * 
+     * La FK employee_project.employee_id només es crea amb ON DELETE CASCADE
+     *   en mode database de Manager.deleteEmployee (veure DeleteCascadeIntegrator).
+     *   Només afecta les files de la taula pont, MAI els projectes.
+     * 
+     * @Fetch(SUBSELECT): Igual que contacts, una sola SELECT per tots els
+     *   empleats carregats per la mateixa consulta.
      * 
      * Employee és el PROPIETARI de la relació perquè defineix @JoinTable.
      * Project tindrà mappedBy = "projects".
@@ -89,9 +117,15 @@ public class Employee implements Serializable {
     )
     @JoinTable(
         name = "employee_project",                           // Taula intermèdia
-        joinColumns = @JoinColumn(name = "employee_id"),     // FK a employees
-        inverseJoinColumns = @JoinColumn(name = "project_id") // FK a projects
+        joinColumns = @JoinColumn(                           // FK a employees
+            name = "employee_id",
+            foreignKey = @ForeignKey(name = "fk_employee_project_employee")
+        ),
+        inverseJoinColumns = @JoinColumn(name = "project_id"), // FK a projects
+        indexes = @Index(name = "idx_employee_project_project", columnList = "project_id, employee_id")
     )
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees.projects")
     private Set<Project> projects = new HashSet<>();
 
     /**
@@ -1,6 +1,11 @@
 package com.project.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Objects;
@@ -12,15 +17,27 @@ import java.util.Set;
  * CONCEPTES CLAU:
  * - És el costat INVERS de la relació ManyToMany amb Employee (té mappedBy)
  * - Employee és el propietari perquè defineix @JoinTable
+ * - @Cache: Projecte i membres a la cache de segon nivell (regions "projects"
+ *   i "projects.employees"). Com que Project.employees és el costat invers,
+ *   el Manager l'invalida explícitament quan canvia employee_project.
+ * - indexes: status serveix els filtres per estat (StaffingStats,
+ *   updateProjectStatus...) sense recórrer tots els projectes
  */
 @Entity
-@Table(name = "projects")
+@Table(
+    name = "projects",
+    indexes = @Index(name = "idx_projects_status", columnList = "status")
+)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 public class Project implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Clau primària generada per blocs (veure BlockIdGenerator).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockId(sequenceName = "projects_seq")
     @Column(name = "id")
     private Long projectId;  // CANVIAT: de long a Long
 
@@ -57,11 +74,16 @@ public class Project implements Serializable {
      * 
      * IMPORTANT: Aquest costat NO pot afegir/eliminar relacions directament a BD.
      * Cal fer-ho sempre des del costat propietari (Employee).
+     * 
+     * @Fetch(SUBSELECT): Inicialitzar els empleats d'un projecte carrega els de
+     * tots els projectes de la mateixa consulta amb una sola SELECT.
      */
     @ManyToMany(
         mappedBy = "projects",     // Employee és el propietari
         fetch = FetchType.LAZY     // CANVIAT: de EAGER a LAZY
     )
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects.employees")
     private Set<Employee> employees = new HashSet<>();
 
     /**
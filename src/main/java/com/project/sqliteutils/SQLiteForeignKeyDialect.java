@@ -0,0 +1,91 @@
+package com.project.sqliteutils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.schema.internal.StandardTableExporter;
+import org.hibernate.tool.schema.spi.Exporter;
+
+/**
+ * SQLiteDialect que crea les claus foranes dins del CREATE TABLE.
+ *
+ * PROBLEMA:
+ * SQLite no admet ALTER TABLE ... ADD CONSTRAINT, i SQLiteDialect ho indica
+ * amb hasAlterTable() = false. Hibernate afegeix les FK amb ALTER TABLE, així
+ * que amb el dialecte original les taules es creen SENSE cap FK (i per tant
+ * sense ON DELETE CASCADE).
+ *
+ * SOLUCIÓ:
+ * Escriure les FK en línia a la definició de la taula:
+ *   create table contacts (..., foreign key (employee_id)
+ *       references employees (id) on delete cascade)
+ *
+ * IMPORTANT: SQLite només aplica les FK si la connexió té PRAGMA foreign_keys=ON
+ * (Manager ho activa en mode project.delete.cascade=database).
+ */
+public class SQLiteForeignKeyDialect extends SQLiteDialect {
+
+    private final Exporter<Table> tableExporter = new InlineForeignKeyTableExporter(this);
+
+    public SQLiteForeignKeyDialect() {
+        super();
+    }
+
+    public SQLiteForeignKeyDialect(DialectResolutionInfo info) {
+        super(info);
+    }
+
+    @Override
+    public Exporter<Table> getTableExporter() {
+        return tableExporter;
+    }
+
+    /**
+     * Afegeix les FK de la taula just abans del parèntesi final del CREATE TABLE.
+     */
+    private static class InlineForeignKeyTableExporter extends StandardTableExporter {
+
+        InlineForeignKeyTableExporter(Dialect dialect) {
+            super(dialect);
+        }
+
+        @Override
+        protected void applyTableCheck(Table table, StringBuilder buf) {
+            super.applyTableCheck(table, buf);
+            for (ForeignKey fk : table.getForeignKeys().values()) {
+                if (!fk.isCreationEnabled() || !fk.isPhysicalConstraint()) {
+                    continue;
+                }
+                if (fk.getKeyDefinition() != null && !fk.getKeyDefinition().isBlank()) {
+                    // @ForeignKey(foreignKeyDefinition = ...) ja porta la definició sencera
+                    buf.append(", ").append(fk.getKeyDefinition());
+                    continue;
+                }
+                Table referenced = fk.getReferencedTable();
+                List<Column> referencedColumns = fk.isReferenceToPrimaryKey()
+                        ? referenced.getPrimaryKey().getColumns()
+                        : fk.getReferencedColumns();
+
+                buf.append(", foreign key (").append(columnList(fk.getColumns()))
+                   .append(") references ").append(referenced.getQuotedName(dialect))
+                   .append(" (").append(columnList(referencedColumns)).append(')');
+                if (fk.getOnDeleteAction() == OnDeleteAction.CASCADE) {
+                    buf.append(" on delete cascade");
+                }
+            }
+        }
+
+        private String columnList(List<Column> columns) {
+            return columns.stream()
+                    .map(column -> column.getQuotedName(dialect))
+                    .collect(Collectors.joining(", "));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * UTILITATS COMUNES PER ALS BENCHMARKS DEL MANAGER
+ * ================================================
+ *
+ * Els benchmarks NO s'executen amb el `mvn test` normal: són lents i
+ * els resultats depenen de la màquina. Per executar-los:
+ *
+ *   mvn test -Dbenchmark=true -Dtest='*Benchmark'
+ *
+ * Cada benchmark s'executa contra les dues configuracions:
+ * - hibernate-bench-h2.properties: H2 en memòria
+ * - hibernate-bench-sqlite.properties: SQLite a ./data/benchmark.db
+ *
+ * Els que mesuren la cache de segon nivell fan servir també les variants
+ * *-cache.properties (a la taula de resultats surten com H2+C i SQLite+C).
+ * ConnectionPoolBenchmark compara HikariCP amb el pool intern d'Hibernate
+ * (*-builtin-pool.properties).
+ *
+ * Els resultats s'escriuen per consola en format taula.
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+public final class BenchmarkSupport {
+
+    /**
+     * Propietat de sistema que activa els benchmarks.
+     */
+    public static final String ENABLED_PROPERTY = "benchmark";
+
+    public static final String H2_PROPERTIES = "hibernate-bench-h2.properties";
+    public static final String SQLITE_PROPERTIES = "hibernate-bench-sqlite.properties";
+
+    // Les mateixes configuracions amb la cache de segon nivell i de consultes
+    public static final String H2_CACHE_PROPERTIES = "hibernate-bench-h2-cache.properties";
+    public static final String SQLITE_CACHE_PROPERTIES = "hibernate-bench-sqlite-cache.properties";
+
+    // Les mateixes configuracions amb el pool intern d'Hibernate en lloc de HikariCP
+    public static final String H2_BUILTIN_POOL_PROPERTIES = "hibernate-bench-h2-builtin-pool.properties";
+    public static final String SQLITE_BUILTIN_POOL_PROPERTIES = "hibernate-bench-sqlite-builtin-pool.properties";
+
+    private BenchmarkSupport() {}
+
+    /**
+     * Obre la SessionFactory per una configuració i buida les taules.
+     */
+    public static void open(String propertiesFile) {
+        Manager.createSessionFactory(propertiesFile);
+        cleanDatabase();
+    }
+
+    /**
+     * Buida totes les taules respectant l'ordre de les FK.
+     */
+    public static void cleanDatabase() {
+        Manager.queryUpdate("DELETE FROM employee_project");
+        Manager.queryUpdate("DELETE FROM contacts");
+        Manager.queryUpdate("DELETE FROM projects");
+        Manager.queryUpdate("DELETE FROM employees");
+    }
+
+    /**
+     * Nom curt de la configuració per a la taula de resultats.
+     */
+    public static String label(String propertiesFile) {
+        String db = propertiesFile.contains("sqlite") ? "SQLite" : "H2";
+        return propertiesFile.contains("-cache") ? db + "+C" : db;
+    }
+
+    /**
+     * Executa l'operació i retorna el temps transcorregut en nanosegons.
+     */
+    public static long time(Runnable operation) {
+        long start = System.nanoTime();
+        operation.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Imprimeix una fila de resultats: operacions, temps total i throughput.
+     */
+    public static void report(String config, String scenario, int operations, long nanos) {
+        double millis = nanos / 1_000_000.0;
+        double perSecond = operations / (nanos / 1_000_000_000.0);
+        System.out.printf("[BENCH] %-7s | %-40s | %9d ops | %10.1f ms | %12.0f ops/s%n",
+                config, scenario, operations, millis, perSecond);
+    }
+
+    /**
+     * Imprimeix una fila de latència: temps mitjà per operació.
+     */
+    public static void reportLatency(String config, String scenario, int iterations, long nanos) {
+        double avgMillis = nanos / 1_000_000.0 / iterations;
+        System.out.printf("[BENCH] %-7s | %-40s | %9d it  | %10.3f ms/it%n",
+                config, scenario, iterations, avgMillis);
+    }
+
+    /**
+     * Bytes assignats al heap pel fil actual des que va començar.
+     * La diferència entre dues crides és el que ha allotjat l'operació.
+     */
+    public static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Imprimeix una fila de latència amb la memòria allotjada per operació.
+     */
+    public static void reportAllocation(String config, String scenario, int iterations,
+                                        long nanos, long bytes) {
+        double avgMillis = nanos / 1_000_000.0 / iterations;
+        double avgMb = bytes / (1024.0 * 1024.0) / iterations;
+        System.out.printf("[BENCH] %-7s | %-40s | %9d it  | %10.3f ms/it | %10.1f MB/it%n",
+                config, scenario, iterations, avgMillis, avgMb);
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: INSERCIÓ FILA A FILA vs INSERCIÓ MASSIVA
+ * ===================================================
+ *
+ * Compara el throughput de:
+ * - addEmployee / addContactToEmployee / addProject (una sessió i un commit per fila)
+ * - addEmployees / addContacts / addProjects (una sessió, batching JDBC, commits per chunks)
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=BulkInsertBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class BulkInsertBenchmark {
+
+    private static final int ROWS_PER_ROW_PATH = 2_000;
+    private static final int ROWS_BULK_PATH = 20_000;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void perRowVsBulk(String config) {
+        open(config);
+        try {
+            String db = label(config);
+
+            // --- Fila a fila ---
+            long nanos = time(() -> {
+                for (int i = 0; i < ROWS_PER_ROW_PATH; i++) {
+                    Manager.addEmployee("Row" + i, "Bench", 30000 + i);
+                }
+            });
+            report(db, "addEmployee (fila a fila)", ROWS_PER_ROW_PATH, nanos);
+
+            Long employeeId = Manager.addEmployee("Owner", "Bench", 1).getEmployeeId();
+            nanos = time(() -> {
+                for (int i = 0; i < ROWS_PER_ROW_PATH; i++) {
+                    Manager.addContactToEmployee(employeeId, "EMAIL", "row" + i + "@bench.cat", "x");
+                }
+            });
+            report(db, "addContactToEmployee (fila a fila)", ROWS_PER_ROW_PATH, nanos);
+
+            nanos = time(() -> {
+                for (int i = 0; i < ROWS_PER_ROW_PATH; i++) {
+                    Manager.addProject("RowProject" + i, "Bench", "ACTIU");
+                }
+            });
+            report(db, "addProject (fila a fila)", ROWS_PER_ROW_PATH, nanos);
+
+            cleanDatabase();
+
+            // --- Massiu ---
+            List<Employee> employees = new ArrayList<>(ROWS_BULK_PATH);
+            for (int i = 0; i < ROWS_BULK_PATH; i++) {
+                employees.add(new Employee("Bulk" + i, "Bench", 30000 + i));
+            }
+            nanos = time(() -> Manager.addEmployees(employees));
+            report(db, "addEmployees (batch)", ROWS_BULK_PATH, nanos);
+
+            List<Contact> contacts = new ArrayList<>(ROWS_BULK_PATH);
+            for (int i = 0; i < ROWS_BULK_PATH; i++) {
+                Contact contact = new Contact("EMAIL", "bulk" + i + "@bench.cat", "x");
+                contact.setEmployee(employees.get(i));
+                contacts.add(contact);
+            }
+            nanos = time(() -> Manager.addContacts(contacts));
+            report(db, "addContacts (batch)", ROWS_BULK_PATH, nanos);
+
+            List<Project> projects = new ArrayList<>(ROWS_BULK_PATH);
+            for (int i = 0; i < ROWS_BULK_PATH; i++) {
+                projects.add(new Project("BulkProject" + i, "Bench", "ACTIU"));
+            }
+            nanos = time(() -> Manager.addProjects(projects));
+            report(db, "addProjects (batch)", ROWS_BULK_PATH, nanos);
+        } finally {
+            Manager.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+
+import org.hibernate.HibernateException;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: HIKARICP VS POOL INTERN D'HIBERNATE AMB CÀRREGA CONCURRENT
+ * ====================================================================
+ *
+ * 1.000 empleats amb 2 contactes. Diversos fils fan getById i
+ * findContactsByEmployeeAndType d'empleats a l'atzar sobre un pool de 10
+ * connexions:
+ * - 10 fils: tants fils com connexions
+ * - 32 fils: més fils que connexions, obtenir-ne una és el coll d'ampolla
+ *
+ * ESCENARIS (per cada BD i nombre de fils):
+ * - HikariCP (configuració per defecte, project.connection.pool=hikari)
+ * - Pool intern d'Hibernate (*-builtin-pool.properties)
+ *
+ * Amb HikariCP també imprimeix getPoolMetrics() (temps d'obtenció).
+ *
+ * El pool intern no fa esperar: quan totes les connexions estan ocupades
+ * llança HibernateException ("The internal connection pool has reached its
+ * maximum size"). Aquestes operacions es compten com a errors.
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=ConnectionPoolBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class ConnectionPoolBenchmark {
+
+    private static final int EMPLOYEES = 1_000;
+    private static final int[] THREADS = {10, 32};
+    private static final int OPERATIONS_PER_THREAD = 500;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, H2_BUILTIN_POOL_PROPERTIES,
+                            SQLITE_PROPERTIES, SQLITE_BUILTIN_POOL_PROPERTIES})
+    void concurrentLookups(String config) throws Exception {
+        open(config);
+        try {
+            boolean builtin = config.contains("builtin-pool");
+            String db = label(config);
+            long[] ids = seed();
+
+            run(ids, THREADS[0], OPERATIONS_PER_THREAD);  // Escalfament
+            for (int threads : THREADS) {
+                String scenario = (builtin ? "pool intern" : "HikariCP") + ", " + threads + " fils";
+                LongAdder errors = new LongAdder();
+                long nanos = time(() -> errors.add(run(ids, threads, OPERATIONS_PER_THREAD)));
+                report(db, scenario, threads * OPERATIONS_PER_THREAD * 2, nanos);
+                System.out.printf("[ERRORS] %-6s | %-40s | %d parelles fallides%n",
+                        db, scenario, errors.sum());
+                if (!builtin) {
+                    System.out.printf("[POOL]  %-7s | %-40s | %s%n", db, scenario, Manager.getPoolMetrics());
+                }
+            }
+        } finally {
+            Manager.close();
+        }
+    }
+
+    /**
+     * threads fils fent operations parelles de consultes cadascun.
+     *
+     * @return Parelles que han fallat per no obtenir connexió
+     */
+    private static long run(long[] ids, int threads, int operations) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        LongAdder failed = new LongAdder();
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < operations; i++) {
+                        long id = ids[random.nextInt(ids.length)];
+                        try {
+                            Manager.getById(Employee.class, id);
+                            Manager.findContactsByEmployeeAndType(id, "EMAIL");
+                        } catch (HibernateException e) {
+                            failed.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return failed.sum();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long[] seed() {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Pool" + i, "Bench", 30000));
+        }
+        List<Long> ids = Manager.addEmployees(employees);
+
+        List<Contact> contacts = new ArrayList<>(EMPLOYEES * 2);
+        for (Employee employee : employees) {
+            Contact email = new Contact("EMAIL", employee.getFirstName() + "@empresa.cat", null);
+            email.setEmployee(employee);
+            contacts.add(email);
+            Contact phone = new Contact("PHONE", "600" + employee.getEmployeeId(), null);
+            phone.setEmployee(employee);
+            contacts.add(phone);
+        }
+        Manager.addContacts(contacts);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: INGESTA DE CONTACTES DIRECTA VS BUFFER D'ESCRIPTURA DIFERIDA
+ * =====================================================================
+ *
+ * Un fil productor (un feed) desa CONTACTS contactes repartits entre
+ * EMPLOYEES empleats i després en canvia el valor:
+ * - addContactToEmployee / updateContact: un commit per contacte
+ * - addContactToEmployeeBuffered / updateContactBuffered: el buffer els
+ *   desa per lots de 500 (project.contact_buffer.batch_size)
+ *
+ * El temps del buffer va des del primer submit fins que tots els futures
+ * s'han completat. També s'imprimeix el temps que el productor ha estat
+ * encuant (el que veu qui crida).
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=ContactBufferBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class ContactBufferBenchmark {
+
+    private static final String CONTACT_BUFFER_PROPERTIES = "hibernate-bench-sqlite-contact-buffer.properties";
+
+    private static final int EMPLOYEES = 1_000;
+    private static final int CONTACTS = 10_000;
+
+    @Test
+    void ingestion() {
+        open(CONTACT_BUFFER_PROPERTIES);
+        try {
+            String db = label(CONTACT_BUFFER_PROPERTIES);
+            long[] ids = seed();
+
+            ingestDirect(ids, CONTACTS / 10);  // Escalfament
+            ingestBuffered(ids, CONTACTS / 10);
+
+            List<Long> direct = new ArrayList<>();
+            long nanos = time(() -> direct.addAll(ingestDirect(ids, CONTACTS)));
+            report(db, "altes directes", CONTACTS, nanos);
+
+            List<Long> buffered = new ArrayList<>();
+            long[] enqueue = new long[1];
+            nanos = time(() -> buffered.addAll(ingestBuffered(ids, CONTACTS, enqueue)));
+            report(db, "altes amb buffer", CONTACTS, nanos);
+            report(db, "altes amb buffer (només encuar)", CONTACTS, enqueue[0]);
+
+            nanos = time(() -> {
+                for (int i = 0; i < direct.size(); i++) {
+                    Manager.updateContact(direct.get(i), "EMAIL", "canvi" + i + "@directe.cat", null);
+                }
+            });
+            report(db, "canvis directes", direct.size(), nanos);
+
+            nanos = time(() -> {
+                List<CompletableFuture<Contact>> futures = new ArrayList<>(buffered.size());
+                for (int i = 0; i < buffered.size(); i++) {
+                    futures.add(Manager.updateContactBuffered(buffered.get(i), "EMAIL",
+                            "canvi" + i + "@buffer.cat", null));
+                }
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            });
+            report(db, "canvis amb buffer", buffered.size(), nanos);
+        } finally {
+            Manager.close();
+        }
+    }
+
+    private static List<Long> ingestDirect(long[] ids, int count) {
+        List<Long> contactIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Contact contact = Manager.addContactToEmployee(ids[i % ids.length], "EMAIL",
+                    "feed" + i + "@directe.cat", null);
+            contactIds.add(contact.getContactId());
+        }
+        return contactIds;
+    }
+
+    private static List<Long> ingestBuffered(long[] ids, int count) {
+        return ingestBuffered(ids, count, new long[1]);
+    }
+
+    /**
+     * @param enqueueNanos Hi deixa el temps que s'ha estat encuant
+     */
+    private static List<Long> ingestBuffered(long[] ids, int count, long[] enqueueNanos) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Contact>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(Manager.addContactToEmployeeBuffered(ids[i % ids.length], "EMAIL",
+                    "feed" + i + "@buffer.cat", null));
+        }
+        enqueueNanos[0] = System.nanoTime() - start;
+        List<Long> contactIds = new ArrayList<>(count);
+        for (CompletableFuture<Contact> future : futures) {
+            contactIds.add(future.join().getContactId());
+        }
+        return contactIds;
+    }
+
+    private static long[] seed() {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Feed" + i, "Bench", 30000));
+        }
+        return Manager.addEmployees(employees).stream().mapToLong(Long::longValue).toArray();
+    }
+}
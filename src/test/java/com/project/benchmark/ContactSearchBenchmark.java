@@ -0,0 +1,115 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: searchContacts vs LIKE '%fragment%'
+ * ==============================================
+ *
+ * 1.000.000 de contactes (200.000 empleats amb 2 emails i 3 telèfons).
+ *
+ * ESCENARIS (límit 20):
+ * - Fragment freqüent ("@empresa7.cat"): el límit s'assoleix de seguida
+ * - Fragment rar ("nom123456@"): només un contacte
+ * - Prefix de telèfon ("666")
+ * - Fragment que no hi és ("zzz")
+ *
+ * Cada escenari es mesura amb l'índex de trigrames i amb un LIKE a la BD.
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=ContactSearchBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class ContactSearchBenchmark {
+
+    private static final int EMPLOYEES = 200_000;
+    private static final int LIMIT = 20;
+    private static final int INDEX_LOOKUPS = 10_000;
+    private static final int LIKE_LOOKUPS = 5;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void trigramIndexVsLike(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            seed();
+            long nanos = time(Manager::rebuildContactSearchIndex);
+            report(db, "rebuildContactSearchIndex (1M contactes)", 1, nanos);
+
+            measure(db, "fragment freqüent", "@empresa7.cat", false);
+            measure(db, "fragment rar", "nom123456@", false);
+            measure(db, "prefix 666", "666", true);
+            measure(db, "fragment absent", "zzz", false);
+        } finally {
+            Manager.close();
+        }
+    }
+
+    private static void measure(String db, String scenario, String fragment, boolean prefix) {
+        for (int i = 0; i < 1_000; i++) {  // Escalfament
+            search(fragment, prefix);
+        }
+        long nanos = time(() -> {
+            for (int i = 0; i < INDEX_LOOKUPS; i++) {
+                search(fragment, prefix);
+            }
+        });
+        reportLatency(db, "index: " + scenario, INDEX_LOOKUPS, nanos);
+
+        String like = prefix ? fragment + "%" : "%" + fragment + "%";
+        String sql = "SELECT id, employee_id FROM contacts WHERE LOWER(contact_value) LIKE '"
+                + like + "' LIMIT " + LIMIT;
+        Manager.queryTable(sql);  // Escalfament
+        nanos = time(() -> {
+            for (int i = 0; i < LIKE_LOOKUPS; i++) {
+                Manager.queryTable(sql);
+            }
+        });
+        reportLatency(db, "LIKE: " + scenario, LIKE_LOOKUPS, nanos);
+    }
+
+    private static int search(String fragment, boolean prefix) {
+        return (prefix ? Manager.searchContactsByPrefix(fragment, LIMIT)
+                       : Manager.searchContacts(fragment, LIMIT)).size();
+    }
+
+    private static void seed() {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Search" + i, "Bench", 30000));
+        }
+        Manager.addEmployees(employees);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Contact> contacts = new ArrayList<>(EMPLOYEES * 5);
+        for (Employee employee : employees) {
+            long i = employee.getEmployeeId();
+            contacts.add(contact(employee, "EMAIL", "nom" + i + "@empresa" + (i % 50) + ".cat"));
+            contacts.add(contact(employee, "EMAIL", "Nom.Cognom" + i + "@Personal.org"));
+            for (int k = 0; k < 3; k++) {
+                contacts.add(contact(employee, "PHONE",
+                        String.valueOf(600_000_000 + random.nextInt(400_000_000))));
+            }
+        }
+        Manager.addContacts(contacts);
+    }
+
+    private static Contact contact(Employee employee, String type, String value) {
+        Contact contact = new Contact(type, value, null);
+        contact.setEmployee(employee);
+        return contact;
+    }
+}
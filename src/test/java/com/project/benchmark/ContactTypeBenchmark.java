@@ -0,0 +1,111 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Contact;
+import com.project.domain.ContactTypeDictionary;
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: CERCA PER TIPUS AMB L'ÍNDEX (contact_type_id, employee_id)
+ * ====================================================================
+ *
+ * 1.000.000 de contactes de 200.000 empleats. Tipus: EMAIL i PHONE (40%
+ * cadascun), ADDRESS (gairebé el 20%) i FAX (un empleat de cada 1.000).
+ *
+ * ESCENARIS (tipus FAX):
+ * - Empleats amb el tipus fent servir l'índex
+ * - La mateixa consulta amb contact_type_id + 0, que impedeix l'índex i
+ *   obliga a recórrer la taula (com abans, amb el VARCHAR sense índex)
+ * - findEmployeeSummariesByContactType (API del Manager)
+ *
+ * També imprimeix el pla de les consultes de cada BD.
+ *
+ * NOTA: H2 guarda el resultat d'una consulta repetida si les taules no han
+ * canviat, així que la comparació significativa és la de SQLite.
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=ContactTypeBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class ContactTypeBenchmark {
+
+    private static final int EMPLOYEES = 200_000;
+    private static final int ITERATIONS = 20;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void indexRangeScanVsFullScan(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            seed();
+            int fax = ContactTypeDictionary.idOf("FAX");
+            String indexed = "SELECT DISTINCT employee_id, contact_type_id FROM contacts "
+                    + "WHERE contact_type_id = " + fax;
+            String scan = "SELECT DISTINCT employee_id, contact_type_id FROM contacts "
+                    + "WHERE contact_type_id + 0 = " + fax;
+            printPlan(db, config, indexed);
+            printPlan(db, config, scan);
+
+            measure(db, "índex (contact_type_id = FAX)", () -> Manager.queryTable(indexed));
+            measure(db, "sense índex (contact_type_id + 0)", () -> Manager.queryTable(scan));
+            measure(db, "findEmployeeSummariesByContactType",
+                    () -> Manager.findEmployeeSummariesByContactType("FAX"));
+        } finally {
+            Manager.close();
+        }
+    }
+
+    private static void measure(String db, String scenario, Runnable query) {
+        query.run();  // Escalfament
+        long nanos = time(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                query.run();
+            }
+        });
+        reportLatency(db, scenario, ITERATIONS, nanos);
+    }
+
+    private static void seed() {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Type" + i, "Bench", 30000));
+        }
+        Manager.addEmployees(employees);
+
+        List<Contact> contacts = new ArrayList<>(EMPLOYEES * 5);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = employees.get(i);
+            contacts.add(contact(employee, "EMAIL", "type" + i + "@empresa.cat"));
+            contacts.add(contact(employee, "EMAIL", "type" + i + "@personal.org"));
+            contacts.add(contact(employee, "PHONE", "6" + i));
+            contacts.add(contact(employee, "PHONE", "9" + i));
+            contacts.add(contact(employee, i % 1_000 == 0 ? "FAX" : "ADDRESS", "Carrer " + i));
+        }
+        Manager.addContacts(contacts);
+    }
+
+    private static Contact contact(Employee employee, String type, String value) {
+        Contact contact = new Contact(type, value, null);
+        contact.setEmployee(employee);
+        return contact;
+    }
+
+    private static void printPlan(String db, String config, String sql) {
+        String explain = config.contains("sqlite") ? "EXPLAIN QUERY PLAN " : "EXPLAIN ";
+        for (Object row : Manager.queryTable(explain + sql)) {
+            String line = row instanceof Object[] columns
+                    ? String.valueOf(columns[columns.length - 1]) : String.valueOf(row);
+            System.out.printf("[PLAN]  %-7s | %s%n", db, line.replaceAll("\\s+", " "));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: findCoworkers vs AJUNTAR-HO EN JAVA
+ * =============================================
+ *
+ * 100.000 empleats i 1.000 projectes: cada empleat és a 3 projectes
+ * (300.000 files a employee_project, uns 300 membres per projecte).
+ *
+ * ESCENARIS:
+ * - findCoworkers: una sola consulta amb GROUP BY (top 20)
+ * - Java: findEmployeesByProject per cada projecte de l'empleat i
+ *   recompte amb un HashMap (com calia fer-ho abans)
+ *
+ * També imprimeix el pla de la consulta de cada BD.
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=CoworkerBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class CoworkerBenchmark {
+
+    private static final int EMPLOYEES = 100_000;
+    private static final int PROJECTS = 1_000;
+    private static final int PROJECTS_PER_EMPLOYEE = 3;
+    private static final int LIMIT = 20;
+    private static final int QUERY_LOOKUPS = 1_000;
+    private static final int JAVA_LOOKUPS = 20;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void singleQueryVsJavaMerge(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            List<Long> employeeIds = new ArrayList<>(EMPLOYEES);
+            List<Long> projectIds = seed(employeeIds);
+            printPlan(db, config, employeeIds.get(0));
+
+            for (int i = 0; i < 100; i++) {  // Escalfament
+                Manager.findCoworkers(employeeIds.get(i), LIMIT);
+            }
+            long nanos = time(() -> {
+                for (int i = 0; i < QUERY_LOOKUPS; i++) {
+                    Manager.findCoworkers(employeeIds.get((i * 97) % EMPLOYEES), LIMIT);
+                }
+            });
+            reportLatency(db, "findCoworkers (top " + LIMIT + ")", QUERY_LOOKUPS, nanos);
+
+            javaMerge(1, employeeIds, projectIds);  // Escalfament
+            nanos = time(() -> {
+                for (int i = 0; i < JAVA_LOOKUPS; i++) {
+                    javaMerge((i * 97) % EMPLOYEES, employeeIds, projectIds);
+                }
+            });
+            reportLatency(db, "findEmployeesByProject + HashMap", JAVA_LOOKUPS, nanos);
+        } finally {
+            Manager.close();
+        }
+    }
+
+    /**
+     * L'empleat i va als projectes (i + k * 333) % 1000, per k de 0 a 2:
+     * dos empleats comparteixen entre 0 i 3 projectes.
+     */
+    private static List<Long> seed(List<Long> employeeIds) {
+        List<Project> projects = new ArrayList<>(PROJECTS);
+        for (int p = 0; p < PROJECTS; p++) {
+            projects.add(new Project("Cowork" + p, "Bench", "ACTIU"));
+        }
+        List<Long> projectIds = Manager.addProjects(projects);
+
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Cowork" + i, "Bench", 30000 + i % 1000));
+        }
+        employeeIds.addAll(Manager.addEmployees(employees));
+
+        List<List<Long>> members = new ArrayList<>(PROJECTS);
+        for (int p = 0; p < PROJECTS; p++) {
+            members.add(new ArrayList<>());
+        }
+        for (int i = 0; i < EMPLOYEES; i++) {
+            for (int k = 0; k < PROJECTS_PER_EMPLOYEE; k++) {
+                members.get(projectOf(i, k)).add(employeeIds.get(i));
+            }
+        }
+        for (int p = 0; p < PROJECTS; p++) {
+            Manager.assignEmployeesToProject(projectIds.get(p), members.get(p));
+        }
+        return projectIds;
+    }
+
+    private static int projectOf(int employee, int k) {
+        return (employee + k * 333) % PROJECTS;
+    }
+
+    /**
+     * L'alternativa sense findCoworkers: carregar els membres de cada projecte
+     * de l'empleat i comptar-los en Java.
+     */
+    private static List<Long> javaMerge(int employee, List<Long> employeeIds, List<Long> projectIds) {
+        long employeeId = employeeIds.get(employee);
+        Map<Long, Integer> shared = new HashMap<>();
+        for (int k = 0; k < PROJECTS_PER_EMPLOYEE; k++) {
+            long projectId = projectIds.get(projectOf(employee, k));
+            for (Employee member : Manager.findEmployeesByProject(projectId)) {
+                if (member.getEmployeeId() != employeeId) {
+                    shared.merge(member.getEmployeeId(), 1, Integer::sum);
+                }
+            }
+        }
+        return shared.entrySet().stream()
+                     .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                     .limit(LIMIT)
+                     .map(Map.Entry::getKey)
+                     .toList();
+    }
+
+    private static void printPlan(String db, String config, long employeeId) {
+        String explain = config.contains("sqlite") ? "EXPLAIN QUERY PLAN " : "EXPLAIN ";
+        String sql = explain + "SELECT e.id, e.firstName, e.lastName, s.shared " +
+                "FROM (SELECT other.employee_id AS employee_id, COUNT(*) AS shared " +
+                "FROM employee_project mine " +
+                "JOIN employee_project other ON other.project_id = mine.project_id " +
+                "WHERE mine.employee_id = " + employeeId +
+                " AND other.employee_id <> " + employeeId +
+                " GROUP BY other.employee_id" +
+                " ORDER BY shared DESC, other.employee_id LIMIT " + LIMIT + ") s " +
+                "JOIN employees e ON e.id = s.employee_id " +
+                "ORDER BY s.shared DESC, e.id";
+        for (Object row : Manager.queryTable(sql)) {
+            String line = row instanceof Object[] columns
+                    ? String.valueOf(columns[columns.length - 1]) : String.valueOf(row);
+            System.out.printf("[PLAN]  %-7s | %s%n", db, line.replaceAll("\\s+", " "));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: LATÈNCIA DE deleteProject SEGONS EL NOMBRE DE MEMBRES
+ * ===============================================================
+ *
+ * Crea un projecte amb 10, 10.000 i 100.000 empleats assignats i mesura
+ * el temps d'un deleteProject per cada mida.
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=DeleteProjectBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class DeleteProjectBenchmark {
+
+    private static final int[] MEMBERS = {10, 10_000, 100_000};
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void deleteProjectLatency(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            List<Employee> employees = new ArrayList<>(MEMBERS[MEMBERS.length - 1]);
+            for (int i = 0; i < MEMBERS[MEMBERS.length - 1]; i++) {
+                employees.add(new Employee("Member" + i, "Bench", 30000));
+            }
+            List<Long> employeeIds = Manager.addEmployees(employees);
+
+            // Escalfament: la primera execució inclou compilar les consultes
+            long warmupId = Manager.addProject("Warmup", "Bench", "ACTIU").getProjectId();
+            Manager.assignEmployeesToProject(warmupId, employeeIds.subList(0, 1));
+            Manager.deleteProject(warmupId);
+
+            for (int members : MEMBERS) {
+                long projectId = Manager.addProject("Delete" + members, "Bench", "ACTIU").getProjectId();
+                Manager.assignEmployeesToProject(projectId, employeeIds.subList(0, members));
+
+                long nanos = time(() -> Manager.deleteProject(projectId));
+                reportLatency(db, "deleteProject (" + members + " membres)", 1, nanos);
+            }
+        } finally {
+            Manager.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: PROJECCIONS DTO vs ENTITATS PER LLISTATS DE NOMÉS LECTURA
+ * ===================================================================
+ *
+ * Compara findEmployeesByContactType (entitats + col·leccions) amb
+ * findEmployeeSummariesByContactType (EmployeeSummary en una sola SELECT)
+ * sobre 20.000 empleats amb 2 contactes i 1 projecte cadascun.
+ *
+ * Mesura la latència i la memòria allotjada per crida (ThreadMXBean).
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=EmployeeSummaryBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class EmployeeSummaryBenchmark {
+
+    private static final int EMPLOYEES = 20_000;
+    private static final int ITERATIONS = 5;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void summaryVsEntities(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            List<Employee> employees = new ArrayList<>(EMPLOYEES);
+            for (int i = 0; i < EMPLOYEES; i++) {
+                employees.add(new Employee("Summary" + i, "Bench", 30000 + i));
+            }
+            List<Long> employeeIds = Manager.addEmployees(employees);
+
+            List<Contact> contacts = new ArrayList<>(EMPLOYEES * 2);
+            for (Employee employee : employees) {
+                Contact email = new Contact("EMAIL", employee.getFirstName() + "@bench.cat", "Email");
+                email.setEmployee(employee);
+                Contact phone = new Contact("PHONE", "666000000", "Telèfon");
+                phone.setEmployee(employee);
+                contacts.add(email);
+                contacts.add(phone);
+            }
+            Manager.addContacts(contacts);
+
+            long projectId = Manager.addProject("Summary", "Bench", "ACTIU").getProjectId();
+            Manager.assignEmployeesToProject(projectId, employeeIds);
+
+            measure(db, "findEmployeesByContactType (entitats)",
+                    () -> Manager.findEmployeesByContactType("EMAIL"));
+            measure(db, "findEmployeeSummariesByContactType",
+                    () -> Manager.findEmployeeSummariesByContactType("EMAIL"));
+        } finally {
+            Manager.close();
+        }
+    }
+
+    private static void measure(String db, String scenario, Supplier<?> operation) {
+        operation.get();  // Escalfament
+        long bytes = allocatedBytes();
+        long nanos = time(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                operation.get();
+            }
+        });
+        reportAllocation(db, scenario, ITERATIONS, nanos, allocatedBytes() - bytes);
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.dao.ManagerAsync;
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: FAN-OUT DE 5 CONSULTES, SEQÜENCIAL VS ManagerAsync
+ * ============================================================
+ *
+ * 2.000 empleats amb un contacte cadascun, repartits en 20 projectes.
+ * Cada petició fa 5 consultes independents d'un empleat i el seu projecte:
+ * getById(Employee), findContactsByEmployeeAndType, findEmployeesByProject,
+ * findEmployeeSummariesByProject i getById(Project).
+ *
+ * ESCENARIS:
+ * - seqüencial: les 5 consultes amb Manager, una darrere l'altra
+ * - ManagerAsync: les 5 alhora i allOf().join()
+ *
+ * Imprimeix la latència mitjana de cada petició (de la primera consulta
+ * fins que hi ha els 5 resultats). El guany depèn dels nuclis disponibles:
+ * les consultes només se solapen de debò si hi ha CPU per executar-les.
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=ManagerAsyncBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class ManagerAsyncBenchmark {
+
+    private static final int EMPLOYEES = 2_000;
+    private static final int PROJECTS = 20;
+    private static final int REQUESTS = 300;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void fanOut(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            long[][] requests = seed();
+
+            sequential(requests);  // Escalfament (JIT)
+            async(requests);
+
+            long nanos = time(() -> sequential(requests));
+            reportLatency(db, "fan-out de 5, seqüencial", REQUESTS, nanos);
+            nanos = time(() -> async(requests));
+            reportLatency(db, "fan-out de 5, ManagerAsync (" + ManagerAsync.parallelism() + " fils)",
+                    REQUESTS, nanos);
+        } finally {
+            Manager.close();
+        }
+    }
+
+    private static void sequential(long[][] requests) {
+        for (long[] request : requests) {
+            long employeeId = request[0];
+            long projectId = request[1];
+            Manager.getById(Employee.class, employeeId);
+            Manager.findContactsByEmployeeAndType(employeeId, "EMAIL");
+            Manager.findEmployeesByProject(projectId);
+            Manager.findEmployeeSummariesByProject(projectId);
+            Manager.getById(Project.class, projectId);
+        }
+    }
+
+    private static void async(long[][] requests) {
+        for (long[] request : requests) {
+            long employeeId = request[0];
+            long projectId = request[1];
+            CompletableFuture.allOf(
+                    ManagerAsync.getById(Employee.class, employeeId),
+                    ManagerAsync.findContactsByEmployeeAndType(employeeId, "EMAIL"),
+                    ManagerAsync.findEmployeesByProject(projectId),
+                    ManagerAsync.findEmployeeSummariesByProject(projectId),
+                    ManagerAsync.getById(Project.class, projectId)).join();
+        }
+    }
+
+    /**
+     * Crea les dades i retorna REQUESTS parells {employeeId, projectId}
+     * d'empleats que són membres del projecte.
+     */
+    private static long[][] seed() {
+        List<Project> projects = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.add(new Project("FanOut" + i, "Bench", "ACTIU"));
+        }
+        List<Long> projectIds = Manager.addProjects(projects);
+
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("FanOut" + i, "Bench", 30000 + i));
+        }
+        List<Long> employeeIds = Manager.addEmployees(employees);
+
+        List<Contact> contacts = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Contact contact = new Contact("EMAIL", "fanout" + i + "@bench.cat", "Bench");
+            contact.setEmployee(employees.get(i));
+            contacts.add(contact);
+        }
+        Manager.addContacts(contacts);
+
+        for (int p = 0; p < PROJECTS; p++) {
+            List<Long> members = new ArrayList<>();
+            for (int i = p; i < EMPLOYEES; i += PROJECTS) {
+                members.add(employeeIds.get(i));
+            }
+            Manager.assignEmployeesToProject(projectIds.get(p), members);
+        }
+
+        long[][] requests = new long[REQUESTS][];
+        for (int r = 0; r < REQUESTS; r++) {
+            int i = (r * 37) % EMPLOYEES;
+            requests[r] = new long[] {employeeIds.get(i), projectIds.get(i % PROJECTS)};
+        }
+        return requests;
+    }
+}
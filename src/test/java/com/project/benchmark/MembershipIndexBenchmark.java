@@ -0,0 +1,131 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: ÍNDEX DE MEMBRES EN MEMÒRIA vs CONSULTA A LA BD
+ * ==========================================================
+ *
+ * 20.000 empleats repartits en 200 projectes: cada empleat és a 5 projectes
+ * i cada projecte té 500 membres (100.000 files a employee_project).
+ *
+ * ESCENARIS:
+ * - rebuildMembershipIndex: construir l'índex llegint tota la taula
+ * - membres d'un projecte: findEmployeeIdsByProject (índex) i
+ *   findEmployeeSummariesByProject (BD, la consulta més lleugera que ja hi havia)
+ * - projectes d'un empleat, intersecció de 2 projectes i unió de 3 (índex)
+ * - updateEmployeeProjects: cost d'una escriptura amb l'índex actualitzat
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=MembershipIndexBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class MembershipIndexBenchmark {
+
+    private static final int EMPLOYEES = 20_000;
+    private static final int PROJECTS = 200;
+    private static final int PROJECTS_PER_EMPLOYEE = 5;
+    private static final int INDEX_LOOKUPS = 200_000;
+    private static final int DB_LOOKUPS = 200;
+    private static final int UPDATES = 500;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void indexVsDatabase(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            List<Long> employeeIds = new ArrayList<>();
+            List<Long> projectIds = seed(employeeIds);
+
+            Manager.rebuildMembershipIndex();  // Escalfament
+            long nanos = time(Manager::rebuildMembershipIndex);
+            reportLatency(db, "rebuildMembershipIndex", 1, nanos);
+
+            long[] projects = projectIds.stream().mapToLong(Long::longValue).toArray();
+            long[] employees = employeeIds.stream().mapToLong(Long::longValue).toArray();
+            for (int round = 0; round < 2; round++) {  // La primera ronda és escalfament
+                boolean print = round == 1;
+                measure(db, "membres (índex)", INDEX_LOOKUPS, print,
+                        i -> Manager.findEmployeeIdsByProject(projects[i % PROJECTS]).length);
+                measure(db, "projectes d'empleat (índex)", INDEX_LOOKUPS, print,
+                        i -> Manager.findProjectIdsByEmployee(employees[(i * 7) % EMPLOYEES]).length);
+                measure(db, "intersecció 2 projectes (índex)", INDEX_LOOKUPS, print,
+                        i -> Manager.findEmployeeIdsInAllProjects(
+                                projects[i % PROJECTS], projects[(i + 40) % PROJECTS]).length);
+                measure(db, "unió 3 projectes (índex)", INDEX_LOOKUPS, print,
+                        i -> Manager.findEmployeeIdsInAnyProject(
+                                projects[i % PROJECTS], projects[(i + 1) % PROJECTS],
+                                projects[(i + 2) % PROJECTS]).length);
+                measure(db, "membres (BD, resums)", DB_LOOKUPS, print,
+                        i -> Manager.findEmployeeSummariesByProject(projects[i % PROJECTS]).size());
+            }
+
+            nanos = time(() -> {
+                for (int i = 0; i < UPDATES; i++) {
+                    Project project = new Project();
+                    project.setProjectId(projects[i % PROJECTS]);
+                    Manager.updateEmployeeProjects(employees[i], Set.of(project));
+                }
+            });
+            reportLatency(db, "updateEmployeeProjects", UPDATES, nanos);
+        } finally {
+            Manager.close();
+        }
+    }
+
+    /**
+     * Cada empleat i va als projectes (i + k * 40) % 200, per k de 0 a 4.
+     */
+    private static List<Long> seed(List<Long> employeeIds) {
+        List<Project> projects = new ArrayList<>(PROJECTS);
+        for (int p = 0; p < PROJECTS; p++) {
+            projects.add(new Project("Index" + p, "Bench", "ACTIU"));
+        }
+        List<Long> projectIds = Manager.addProjects(projects);
+
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Index" + i, "Bench", 30000 + i));
+        }
+        employeeIds.addAll(Manager.addEmployees(employees));
+
+        int stride = PROJECTS / PROJECTS_PER_EMPLOYEE;
+        for (int p = 0; p < PROJECTS; p++) {
+            List<Long> members = new ArrayList<>();
+            for (int i = p % stride; i < EMPLOYEES; i += stride) {
+                members.add(employeeIds.get(i));
+            }
+            Manager.assignEmployeesToProject(projectIds.get(p), members);
+        }
+        return projectIds;
+    }
+
+    private static void measure(String db, String scenario, int operations, boolean print,
+                                IntUnaryOperator lookup) {
+        long[] checksum = new long[1];
+        long nanos = time(() -> {
+            for (int i = 0; i < operations; i++) {
+                checksum[0] += lookup.applyAsInt(i);
+            }
+        });
+        if (print) {
+            report(db, scenario, operations, nanos);
+            System.out.printf("[BENCH] %-7s | %-40s | %12.2f µs/op (%d IDs)%n",
+                    db, scenario, nanos / 1_000.0 / operations, checksum[0]);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: CACHE DE CONSULTES PER ALS LOOKUPS CALENTS
+ * ====================================================
+ *
+ * 1.500 empleats amb un contacte cadascun (EMAIL, PHONE o ADDRESS) i
+ * repartits en 20 projectes. Es repeteixen els lookups de les claus
+ * calentes: els 3 tipus de contacte i 5 projectes.
+ *
+ * ESCENARIS:
+ * - lookups: només lectures
+ * - lookups + contacte cada 50: cada 50 lookups s'afegeix un contacte,
+ *   que invalida els resultats per tipus però no els de projecte
+ *
+ * Es compara la configuració sense cache (abans) amb la que té la cache de
+ * segon nivell i de consultes (després).
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=QueryCacheBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class QueryCacheBenchmark {
+
+    private static final int EMPLOYEES = 1_500;
+    private static final int PROJECTS = 20;
+    private static final int HOT_PROJECTS = 5;
+    private static final int LOOKUPS = 400;
+    private static final int WRITE_EVERY = 50;
+    private static final String[] CONTACT_TYPES = {"EMAIL", "PHONE", "ADDRESS"};
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, H2_CACHE_PROPERTIES, SQLITE_PROPERTIES, SQLITE_CACHE_PROPERTIES})
+    void hotLookups(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            List<Long> projectIds = seed();
+
+            lookups(projectIds, LOOKUPS, 0);  // Escalfament (JIT i cache)
+            long nanos = time(() -> lookups(projectIds, LOOKUPS, 0));
+            reportLatency(db, "lookups", LOOKUPS, nanos);
+
+            nanos = time(() -> lookups(projectIds, LOOKUPS, WRITE_EVERY));
+            reportLatency(db, "lookups + contacte cada " + WRITE_EVERY, LOOKUPS, nanos);
+        } finally {
+            Manager.close();
+        }
+    }
+
+    /**
+     * Crea les dades i retorna els IDs dels projectes.
+     */
+    private static List<Long> seed() {
+        List<Project> projects = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.add(new Project("Lookup" + i, "Bench", "ACTIU"));
+        }
+        List<Long> projectIds = Manager.addProjects(projects);
+
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Lookup" + i, "Bench", 30000 + i));
+        }
+        List<Long> employeeIds = Manager.addEmployees(employees);
+
+        List<Contact> contacts = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Contact contact = new Contact(CONTACT_TYPES[i % CONTACT_TYPES.length], "valor" + i, "Bench");
+            contact.setEmployee(employees.get(i));
+            contacts.add(contact);
+        }
+        Manager.addContacts(contacts);
+
+        for (int p = 0; p < PROJECTS; p++) {
+            List<Long> members = new ArrayList<>();
+            for (int i = p; i < EMPLOYEES; i += PROJECTS) {
+                members.add(employeeIds.get(i));
+            }
+            Manager.assignEmployeesToProject(projectIds.get(p), members);
+        }
+        return projectIds;
+    }
+
+    /**
+     * Alterna lookups per tipus de contacte i per projecte calent.
+     * Si writeEvery > 0, cada writeEvery lookups afegeix un contacte.
+     */
+    private static void lookups(List<Long> projectIds, int count, int writeEvery) {
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                Manager.findEmployeesByContactType(CONTACT_TYPES[(i / 2) % CONTACT_TYPES.length]);
+            } else {
+                Manager.findEmployeesByProject(projectIds.get((i / 2) % HOT_PROJECTS));
+            }
+            if (writeEvery > 0 && (i + 1) % writeEvery == 0) {
+                Employee employee = Manager.findEmployeesByProject(projectIds.get(PROJECTS - 1))
+                                           .iterator().next();
+                Manager.addContactToEmployee(employee.getEmployeeId(), "EMAIL", "nou" + i + "@bench.cat", "Bench");
+            }
+        }
+    }
+}
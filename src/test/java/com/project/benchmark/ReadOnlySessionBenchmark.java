@@ -0,0 +1,107 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: SESSIONS DE NOMÉS LECTURA vs LECTURA-ESCRIPTURA
+ * =========================================================
+ *
+ * Executa les mateixes consultes amb project.query.read_only activat i
+ * desactivat, sobre 20.000 empleats amb 2 contactes cadascun:
+ * - listCollection(Employee.class): memòria allotjada per entitat carregada
+ *   (els snapshots del dirty checking i el flush del commit)
+ * - getById() en bucle: cost fix d'obrir, fer commit i tancar cada sessió
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=ReadOnlySessionBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class ReadOnlySessionBenchmark {
+
+    private static final int EMPLOYEES = 20_000;
+    private static final int LIST_ITERATIONS = 5;
+    private static final int LOOKUPS = 5_000;
+
+    // Cada empleat es carrega amb els seus 2 contactes
+    private static final int ENTITIES_PER_LOOKUP = 3;
+    private static final int ENTITIES_PER_LIST = EMPLOYEES * ENTITIES_PER_LOOKUP;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void readOnlyVsReadWrite(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            List<Employee> employees = new ArrayList<>(EMPLOYEES);
+            for (int i = 0; i < EMPLOYEES; i++) {
+                employees.add(new Employee("ReadOnly" + i, "Bench", 30000 + i));
+            }
+            List<Long> ids = Manager.addEmployees(employees);
+
+            List<Contact> contacts = new ArrayList<>(EMPLOYEES * 2);
+            for (Employee employee : employees) {
+                Contact email = new Contact("EMAIL", employee.getFirstName() + "@bench.cat", "Email");
+                email.setEmployee(employee);
+                Contact phone = new Contact("PHONE", "666000000", "Telèfon");
+                phone.setEmployee(employee);
+                contacts.add(email);
+                contacts.add(phone);
+            }
+            Manager.addContacts(contacts);
+
+            for (boolean readOnly : new boolean[] {false, true}) {
+                Manager.setReadOnlyQueries(readOnly);
+                String mode = readOnly ? "read-only" : "read-write";
+                measureList(db, "listCollection " + mode);
+                measureLookups(db, "getById " + mode, ids);
+            }
+        } finally {
+            Manager.setReadOnlyQueries(true);
+            Manager.close();
+        }
+    }
+
+    private static void measureList(String db, String scenario) {
+        Manager.listCollection(Employee.class);  // Escalfament
+        long bytes = allocatedBytes();
+        long nanos = time(() -> {
+            for (int i = 0; i < LIST_ITERATIONS; i++) {
+                Manager.listCollection(Employee.class);
+            }
+        });
+        long allocated = allocatedBytes() - bytes;
+        reportAllocation(db, scenario, LIST_ITERATIONS, nanos, allocated);
+        reportPerEntity(db, scenario, (long) LIST_ITERATIONS * ENTITIES_PER_LIST, allocated);
+    }
+
+    private static void measureLookups(String db, String scenario, List<Long> ids) {
+        for (int i = 0; i < 500; i++) {  // Escalfament
+            Manager.getById(Employee.class, ids.get(i));
+        }
+        long bytes = allocatedBytes();
+        long nanos = time(() -> {
+            for (int i = 0; i < LOOKUPS; i++) {
+                Manager.getById(Employee.class, ids.get((i * 7) % ids.size()));
+            }
+        });
+        long allocated = allocatedBytes() - bytes;
+        reportAllocation(db, scenario, LOOKUPS, nanos, allocated);
+        reportPerEntity(db, scenario, (long) LOOKUPS * ENTITIES_PER_LOOKUP, allocated);
+    }
+
+    private static void reportPerEntity(String db, String scenario, long entities, long bytes) {
+        System.out.printf("[BENCH] %-7s | %-40s | %9d ent | %10.0f B/entitat%n",
+                db, scenario, entities, (double) bytes / entities);
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: PERFIL PERFORMANCE DE SQLITE VS PRAGMES PER DEFECTE
+ * =============================================================
+ *
+ * Mateixes operacions del Manager amb les dues configuracions de SQLite:
+ * - hibernate-bench-sqlite.properties: perfil performance (WAL,
+ *   synchronous=NORMAL, 64 MB de cache, mmap, temporals en memòria)
+ * - hibernate-bench-sqlite-default-pragmas.properties: pragmes per defecte
+ *   (journal_mode=DELETE, synchronous=FULL, 2 MB de cache)
+ *
+ * A la taula de resultats el perfil performance surt com SQLiteP.
+ *
+ * ESCRIPTURA:
+ * - addEmployee i updateEmployee: un commit per operació (el cost és el fsync)
+ * - addContacts: 200.000 contactes en transaccions de 10.000
+ *
+ * LECTURA (20.000 empleats amb 10 contactes):
+ * - getById d'empleats a l'atzar
+ * - findEmployeesByContactType i listEmployeeSummaries
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=SQLiteProfileBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class SQLiteProfileBenchmark {
+
+    private static final String DEFAULT_PRAGMAS_PROPERTIES = "hibernate-bench-sqlite-default-pragmas.properties";
+
+    private static final int SINGLE_WRITES = 1_000;
+    private static final int EMPLOYEES = 20_000;
+    private static final int CONTACTS_PER_EMPLOYEE = 10;
+    private static final int LOOKUPS = 10_000;
+    private static final int ITERATIONS = 10;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {DEFAULT_PRAGMAS_PROPERTIES, SQLITE_PROPERTIES})
+    void writeAndReadPaths(String config) {
+        open(config);
+        try {
+            String db = config.contains("default") ? "SQLite" : "SQLiteP";
+
+            // --- Escriptura: un commit per operació ---
+            List<Long> ids = new ArrayList<>(SINGLE_WRITES);
+            long nanos = time(() -> {
+                for (int i = 0; i < SINGLE_WRITES; i++) {
+                    ids.add(Manager.addEmployee("Single" + i, "Bench", 30000).getEmployeeId());
+                }
+            });
+            report(db, "addEmployee (1 commit cadascun)", SINGLE_WRITES, nanos);
+
+            nanos = time(() -> {
+                for (int i = 0; i < SINGLE_WRITES; i++) {
+                    Manager.updateEmployee(ids.get(i), "Single" + i, "Bench", 31000);
+                }
+            });
+            report(db, "updateEmployee (1 commit cadascun)", SINGLE_WRITES, nanos);
+
+            // --- Escriptura massiva ---
+            List<Employee> employees = new ArrayList<>(EMPLOYEES);
+            for (int i = 0; i < EMPLOYEES; i++) {
+                employees.add(new Employee("Profile" + i, "Bench", 20000 + i));
+            }
+            Manager.addEmployees(employees);
+            List<Contact> contacts = new ArrayList<>(EMPLOYEES * CONTACTS_PER_EMPLOYEE);
+            for (Employee employee : employees) {
+                for (int c = 0; c < CONTACTS_PER_EMPLOYEE; c++) {
+                    Contact contact = new Contact(c == 0 ? "FAX" : "EMAIL",
+                            employee.getFirstName() + "." + c + "@empresa.cat", null);
+                    contact.setEmployee(employee);
+                    contacts.add(contact);
+                }
+            }
+            nanos = time(() -> Manager.addContacts(contacts));
+            report(db, "addContacts (massiu)", contacts.size(), nanos);
+
+            // --- Lectura ---
+            Random random = new Random(42);
+            nanos = time(() -> {
+                for (int i = 0; i < LOOKUPS; i++) {
+                    long id = employees.get(random.nextInt(EMPLOYEES)).getEmployeeId();
+                    Manager.getById(Employee.class, id);
+                }
+            });
+            report(db, "getById (a l'atzar)", LOOKUPS, nanos);
+
+            Manager.findEmployeesByContactType("FAX");  // Escalfament
+            nanos = time(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    Manager.findEmployeesByContactType("FAX");
+                }
+            });
+            reportLatency(db, "findEmployeesByContactType", ITERATIONS, nanos);
+
+            Manager.listEmployeeSummaries();  // Escalfament
+            nanos = time(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    Manager.listEmployeeSummaries();
+                }
+            });
+            reportLatency(db, "listEmployeeSummaries", ITERATIONS, nanos);
+        } finally {
+            Manager.close();
+        }
+    }
+}
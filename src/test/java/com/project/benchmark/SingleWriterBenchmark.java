@@ -0,0 +1,151 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Employee;
+
+import jakarta.persistence.PersistenceException;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: ESCRIPTURES CONCURRENTS A SQLITE, DIRECTES VS ESCRIPTOR ÚNIC
+ * =====================================================================
+ *
+ * Diversos fils escriuen alhora (addEmployee, updateEmployee i
+ * addContactToEmployee, un commit per operació) mentre 4 fils més fan
+ * getById d'empleats a l'atzar, amb 1 ms de pausa entre consultes:
+ * - 8 fils escriptors
+ * - 32 fils escriptors
+ *
+ * ESCENARIS:
+ * - hibernate-bench-sqlite.properties: escriptures directes, cada fil
+ *   competeix pel bloqueig de la BD (busy_timeout de 5 s)
+ * - hibernate-bench-sqlite-single-writer.properties: totes les escriptures
+ *   passen per un sol fil amb commit agrupat (project.write_mode=single_writer)
+ *
+ * Per cada escenari imprimeix les escriptures i lectures per segon, les
+ * escriptures fallides (SQLITE_BUSY, també quan una transacció que ja ha
+ * llegit no pot passar a escriure) i, amb l'escriptor únic,
+ * getWriteQueueMetrics() (operacions per commit).
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=SingleWriterBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class SingleWriterBenchmark {
+
+    private static final String SINGLE_WRITER_PROPERTIES = "hibernate-bench-sqlite-single-writer.properties";
+
+    private static final int EMPLOYEES = 1_000;
+    private static final int[] WRITER_THREADS = {8, 32};
+    private static final int READER_THREADS = 4;
+    private static final long READ_PAUSE_MILLIS = 1;
+    private static final int WRITES_PER_THREAD = 150;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {SQLITE_PROPERTIES, SINGLE_WRITER_PROPERTIES})
+    void concurrentWriters(String config) throws Exception {
+        open(config);
+        try {
+            boolean singleWriter = config.contains("single-writer");
+            String db = singleWriter ? "SQLite1W" : "SQLite";
+            long[] ids = seed();
+
+            run(ids, WRITER_THREADS[0], WRITES_PER_THREAD / 3);  // Escalfament
+            for (int threads : WRITER_THREADS) {
+                String scenario = (singleWriter ? "escriptor únic" : "directe") + ", " + threads + " fils";
+                Result result = run(ids, threads, WRITES_PER_THREAD);
+                report(db, scenario + " (escriptures)", (int) result.writes, result.nanos);
+                report(db, scenario + " (lectures)", (int) result.reads, result.nanos);
+                System.out.printf("[ERRORS] %-6s | %-40s | %d escriptures fallides%n",
+                        db, scenario, result.failed);
+                if (singleWriter) {
+                    System.out.printf("[CUA]   %-7s | %-40s | %s%n", db, scenario, Manager.getWriteQueueMetrics());
+                }
+            }
+        } finally {
+            Manager.close();
+        }
+    }
+
+    private record Result(long writes, long failed, long reads, long nanos) {}
+
+    /**
+     * threads fils escrivint writes vegades cadascun, amb READER_THREADS
+     * fils llegint fins que acaben.
+     */
+    private static Result run(long[] ids, int threads, int writes) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads + READER_THREADS);
+        LongAdder done = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder reads = new LongAdder();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < READER_THREADS; r++) {
+                readers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (writing.get()) {
+                        Manager.getById(Employee.class, ids[random.nextInt(ids.length)]);
+                        reads.increment();
+                        // Ritme fix: sense pausa els lectors es quedarien la CPU
+                        Thread.sleep(READ_PAUSE_MILLIS);
+                    }
+                    return null;
+                }));
+            }
+            long start = System.nanoTime();
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < writes; i++) {
+                        long id = ids[random.nextInt(ids.length)];
+                        try {
+                            switch (i % 3) {
+                                case 0 -> Manager.addEmployee("Writer" + i, "Bench", 30000);
+                                case 1 -> Manager.updateEmployee(id, "Writer" + i, "Bench", 31000);
+                                default -> Manager.addContactToEmployee(id, "EMAIL", "w" + i + "@empresa.cat", null);
+                            }
+                            done.increment();
+                        } catch (PersistenceException e) {
+                            failed.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            long nanos = System.nanoTime() - start;
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+            return new Result(done.sum(), failed.sum(), reads.sum(), nanos);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long[] seed() {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Seed" + i, "Bench", 30000));
+        }
+        return Manager.addEmployees(employees).stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.dao.StaffingStats;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+
+/**
+ * BENCHMARK: StaffingStats vs listCollection(Project.class)
+ * =========================================================
+ *
+ * 20.000 empleats i 200 projectes: cada empleat és a 3 projectes
+ * (60.000 files a employee_project, 300 membres per projecte).
+ *
+ * ESCENARIS:
+ * - StaffingStats: byProject + topPaidByProject(5), dues consultes
+ * - Java: listCollection(Project.class), que inicialitza Project.employees
+ *   de tots els projectes, i agregació amb streams (com calia fer-ho abans)
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=StaffingStatsBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class StaffingStatsBenchmark {
+
+    private static final int EMPLOYEES = 20_000;
+    private static final int PROJECTS = 200;
+    private static final int PROJECTS_PER_EMPLOYEE = 3;
+    private static final int TOP = 5;
+    private static final int ITERATIONS = 20;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void sqlAggregatesVsEntityGraph(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            seed();
+
+            for (int i = 0; i < 3; i++) {  // Escalfament
+                sqlAggregates();
+                javaAggregates();
+            }
+            long nanos = time(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sqlAggregates();
+                }
+            });
+            reportLatency(db, "StaffingStats (GROUP BY + ROW_NUMBER)", ITERATIONS, nanos);
+
+            nanos = time(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    javaAggregates();
+                }
+            });
+            reportLatency(db, "listCollection + streams", ITERATIONS, nanos);
+        } finally {
+            Manager.close();
+        }
+    }
+
+    private static void seed() {
+        List<Project> projects = new ArrayList<>(PROJECTS);
+        for (int p = 0; p < PROJECTS; p++) {
+            projects.add(new Project("Staff" + p, "Bench", p % 2 == 0 ? "ACTIU" : "COMPLETAT"));
+        }
+        List<Long> projectIds = Manager.addProjects(projects);
+
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Staff" + i, "Bench", 30000 + (i * 37) % 20000));
+        }
+        List<Long> employeeIds = Manager.addEmployees(employees);
+
+        List<List<Long>> members = new ArrayList<>(PROJECTS);
+        for (int p = 0; p < PROJECTS; p++) {
+            members.add(new ArrayList<>());
+        }
+        for (int i = 0; i < EMPLOYEES; i++) {
+            for (int k = 0; k < PROJECTS_PER_EMPLOYEE; k++) {
+                members.get((i + k * 67) % PROJECTS).add(employeeIds.get(i));
+            }
+        }
+        for (int p = 0; p < PROJECTS; p++) {
+            Manager.assignEmployeesToProject(projectIds.get(p), members.get(p));
+        }
+    }
+
+    private static int sqlAggregates() {
+        return StaffingStats.byProject(null).size()
+             + StaffingStats.topPaidByProject(TOP, null).size();
+    }
+
+    /**
+     * Els mateixos resultats a partir de les entitats.
+     */
+    private static int javaAggregates() {
+        Map<Long, Long> totals = new HashMap<>();
+        Map<Long, List<Employee>> top = new HashMap<>();
+        for (Project project : Manager.listCollection(Project.class)) {
+            totals.put(project.getProjectId(), project.getEmployees().stream()
+                    .mapToLong(Employee::getSalary).sum());
+            top.put(project.getProjectId(), project.getEmployees().stream()
+                    .sorted(Comparator.comparingInt(Employee::getSalary).reversed()
+                                      .thenComparing(Employee::getEmployeeId))
+                    .limit(TOP)
+                    .toList());
+        }
+        return totals.size() + top.size();
+    }
+}
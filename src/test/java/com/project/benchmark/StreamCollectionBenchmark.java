@@ -0,0 +1,78 @@
+package com.project.benchmark;
+
+import com.project.dao.Manager;
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.benchmark.BenchmarkSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BENCHMARK: MEMÒRIA DE streamCollection AMB 1.000.000 DE FILES
+ * =============================================================
+ *
+ * Insereix 1M d'empleats i els recorre amb streamCollection. Cada 100.000
+ * files mesura el heap ocupat després d'un GC i comprova que no creix
+ * més de MAX_HEAP_GROWTH_MB respecte a l'inici del recorregut.
+ *
+ * Amb listCollection el mateix recorregut retindria 1M d'entitats
+ * (centenars de MB), per això aquí no es compara: podria fer OOM.
+ *
+ * Execució:
+ *   mvn test -Dbenchmark=true -Dtest=StreamCollectionBenchmark
+ */
+@EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+class StreamCollectionBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int SAMPLE_EVERY = 100_000;
+    private static final long MAX_HEAP_GROWTH_MB = 64;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {H2_PROPERTIES, SQLITE_PROPERTIES})
+    void streamCollectionHeap(String config) {
+        open(config);
+        try {
+            String db = label(config);
+            List<Employee> employees = new ArrayList<>(SAMPLE_EVERY);
+            for (int i = 0; i < ROWS; i++) {
+                employees.add(new Employee("Stream" + i, "Bench", 30000));
+                if (employees.size() == SAMPLE_EVERY) {
+                    Manager.addEmployees(employees);
+                    employees.clear();
+                }
+            }
+
+            long baseline = usedHeapAfterGc();
+            long[] maxUsed = {baseline};
+            long nanos = time(() -> {
+                long count = Manager.streamCollection(Employee.class, emp -> {
+                    if (emp.getEmployeeId() % SAMPLE_EVERY == 0) {
+                        maxUsed[0] = Math.max(maxUsed[0], usedHeapAfterGc());
+                    }
+                });
+                assertEquals(ROWS, count);
+            });
+
+            long growthMb = (maxUsed[0] - baseline) / (1024 * 1024);
+            report(db, "streamCollection (1M empleats)", ROWS, nanos);
+            System.out.printf("[BENCH] %-7s | %-40s | %9d MB%n", db, "creixement màxim del heap", growthMb);
+            assertTrue(growthMb < MAX_HEAP_GROWTH_MB,
+                    "El heap ha crescut " + growthMb + " MB durant el recorregut");
+        } finally {
+            Manager.close();
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,195 @@
+package com.project.dao;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTS UNITARIS DE ContactSearchIndex
+ * ====================================
+ *
+ * Proven l'índex de trigrames sense BD: cerques per fragment i per prefix,
+ * fragments curts (recorregut complet), actualitzacions i compactació.
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests unitaris de ContactSearchIndex")
+class ContactSearchIndexTest {
+
+    private ContactSearchIndex index;
+
+    /**
+     * Contactes 1 a 4 dels empleats 10 i 20.
+     */
+    @BeforeEach
+    void setUp() {
+        index = new ContactSearchIndex();
+        index.load(new long[] {1, 2, 3, 4}, new long[] {10, 10, 20, 20},
+                   new String[] {"EMAIL", "PHONE", "EMAIL", "PHONE"},
+                   new String[] {"Anna@Empresa.cat", "666111222", "joan@altra.com", "933666000"}, 4, 0);
+    }
+
+    private List<Long> ids(List<ContactMatch> matches) {
+        return matches.stream().map(ContactMatch::contactId).toList();
+    }
+
+    @Nested
+    @DisplayName("Cerques")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Cerca per fragment sense distingir majúscules")
+        void search_Fragment() {
+            assertAll(
+                () -> assertThat(ids(index.search("@empresa.CAT", 10))).containsExactly(1L),
+                () -> assertThat(ids(index.search("666", 10))).containsExactlyInAnyOrder(2L, 4L),
+                () -> assertThat(index.search("xyz", 10)).isEmpty()
+            );
+        }
+
+        @Test
+        @DisplayName("El resultat porta les dades originals del contacte")
+        void search_DadesOriginals() {
+            assertThat(index.search("anna", 10))
+                .containsExactly(new ContactMatch(1, 10, "EMAIL", "Anna@Empresa.cat"));
+        }
+
+        @Test
+        @DisplayName("Els trigrames han d'aparèixer en ordre")
+        void search_VerificaOrdre() {
+            // "cat" i "@em" hi són però no "cat@em"
+            assertThat(index.search("cat@em", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Cerca per prefix")
+        void searchPrefix() {
+            assertAll(
+                () -> assertThat(ids(index.searchPrefix("666", 10))).containsExactly(2L),
+                () -> assertThat(ids(index.searchPrefix("93", 10))).containsExactly(4L),
+                () -> assertThat(ids(index.searchPrefix("j", 10))).containsExactly(3L)
+            );
+        }
+
+        @Test
+        @DisplayName("Fragments curts sense trigrama")
+        void search_FragmentCurt() {
+            assertThat(ids(index.search("@", 10))).containsExactlyInAnyOrder(1L, 3L);
+        }
+
+        @Test
+        @DisplayName("Respecta el límit")
+        void search_Limit() {
+            assertAll(
+                () -> assertThat(index.search("6", 1)).hasSize(1),
+                () -> assertThat(index.search("666", 1)).hasSize(1)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Actualitzacions incrementals")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("put afegeix i update canvia el valor")
+        void putIUpdate() {
+            // ACT
+            index.put(5, 20, "EMAIL", "nou@empresa.cat");
+            index.update(1, "EMAIL", "anna@personal.org");
+
+            // ASSERT
+            assertAll(
+                () -> assertThat(ids(index.search("empresa", 10))).containsExactly(5L),
+                () -> assertThat(index.search("personal", 10))
+                    .containsExactly(new ContactMatch(1, 10, "EMAIL", "anna@personal.org")),
+                () -> assertEquals(5, index.size())
+            );
+        }
+
+        @Test
+        @DisplayName("update d'un contacte que no hi és no fa res")
+        void update_Inexistent() {
+            index.update(99, "EMAIL", "fantasma@empresa.cat");
+            assertThat(ids(index.search("empresa", 10))).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("remove i removeEmployee treuen els contactes")
+        void remove() {
+            index.remove(2);
+            index.removeEmployee(20);
+
+            assertAll(
+                () -> assertThat(index.search("666", 10)).isEmpty(),
+                () -> assertThat(ids(index.search("@", 10))).containsExactly(1L),
+                () -> assertEquals(1, index.size())
+            );
+        }
+
+        @Test
+        @DisplayName("La compactació conserva els contactes vius")
+        void compactacio() {
+            // ARRANGE: 3000 contactes, se n'eliminen 2000 (els slots buits passen a ser majoria)
+            for (long id = 100; id < 3100; id++) {
+                index.put(id, id % 7, "PHONE", "600" + id);
+            }
+
+            // ACT
+            for (long id = 100; id < 2100; id++) {
+                index.remove(id);
+            }
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(1004, index.size()),
+                () -> assertThat(ids(index.search("6003099", 10))).containsExactly(3099L),
+                () -> assertThat(index.search("6002099", 10)).isEmpty(),
+                () -> assertThat(index.searchPrefix("600", 5000)).hasSize(1000)
+            );
+        }
+
+        @Test
+        @DisplayName("Modificar un contacte moltes vegades no fa créixer l'índex")
+        void modificacionsRepetides_MidaAcotada() {
+            // ARRANGE
+            int capacitatInicial = index.capacity();
+
+            // ACT: cada update i put deixa el slot anterior buit
+            for (int i = 0; i < 5000; i++) {
+                index.update(1, "EMAIL", "anna" + i + "@empresa.cat");
+                index.put(3, 20, "EMAIL", "joan" + i + "@altra.com");
+            }
+
+            // ASSERT: com a molt 1024 slots abans de compactar, amb uns 20 trigrames per valor
+            assertAll(
+                () -> assertEquals(capacitatInicial, index.capacity()),
+                () -> assertThat(index.postingEntries()).isLessThan(2 * 1024 * 20),
+                () -> assertEquals(4, index.size()),
+                () -> assertThat(ids(index.search("anna4999@", 10))).containsExactly(1L),
+                () -> assertThat(index.search("anna4998@", 10)).isEmpty()
+            );
+        }
+
+        @Test
+        @DisplayName("load indica si s'ha aplicat un canvi des de la lectura")
+        void load_DetectaCanvisEntremig() {
+            // ARRANGE
+            long readFrom = index.updateCount();
+            index.update(1, "EMAIL", "nou@empresa.cat");
+
+            // ACT
+            boolean coherent = index.load(new long[] {1}, new long[] {10}, new String[] {"EMAIL"},
+                                          new String[] {"vell@empresa.cat"}, 1, readFrom);
+
+            // ASSERT
+            assertFalse(coherent);
+            assertTrue(index.load(new long[] {1}, new long[] {10}, new String[] {"EMAIL"},
+                                  new String[] {"nou@empresa.cat"}, 1, index.updateCount()));
+        }
+    }
+}
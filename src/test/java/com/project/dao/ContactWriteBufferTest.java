@@ -0,0 +1,265 @@
+package com.project.dao;
+
+import com.project.dao.ContactWriteBuffer.ContactWrite;
+import com.project.domain.Contact;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS UNITARIS DE ContactWriteBuffer
+ * ====================================
+ *
+ * Proven el buffer sense BD: l'escriptor és una funció que registra la
+ * mida de cada lot i torna un Contact per escriptura.
+ *
+ * Comprova:
+ * - Que els lots es tanquen per mida i per temps
+ * - Que amb la cua plena submit() espera (contrapressió)
+ * - Que un error en un lot només fa fallar l'escriptura que el provoca
+ * - Que un Error fa fallar el seu lot però no atura el fil
+ * - Que close() escriu tot el que queda i després no accepta res més
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests unitaris de ContactWriteBuffer")
+class ContactWriteBufferTest {
+
+    /** Temps de lot prou llarg perquè només el tanqui la mida o flush(). */
+    private static final long NEVER_MILLIS = 60_000;
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private ContactWriteBuffer buffer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            buffer.close();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Escriptor de prova: registra la mida del lot i falla si alguna
+     * escriptura té el valor "error".
+     */
+    private List<Contact> record(List<ContactWrite> writes) {
+        batchSizes.add(writes.size());
+        List<Contact> contacts = new ArrayList<>();
+        for (ContactWrite write : writes) {
+            if ("error".equals(write.value())) {
+                throw new IllegalStateException("Escriptura errònia");
+            }
+            contacts.add(new Contact(write.contactType(), write.value(), write.description()));
+        }
+        return contacts;
+    }
+
+    private ContactWriteBuffer buffer(int capacity, int batchSize, long flushMillis) {
+        return buffer(capacity, batchSize, flushMillis, this::record);
+    }
+
+    private ContactWriteBuffer buffer(int capacity, int batchSize, long flushMillis,
+                                      Function<List<ContactWrite>, List<Contact>> writer) {
+        buffer = new ContactWriteBuffer(capacity, batchSize, flushMillis, writer);
+        return buffer;
+    }
+
+    private static ContactWrite alta(String value) {
+        return ContactWrite.insert(1L, "EMAIL", value, null);
+    }
+
+    private static Contact get(CompletableFuture<Contact> future) throws Exception {
+        return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // ========================================================================
+    // TESTS DELS LOTS
+    // ========================================================================
+
+    /**
+     * Test: Cada batchSize escriptures es fa un lot sense esperar el temps,
+     * i flush() escriu la resta.
+     */
+    @Test
+    @DisplayName("Els lots es tanquen en arribar a batchSize")
+    void lots_PerMida() throws Exception {
+        // ARRANGE
+        buffer(100, 3, NEVER_MILLIS);
+        List<CompletableFuture<Contact>> futures = new ArrayList<>();
+
+        // ACT
+        for (int i = 0; i < 7; i++) {
+            futures.add(buffer.submit(alta("c" + i + "@buffer.cat")));
+        }
+        get(futures.get(5));
+        boolean ultimaPendent = !futures.get(6).isDone();
+        buffer.flush().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // ASSERT
+        assertTrue(ultimaPendent);
+        assertEquals(List.of(3, 3, 1), batchSizes);
+        for (int i = 0; i < 7; i++) {
+            assertEquals("c" + i + "@buffer.cat", get(futures.get(i)).getValue());
+        }
+    }
+
+    /**
+     * Test: Una escriptura sola es desa quan passa flushMillis, sense
+     * esperar que el lot s'ompli.
+     */
+    @Test
+    @DisplayName("Els lots es tanquen en passar flushMillis")
+    void lots_PerTemps() throws Exception {
+        // ARRANGE
+        buffer(100, 100, 20);
+
+        // ACT
+        Contact contacte = get(buffer.submit(alta("sol@buffer.cat")));
+
+        // ASSERT
+        assertEquals("sol@buffer.cat", contacte.getValue());
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    /**
+     * Test: Si el lot falla, cada escriptura es torna a provar sola i
+     * només falla la que té l'error.
+     */
+    @Test
+    @DisplayName("Un error només fa fallar la seva escriptura")
+    void error_NomesFallaLaSeva() throws Exception {
+        // ARRANGE
+        buffer(100, 3, NEVER_MILLIS);
+
+        // ACT
+        CompletableFuture<Contact> abans = buffer.submit(alta("abans@buffer.cat"));
+        CompletableFuture<Contact> erronia = buffer.submit(alta("error"));
+        CompletableFuture<Contact> despres = buffer.submit(alta("despres@buffer.cat"));
+
+        // ASSERT
+        assertEquals("abans@buffer.cat", get(abans).getValue());
+        assertEquals("despres@buffer.cat", get(despres).getValue());
+        CompletionException error = assertThrows(CompletionException.class, erronia::join);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(List.of(3, 1, 1, 1), batchSizes);
+    }
+
+    /**
+     * Test: Un Error fa fallar tot el lot sense tornar-lo a provar, i el fil
+     * continua escrivint els lots següents i tanca normalment.
+     */
+    @Test
+    @DisplayName("Un Error fa fallar el lot però no atura el fil")
+    void errorGreu_NoAturaElFil() throws Exception {
+        // ARRANGE
+        buffer(100, 2, NEVER_MILLIS, writes -> {
+            if (writes.stream().anyMatch(write -> "greu".equals(write.value()))) {
+                throw new StackOverflowError("Error de prova");
+            }
+            return record(writes);
+        });
+
+        // ACT
+        CompletableFuture<Contact> company = buffer.submit(alta("company@buffer.cat"));
+        CompletableFuture<Contact> greu = buffer.submit(alta("greu"));
+        CompletableFuture<Contact> despres = buffer.submit(alta("despres@buffer.cat"));
+        buffer.flush().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // ASSERT
+        CompletionException error = assertThrows(CompletionException.class, greu::join);
+        assertInstanceOf(StackOverflowError.class, error.getCause());
+        assertTrue(company.isCompletedExceptionally());
+        assertEquals("despres@buffer.cat", get(despres).getValue());
+        buffer.close();
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    // ========================================================================
+    // TESTS DE CONTRAPRESSIÓ I TANCAMENT
+    // ========================================================================
+
+    /**
+     * Test: Amb l'escriptor aturat i la cua plena, submit() espera fins que
+     * l'escriptor en treu un lot. La cua no passa mai de capacity.
+     */
+    @Test
+    @DisplayName("Amb la cua plena submit() espera")
+    void cuaPlena_SubmitEspera() throws Exception {
+        // ARRANGE: l'escriptor es queda aturat amb el primer lot
+        CountDownLatch escrivint = new CountDownLatch(1);
+        CountDownLatch continua = new CountDownLatch(1);
+        buffer(2, 1, 0, writes -> {
+            escrivint.countDown();
+            try {
+                continua.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return record(writes);
+        });
+        CompletableFuture<Contact> primera = buffer.submit(alta("primera@buffer.cat"));
+        assertTrue(escrivint.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        buffer.submit(alta("segona@buffer.cat"));
+        buffer.submit(alta("tercera@buffer.cat"));
+
+        // ACT
+        Future<CompletableFuture<Contact>> quarta = executor.submit(() -> buffer.submit(alta("quarta@buffer.cat")));
+
+        // ASSERT
+        assertThrows(TimeoutException.class, () -> quarta.get(200, TimeUnit.MILLISECONDS));
+        assertEquals(2, buffer.pending());
+        continua.countDown();
+        assertEquals("quarta@buffer.cat", get(quarta.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).getValue());
+        assertNotNull(get(primera));
+    }
+
+    /**
+     * Test: close() escriu les escriptures encuades encara que el lot no
+     * s'hagi omplert, i després submit() llança IllegalStateException.
+     */
+    @Test
+    @DisplayName("close() escriu les pendents i no n'accepta més")
+    void close_EscriuLesPendents() {
+        // ARRANGE
+        buffer(100, 50, NEVER_MILLIS);
+        List<CompletableFuture<Contact>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(buffer.submit(alta("tancament" + i + "@buffer.cat")));
+        }
+
+        // ACT
+        buffer.close();
+
+        // ASSERT
+        for (CompletableFuture<Contact> future : futures) {
+            assertTrue(future.isDone());
+            assertNotNull(future.join());
+        }
+        assertEquals(List.of(5), batchSizes);
+        assertThrows(IllegalStateException.class, () -> buffer.submit(alta("tard@buffer.cat")));
+    }
+}
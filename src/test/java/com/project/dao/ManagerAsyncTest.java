@@ -0,0 +1,187 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+import com.project.test.HibernateTestBase;
+
+import org.hibernate.HibernateException;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS DE ManagerAsync
+ * =====================
+ *
+ * Les operacions asíncrones tornen el mateix que les del Manager i
+ * s'executen en un executor amb tants fils com connexions
+ * (hibernate-test.properties: hibernate.connection.pool_size=5).
+ *
+ * Comprova:
+ * - Que un fan-out de consultes torna els mateixos resultats que les síncrones
+ * - Que mai no hi ha més operacions en curs que connexions
+ * - Que els errors arriben pel future
+ * - Que close() espera les operacions encuades
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests de ManagerAsync")
+class ManagerAsyncTest extends HibernateTestBase {
+
+    private static final int POOL_SIZE = 5;
+
+    private Employee anna;
+    private Project projecte;
+
+    @BeforeEach
+    void crearDades() {
+        anna = crearEmpleatProva("Anna", "Async");
+        crearContacteProva(anna.getEmployeeId(), "EMAIL", "anna@async.cat");
+        projecte = crearProjecteProva("Projecte Async");
+        Manager.updateEmployeeProjects(anna.getEmployeeId(), Set.of(projecte));
+    }
+
+    // ========================================================================
+    // TESTS DE CONSULTA
+    // ========================================================================
+
+    /**
+     * Test: Les consultes independents llançades alhora tornen el mateix que
+     * les síncrones.
+     */
+    @Test
+    @DisplayName("Un fan-out torna els resultats de les consultes síncrones")
+    void fanOut_MateixosResultats() {
+        // ACT
+        CompletableFuture<Employee> empleat = ManagerAsync.getById(Employee.class, anna.getEmployeeId());
+        CompletableFuture<Collection<Contact>> emails =
+                ManagerAsync.findContactsByEmployeeAndType(anna.getEmployeeId(), "EMAIL");
+        CompletableFuture<Collection<Employee>> membres = ManagerAsync.findEmployeesByProject(projecte.getProjectId());
+        CompletableFuture<List<EmployeeSummary>> resums =
+                ManagerAsync.findEmployeeSummariesByProject(projecte.getProjectId());
+        CompletableFuture<Project> proj = ManagerAsync.getById(Project.class, projecte.getProjectId());
+        CompletableFuture.allOf(empleat, emails, membres, resums, proj).join();
+
+        // ASSERT
+        assertAll(
+            () -> assertEquals("Anna", empleat.join().getFirstName()),
+            () -> assertEquals("anna@async.cat", emails.join().iterator().next().getValue()),
+            () -> assertTrue(conteId(membres.join(), anna.getEmployeeId(), Employee::getEmployeeId)),
+            () -> assertEquals(1, resums.join().size()),
+            () -> assertEquals("Projecte Async", proj.join().getName())
+        );
+    }
+
+    /**
+     * Test: Les escriptures asíncrones es desen i el resultat té l'ID.
+     */
+    @Test
+    @DisplayName("Les escriptures asíncrones es desen")
+    void escriptures_EsDesen() {
+        // ACT
+        Employee nou = ManagerAsync.addEmployee("Pere", "Async", 30000).join();
+        Contact contacte = ManagerAsync.addContactToEmployee(nou.getEmployeeId(), "PHONE", "600000000", null)
+                .join();
+        ManagerAsync.updateEmployee(nou.getEmployeeId(), "Pere", "Async", 35000).join();
+
+        // ASSERT
+        assertNotNull(contacte.getContactId());
+        assertEquals(35000, Manager.<Employee>getById(Employee.class, nou.getEmployeeId()).getSalary());
+    }
+
+    // ========================================================================
+    // TESTS DEL LÍMIT DE CONCURRÈNCIA I ERRORS
+    // ========================================================================
+
+    /**
+     * Test: Amb més operacions que connexions, mai no n'hi ha més en curs
+     * que la mida del pool.
+     */
+    @Test
+    @DisplayName("Com a molt hi ha tantes operacions en curs com connexions")
+    void concurrencia_LimitadaPelPool() {
+        // ARRANGE
+        AtomicInteger enCurs = new AtomicInteger();
+        LongAccumulator maxim = new LongAccumulator(Math::max, 0);
+        List<CompletableFuture<Employee>> futures = new ArrayList<>();
+
+        // ACT
+        for (int i = 0; i < 4 * POOL_SIZE; i++) {
+            futures.add(ManagerAsync.supply(() -> {
+                maxim.accumulate(enCurs.incrementAndGet());
+                try {
+                    Thread.sleep(20);
+                    return Manager.getById(Employee.class, anna.getEmployeeId());
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    enCurs.decrementAndGet();
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // ASSERT
+        assertEquals(POOL_SIZE, ManagerAsync.parallelism());
+        assertTrue(maxim.get() <= POOL_SIZE, "Operacions en curs: " + maxim.get());
+        assertTrue(maxim.get() > 1, "Les operacions no s'han solapat");
+    }
+
+    /**
+     * Test: Un error de la BD arriba com a causa de la CompletionException.
+     */
+    @Test
+    @DisplayName("Els errors arriben pel future")
+    void error_ArribaPelFuture() {
+        // ACT
+        CompletableFuture<Void> erronia =
+                ManagerAsync.run(() -> Manager.queryUpdate("UPDATE taula_inexistent SET x = 1"));
+
+        // ASSERT
+        CompletionException error = assertThrows(CompletionException.class, erronia::join);
+        assertInstanceOf(HibernateException.class, error.getCause());
+    }
+
+    // ========================================================================
+    // TESTS DE TANCAMENT
+    // ========================================================================
+
+    /**
+     * Test: close() espera les operacions encuades i després ManagerAsync
+     * llança IllegalStateException fins que es torna a crear la SessionFactory.
+     */
+    @Test
+    @DisplayName("close() espera les operacions encuades")
+    void close_EsperaLesEncuades() {
+        // ARRANGE
+        List<CompletableFuture<Employee>> futures = new ArrayList<>();
+        for (int i = 0; i < 3 * POOL_SIZE; i++) {
+            futures.add(ManagerAsync.getById(Employee.class, anna.getEmployeeId()));
+        }
+
+        // ACT
+        Manager.close();
+
+        // ASSERT
+        try {
+            for (CompletableFuture<Employee> future : futures) {
+                assertTrue(future.isDone());
+                assertEquals("Anna", future.join().getFirstName());
+            }
+            assertThrows(IllegalStateException.class, () -> ManagerAsync.getById(Employee.class, 1L));
+        } finally {
+            Manager.createSessionFactory(TEST_PROPERTIES_FILE);
+        }
+    }
+}
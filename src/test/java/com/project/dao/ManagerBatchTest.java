@@ -0,0 +1,256 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+import com.project.test.HibernateTestBase;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTS PER A LES INSERCIONS MASSIVES DEL MANAGER
+ * ===============================================
+ *
+ * Aquesta classe conté tests per als mètodes d'inserció en batch,
+ * que persisteixen moltes entitats en una única sessió.
+ *
+ * MÈTODES TESTATS:
+ * - addEmployees(): Inserció massiva d'empleats
+ * - addContacts(): Inserció massiva de contactes
+ * - addProjects(): Inserció massiva de projectes
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests d'Insercions Massives del Manager")
+class ManagerBatchTest extends HibernateTestBase {
+
+    // ========================================================================
+    // MÈTODES D'UTILITAT
+    // ========================================================================
+
+    private List<Employee> nousEmpleats(int quantitat) {
+        List<Employee> empleats = new ArrayList<>();
+        for (int i = 1; i <= quantitat; i++) {
+            empleats.add(new Employee("Batch" + i, "Cognom" + i, 20000 + i));
+        }
+        return empleats;
+    }
+
+    // ========================================================================
+    // TESTS D'addEmployees()
+    // ========================================================================
+
+    /**
+     * Grup de tests per a addEmployees().
+     */
+    @Nested
+    @DisplayName("addEmployees() - Inserció massiva d'empleats")
+    class AddEmployeesTests {
+
+        /**
+         * Test: Es retornen tots els IDs en l'ordre d'entrada.
+         */
+        @Test
+        @DisplayName("Retorna un ID per cada empleat en ordre d'entrada")
+        void addEmployees_RetornaIDsEnOrdre() {
+            // ARRANGE
+            List<Employee> empleats = nousEmpleats(120);
+
+            // ACT
+            List<Long> ids = Manager.addEmployees(empleats);
+
+            // ASSERT
+            assertThat(ids).hasSize(120).doesNotContainNull().doesNotHaveDuplicates();
+            for (int i = 0; i < empleats.size(); i++) {
+                assertEquals(empleats.get(i).getEmployeeId(), ids.get(i));
+            }
+            assertEquals(120, comptarEntitats(Employee.class));
+        }
+
+        /**
+         * Test: Els IDs es reparteixen per blocs en memòria (BlockIdGenerator),
+         * per tant una inserció massiva d'un sol fil rep IDs consecutius.
+         */
+        @Test
+        @DisplayName("Els IDs generats per blocs són consecutius")
+        void addEmployees_IDsPerBlocs_Consecutius() {
+            // ACT
+            List<Long> ids = Manager.addEmployees(nousEmpleats(75));
+
+            // ASSERT
+            for (int i = 1; i < ids.size(); i++) {
+                assertEquals(ids.get(i - 1) + 1, ids.get(i));
+            }
+        }
+
+        /**
+         * Test: Les dades es persisteixen correctament.
+         */
+        @Test
+        @DisplayName("Els empleats inserits es poden recuperar")
+        void addEmployees_DadesPersistides() {
+            // ACT
+            List<Long> ids = Manager.addEmployees(nousEmpleats(3));
+
+            // ASSERT
+            Employee recuperat = Manager.getById(Employee.class, ids.get(2));
+            assertAll(
+                () -> assertEquals("Batch3", recuperat.getFirstName()),
+                () -> assertEquals("Cognom3", recuperat.getLastName()),
+                () -> assertEquals(20003, recuperat.getSalary())
+            );
+        }
+
+        /**
+         * Test: Amb chunks petits es fan diversos commits i no es perd cap fila.
+         */
+        @Test
+        @DisplayName("Commits per chunks inserten totes les files")
+        void addEmployees_ChunksPetits_TotesInserides() {
+            // ACT
+            List<Long> ids = Manager.addEmployees(nousEmpleats(55), 7);
+
+            // ASSERT
+            assertEquals(55, ids.size());
+            assertEquals(55, comptarEntitats(Employee.class));
+        }
+
+        /**
+         * Test: Llista buida no fa res.
+         */
+        @Test
+        @DisplayName("Llista buida retorna llista buida")
+        void addEmployees_LlistaBuida_RetornaBuida() {
+            assertThat(Manager.addEmployees(new ArrayList<>())).isEmpty();
+            assertEquals(0, comptarEntitats(Employee.class));
+        }
+
+        /**
+         * Test: Mida de chunk invàlida.
+         */
+        @Test
+        @DisplayName("Chunk no positiu llança IllegalArgumentException")
+        void addEmployees_ChunkInvalid_LlancaExcepcio() {
+            assertThrows(IllegalArgumentException.class,
+                () -> Manager.addEmployees(nousEmpleats(1), 0));
+        }
+    }
+
+    // ========================================================================
+    // TESTS D'addContacts()
+    // ========================================================================
+
+    /**
+     * Grup de tests per a addContacts().
+     */
+    @Nested
+    @DisplayName("addContacts() - Inserció massiva de contactes")
+    class AddContactsTests {
+
+        /**
+         * Test: Els contactes queden vinculats als empleats retornats per addEmployees.
+         */
+        @Test
+        @DisplayName("Els contactes queden vinculats al seu empleat")
+        void addContacts_VinculatsAEmpleat() {
+            // ARRANGE
+            List<Employee> empleats = nousEmpleats(2);
+            Manager.addEmployees(empleats);
+
+            List<Contact> contactes = new ArrayList<>();
+            for (Employee emp : empleats) {
+                Contact email = new Contact("EMAIL", emp.getFirstName() + "@test.com", "Email");
+                Contact phone = new Contact("PHONE", "666000000", "Mòbil");
+                email.setEmployee(emp);
+                phone.setEmployee(emp);
+                contactes.add(email);
+                contactes.add(phone);
+            }
+
+            // ACT
+            List<Long> ids = Manager.addContacts(contactes);
+
+            // ASSERT
+            assertThat(ids).hasSize(4).doesNotContainNull().doesNotHaveDuplicates();
+            Collection<Contact> emails = Manager.findContactsByEmployeeAndType(
+                empleats.get(0).getEmployeeId(), "EMAIL");
+            assertEquals(1, emails.size());
+            assertEquals("Batch1@test.com", emails.iterator().next().getValue());
+        }
+
+        /**
+         * Test: Després d'addContacts cada contacte conserva l'empleat que
+         * tenia (no una referència desconnectada de la sessió).
+         */
+        @Test
+        @DisplayName("Els contactes conserven l'empleat de l'entrada")
+        void addContacts_ConservaLEmpleat() {
+            // ARRANGE
+            Employee emp = crearEmpleatProva("Anna", "Puig");
+            Contact email = new Contact("EMAIL", "anna@test.com", "Email");
+            email.setEmployee(emp);
+
+            // ACT
+            Manager.addContacts(List.of(email), 1);
+
+            // ASSERT
+            assertSame(emp, email.getEmployee());
+            assertEquals("Anna", email.getEmployee().getFirstName());
+        }
+
+        /**
+         * Test: Contacte sense empleat es rebutja abans d'obrir sessió.
+         */
+        @Test
+        @DisplayName("Contacte sense empleat llança IllegalArgumentException")
+        void addContacts_SenseEmpleat_LlancaExcepcio() {
+            List<Contact> contactes = List.of(new Contact("EMAIL", "a@b.com", "x"));
+
+            assertThrows(IllegalArgumentException.class,
+                () -> Manager.addContacts(contactes));
+            assertEquals(0, comptarEntitats(Contact.class));
+        }
+    }
+
+    // ========================================================================
+    // TESTS D'addProjects()
+    // ========================================================================
+
+    /**
+     * Grup de tests per a addProjects().
+     */
+    @Nested
+    @DisplayName("addProjects() - Inserció massiva de projectes")
+    class AddProjectsTests {
+
+        /**
+         * Test: Tots els projectes s'insereixen amb ID.
+         */
+        @Test
+        @DisplayName("Insereix tots els projectes amb ID")
+        void addProjects_TotsInserits() {
+            // ARRANGE
+            List<Project> projectes = new ArrayList<>();
+            for (int i = 1; i <= 30; i++) {
+                projectes.add(new Project("Projecte" + i, "Descripció " + i, "ACTIU"));
+            }
+
+            // ACT
+            List<Long> ids = Manager.addProjects(projectes, 10);
+
+            // ASSERT
+            assertThat(ids).hasSize(30).doesNotContainNull().doesNotHaveDuplicates();
+            assertEquals(30, comptarEntitats(Project.class));
+            assertEquals("Projecte30",
+                Manager.getById(Project.class, ids.get(29)).getName());
+        }
+    }
+}
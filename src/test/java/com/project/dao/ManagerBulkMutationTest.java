@@ -0,0 +1,271 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+import com.project.test.HibernateTestBase;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTS PER A LES OPERACIONS MASSIVES AMB CRITERIA
+ * ================================================
+ *
+ * Aquests mètodes generen un sol UPDATE o DELETE (o un per bloc d'IDs)
+ * sense carregar cap entitat, i retornen el nombre de files afectades.
+ *
+ * MÈTODES TESTATS:
+ * - bulkUpdateProjectStatus() / updateProjectStatus()
+ * - deleteContactsByType() / deleteContacts()
+ * - adjustSalaries()
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests d'Operacions Massives amb Criteria")
+class ManagerBulkMutationTest extends HibernateTestBase {
+
+    // ========================================================================
+    // TESTS DE bulkUpdateProjectStatus()
+    // ========================================================================
+
+    @Nested
+    @DisplayName("bulkUpdateProjectStatus() - Canvi d'estat massiu")
+    class ProjectStatusTests {
+
+        /**
+         * Test: Només canvien els projectes indicats.
+         */
+        @Test
+        @DisplayName("Actualitza només els projectes indicats i retorna el recompte")
+        void bulkUpdateProjectStatus_IdsIndicats_NomesAquests() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Project p2 = crearProjecteProva("P2");
+            Project p3 = crearProjecteProva("P3");
+
+            // ACT
+            int afectats = Manager.bulkUpdateProjectStatus(
+                List.of(p1.getProjectId(), p2.getProjectId(), 999999L), "COMPLETAT");
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(2, afectats),
+                () -> assertEquals("COMPLETAT", Manager.<Project>getById(Project.class, p1.getProjectId()).getStatus()),
+                () -> assertEquals("COMPLETAT", Manager.<Project>getById(Project.class, p2.getProjectId()).getStatus()),
+                () -> assertEquals("ACTIU", Manager.<Project>getById(Project.class, p3.getProjectId()).getStatus())
+            );
+        }
+
+        /**
+         * Test: Les llistes més llargues que un bloc IN es processen senceres.
+         */
+        @Test
+        @DisplayName("Processa més IDs que la mida d'un bloc IN")
+        void bulkUpdateProjectStatus_MoltsIds_TotsActualitzats() {
+            // ARRANGE
+            List<Project> projectes = new ArrayList<>();
+            for (int i = 0; i < 1200; i++) {
+                projectes.add(new Project("P" + i, "Descripció", "PLANIFICAT"));
+            }
+            List<Long> ids = Manager.addProjects(projectes);
+
+            // ACT
+            int afectats = Manager.bulkUpdateProjectStatus(ids, "ACTIU");
+
+            // ASSERT
+            assertEquals(1200, afectats);
+            assertThat(Manager.listCollection(Project.class))
+                .extracting(Project::getStatus)
+                .containsOnly("ACTIU");
+        }
+
+        /**
+         * Test: Una llista buida no fa res.
+         */
+        @Test
+        @DisplayName("Llista buida retorna 0")
+        void bulkUpdateProjectStatus_LlistaBuida_Zero() {
+            assertEquals(0, Manager.bulkUpdateProjectStatus(List.of(), "ACTIU"));
+        }
+
+        /**
+         * Test: El filtre Criteria selecciona per estat actual.
+         */
+        @Test
+        @DisplayName("updateProjectStatus amb filtre canvia només els que compleixen")
+        void updateProjectStatus_Filtre_NomesCoincidents() {
+            // ARRANGE
+            crearMultiplesProjectes(6);  // 2 ACTIU, 2 PLANIFICAT, 2 COMPLETAT
+
+            // ACT
+            int afectats = Manager.updateProjectStatus(
+                (cb, p) -> cb.equal(p.get("status"), "PLANIFICAT"), "ACTIU");
+
+            // ASSERT
+            assertEquals(2, afectats);
+            assertThat(Manager.listCollection(Project.class))
+                .extracting(Project::getStatus)
+                .containsOnly("ACTIU", "COMPLETAT");
+        }
+
+        /**
+         * Test: No es carrega cap entitat.
+         */
+        @Test
+        @DisplayName("No carrega cap entitat")
+        void bulkUpdateProjectStatus_SenseCarregarEntitats() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Manager.getStatistics().clear();
+
+            // ACT
+            Manager.bulkUpdateProjectStatus(List.of(p1.getProjectId()), "COMPLETAT");
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(0, Manager.getStatistics().getEntityLoadCount()),
+                () -> assertEquals(1, Manager.getStatistics().getPrepareStatementCount())
+            );
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE deleteContactsByType()
+    // ========================================================================
+
+    @Nested
+    @DisplayName("deleteContactsByType() - Eliminació massiva de contactes")
+    class DeleteContactsTests {
+
+        /**
+         * Test: S'eliminen només els contactes del tipus indicat.
+         */
+        @Test
+        @DisplayName("Elimina els contactes del tipus i manté la resta")
+        void deleteContactsByType_TipusExistent_EliminaNomesAquests() {
+            // ARRANGE
+            Employee e1 = crearEmpleatComplet("Anna", 3, null);
+            Employee e2 = crearEmpleatComplet("Pere", 2, null);
+
+            // ACT
+            int afectats = Manager.deleteContactsByType("EMAIL");
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(2, afectats),
+                () -> assertThat(Manager.findContactsByEmployeeAndType(e1.getEmployeeId(), "EMAIL")).isEmpty(),
+                () -> assertThat(Manager.findContactsByEmployeeAndType(e2.getEmployeeId(), "PHONE")).hasSize(1),
+                () -> assertEquals(3, comptarEntitats(Contact.class)),
+                () -> assertEquals(2, comptarEntitats(Employee.class))
+            );
+        }
+
+        /**
+         * Test: Les col·leccions dels empleats ja no contenen els eliminats.
+         */
+        @Test
+        @DisplayName("Employee.contacts reflecteix l'eliminació")
+        void deleteContactsByType_ColleccioEmpleat_Actualitzada() {
+            // ARRANGE
+            crearEmpleatComplet("Anna", 3, null);
+
+            // ACT
+            Manager.deleteContactsByType("PHONE");
+
+            // ASSERT
+            Collection<Employee> empleats = Manager.listCollection(Employee.class);
+            assertThat(empleats.iterator().next().getContacts())
+                .extracting(Contact::getContactType)
+                .containsExactlyInAnyOrder("EMAIL", "ADDRESS");
+        }
+
+        /**
+         * Test: Un tipus sense contactes retorna 0.
+         */
+        @Test
+        @DisplayName("Tipus inexistent retorna 0")
+        void deleteContactsByType_TipusInexistent_Zero() {
+            crearEmpleatComplet("Anna", 3, null);
+            assertEquals(0, Manager.deleteContactsByType("FAX"));
+            assertEquals(3, comptarEntitats(Contact.class));
+        }
+    }
+
+    // ========================================================================
+    // TESTS D'adjustSalaries()
+    // ========================================================================
+
+    @Nested
+    @DisplayName("adjustSalaries() - Ajust massiu de salaris")
+    class AdjustSalariesTests {
+
+        /**
+         * Test: Puja el salari dels que compleixen el filtre.
+         */
+        @Test
+        @DisplayName("Puja un percentatge els salaris filtrats")
+        void adjustSalaries_Filtre_PujaNomesFiltrats() {
+            // ARRANGE
+            Employee baix = crearEmpleatProva("Baix", "Salari", 20000);
+            Employee alt = crearEmpleatProva("Alt", "Salari", 50000);
+
+            // ACT
+            int afectats = Manager.adjustSalaries(
+                (cb, e) -> cb.lt(e.get("salary"), 30000), 5.0);
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(1, afectats),
+                () -> assertEquals(21000, Manager.<Employee>getById(Employee.class, baix.getEmployeeId()).getSalary()),
+                () -> assertEquals(50000, Manager.<Employee>getById(Employee.class, alt.getEmployeeId()).getSalary())
+            );
+        }
+
+        /**
+         * Test: Percentatges negatius i arrodoniment a l'enter més proper.
+         */
+        @Test
+        @DisplayName("Percentatge negatiu baixa i arrodoneix")
+        void adjustSalaries_PercentatgeNegatiu_Arrodoneix() {
+            // ARRANGE
+            Employee emp = crearEmpleatProva("Anna", "Puig", 33333);
+
+            // ACT
+            int afectats = Manager.adjustSalaries(CriteriaFilter.all(), -10.0);
+
+            // ASSERT
+            assertEquals(1, afectats);
+            assertEquals(30000, Manager.<Employee>getById(Employee.class, emp.getEmployeeId()).getSalary());
+        }
+
+        /**
+         * Test: Les relacions dels empleats no es toquen.
+         */
+        @Test
+        @DisplayName("Preserva contactes i projectes")
+        void adjustSalaries_AmbRelacions_Preservades() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Employee emp = crearEmpleatComplet("Anna", 2, Set.of(p1));
+
+            // ACT
+            Manager.adjustSalaries(CriteriaFilter.all(), 10.0);
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(44000, Manager.<Employee>getById(Employee.class, emp.getEmployeeId()).getSalary()),
+                () -> assertThat(Manager.findEmployeesByProject(p1.getProjectId())).hasSize(1),
+                () -> assertThat(Manager.findContactsByEmployeeAndType(emp.getEmployeeId(), "EMAIL")).hasSize(1)
+            );
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.project.dao;
+
+import com.project.domain.Employee;
+import com.project.test.HibernateTestBase;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS DEL POOL DE CONNEXIONS (HikariCP)
+ * =======================================
+ *
+ * Per defecte (project.connection.pool=hikari) la SessionFactory obté les
+ * connexions d'un pool HikariCP. hibernate-test.properties no té opcions
+ * hibernate.hikari.*, així que la mida surt de hibernate.connection.pool_size.
+ *
+ * Comprova:
+ * - Que getPoolMetrics reflecteix la configuració i les obtencions
+ * - Que totes les connexions tornen al pool després de cada operació
+ * - Que amb més fils que connexions les operacions esperen i acaben bé
+ * - Que hibernate.connection.isolation s'aplica a les connexions del pool
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests del Pool de Connexions")
+class ManagerConnectionPoolTest extends HibernateTestBase {
+
+    /**
+     * hibernate.connection.pool_size de hibernate-test.properties.
+     */
+    private static final int POOL_SIZE = 5;
+
+    // ========================================================================
+    // TESTS DE MÈTRIQUES
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Mètriques del pool")
+    class MetricsTests {
+
+        /**
+         * Test: La mida màxima surt de hibernate.connection.pool_size.
+         */
+        @Test
+        @DisplayName("La mida màxima del pool és hibernate.connection.pool_size")
+        void getPoolMetrics_MidaDeLaConfiguracio() {
+            // ACT
+            PoolMetrics metrics = Manager.getPoolMetrics();
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(POOL_SIZE, metrics.maxPoolSize()),
+                () -> assertTrue(metrics.total() <= POOL_SIZE),
+                () -> assertEquals(metrics.total(), metrics.active() + metrics.idle())
+            );
+        }
+
+        /**
+         * Test: Cada operació del Manager obté una connexió i la retorna.
+         */
+        @Test
+        @DisplayName("Les operacions compten obtencions i retornen la connexió")
+        void getPoolMetrics_ComptaObtencions() {
+            // ARRANGE
+            Employee emp = crearEmpleatProva();
+            long abans = Manager.getPoolMetrics().acquisitions();
+
+            // ACT
+            for (int i = 0; i < 10; i++) {
+                Manager.getById(Employee.class, emp.getEmployeeId());
+                Manager.findContactsByEmployeeAndType(emp.getEmployeeId(), "EMAIL");
+            }
+            PoolMetrics despres = Manager.getPoolMetrics();
+
+            // ASSERT
+            assertAll(
+                () -> assertTrue(despres.acquisitions() - abans >= 10,
+                        "obtencions: " + (despres.acquisitions() - abans)),
+                () -> assertEquals(0, despres.active()),
+                () -> assertEquals(0, despres.waiting()),
+                () -> assertEquals(0, despres.timeouts()),
+                () -> assertTrue(despres.averageAcquireMillis() >= 0.0),
+                () -> assertTrue(despres.maxAcquireMillis() >= despres.averageAcquireMillis())
+            );
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE CONCURRÈNCIA
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Accés concurrent")
+    class ConcurrencyTests {
+
+        /**
+         * Test: Amb el triple de fils que connexions, tots acaben sense errors
+         * i el pool no obre més connexions de les configurades.
+         */
+        @Test
+        @DisplayName("Més fils que connexions: esperen torn i acaben bé")
+        void mesFilsQueConnexions_TotsAcaben() throws Exception {
+            // ARRANGE
+            Employee emp = crearEmpleatProva();
+            int fils = POOL_SIZE * 3;
+            ExecutorService executor = Executors.newFixedThreadPool(fils);
+            List<Future<Integer>> resultats = new ArrayList<>();
+
+            // ACT
+            try {
+                for (int i = 0; i < fils; i++) {
+                    resultats.add(executor.submit(() -> {
+                        int trobats = 0;
+                        for (int j = 0; j < 20; j++) {
+                            if (Manager.getById(Employee.class, emp.getEmployeeId()) != null) {
+                                trobats++;
+                            }
+                            assertTrue(Manager.getPoolMetrics().total() <= POOL_SIZE);
+                        }
+                        return trobats;
+                    }));
+                }
+                for (Future<Integer> resultat : resultats) {
+                    // ASSERT
+                    assertEquals(20, resultat.get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            PoolMetrics metrics = Manager.getPoolMetrics();
+            assertAll(
+                () -> assertEquals(0, metrics.active()),
+                () -> assertEquals(0, metrics.timeouts()),
+                () -> assertTrue(metrics.total() <= POOL_SIZE)
+            );
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE CONFIGURACIÓ
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Configuració del pool")
+    class ConfigurationTests {
+
+        /**
+         * Test: El nivell d'aïllament s'accepta com a número o com a nom.
+         */
+        @Test
+        @DisplayName("hibernate.connection.isolation com a número o com a nom")
+        void isolationName_NumeroONom() {
+            assertAll(
+                () -> assertEquals("TRANSACTION_READ_COMMITTED", ConnectionPool.isolationName("2")),
+                () -> assertEquals("TRANSACTION_SERIALIZABLE", ConnectionPool.isolationName(" serializable ")),
+                () -> assertEquals("TRANSACTION_REPEATABLE_READ",
+                        ConnectionPool.isolationName("TRANSACTION_REPEATABLE_READ")),
+                () -> assertThrows(IllegalArgumentException.class, () -> ConnectionPool.isolationName("3")),
+                () -> assertThrows(IllegalArgumentException.class, () -> ConnectionPool.isolationName("ALTRE"))
+            );
+        }
+
+        /**
+         * Test: Les connexions del pool surten amb l'aïllament configurat.
+         */
+        @Test
+        @DisplayName("Les connexions tenen l'aïllament configurat")
+        void create_AplicaIsolation() throws Exception {
+            // ARRANGE
+            Properties settings = new Properties();
+            settings.setProperty(ConnectionPool.LEGACY_URL, "jdbc:h2:mem:pool-isolation;DB_CLOSE_DELAY=-1");
+            settings.setProperty(ConnectionPool.LEGACY_USER, "sa");
+            settings.setProperty(ConnectionPool.LEGACY_PASSWORD, "");
+            settings.setProperty("hibernate.connection.isolation", "8");
+
+            // ACT + ASSERT
+            try (ConnectionPool pool = ConnectionPool.create(settings);
+                 Connection connection = pool.dataSource().getConnection()) {
+                assertEquals(Connection.TRANSACTION_SERIALIZABLE, connection.getTransactionIsolation());
+            }
+        }
+    }
+}
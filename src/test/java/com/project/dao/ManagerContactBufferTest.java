@@ -0,0 +1,221 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS DEL BUFFER D'ESCRIPTURA DIFERIDA DE CONTACTES
+ * ===================================================
+ *
+ * Amb project.contact_buffer=true, addContactToEmployeeBuffered i
+ * updateContactBuffered encuen l'escriptura i tornen un future que es
+ * completa quan el lot s'ha confirmat.
+ *
+ * Comprova:
+ * - Que les escriptures es desen per lots, una transacció per lot
+ * - Que l'índex de cerca i els tipus nous queden al dia
+ * - Que un empleat o contacte inexistent dona null, com en els mètodes directes
+ * - Que close() i tornar a crear la SessionFactory desen el que queda al buffer
+ *
+ * No hereta de HibernateTestBase perquè necessita el buffer activat
+ * (hibernate-test-contact-buffer.properties).
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Tests del buffer de contactes")
+class ManagerContactBufferTest {
+
+    private static final String PROPERTIES = "hibernate-test-contact-buffer.properties";
+
+    private Employee anna;
+
+    @BeforeAll
+    void initHibernate() {
+        Manager.createSessionFactory(PROPERTIES);
+    }
+
+    @AfterAll
+    void closeHibernate() {
+        Manager.close();
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        Manager.queryUpdate("DELETE FROM employee_project");
+        Manager.queryUpdate("DELETE FROM contacts");
+        Manager.queryUpdate("DELETE FROM projects");
+        Manager.queryUpdate("DELETE FROM employees");
+        Manager.rebuildContactSearchIndex();
+        anna = Manager.addEmployee("Anna", "Buffer", 40000);
+    }
+
+    private List<CompletableFuture<Contact>> encuaEmails(long employeeId, int count) {
+        List<CompletableFuture<Contact>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(Manager.addContactToEmployeeBuffered(employeeId, "EMAIL",
+                    "buffer" + i + "@empresa.cat", null));
+        }
+        return futures;
+    }
+
+    // ========================================================================
+    // TESTS D'ALTES
+    // ========================================================================
+
+    /**
+     * Test: 120 altes es desen en 3 transaccions (50 + 50 + la resta amb
+     * flushContactBuffer) i cada future té el seu contacte amb ID.
+     */
+    @Test
+    @DisplayName("Les altes es desen per lots")
+    void altes_PerLots() {
+        // ARRANGE
+        Manager.addContactToEmployee(anna.getEmployeeId(), "EMAIL", "directe@empresa.cat", null);
+        Manager.getStatistics().clear();
+
+        // ACT
+        List<CompletableFuture<Contact>> futures = encuaEmails(anna.getEmployeeId(), 120);
+        Manager.flushContactBuffer();
+
+        // ASSERT
+        assertEquals(3, Manager.getStatistics().getSuccessfulTransactionCount());
+        assertEquals(0, Manager.getContactBufferPending());
+        assertEquals(120, futures.stream().map(f -> f.join().getContactId()).distinct().count());
+        assertAll(
+            () -> assertEquals(121, Manager.findContactsByEmployeeAndType(anna.getEmployeeId(), "EMAIL").size()),
+            () -> assertEquals(121, Manager.searchContacts("@empresa.cat", 200).size())
+        );
+    }
+
+    /**
+     * Test: Un contacte d'un empleat inexistent dona null i la resta del
+     * lot es desa igualment.
+     */
+    @Test
+    @DisplayName("Un empleat inexistent dona null")
+    void empleatInexistent_RetornaNull() {
+        // ACT
+        CompletableFuture<Contact> correcte = Manager.addContactToEmployeeBuffered(
+                anna.getEmployeeId(), "EMAIL", "anna@empresa.cat", null);
+        CompletableFuture<Contact> inexistent = Manager.addContactToEmployeeBuffered(
+                999_999L, "EMAIL", "ningu@empresa.cat", null);
+        Manager.flushContactBuffer();
+
+        // ASSERT
+        assertNotNull(correcte.join().getContactId());
+        assertNull(inexistent.join());
+        assertEquals(1, Manager.findContactsByEmployeeAndType(anna.getEmployeeId(), "EMAIL").size());
+    }
+
+    /**
+     * Test: Un tipus que no existeix a contact_types es registra abans del lot.
+     */
+    @Test
+    @DisplayName("Els tipus nous es registren")
+    void tipusNou_EsRegistra() {
+        // ACT
+        CompletableFuture<Contact> contacte = Manager.addContactToEmployeeBuffered(
+                anna.getEmployeeId(), "TIPUS_BUFFER", "@anna", "Xarxa social");
+        Manager.flushContactBuffer();
+
+        // ASSERT
+        assertNotNull(contacte.join().getContactId());
+        assertEquals(1, Manager.findContactsByEmployeeAndType(anna.getEmployeeId(), "TIPUS_BUFFER").size());
+    }
+
+    // ========================================================================
+    // TESTS DE CANVIS
+    // ========================================================================
+
+    /**
+     * Test: updateContactBuffered desa el canvi i actualitza l'índex de cerca;
+     * un contacte inexistent dona null.
+     */
+    @Test
+    @DisplayName("Els canvis es desen i actualitzen l'índex")
+    void canvis_ActualitzenContacteIIndex() {
+        // ARRANGE
+        Contact contacte = Manager.addContactToEmployee(anna.getEmployeeId(), "EMAIL", "vell@empresa.cat", null);
+
+        // ACT
+        CompletableFuture<Contact> canvi = Manager.updateContactBuffered(
+                contacte.getContactId(), "EMAIL", "nou@empresa.cat", "Actualitzat");
+        CompletableFuture<Contact> inexistent = Manager.updateContactBuffered(
+                999_999L, "EMAIL", "ningu@empresa.cat", null);
+        Manager.flushContactBuffer();
+
+        // ASSERT
+        assertEquals("nou@empresa.cat", canvi.join().getValue());
+        assertNull(inexistent.join());
+        Contact llegit = Manager.getById(Contact.class, contacte.getContactId());
+        assertAll(
+            () -> assertEquals("nou@empresa.cat", llegit.getValue()),
+            () -> assertEquals("Actualitzat", llegit.getDescription()),
+            () -> assertEquals(1, Manager.searchContacts("nou@empresa", 10).size()),
+            () -> assertTrue(Manager.searchContacts("vell@empresa", 10).isEmpty())
+        );
+    }
+
+    // ========================================================================
+    // TESTS DE TANCAMENT
+    // ========================================================================
+
+    /**
+     * Test: Manager.close() desa les escriptures que encara esperaven el seu
+     * lot. Després el buffer ja no accepta escriptures.
+     */
+    @Test
+    @DisplayName("close() desa les escriptures pendents")
+    void close_DesaLesPendents() {
+        // ARRANGE
+        List<CompletableFuture<Contact>> futures = encuaEmails(anna.getEmployeeId(), 10);
+
+        // ACT
+        Manager.close();
+
+        // ASSERT
+        try {
+            for (CompletableFuture<Contact> future : futures) {
+                assertTrue(future.isDone());
+                assertNotNull(future.join().getContactId());
+            }
+            assertThrows(IllegalStateException.class, () -> Manager.addContactToEmployeeBuffered(
+                    anna.getEmployeeId(), "EMAIL", "tard@empresa.cat", null));
+        } finally {
+            Manager.createSessionFactory(PROPERTIES);
+        }
+        assertEquals(10, Manager.findContactsByEmployeeAndType(anna.getEmployeeId(), "EMAIL").size());
+    }
+
+    /**
+     * Test: Tornar a crear la SessionFactory sense close() primer desa les
+     * escriptures pendents del buffer antic abans de construir la nova.
+     */
+    @Test
+    @DisplayName("createSessionFactory() desa les pendents del buffer anterior")
+    void recrear_DesaLesPendents() {
+        // ARRANGE
+        List<CompletableFuture<Contact>> futures = encuaEmails(anna.getEmployeeId(), 10);
+
+        // ACT
+        Manager.createSessionFactory(PROPERTIES);
+
+        // ASSERT
+        for (CompletableFuture<Contact> future : futures) {
+            assertTrue(future.isDone());
+            assertNotNull(future.join().getContactId());
+        }
+        assertEquals(0, Manager.getContactBufferPending());
+        assertEquals(10, Manager.findContactsByEmployeeAndType(anna.getEmployeeId(), "EMAIL").size());
+    }
+}
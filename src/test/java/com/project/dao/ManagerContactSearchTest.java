@@ -0,0 +1,243 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.test.HibernateTestBase;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTS DE LA CERCA DE CONTACTES PER FRAGMENT
+ * ===========================================
+ *
+ * searchContacts i searchContactsByPrefix responen amb l'índex de
+ * trigrames en memòria, sense consultar la BD.
+ *
+ * Comprova:
+ * - Que les cerques no executen cap sentència
+ * - Que cada escriptura del Manager a contacts manté l'índex al dia
+ * - Que després d'un DELETE massiu o un queryUpdate es reconstrueix
+ * - La validació dels paràmetres
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests de la Cerca de Contactes")
+class ManagerContactSearchTest extends HibernateTestBase {
+
+    private Employee anna;
+    private Contact email;
+    private Contact mobil;
+
+    @BeforeEach
+    void crearContactes() {
+        anna = crearEmpleatProva("Anna", "Puig");
+        email = Manager.addContactToEmployee(anna.getEmployeeId(), "EMAIL", "anna@empresa.cat", "Feina");
+        mobil = Manager.addContactToEmployee(anna.getEmployeeId(), "PHONE", "666123456", "Mòbil");
+    }
+
+    /**
+     * Reconstrueix l'índex (el cleanDatabase el deixa obsolet) i posa a zero
+     * les estadístiques.
+     */
+    private void indexAlDia() {
+        Manager.rebuildContactSearchIndex();
+        Manager.getStatistics().clear();
+    }
+
+    private List<Long> cerca(String fragment) {
+        return Manager.searchContacts(fragment, 100).stream().map(ContactMatch::contactId).toList();
+    }
+
+    // ========================================================================
+    // TESTS DE CONSULTA
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Cerques")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Cerca per fragment i per prefix sense consultar la BD")
+        void cerca_SenseSQL() {
+            // ARRANGE
+            indexAlDia();
+
+            // ACT
+            List<ContactMatch> perFragment = Manager.searchContacts("@EMPRESA.cat", 10);
+            List<ContactMatch> perPrefix = Manager.searchContactsByPrefix("666", 10);
+
+            // ASSERT
+            assertAll(
+                () -> assertThat(perFragment).containsExactly(new ContactMatch(
+                    email.getContactId(), anna.getEmployeeId(), "EMAIL", "anna@empresa.cat")),
+                () -> assertThat(perPrefix).extracting(ContactMatch::contactId)
+                    .containsExactly(mobil.getContactId()),
+                () -> assertThat(Manager.searchContactsByPrefix("123", 10)).isEmpty(),
+                () -> assertEquals(0, Manager.getStatistics().getPrepareStatementCount())
+            );
+        }
+
+        @Test
+        @DisplayName("Paràmetres invàlids")
+        void cerca_ParametresInvalids() {
+            assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> Manager.searchContacts("", 10)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Manager.searchContacts(null, 10)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Manager.searchContacts("666", 0))
+            );
+        }
+    }
+
+    // ========================================================================
+    // TESTS D'ACTUALITZACIÓ INCREMENTAL
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Actualitzacions incrementals")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("addContactToEmployee i updateContact actualitzen l'índex")
+        void afegirIActualitzar() {
+            // ARRANGE
+            indexAlDia();
+
+            // ACT
+            Contact nou = Manager.addContactToEmployee(anna.getEmployeeId(), "EMAIL", "anna@personal.org", null);
+            Manager.updateContact(email.getContactId(), "EMAIL", "anna.puig@altra.com", "Feina");
+            long sentencies = Manager.getStatistics().getPrepareStatementCount();
+
+            // ASSERT: cap reconstrucció
+            assertAll(
+                () -> assertThat(cerca("personal")).containsExactly(nou.getContactId()),
+                () -> assertThat(cerca("altra.com")).containsExactly(email.getContactId()),
+                () -> assertThat(cerca("empresa")).isEmpty(),
+                () -> assertEquals(sentencies, Manager.getStatistics().getPrepareStatementCount())
+            );
+        }
+
+        @Test
+        @DisplayName("removeContactFromEmployee treu el contacte")
+        void eliminarContacte() {
+            indexAlDia();
+
+            Manager.removeContactFromEmployee(anna.getEmployeeId(), mobil.getContactId());
+
+            assertThat(cerca("666")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("deleteEmployee treu tots els seus contactes")
+        void eliminarEmpleat() {
+            indexAlDia();
+
+            Manager.deleteEmployee(anna.getEmployeeId());
+
+            assertAll(
+                () -> assertThat(cerca("666")).isEmpty(),
+                () -> assertThat(cerca("anna")).isEmpty()
+            );
+        }
+
+        @Test
+        @DisplayName("addContacts i addEmployees amb contactes els indexen")
+        void insercionsMassives() {
+            // ARRANGE
+            indexAlDia();
+            Employee nou = new Employee("Bloc", "Nou", 30000);
+            nou.addContact(new Contact("EMAIL", "bloc@massiu.cat", null));
+            Contact solt = new Contact("PHONE", "977000111", null);
+            solt.setEmployee(anna);
+
+            // ACT
+            Manager.addEmployees(List.of(nou));
+            List<Long> ids = Manager.addContacts(List.of(solt));
+
+            // ASSERT
+            assertAll(
+                () -> assertThat(Manager.searchContacts("massiu", 10)).extracting(ContactMatch::employeeId)
+                    .containsExactly(nou.getEmployeeId()),
+                () -> assertThat(cerca("977")).containsExactly(ids.get(0))
+            );
+        }
+
+        @Test
+        @DisplayName("Canvis concurrents d'un contacte deixen a l'índex l'últim confirmat")
+        void canvisConcurrents_IndexSegueixElCommit() throws Exception {
+            // ARRANGE
+            indexAlDia();
+            int fils = 4;
+            ExecutorService executor = Executors.newFixedThreadPool(fils);
+            List<Future<?>> resultats = new ArrayList<>();
+
+            // ACT
+            try {
+                for (int f = 0; f < fils; f++) {
+                    int fil = f;
+                    resultats.add(executor.submit(() -> {
+                        for (int i = 0; i < 25; i++) {
+                            Manager.updateContact(email.getContactId(), "EMAIL",
+                                    "fil" + fil + "-" + i + "@empresa.cat", null);
+                        }
+                    }));
+                }
+                for (Future<?> resultat : resultats) {
+                    resultat.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // ASSERT: el valor de l'índex és el de la BD
+            String valorBD = Manager.<Contact>getById(Contact.class, email.getContactId()).getValue();
+            assertThat(Manager.searchContacts("@empresa.cat", 10)).extracting(ContactMatch::value)
+                .containsExactly(valorBD);
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE RECONSTRUCCIÓ
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Reconstrucció de l'índex")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("deleteContactsByType deixa l'índex obsolet i es reconstrueix")
+        void deleteMassiu_Reconstrueix() {
+            indexAlDia();
+
+            Manager.deleteContactsByType("PHONE");
+
+            assertAll(
+                () -> assertThat(cerca("666")).isEmpty(),
+                () -> assertThat(cerca("anna")).containsExactly(email.getContactId())
+            );
+        }
+
+        @Test
+        @DisplayName("queryUpdate deixa l'índex obsolet i es reconstrueix")
+        void queryUpdate_Reconstrueix() {
+            indexAlDia();
+
+            Manager.queryUpdate("UPDATE contacts SET contact_value = '611000000' WHERE id = "
+                    + mobil.getContactId());
+
+            assertAll(
+                () -> assertThat(cerca("666")).isEmpty(),
+                () -> assertThat(cerca("611")).containsExactly(mobil.getContactId())
+            );
+        }
+    }
+}
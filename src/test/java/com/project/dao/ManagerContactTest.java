@@ -1,6 +1,7 @@
 package com.project.dao;
 
 import com.project.domain.Contact;
+import com.project.domain.ContactTypeDictionary;
 import com.project.domain.Employee;
 import com.project.test.HibernateTestBase;
 
@@ -10,6 +11,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.*;
@@ -33,6 +35,7 @@ import static org.assertj.core.api.Assertions.*;
  * - updateContact(): Actualització de contactes
  * - removeContactFromEmployee(): Eliminació de contactes
  * - getById(): Lectura de contactes individuals
+ * - Taula contact_types: el tipus es desa com a enter (contact_type_id)
  * 
  * @author Test Suite Generator
  * @version 1.0
@@ -672,4 +675,106 @@ class ManagerContactTest extends HibernateTestBase {
             assertThat(resultat).isEmpty();
         }
     }
+
+    // ========================================================================
+    // TESTS DE LA TAULA DE TIPUS (contact_types)
+    // ========================================================================
+
+    /**
+     * Grup de tests del tipus normalitzat: contacts.contact_type_id apunta a
+     * contact_types i el Manager tradueix els noms amb un diccionari en memòria.
+     */
+    @Nested
+    @DisplayName("Taula de tipus de contacte")
+    class ContactTypeTests {
+
+        private Employee empleat;
+
+        @BeforeEach
+        void setUp() {
+            empleat = crearEmpleatProva("Tipus", "Contacte");
+        }
+
+        /**
+         * Test: Cada nom de tipus es desa un sol cop i els contactes hi apunten amb l'ID.
+         */
+        @Test
+        @DisplayName("Cada tipus es desa un cop i contacts guarda l'ID")
+        void tipus_UnaFilaPerNom() {
+            // ACT
+            Contact email1 = Manager.addContactToEmployee(empleat.getEmployeeId(), "EMAIL", "a@test.com", null);
+            Manager.addContactToEmployee(empleat.getEmployeeId(), "EMAIL", "b@test.com", null);
+            Manager.addContactToEmployee(empleat.getEmployeeId(), "PHONE", "666000000", null);
+
+            // ASSERT
+            List<Object[]> tipus = Manager.queryTable(
+                "SELECT name, id FROM contact_types WHERE name IN ('EMAIL', 'PHONE')");
+            List<Object[]> fila = Manager.queryTable(
+                "SELECT contact_type_id, contact_value FROM contacts WHERE id = " + email1.getContactId());
+            assertAll(
+                () -> assertThat(tipus).hasSize(2),
+                () -> assertEquals(ContactTypeDictionary.idOf("EMAIL"), ((Number) fila.get(0)[0]).intValue())
+            );
+        }
+
+        /**
+         * Test: Un tipus ja registrat no fa cap consulta a contact_types.
+         */
+        @Test
+        @DisplayName("Un tipus conegut es tradueix sense consultar la BD")
+        void tipusConegut_SenseConsultes() {
+            // ARRANGE
+            Manager.addContactToEmployee(empleat.getEmployeeId(), "EMAIL", "a@test.com", null);
+            Manager.getStatistics().clear();
+
+            // ACT
+            Manager.addContactToEmployee(empleat.getEmployeeId(), "EMAIL", "b@test.com", null);
+
+            // ASSERT: només el get de l'empleat i l'INSERT
+            assertEquals(0, Manager.getStatistics().getQueryExecutionCount());
+        }
+
+        /**
+         * Test: updateContact amb un tipus nou el registra i les cerques per nom el troben.
+         */
+        @Test
+        @DisplayName("updateContact amb un tipus nou el registra")
+        void updateContact_TipusNou() {
+            // ARRANGE
+            Contact contacte = Manager.addContactToEmployee(empleat.getEmployeeId(), "EMAIL", "a@test.com", null);
+
+            // ACT
+            Manager.updateContact(contacte.getContactId(), "LINKEDIN", "linkedin.com/in/test", null);
+
+            // ASSERT
+            assertAll(
+                () -> assertNotNull(ContactTypeDictionary.idOf("LINKEDIN")),
+                () -> assertThat(Manager.findContactsByEmployeeAndType(empleat.getEmployeeId(), "LINKEDIN"))
+                    .extracting(Contact::getValue)
+                    .containsExactly("linkedin.com/in/test"),
+                () -> assertThat(Manager.findEmployeesByContactType("LINKEDIN")).hasSize(1)
+            );
+        }
+
+        /**
+         * Test: La cerca per tipus fa servir l'índex (contact_type_id, employee_id).
+         */
+        @Test
+        @DisplayName("El pla de la cerca per tipus fa servir l'índex compost")
+        void cercaPerTipus_PlaAmbIndex() {
+            // ARRANGE
+            Manager.addContactToEmployee(empleat.getEmployeeId(), "EMAIL", "a@test.com", null);
+
+            // ACT
+            StringBuilder pla = new StringBuilder();
+            for (Object fila : Manager.queryTable(
+                    "EXPLAIN SELECT DISTINCT employee_id FROM contacts WHERE contact_type_id = "
+                        + ContactTypeDictionary.idOf("EMAIL"))) {
+                pla.append(fila).append('\n');
+            }
+
+            // ASSERT
+            assertThat(pla.toString().toUpperCase()).contains("IDX_CONTACTS_TYPE_EMPLOYEE");
+        }
+    }
 }
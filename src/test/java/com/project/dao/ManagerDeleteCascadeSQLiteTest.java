@@ -0,0 +1,37 @@
+package com.project.dao;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS DE L'ELIMINACIÓ D'EMPLEATS AMB CASCADA A LA BD (SQLite)
+ * =============================================================
+ *
+ * Repeteix els tests de ManagerDeleteCascadeTest amb SQLite, on cal:
+ * - SQLiteForeignKeyDialect per crear les FK dins del CREATE TABLE
+ * - PRAGMA foreign_keys=ON a cada connexió (l'activa el Manager)
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests de deleteEmployee amb cascada a la BD (SQLite)")
+class ManagerDeleteCascadeSQLiteTest extends ManagerDeleteCascadeTest {
+
+    @Override
+    protected String propertiesFile() {
+        return "hibernate-test-dbcascade-sqlite.properties";
+    }
+
+    /**
+     * Test: Les connexions tenen les FK activades.
+     */
+    @Test
+    @DisplayName("Les connexions SQLite tenen PRAGMA foreign_keys activat")
+    void connexio_ForeignKeysActivades() {
+        List<Object[]> rows = Manager.queryTable("SELECT foreign_keys, 0 FROM pragma_foreign_keys");
+        assertEquals(1, ((Number) rows.get(0)[0]).intValue());
+    }
+}
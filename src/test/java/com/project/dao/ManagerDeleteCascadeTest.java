@@ -0,0 +1,186 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTS DE L'ELIMINACIÓ D'EMPLEATS AMB CASCADA A LA BD
+ * ====================================================
+ *
+ * Amb project.delete.cascade=database, deleteEmployee fa un sol DELETE
+ * i la BD esborra els contactes i les files d'employee_project gràcies
+ * a les FK amb ON DELETE CASCADE.
+ *
+ * No hereta de HibernateTestBase perquè necessita la seva pròpia
+ * configuració (hibernate-test-dbcascade.properties). La subclasse
+ * ManagerDeleteCascadeSQLiteTest repeteix els mateixos tests amb SQLite.
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Tests de deleteEmployee amb cascada a la BD (H2)")
+class ManagerDeleteCascadeTest {
+
+    /**
+     * Fitxer de propietats de la configuració a provar.
+     */
+    protected String propertiesFile() {
+        return "hibernate-test-dbcascade.properties";
+    }
+
+    @BeforeAll
+    void initHibernate() {
+        Manager.createSessionFactory(propertiesFile());
+    }
+
+    @AfterAll
+    void closeHibernate() {
+        Manager.close();
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        Manager.queryUpdate("DELETE FROM employee_project");
+        Manager.queryUpdate("DELETE FROM contacts");
+        Manager.queryUpdate("DELETE FROM projects");
+        Manager.queryUpdate("DELETE FROM employees");
+    }
+
+    /**
+     * Crea un empleat amb tres contactes i assignat als projectes indicats.
+     */
+    private Employee crearEmpleatAmbRelacions(String nom, Set<Project> projectes) {
+        Employee emp = Manager.addEmployee(nom, "Cognom", 40000);
+        Manager.addContactToEmployee(emp.getEmployeeId(), "EMAIL", nom + "@test.com", "Email");
+        Manager.addContactToEmployee(emp.getEmployeeId(), "PHONE", "666000000", "Telèfon");
+        Manager.addContactToEmployee(emp.getEmployeeId(), "ADDRESS", "Carrer Test 1", "Adreça");
+        Manager.updateEmployeeProjects(emp.getEmployeeId(), projectes);
+        return emp;
+    }
+
+    /**
+     * Test: L'índex de membres treu l'empleat que ha esborrat la BD.
+     */
+    @Test
+    @DisplayName("deleteEmployee treu l'empleat de l'índex de membres")
+    void deleteEmployee_CascadaBD_ActualitzaIndexDeMembres() {
+        // ARRANGE
+        Project p1 = Manager.addProject("P1", "Projecte 1", "ACTIU");
+        Employee emp = crearEmpleatAmbRelacions("Anna", Set.of(p1));
+        Employee altre = crearEmpleatAmbRelacions("Pere", Set.of(p1));
+        Manager.rebuildMembershipIndex();
+
+        // ACT
+        Manager.deleteEmployee(emp.getEmployeeId());
+
+        // ASSERT
+        assertAll(
+            () -> assertArrayEquals(new long[] {altre.getEmployeeId()},
+                Manager.findEmployeeIdsByProject(p1.getProjectId())),
+            () -> assertEquals(0, Manager.findProjectIdsByEmployee(emp.getEmployeeId()).length)
+        );
+    }
+
+    /**
+     * Test: El mode database està actiu amb aquesta configuració.
+     */
+    @Test
+    @DisplayName("La configuració activa el mode database")
+    void configuracio_ModeDatabaseActiu() {
+        assertTrue(Manager.isDatabaseDeleteCascade());
+    }
+
+    /**
+     * Test: La BD esborra contactes i files de la taula pont,
+     * però els projectes es mantenen.
+     */
+    @Test
+    @DisplayName("deleteEmployee esborra contactes i taula pont per cascada")
+    void deleteEmployee_CascadaBD_EsborraContactesIVincles() {
+        // ARRANGE
+        Project p1 = Manager.addProject("P1", "Projecte 1", "ACTIU");
+        Project p2 = Manager.addProject("P2", "Projecte 2", "ACTIU");
+        Employee emp = crearEmpleatAmbRelacions("Anna", Set.of(p1, p2));
+        Employee altre = crearEmpleatAmbRelacions("Pere", Set.of(p1));
+
+        // ACT
+        Manager.deleteEmployee(emp.getEmployeeId());
+
+        // ASSERT
+        assertAll(
+            () -> assertNull(Manager.getById(Employee.class, emp.getEmployeeId())),
+            () -> assertThat(Manager.findContactsByEmployeeAndType(emp.getEmployeeId(), "EMAIL")).isEmpty(),
+            () -> assertEquals(3, Manager.listCollection(Contact.class).size()),
+            () -> assertThat(Manager.queryTable(
+                "SELECT employee_id, project_id FROM employee_project WHERE employee_id = "
+                    + emp.getEmployeeId())).isEmpty(),
+            () -> assertEquals(2, Manager.listCollection(Project.class).size()),
+            () -> assertThat(Manager.findEmployeesByProject(p1.getProjectId()))
+                .extracting(Employee::getEmployeeId)
+                .containsExactly(altre.getEmployeeId())
+        );
+    }
+
+    /**
+     * Test: Un sol DELETE, sense carregar cap entitat ni col·lecció.
+     */
+    @Test
+    @DisplayName("deleteEmployee no carrega res i fa una sola sentència")
+    void deleteEmployee_CascadaBD_UnaSentencia() {
+        // ARRANGE
+        Project p1 = Manager.addProject("P1", "Projecte 1", "ACTIU");
+        Employee emp = crearEmpleatAmbRelacions("Anna", Set.of(p1));
+        Manager.getStatistics().clear();
+
+        // ACT
+        Manager.deleteEmployee(emp.getEmployeeId());
+
+        // ASSERT
+        assertAll(
+            () -> assertEquals(0, Manager.getStatistics().getEntityLoadCount()),
+            () -> assertEquals(0, Manager.getStatistics().getCollectionLoadCount()),
+            () -> assertEquals(1, Manager.getStatistics().getPrepareStatementCount())
+        );
+    }
+
+    /**
+     * Test: Eliminar un ID inexistent no falla.
+     */
+    @Test
+    @DisplayName("deleteEmployee amb ID inexistent no llança excepció")
+    void deleteEmployee_IdInexistent_NoFalla() {
+        assertDoesNotThrow(() -> Manager.deleteEmployee(999999L));
+    }
+
+    /**
+     * Test: Les caches no retornen l'empleat eliminat dins d'un projecte.
+     */
+    @Test
+    @DisplayName("Després d'eliminar, el projecte ja no té l'empleat")
+    void deleteEmployee_CascadaBD_ProjecteSenseEmpleat() {
+        // ARRANGE
+        Project p1 = Manager.addProject("P1", "Projecte 1", "ACTIU");
+        Employee emp = crearEmpleatAmbRelacions("Anna", Set.of(p1));
+        assertThat(Manager.findEmployeesByProject(p1.getProjectId())).hasSize(1);
+
+        // ACT
+        Manager.deleteEmployee(emp.getEmployeeId());
+
+        // ASSERT
+        List<Object[]> vincles = Manager.queryTable("SELECT employee_id, project_id FROM employee_project");
+        assertAll(
+            () -> assertThat(vincles).isEmpty(),
+            () -> assertThat(Manager.findEmployeesByProject(p1.getProjectId())).isEmpty()
+        );
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +38,7 @@ import static org.assertj.core.api.Assertions.*;
  * - updateEmployeeProjects(): Assignació de projectes
  * - findEmployeesByContactType(): Cerca per tipus de contacte
  * - findEmployeesByProject(): Cerca per projecte
+ * - find/listEmployeeSummaries*(): Projeccions EmployeeSummary
  * 
  * @author Test Suite Generator
  * @version 1.0
@@ -497,6 +499,23 @@ class ManagerEmployeeTest extends HibernateTestBase {
                 "El contacte hauria d'haver-se eliminat en cascada");
         }
         
+        /**
+         * Test: En mode orm les FK no porten ON DELETE CASCADE: un DELETE fet
+         * fora de deleteEmployee no esborra els contactes de l'empleat.
+         */
+        @Test
+        @DisplayName("En mode orm l'esquema no esborra contactes en cascada")
+        void deleteSQL_ModeOrm_SenseCascadaBD() {
+            // ARRANGE
+            com.project.domain.Contact contact = Manager.addContactToEmployee(
+                empleatAEliminar.getEmployeeId(), "EMAIL", "fk@test.com", "Test");
+
+            // ACT + ASSERT
+            assertThrows(RuntimeException.class, () -> Manager.queryUpdate(
+                "DELETE FROM employees WHERE id = " + empleatAEliminar.getEmployeeId()));
+            assertNotNull(Manager.getById(com.project.domain.Contact.class, contact.getContactId()));
+        }
+
         /**
          * Test: delete empleat NO elimina projectes (ManyToMany sense cascade REMOVE).
          */
@@ -809,4 +828,95 @@ class ManagerEmployeeTest extends HibernateTestBase {
             });
         }
     }
+
+    // ========================================================================
+    // TESTS DE PROJECCIONS (EmployeeSummary)
+    // ========================================================================
+
+    /**
+     * Grup de tests per a les consultes que retornen EmployeeSummary
+     * en lloc d'entitats.
+     */
+    @Nested
+    @DisplayName("PROJECCIONS - Tests d'EmployeeSummary")
+    class EmployeeSummaryTests {
+
+        private Project projecte1;
+        private Project projecte2;
+        private Employee ambEmail;
+        private Employee senseEmail;
+
+        @BeforeEach
+        void setUpTestData() {
+            projecte1 = crearProjecteProva("Projecte 1");
+            projecte2 = crearProjecteProva("Projecte 2");
+            ambEmail = crearEmpleatComplet("Anna", 3, Set.of(projecte1, projecte2));
+            senseEmail = crearEmpleatProva("Pere", "Puig", 28000);
+            crearContacteProva(senseEmail.getEmployeeId(), "PHONE", "666111222");
+            Manager.updateEmployeeProjects(senseEmail.getEmployeeId(), Set.of(projecte1));
+        }
+
+        /**
+         * Test: El resum conté les dades i els recomptes correctes.
+         */
+        @Test
+        @DisplayName("findEmployeeSummariesByContactType retorna dades i recomptes")
+        void findEmployeeSummariesByContactType_DadesIRecomptes() {
+            // ACT
+            List<EmployeeSummary> resultat = Manager.findEmployeeSummariesByContactType("EMAIL");
+
+            // ASSERT
+            assertThat(resultat).containsExactly(new EmployeeSummary(
+                ambEmail.getEmployeeId(), "Anna", "Cognom", 40000, 3, 2));
+        }
+
+        /**
+         * Test: Filtrar per projecte retorna tots els membres amb els seus recomptes.
+         */
+        @Test
+        @DisplayName("findEmployeeSummariesByProject retorna els membres")
+        void findEmployeeSummariesByProject_Membres() {
+            // ACT
+            List<EmployeeSummary> resultat = Manager.findEmployeeSummariesByProject(projecte1.getProjectId());
+
+            // ASSERT
+            assertThat(resultat)
+                .extracting(EmployeeSummary::id, EmployeeSummary::contactCount, EmployeeSummary::projectCount)
+                .containsExactly(
+                    tuple(ambEmail.getEmployeeId(), 3L, 2L),
+                    tuple(senseEmail.getEmployeeId(), 1L, 1L)
+                );
+        }
+
+        /**
+         * Test: Una sola SELECT i cap entitat carregada.
+         */
+        @Test
+        @DisplayName("Una sola SELECT sense carregar entitats ni col·leccions")
+        void listEmployeeSummaries_UnaSentenciaSenseEntitats() {
+            // ARRANGE
+            crearMultiplesEmpleats(10);
+            Manager.getStatistics().clear();
+
+            // ACT
+            List<EmployeeSummary> resultat = Manager.listEmployeeSummaries();
+
+            // ASSERT
+            assertAll(
+                () -> assertThat(resultat).hasSize(12),
+                () -> assertEquals(1, Manager.getStatistics().getPrepareStatementCount()),
+                () -> assertEquals(0, Manager.getStatistics().getEntityLoadCount()),
+                () -> assertEquals(0, Manager.getStatistics().getCollectionLoadCount())
+            );
+        }
+
+        /**
+         * Test: Un tipus sense empleats retorna llista buida.
+         */
+        @Test
+        @DisplayName("Tipus inexistent retorna llista buida")
+        void findEmployeeSummariesByContactType_TipusInexistent_Buit() {
+            assertThat(Manager.findEmployeeSummariesByContactType("FAX")).isEmpty();
+        }
+    }
 }
@@ -0,0 +1,448 @@
+package com.project.dao;
+
+import com.project.domain.Employee;
+import com.project.domain.Project;
+import com.project.test.HibernateTestBase;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTS DE L'ÍNDEX DE MEMBRES EN MEMÒRIA
+ * ======================================
+ *
+ * L'índex respon quins empleats té un projecte (i a la inversa) sense
+ * consultar la BD.
+ *
+ * Comprova:
+ * - Que les consultes de l'índex no executen cap sentència
+ * - Interseccions i unions de projectes
+ * - Que cada escriptura del Manager a employee_project el manté al dia
+ *   sense reconstruir-lo (el resultat coincideix amb la taula)
+ * - Que després d'un queryUpdate es reconstrueix
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests de l'Índex de Membres")
+class ManagerMembershipIndexTest extends HibernateTestBase {
+
+    // ========================================================================
+    // MÈTODES D'UTILITAT
+    // ========================================================================
+
+    /**
+     * Membres del projecte segons la taula employee_project.
+     */
+    private long[] membresBD(Project projecte) {
+        return Manager.queryTable(
+                "SELECT employee_id, project_id FROM employee_project WHERE project_id = "
+                    + projecte.getProjectId())
+            .stream()
+            .mapToLong(fila -> ((Number) fila[0]).longValue())
+            .sorted()
+            .toArray();
+    }
+
+    /**
+     * Reconstrueix l'índex (el cleanDatabase el deixa obsolet) i posa a zero
+     * les estadístiques: a partir d'aquí, qualsevol sentència de les
+     * consultes de l'índex voldria dir que s'ha tornat a construir.
+     */
+    private void indexAlDia() {
+        Manager.rebuildMembershipIndex();
+        Manager.getStatistics().clear();
+    }
+
+    private long[] ids(Employee... empleats) {
+        long[] ids = new long[empleats.length];
+        for (int i = 0; i < empleats.length; i++) {
+            ids[i] = empleats[i].getEmployeeId();
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    // ========================================================================
+    // TESTS DE CONSULTA
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Consultes de l'índex")
+    class QueryTests {
+
+        /**
+         * Test: Membres i projectes ordenats, sense anar a la BD.
+         */
+        @Test
+        @DisplayName("Membres i projectes sense cap sentència")
+        void consultes_SenseSentencies() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Project p2 = crearProjecteProva("P2");
+            Employee anna = crearEmpleatComplet("Anna", 0, Set.of(p1, p2));
+            Employee pere = crearEmpleatComplet("Pere", 0, Set.of(p1));
+            indexAlDia();
+
+            // ACT
+            long[] membresP1 = Manager.findEmployeeIdsByProject(p1.getProjectId());
+            long[] projectesAnna = Manager.findProjectIdsByEmployee(anna.getEmployeeId());
+
+            // ASSERT
+            assertAll(
+                () -> assertArrayEquals(ids(anna, pere), membresP1),
+                () -> assertThat(projectesAnna).isSorted()
+                    .containsExactlyInAnyOrder(p1.getProjectId(), p2.getProjectId()),
+                () -> assertTrue(Manager.isEmployeeInProject(pere.getEmployeeId(), p1.getProjectId())),
+                () -> assertFalse(Manager.isEmployeeInProject(pere.getEmployeeId(), p2.getProjectId())),
+                () -> assertEquals(0, Manager.getStatistics().getPrepareStatementCount())
+            );
+        }
+
+        /**
+         * Test: Intersecció i unió de diversos projectes.
+         */
+        @Test
+        @DisplayName("Intersecció i unió de projectes")
+        void interseccioIUnio() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Project p2 = crearProjecteProva("P2");
+            Project p3 = crearProjecteProva("P3");
+            Employee anna = crearEmpleatComplet("Anna", 0, Set.of(p1, p2, p3));
+            Employee pere = crearEmpleatComplet("Pere", 0, Set.of(p1, p2));
+            Employee marta = crearEmpleatComplet("Marta", 0, Set.of(p3));
+            indexAlDia();
+
+            // ACT
+            long[] tots = Manager.findEmployeeIdsInAllProjects(
+                p1.getProjectId(), p2.getProjectId());
+            long[] alMenysUn = Manager.findEmployeeIdsInAnyProject(
+                p2.getProjectId(), p3.getProjectId());
+
+            // ASSERT
+            assertAll(
+                () -> assertArrayEquals(ids(anna, pere), tots),
+                () -> assertArrayEquals(ids(anna, pere, marta), alMenysUn),
+                () -> assertArrayEquals(ids(anna), Manager.findEmployeeIdsInAllProjects(
+                    p1.getProjectId(), p2.getProjectId(), p3.getProjectId())),
+                () -> assertEquals(0, Manager.getStatistics().getPrepareStatementCount())
+            );
+        }
+
+        /**
+         * Test: Claus desconegudes i llistes buides retornen arrays buits.
+         */
+        @Test
+        @DisplayName("IDs inexistents i sense projectes retornen buit")
+        void inexistents_RetornaBuit() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Employee sensProjectes = crearEmpleatProva();
+            indexAlDia();
+
+            // ACT i ASSERT
+            assertAll(
+                () -> assertThat(Manager.findEmployeeIdsByProject(p1.getProjectId())).isEmpty(),
+                () -> assertThat(Manager.findProjectIdsByEmployee(sensProjectes.getEmployeeId())).isEmpty(),
+                () -> assertThat(Manager.findEmployeeIdsInAllProjects()).isEmpty(),
+                () -> assertThat(Manager.findEmployeeIdsInAnyProject(999_999L)).isEmpty()
+            );
+        }
+
+        /**
+         * Test: L'array retornat és una còpia.
+         */
+        @Test
+        @DisplayName("Modificar el resultat no altera l'índex")
+        void resultat_EsUnaCopia() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Employee anna = crearEmpleatComplet("Anna", 0, Set.of(p1));
+            indexAlDia();
+
+            // ACT
+            Manager.findEmployeeIdsByProject(p1.getProjectId())[0] = -1;
+
+            // ASSERT
+            assertArrayEquals(ids(anna), Manager.findEmployeeIdsByProject(p1.getProjectId()));
+        }
+    }
+
+    // ========================================================================
+    // TESTS D'ACTUALITZACIÓ INCREMENTAL
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Actualització després de cada escriptura")
+    class IncrementalUpdateTests {
+
+        /**
+         * Test: updateEmployeeProjects afegeix i treu a les dues bandes.
+         */
+        @Test
+        @DisplayName("updateEmployeeProjects actualitza empleat i projectes")
+        void updateEmployeeProjects_ActualitzaLesDuesBandes() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Project p2 = crearProjecteProva("P2");
+            Employee anna = crearEmpleatComplet("Anna", 0, Set.of(p1));
+            indexAlDia();
+
+            // ACT
+            Manager.updateEmployeeProjects(anna.getEmployeeId(), Set.of(p2));
+
+            // ASSERT
+            Manager.getStatistics().clear();
+            assertAll(
+                () -> assertThat(Manager.findEmployeeIdsByProject(p1.getProjectId())).isEmpty(),
+                () -> assertArrayEquals(ids(anna), Manager.findEmployeeIdsByProject(p2.getProjectId())),
+                () -> assertArrayEquals(new long[] {p2.getProjectId()},
+                    Manager.findProjectIdsByEmployee(anna.getEmployeeId())),
+                () -> assertEquals(0, Manager.getStatistics().getPrepareStatementCount())
+            );
+        }
+
+        /**
+         * Test: L'assignació massiva amb IDs inexistents rellegeix el projecte.
+         */
+        @Test
+        @DisplayName("assignEmployeesToProject coincideix amb la taula")
+        void assign_CoincideixAmbBD() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            List<Long> empleats = new ArrayList<>();
+            for (Employee emp : crearMultiplesEmpleats(4)) {
+                empleats.add(emp.getEmployeeId());
+            }
+            indexAlDia();
+            Manager.assignEmployeesToProject(projecte.getProjectId(), empleats.subList(0, 2));
+
+            List<Long> peticio = new ArrayList<>(empleats);
+            peticio.add(999_999L);
+
+            // ACT
+            Manager.assignEmployeesToProject(projecte.getProjectId(), peticio);
+
+            // ASSERT
+            Manager.getStatistics().clear();
+            assertAll(
+                () -> assertArrayEquals(membresBD(projecte),
+                    Manager.findEmployeeIdsByProject(projecte.getProjectId())),
+                () -> assertThat(Manager.findEmployeeIdsByProject(projecte.getProjectId())).hasSize(4),
+                () -> assertThat(Manager.findProjectIdsByEmployee(999_999L)).isEmpty(),
+                () -> assertArrayEquals(new long[] {projecte.getProjectId()},
+                    Manager.findProjectIdsByEmployee(empleats.get(3)))
+            );
+        }
+
+        /**
+         * Test: Desassignar treu només els indicats.
+         */
+        @Test
+        @DisplayName("unassignEmployeesFromProject treu només els indicats")
+        void unassign_TreuNomesIndicats() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            List<Long> empleats = new ArrayList<>();
+            for (Employee emp : crearMultiplesEmpleats(5)) {
+                empleats.add(emp.getEmployeeId());
+            }
+            Manager.assignEmployeesToProject(projecte.getProjectId(), empleats);
+            indexAlDia();
+
+            // ACT
+            Manager.unassignEmployeesFromProject(projecte.getProjectId(), empleats.subList(0, 2));
+
+            // ASSERT
+            assertAll(
+                () -> assertArrayEquals(membresBD(projecte),
+                    Manager.findEmployeeIdsByProject(projecte.getProjectId())),
+                () -> assertThat(Manager.findProjectIdsByEmployee(empleats.get(0))).isEmpty()
+            );
+        }
+
+        /**
+         * Test: Eliminar un projecte el treu dels seus membres.
+         */
+        @Test
+        @DisplayName("deleteProject treu el projecte de tots els empleats")
+        void deleteProject_TreuElProjecte() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Project p2 = crearProjecteProva("P2");
+            Employee anna = crearEmpleatComplet("Anna", 0, Set.of(p1, p2));
+            Employee pere = crearEmpleatComplet("Pere", 0, Set.of(p1));
+            indexAlDia();
+
+            // ACT
+            Manager.deleteProject(p1.getProjectId());
+
+            // ASSERT
+            assertAll(
+                () -> assertThat(Manager.findEmployeeIdsByProject(p1.getProjectId())).isEmpty(),
+                () -> assertArrayEquals(new long[] {p2.getProjectId()},
+                    Manager.findProjectIdsByEmployee(anna.getEmployeeId())),
+                () -> assertThat(Manager.findProjectIdsByEmployee(pere.getEmployeeId())).isEmpty()
+            );
+        }
+
+        /**
+         * Test: Eliminar un empleat el treu dels seus projectes.
+         */
+        @Test
+        @DisplayName("deleteEmployee i delete(Employee) treuen l'empleat")
+        void deleteEmployee_TreuLEmpleat() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Employee anna = crearEmpleatComplet("Anna", 0, Set.of(p1));
+            Employee pere = crearEmpleatComplet("Pere", 0, Set.of(p1));
+            Employee marta = crearEmpleatComplet("Marta", 0, Set.of(p1));
+            indexAlDia();
+
+            // ACT
+            Manager.deleteEmployee(anna.getEmployeeId());
+            Manager.delete(Employee.class, pere.getEmployeeId());
+
+            // ASSERT
+            assertAll(
+                () -> assertArrayEquals(ids(marta), Manager.findEmployeeIdsByProject(p1.getProjectId())),
+                () -> assertArrayEquals(membresBD(p1), Manager.findEmployeeIdsByProject(p1.getProjectId())),
+                () -> assertThat(Manager.findProjectIdsByEmployee(anna.getEmployeeId())).isEmpty()
+            );
+        }
+
+        /**
+         * Test: Empleats inserits en bloc que ja porten projectes.
+         */
+        @Test
+        @DisplayName("addEmployees amb projectes els afegeix a l'índex")
+        void addEmployees_AmbProjectes() {
+            // ARRANGE: el projecte nou es persisteix en cascada amb l'empleat
+            Project p1 = new Project("P1", "Projecte nou", "ACTIU");
+            Employee nou = new Employee("Nou", "Bloc", 30000);
+            nou.addProject(p1);
+            indexAlDia();
+
+            // ACT
+            Manager.addEmployees(List.of(nou, new Employee("Sense", "Projectes", 30000)));
+
+            // ASSERT
+            assertAll(
+                () -> assertArrayEquals(ids(nou), Manager.findEmployeeIdsByProject(p1.getProjectId())),
+                () -> assertArrayEquals(membresBD(p1), Manager.findEmployeeIdsByProject(p1.getProjectId()))
+            );
+        }
+
+        /**
+         * Test: Empleats inserits en bloc vinculats a projectes que ja són a la
+         * BD (entitats desconnectades) i a un de nou.
+         */
+        @Test
+        @DisplayName("addEmployees amb projectes existents els vincula")
+        void addEmployees_AmbProjectesExistents() {
+            // ARRANGE
+            Project existent = crearProjecteProva("Existent");
+            Project nou = new Project("P1", "Projecte nou", "ACTIU");
+            Employee anna = new Employee("Anna", "Bloc", 30000);
+            anna.addProject(existent);
+            anna.addProject(nou);
+            Employee joan = new Employee("Joan", "Bloc", 30000);
+            joan.addProject(existent);
+            indexAlDia();
+
+            // ACT
+            Manager.addEmployees(List.of(anna, joan), 1);
+
+            // ASSERT: l'entrada conserva els seus projectes
+            assertAll(
+                () -> assertArrayEquals(ids(anna, joan), Manager.findEmployeeIdsByProject(existent.getProjectId())),
+                () -> assertArrayEquals(membresBD(existent), Manager.findEmployeeIdsByProject(existent.getProjectId())),
+                () -> assertArrayEquals(ids(anna), Manager.findEmployeeIdsByProject(nou.getProjectId())),
+                () -> assertThat(anna.getProjects()).containsExactlyInAnyOrder(existent, nou),
+                () -> assertEquals("Existent", anna.getProjects().stream()
+                    .filter(p -> p.getProjectId().equals(existent.getProjectId()))
+                    .findFirst().orElseThrow().getName())
+            );
+        }
+
+        /**
+         * Test: Si un chunk posterior falla amb una excepció JPA (no Hibernate),
+         * els chunks ja confirmats es veuen igualment a l'índex.
+         */
+        @Test
+        @DisplayName("addEmployees que falla a mitges deixa l'índex coherent")
+        void addEmployees_FallaAMitges_IndexCoherent() {
+            // ARRANGE: el segon empleat ja és a la BD (persist d'una entitat separada)
+            Project p1 = new Project("P1", "Projecte nou", "ACTIU");
+            Employee nou = new Employee("Nou", "Bloc", 30000);
+            nou.addProject(p1);
+            Employee existent = crearEmpleatProva("Ja", "Existeix");
+            indexAlDia();
+
+            // ACT
+            assertThrows(RuntimeException.class, () -> Manager.addEmployees(List.of(nou, existent), 1));
+
+            // ASSERT
+            assertArrayEquals(ids(nou), Manager.findEmployeeIdsByProject(p1.getProjectId()));
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE RECONSTRUCCIÓ
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Reconstrucció de l'índex")
+    class RebuildTests {
+
+        /**
+         * Test: Un canvi amb SQL natiu es veu a la consulta següent.
+         */
+        @Test
+        @DisplayName("queryUpdate deixa l'índex obsolet i es reconstrueix")
+        void queryUpdate_Reconstrueix() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Employee anna = crearEmpleatProva("Anna", "Puig");
+            indexAlDia();
+
+            // ACT
+            Manager.queryUpdate("INSERT INTO employee_project (employee_id, project_id) VALUES ("
+                + anna.getEmployeeId() + ", " + p1.getProjectId() + ")");
+
+            // ASSERT
+            assertArrayEquals(ids(anna), Manager.findEmployeeIdsByProject(p1.getProjectId()));
+        }
+
+        /**
+         * Test: La reconstrucció carrega tota la taula.
+         */
+        @Test
+        @DisplayName("rebuildMembershipIndex coincideix amb employee_project")
+        void rebuild_CoincideixAmbBD() {
+            // ARRANGE
+            List<Project> projectes = new ArrayList<>(crearMultiplesProjectes(3));
+            for (int i = 0; i < 6; i++) {
+                Set<Project> assignats = Set.copyOf(projectes.subList(0, 1 + i % 3));
+                crearEmpleatComplet("Emp" + i, 0, assignats);
+            }
+
+            // ACT
+            Manager.rebuildMembershipIndex();
+
+            // ASSERT
+            for (Project projecte : projectes) {
+                assertArrayEquals(membresBD(projecte),
+                    Manager.findEmployeeIdsByProject(projecte.getProjectId()));
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+import com.project.test.HibernateTestBase;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTS PER A LA PAGINACIÓ PER CLAU (KEYSET)
+ * ==========================================
+ *
+ * Les pàgines es demanen amb l'ID de l'últim element rebut (afterId)
+ * i sempre van ordenades per clau primària.
+ *
+ * MÈTODES TESTATS:
+ * - pageEmployees(), pageEmployeesByContactType(), pageEmployeesByProject()
+ * - pageProjects()
+ * - pageContacts(), pageContactsByType()
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests de Paginació per Clau del Manager")
+class ManagerPaginationTest extends HibernateTestBase {
+
+    // ========================================================================
+    // MÈTODES D'UTILITAT
+    // ========================================================================
+
+    /**
+     * Recorre totes les pàgines i retorna els IDs en l'ordre rebut.
+     */
+    private <T> List<Long> totesLesPagines(BiFunction<Long, Integer, List<T>> pagina,
+                                           Function<T, Long> id,
+                                           int limit) {
+        List<Long> ids = new ArrayList<>();
+        Long afterId = null;
+        List<T> actual;
+        do {
+            actual = pagina.apply(afterId, limit);
+            assertThat(actual.size()).isLessThanOrEqualTo(limit);
+            for (T element : actual) {
+                ids.add(id.apply(element));
+            }
+            if (!actual.isEmpty()) {
+                afterId = id.apply(actual.get(actual.size() - 1));
+            }
+        } while (actual.size() == limit);
+        return ids;
+    }
+
+    // ========================================================================
+    // TESTS DE pageEmployees()
+    // ========================================================================
+
+    @Nested
+    @DisplayName("pageEmployees() - Pàgines d'empleats")
+    class PageEmployeesTests {
+
+        /**
+         * Test: Recórrer totes les pàgines retorna cada empleat un sol cop i en ordre.
+         */
+        @Test
+        @DisplayName("Totes les pàgines cobreixen tots els empleats en ordre d'ID")
+        void pageEmployees_TotesLesPagines_OrdenadesSenseRepetits() {
+            // ARRANGE
+            crearMultiplesEmpleats(23);
+
+            // ACT
+            List<Long> ids = totesLesPagines(Manager::pageEmployees, Employee::getEmployeeId, 5);
+
+            // ASSERT
+            assertThat(ids).hasSize(23).doesNotHaveDuplicates().isSorted();
+        }
+
+        /**
+         * Test: La primera pàgina comença pel primer ID.
+         */
+        @Test
+        @DisplayName("afterId null retorna la primera pàgina")
+        void pageEmployees_AfterIdNull_PrimeraPagina() {
+            // ARRANGE
+            Employee primer = crearEmpleatProva("Primer", "Empleat");
+            crearEmpleatProva("Segon", "Empleat");
+
+            // ACT
+            List<Employee> pagina = Manager.pageEmployees(null, 1);
+
+            // ASSERT
+            assertThat(pagina).extracting(Employee::getEmployeeId)
+                .containsExactly(primer.getEmployeeId());
+        }
+
+        /**
+         * Test: Les col·leccions de la pàgina venen inicialitzades,
+         * amb un nombre de SELECTs que no depèn de la mida de la pàgina.
+         */
+        @Test
+        @DisplayName("Les col·leccions venen inicialitzades amb SELECTs constants")
+        void pageEmployees_ColleccionsInicialitzades() {
+            // ARRANGE
+            Set<Project> projectes = crearMultiplesProjectes(2);
+            for (int i = 0; i < 12; i++) {
+                crearEmpleatComplet("Emp" + i, 2, projectes);
+            }
+            Long afterId = Manager.pageEmployees(null, 4).get(3).getEmployeeId();
+            Manager.evictSecondLevelCache();
+            Manager.getStatistics().clear();
+
+            // ACT
+            List<Employee> pagina = Manager.pageEmployees(afterId, 4);
+
+            // ASSERT
+            assertThat(pagina).hasSize(4).allSatisfy(emp -> {
+                assertEquals(2, emp.getContacts().size());
+                assertEquals(2, emp.getProjects().size());
+            });
+            assertEquals(3, Manager.getStatistics().getPrepareStatementCount());
+        }
+
+        /**
+         * Test: Si les col·leccions ja són a la cache de segon nivell,
+         * només es fa la consulta de la pàgina.
+         */
+        @Test
+        @DisplayName("Les col·leccions a la cache no es tornen a consultar")
+        void pageEmployees_ColleccionsACache_UnaSentencia() {
+            // ARRANGE
+            Set<Project> projectes = crearMultiplesProjectes(2);
+            for (int i = 0; i < 6; i++) {
+                crearEmpleatComplet("Emp" + i, 2, projectes);
+            }
+            Manager.evictSecondLevelCache();
+            Manager.pageEmployees(null, 6);
+            Manager.getStatistics().clear();
+
+            // ACT
+            List<Employee> pagina = Manager.pageEmployees(null, 6);
+
+            // ASSERT
+            assertThat(pagina).hasSize(6).allSatisfy(emp -> {
+                assertEquals(2, emp.getContacts().size());
+                assertEquals(2, emp.getProjects().size());
+            });
+            assertEquals(1, Manager.getStatistics().getPrepareStatementCount());
+        }
+
+        /**
+         * Test: Un límit no positiu es rebutja.
+         */
+        @Test
+        @DisplayName("limit no positiu llança IllegalArgumentException")
+        void pageEmployees_LimitInvalid_Excepcio() {
+            assertThrows(IllegalArgumentException.class, () -> Manager.pageEmployees(null, 0));
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE LES VARIANTS FILTRADES
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Pàgines filtrades per tipus de contacte i per projecte")
+    class FilteredPageTests {
+
+        /**
+         * Test: Només surten els empleats amb el tipus de contacte, un sol cop cadascun.
+         */
+        @Test
+        @DisplayName("pageEmployeesByContactType retorna cada empleat un cop")
+        void pageEmployeesByContactType_NomesAmbElTipus() {
+            // ARRANGE
+            List<Long> esperats = new ArrayList<>();
+            for (int i = 0; i < 9; i++) {
+                Employee emp = crearEmpleatProva("Emp" + i, "Cognom");
+                if (i % 3 == 0) {
+                    crearContacteProva(emp.getEmployeeId(), "EMAIL", "a" + i + "@test.com");
+                    crearContacteProva(emp.getEmployeeId(), "EMAIL", "b" + i + "@test.com");
+                    esperats.add(emp.getEmployeeId());
+                } else {
+                    crearContacteProva(emp.getEmployeeId(), "PHONE", "666" + i);
+                }
+            }
+
+            // ACT
+            List<Long> ids = totesLesPagines(
+                (after, limit) -> Manager.pageEmployeesByContactType("EMAIL", after, limit),
+                Employee::getEmployeeId, 2);
+
+            // ASSERT
+            assertThat(ids).containsExactlyElementsOf(esperats);
+        }
+
+        /**
+         * Test: Només surten els membres del projecte.
+         */
+        @Test
+        @DisplayName("pageEmployeesByProject retorna els membres del projecte")
+        void pageEmployeesByProject_NomesMembres() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Project p2 = crearProjecteProva("P2");
+            List<Long> membres = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                Employee emp = crearEmpleatComplet("Emp" + i, 0, Set.of(i % 2 == 0 ? p1 : p2));
+                if (i % 2 == 0) {
+                    membres.add(emp.getEmployeeId());
+                }
+            }
+
+            // ACT
+            List<Long> ids = totesLesPagines(
+                (after, limit) -> Manager.pageEmployeesByProject(p1.getProjectId(), after, limit),
+                Employee::getEmployeeId, 3);
+
+            // ASSERT
+            assertThat(ids).containsExactlyElementsOf(membres);
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE pageProjects() i pageContacts()
+    // ========================================================================
+
+    @Nested
+    @DisplayName("pageProjects() i pageContacts()")
+    class ProjectAndContactPageTests {
+
+        @Test
+        @DisplayName("pageProjects recorre tots els projectes en ordre")
+        void pageProjects_TotesLesPagines() {
+            crearMultiplesProjectes(11);
+            List<Long> ids = totesLesPagines(Manager::pageProjects, Project::getProjectId, 4);
+            assertThat(ids).hasSize(11).doesNotHaveDuplicates().isSorted();
+        }
+
+        @Test
+        @DisplayName("pageContacts i pageContactsByType recorren els contactes en ordre")
+        void pageContacts_TotesLesPagines() {
+            // ARRANGE
+            for (int i = 0; i < 4; i++) {
+                crearEmpleatComplet("Emp" + i, 3, null);
+            }
+
+            // ACT
+            List<Long> tots = totesLesPagines(Manager::pageContacts, Contact::getContactId, 5);
+            List<Long> telefons = totesLesPagines(
+                (after, limit) -> Manager.pageContactsByType("PHONE", after, limit),
+                Contact::getContactId, 3);
+
+            // ASSERT
+            assertThat(tots).hasSize(12).doesNotHaveDuplicates().isSorted();
+            assertThat(telefons).hasSize(4).isSorted();
+        }
+    }
+}
@@ -9,7 +9,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -560,6 +562,34 @@ class ManagerProjectTest extends HibernateTestBase {
                 () -> assertNotNull(Manager.getById(Employee.class, emp2.getEmployeeId()))
             );
         }
+
+        /**
+         * Test: L'eliminació no carrega cap entitat, tingui els membres que tingui.
+         */
+        @Test
+        @DisplayName("Eliminar projecte amb molts membres no carrega entitats")
+        void delete_MoltsMembres_SenseCarregarEntitats() {
+            // ARRANGE
+            List<Long> ids = new ArrayList<>();
+            for (Employee emp : crearMultiplesEmpleats(20)) {
+                ids.add(emp.getEmployeeId());
+            }
+            Manager.assignEmployeesToProject(projecteAEliminar.getProjectId(), ids);
+            Manager.getStatistics().clear();
+
+            // ACT
+            Manager.deleteProject(projecteAEliminar.getProjectId());
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(0, Manager.getStatistics().getEntityLoadCount()),
+                () -> assertThat(Manager.getStatistics().getPrepareStatementCount()).isLessThanOrEqualTo(3),
+                () -> assertNull(Manager.getById(Project.class, projecteAEliminar.getProjectId())),
+                () -> assertThat(Manager.queryTable(
+                    "SELECT employee_id, project_id FROM employee_project")).isEmpty(),
+                () -> assertEquals(20, comptarEntitats(Employee.class))
+            );
+        }
     }
     
     // ========================================================================
@@ -670,4 +700,137 @@ class ManagerProjectTest extends HibernateTestBase {
             );
         }
     }
+    
+    // ========================================================================
+    // TESTS D'ASSIGNACIÓ MASSIVA (employee_project)
+    // ========================================================================
+    
+    /**
+     * Grup de tests per a assignEmployeesToProject() i unassignEmployeesFromProject().
+     */
+    @Nested
+    @DisplayName("MASSIU - Assignació d'empleats directa a employee_project")
+    class BulkStaffingTests {
+        
+        private List<Long> idsEmpleats(int quantitat) {
+            List<Long> ids = new ArrayList<>();
+            for (Employee emp : crearMultiplesEmpleats(quantitat)) {
+                ids.add(emp.getEmployeeId());
+            }
+            return ids;
+        }
+        
+        /**
+         * Test: Assignar molts empleats de cop.
+         */
+        @Test
+        @DisplayName("assignEmployeesToProject assigna tots els empleats")
+        void assign_TotsAssignats() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("Programa");
+            List<Long> ids = idsEmpleats(12);
+            
+            // ACT
+            int inserides = Manager.assignEmployeesToProject(projecte.getProjectId(), ids);
+            
+            // ASSERT
+            assertEquals(12, inserides);
+            assertThat(Manager.findEmployeesByProject(projecte.getProjectId())).hasSize(12);
+        }
+        
+        /**
+         * Test: Les assignacions existents, repetides o d'empleats inexistents s'ignoren.
+         */
+        @Test
+        @DisplayName("Assignacions existents i IDs inexistents s'ignoren")
+        void assign_DuplicatsIInexistents_Ignorats() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("Programa");
+            List<Long> ids = idsEmpleats(3);
+            Manager.assignEmployeesToProject(projecte.getProjectId(), ids.subList(0, 1));
+            
+            List<Long> peticio = new ArrayList<>(ids);
+            peticio.add(ids.get(1));
+            peticio.add(999_999L);
+            
+            // ACT
+            int inserides = Manager.assignEmployeesToProject(projecte.getProjectId(), peticio);
+            
+            // ASSERT
+            assertEquals(2, inserides);
+            assertThat(Manager.findEmployeesByProject(projecte.getProjectId())).hasSize(3);
+        }
+        
+        /**
+         * Test: L'assignació massiva es veu des del costat de l'empleat.
+         */
+        @Test
+        @DisplayName("Employee.projects reflecteix l'assignació massiva")
+        void assign_VisibleDesDeEmpleat() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("Programa");
+            List<Long> ids = idsEmpleats(1);
+            
+            // ACT
+            Manager.assignEmployeesToProject(projecte.getProjectId(), ids);
+            
+            // ASSERT
+            Employee emp = Manager.findEmployeesByProject(projecte.getProjectId()).iterator().next();
+            assertThat(emp.getProjects()).extracting(Project::getProjectId)
+                .containsExactly(projecte.getProjectId());
+        }
+        
+        /**
+         * Test: Desassignar només afecta els empleats indicats.
+         */
+        @Test
+        @DisplayName("unassignEmployeesFromProject elimina només els indicats")
+        void unassign_NomesIndicats() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("Programa");
+            List<Long> ids = idsEmpleats(5);
+            Manager.assignEmployeesToProject(projecte.getProjectId(), ids);
+            
+            // ACT
+            int eliminades = Manager.unassignEmployeesFromProject(
+                projecte.getProjectId(), ids.subList(0, 2));
+            
+            // ASSERT
+            assertEquals(2, eliminades);
+            Collection<Employee> restants = Manager.findEmployeesByProject(projecte.getProjectId());
+            assertThat(restants).extracting(Employee::getEmployeeId)
+                .containsExactlyInAnyOrderElementsOf(ids.subList(2, 5));
+        }
+        
+        /**
+         * Test: Projecte inexistent no insereix res.
+         */
+        @Test
+        @DisplayName("Projecte inexistent retorna 0")
+        void assign_ProjecteInexistent_RetornaZero() {
+            assertEquals(0, Manager.assignEmployeesToProject(999_999L, idsEmpleats(2)));
+        }
+        
+        /**
+         * Test: Més IDs que la mida d'un bloc de la clàusula IN.
+         */
+        @Test
+        @DisplayName("Llistes més grans que un bloc IN es processen senceres")
+        void assign_MesDUnBloc_TotsAssignats() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("Gran");
+            List<Employee> nous = new ArrayList<>();
+            for (int i = 0; i < 1_200; i++) {
+                nous.add(new Employee("Massiu" + i, "Cognom", 20000));
+            }
+            List<Long> ids = Manager.addEmployees(nous);
+            
+            // ACT
+            int inserides = Manager.assignEmployeesToProject(projecte.getProjectId(), ids);
+            
+            // ASSERT
+            assertEquals(1_200, inserides);
+            assertEquals(1_200, Manager.unassignEmployeesFromProject(projecte.getProjectId(), ids));
+        }
+    }
 }
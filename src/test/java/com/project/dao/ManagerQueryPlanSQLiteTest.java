@@ -0,0 +1,22 @@
+package com.project.dao;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * TESTS DE L'INFORME DE PLANS D'EXECUCIÓ (SQLite)
+ * ===============================================
+ *
+ * Repeteix els tests de ManagerQueryPlanTest amb SQLite, on els plans es
+ * llegeixen amb EXPLAIN QUERY PLAN i les FK no tenen cap índex implícit.
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests de l'informe de plans d'execució (SQLite)")
+class ManagerQueryPlanSQLiteTest extends ManagerQueryPlanTest {
+
+    @Override
+    protected String propertiesFile() {
+        return "hibernate-test-queryplan-sqlite.properties";
+    }
+}
@@ -0,0 +1,172 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS DE L'INFORME DE PLANS D'EXECUCIÓ
+ * ======================================
+ *
+ * Amb project.query_plan_report=true el Manager registra les sentències que
+ * executa i findFullTableScans() en revisa els plans. Aquí es fan servir
+ * tots els accessos per clau del Manager i es comprova que cap consulta
+ * filtrada recorre una taula sencera.
+ *
+ * No hereta de HibernateTestBase perquè necessita la seva pròpia
+ * configuració. La subclasse ManagerQueryPlanSQLiteTest repeteix els tests
+ * amb SQLite, que no indexa les FK per si sol.
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Tests de l'informe de plans d'execució (H2)")
+class ManagerQueryPlanTest {
+
+    /**
+     * Fitxer de propietats de la configuració a provar.
+     */
+    protected String propertiesFile() {
+        return "hibernate-test-queryplan.properties";
+    }
+
+    @BeforeAll
+    void initHibernate() {
+        Manager.createSessionFactory(propertiesFile());
+    }
+
+    @AfterAll
+    void closeHibernate() {
+        Manager.close();
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        Manager.queryUpdate("DELETE FROM employee_project");
+        Manager.queryUpdate("DELETE FROM contacts");
+        Manager.queryUpdate("DELETE FROM projects");
+        Manager.queryUpdate("DELETE FROM employees");
+        Manager.clearRecordedQueries();
+    }
+
+    // ========================================================================
+    // TESTS DEL REGISTRE
+    // ========================================================================
+
+    /**
+     * Test: Les consultes executades apareixen a l'informe amb el seu pla.
+     */
+    @Test
+    @DisplayName("explainRecordedQueries retorna el pla de les consultes executades")
+    void explainRecordedQueries_RetornaPlans() {
+        // ARRANGE
+        Employee emp = Manager.addEmployee("Anna", "Garcia", 40000);
+        Manager.addContactToEmployee(emp.getEmployeeId(), "EMAIL", "anna@test.com", "Email");
+        Manager.clearRecordedQueries();
+
+        // ACT
+        Manager.findContactsByEmployeeAndType(emp.getEmployeeId(), "EMAIL");
+        List<QueryPlan> plans = Manager.explainRecordedQueries();
+
+        // ASSERT
+        assertFalse(plans.isEmpty());
+        assertTrue(plans.stream().allMatch(p -> !p.plan().isEmpty()));
+        assertTrue(plans.stream().anyMatch(p -> p.sql().contains("contacts")));
+    }
+
+    /**
+     * Test: clearRecordedQueries buida el registre.
+     */
+    @Test
+    @DisplayName("clearRecordedQueries oblida les sentències registrades")
+    void clearRecordedQueries_BuidaElRegistre() {
+        // ARRANGE
+        Manager.listCollection(Employee.class);
+
+        // ACT
+        Manager.clearRecordedQueries();
+
+        // ASSERT
+        assertTrue(Manager.explainRecordedQueries().isEmpty());
+    }
+
+    /**
+     * Test: Una consulta sense índex surt a l'informe.
+     */
+    @Test
+    @DisplayName("findFullTableScans detecta una consulta filtrada sense índex")
+    void findFullTableScans_DetectaRecorregut() {
+        // ACT
+        Manager.queryTable("SELECT firstName, lastName FROM employees WHERE lastName = 'Garcia'");
+        List<QueryPlan> scans = Manager.findFullTableScans();
+
+        // ASSERT
+        assertEquals(1, scans.size());
+        assertTrue(scans.get(0).scannedTables().stream()
+                .anyMatch(t -> t.toLowerCase().contains("employees")));
+    }
+
+    // ========================================================================
+    // TESTS DELS ACCESSOS DEL MANAGER
+    // ========================================================================
+
+    /**
+     * Test: Cap consulta filtrada del Manager recorre una taula sencera.
+     */
+    @Test
+    @DisplayName("Cap accés per clau del Manager fa un recorregut sencer")
+    void accessosPerClau_SenseRecorregutsSencers() {
+        // ARRANGE
+        Project p1 = Manager.addProject("P1", "Projecte 1", "ACTIU");
+        Project p2 = Manager.addProject("P2", "Projecte 2", "PAUSAT");
+        Employee anna = Manager.addEmployee("Anna", "Garcia", 40000);
+        Employee pere = Manager.addEmployee("Pere", "Puig", 35000);
+        Contact email = Manager.addContactToEmployee(anna.getEmployeeId(), "EMAIL", "anna@test.com", "Email");
+        Manager.addContactToEmployee(pere.getEmployeeId(), "PHONE", "666000000", "Telèfon");
+        Manager.updateEmployeeProjects(anna.getEmployeeId(), Set.of(p1, p2));
+        Manager.assignEmployeesToProject(p1.getProjectId(), List.of(pere.getEmployeeId()));
+        Manager.clearRecordedQueries();
+
+        // ACT
+        long annaId = anna.getEmployeeId();
+        long p1Id = p1.getProjectId();
+        Manager.getById(Employee.class, annaId);
+        Manager.findEmployeesByContactType("EMAIL");
+        Manager.findEmployeesByProject(p1Id);
+        Manager.findContactsByEmployeeAndType(annaId, "EMAIL");
+        Manager.updateContact(email.getContactId(), "EMAIL", "anna@empresa.cat", "Feina");
+        Manager.updateEmployee(annaId, "Anna", "Garcia", 42000);
+        Manager.updateProject(p2.getProjectId(), "P2", "Projecte 2", "ACTIU");
+        Manager.findEmployeeSummariesByContactType("EMAIL");
+        Manager.findEmployeeSummariesByProject(p1Id);
+        Manager.findCoworkers(annaId, 10);
+        Manager.pageEmployees(null, 10);
+        Manager.pageEmployees(annaId, 10);
+        Manager.pageEmployeesByContactType("EMAIL", null, 10);
+        Manager.pageEmployeesByProject(p1Id, null, 10);
+        Manager.pageContactsByType("EMAIL", null, 10);
+        Manager.bulkUpdateProjectStatus(List.of(p1Id), "TANCAT");
+        StaffingStats.byProject("TANCAT");
+        StaffingStats.projectCountByEmployee("TANCAT");
+        Manager.unassignEmployeesFromProject(p1Id, List.of(pere.getEmployeeId()));
+        Manager.removeContactFromEmployee(annaId, email.getContactId());
+        Manager.deleteEmployee(pere.getEmployeeId());
+        Manager.deleteProject(p2.getProjectId());
+
+        List<QueryPlan> scans = Manager.findFullTableScans();
+
+        // ASSERT
+        assertTrue(scans.isEmpty(), () -> "Consultes amb recorregut sencer:\n"
+                + String.join("\n", scans.stream()
+                        .map(p -> p.sql() + "\n  " + String.join(" | ", p.plan()))
+                        .toList()));
+    }
+}
@@ -5,9 +5,14 @@ import com.project.domain.Project;
 import com.project.test.HibernateTestBase;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.*;
@@ -25,6 +30,7 @@ import static org.assertj.core.api.Assertions.*;
  * - tableToString(): Formatació de resultats de queries
  * - collectionToString(): Formatació de col·leccions d'entitats
  * - listCollection(): Llistat genèric d'entitats
+ * - streamCollection(): Recorregut d'entitats amb memòria constant
  * 
  * NOTA: Els mètodes de query nativa (queryUpdate, queryTable) s'utilitzen
  * principalment per operacions que no es poden fer eficientment amb HQL
@@ -359,7 +365,8 @@ class ManagerQueryTest extends HibernateTestBase {
             );
             
             List<Object[]> resultats = Manager.queryTable(
-                "SELECT contactType, contact_value, description FROM contacts"
+                "SELECT t.name, c.contact_value, c.description FROM contacts c " +
+                "JOIN contact_types t ON t.id = c.contact_type_id"
             );
             
             // ACT
@@ -570,4 +577,294 @@ class ManagerQueryTest extends HibernateTestBase {
                 );
         }
     }
+
+    // ========================================================================
+    // TESTS D'INICIALITZACIÓ DE COL·LECCIONS
+    // ========================================================================
+
+    /**
+     * Les col·leccions LAZY dels resultats es carreguen amb una subconsulta
+     * per rol (@Fetch(SUBSELECT)), no amb una SELECT per entitat.
+     */
+    @Nested
+    @DisplayName("Inicialització de col·leccions - Nombre de sentències constant")
+    class CollectionInitializationTests {
+
+        /**
+         * Prepara empleats amb contactes i projectes i buida les estadístiques.
+         */
+        private void prepararEmpleats(int quantitat) {
+            Set<Project> projectes = crearMultiplesProjectes(3);
+            for (int i = 0; i < quantitat; i++) {
+                crearEmpleatComplet("Emp" + i, 2, projectes);
+            }
+            Manager.getStatistics().clear();
+        }
+
+        /**
+         * Test: listCollection fa 1 SELECT d'empleats + 1 per col·lecció,
+         * independentment del nombre d'empleats.
+         */
+        @ParameterizedTest
+        @ValueSource(ints = {5, 40})
+        @DisplayName("listCollection fa el mateix nombre de SELECTs per 5 i 40 empleats")
+        void listCollection_SentenciesConstants(int quantitat) {
+            // ARRANGE
+            prepararEmpleats(quantitat);
+
+            // ACT
+            Collection<Employee> resultat = Manager.listCollection(Employee.class);
+
+            // ASSERT
+            assertAll(
+                () -> assertThat(resultat).hasSize(quantitat),
+                () -> assertThat(resultat).allSatisfy(emp -> {
+                    assertEquals(2, emp.getContacts().size());
+                    assertEquals(3, emp.getProjects().size());
+                }),
+                () -> assertEquals(3, Manager.getStatistics().getPrepareStatementCount())
+            );
+        }
+
+        /**
+         * Test: findEmployeesByContactType també inicialitza per subconsulta.
+         */
+        @Test
+        @DisplayName("findEmployeesByContactType no fa una SELECT per empleat")
+        void findEmployeesByContactType_SentenciesConstants() {
+            // ARRANGE
+            prepararEmpleats(25);
+
+            // ACT
+            Collection<Employee> resultat = Manager.findEmployeesByContactType("PHONE");
+
+            // ASSERT
+            assertThat(resultat).hasSize(25)
+                .allSatisfy(emp -> assertEquals(3, emp.getProjects().size()));
+            assertEquals(3, Manager.getStatistics().getPrepareStatementCount());
+        }
+
+        /**
+         * Test: Els projectes llistats porten els empleats inicialitzats.
+         */
+        @Test
+        @DisplayName("listCollection de projectes inicialitza els empleats amb una SELECT")
+        void listCollection_Projectes_EmpleatsInicialitzats() {
+            // ARRANGE
+            prepararEmpleats(10);
+
+            // ACT
+            Collection<Project> resultat = Manager.listCollection(Project.class);
+
+            // ASSERT
+            assertThat(resultat).hasSize(3)
+                .allSatisfy(p -> assertEquals(10, p.getEmployees().size()));
+            assertEquals(2, Manager.getStatistics().getPrepareStatementCount());
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE LES SESSIONS DE NOMÉS LECTURA
+    // ========================================================================
+
+    /**
+     * Grup de tests per al mode de només lectura de les consultes
+     * (project.query.read_only): sense flush al commit i sense deixar
+     * connexions de només lectura al pool.
+     */
+    @Nested
+    @DisplayName("Sessions de només lectura a les consultes")
+    class ReadOnlySessionTests {
+
+        /**
+         * Test: Les consultes no fan cap flush.
+         */
+        @Test
+        @DisplayName("Les consultes no fan flush al commit")
+        void consultes_SenseFlush() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            Employee emp = crearEmpleatComplet("Anna", 2, Set.of(projecte));
+            Manager.getStatistics().clear();
+
+            // ACT
+            Manager.getById(Employee.class, emp.getEmployeeId());
+            Manager.listCollection(Employee.class);
+            Manager.findEmployeesByContactType("EMAIL");
+            Manager.findEmployeesByProject(projecte.getProjectId());
+            Manager.findContactsByEmployeeAndType(emp.getEmployeeId(), "PHONE");
+            Manager.pageEmployees(null, 10);
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(0, Manager.getStatistics().getFlushCount()),
+                () -> assertThat(Manager.getStatistics().getEntityLoadCount()).isPositive()
+            );
+        }
+
+        /**
+         * Test: Sense el mode de només lectura el commit sí que fa flush.
+         */
+        @Test
+        @DisplayName("Amb project.query.read_only desactivat el commit fa flush")
+        void consultes_ModeDesactivat_FaFlush() {
+            // ARRANGE
+            Employee emp = crearEmpleatProva("Anna", "Puig");
+            Manager.getStatistics().clear();
+
+            // ACT
+            Manager.setReadOnlyQueries(false);
+            try {
+                Manager.getById(Employee.class, emp.getEmployeeId());
+            } finally {
+                Manager.setReadOnlyQueries(true);
+            }
+
+            // ASSERT
+            assertEquals(1, Manager.getStatistics().getFlushCount());
+        }
+
+        /**
+         * Test: Amb H2 la connexió de la consulta es posa en només lectura.
+         */
+        @Test
+        @DisplayName("La connexió JDBC de la consulta es posa en només lectura")
+        void consulta_ConnexioNomesLectura() {
+            // ACT
+            Object readOnly = Manager.inReadOnlySession("readOnly",
+                session -> session.getProperties().get(Manager.JDBC_READ_ONLY_PROPERTY));
+
+            // ASSERT
+            assertTrue(Manager.isJdbcReadOnlySupported());
+            assertEquals(Boolean.TRUE, readOnly);
+        }
+
+        /**
+         * Test: Després de llegir es pot continuar escrivint (la connexió
+         * no torna al pool en mode només lectura).
+         */
+        @Test
+        @DisplayName("Les escriptures posteriors a una lectura funcionen")
+        void escripturaDespresDeLectura_Funciona() {
+            // ARRANGE
+            Employee emp = crearEmpleatProva("Anna", "Puig", 30000);
+            Employee llegit = Manager.getById(Employee.class, emp.getEmployeeId());
+
+            // ACT
+            Manager.updateEmployee(llegit.getEmployeeId(), "Anna", "Puig", 35000);
+
+            // ASSERT
+            assertEquals(35000, Manager.<Employee>getById(Employee.class, emp.getEmployeeId()).getSalary());
+        }
+
+        /**
+         * Test: Les dades d'una entitat llegida serveixen per actualitzar-la.
+         */
+        @Test
+        @DisplayName("Es pot actualitzar un projecte a partir d'una lectura")
+        void entitatLlegida_EsPotDesar() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            Project llegit = Manager.getById(Project.class, projecte.getProjectId());
+
+            // ACT
+            Manager.updateProject(llegit.getProjectId(), llegit.getName(),
+                llegit.getDescription(), "COMPLETAT");
+
+            // ASSERT
+            assertEquals("COMPLETAT",
+                Manager.<Project>getById(Project.class, projecte.getProjectId()).getStatus());
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE streamCollection()
+    // ========================================================================
+
+    /**
+     * Grup de tests per a streamCollection(), la variant de listCollection
+     * amb memòria constant (la prova amb 1M de files és a StreamCollectionBenchmark).
+     */
+    @Nested
+    @DisplayName("streamCollection() - Recorregut amb memòria constant")
+    class StreamCollectionTests {
+
+        /**
+         * Test: Es visiten totes les files, encara que n'hi hagi més que el fetch size.
+         */
+        @Test
+        @DisplayName("streamCollection visita totes les entitats")
+        void streamCollection_VisitaTotes() {
+            // ARRANGE
+            List<Employee> empleats = new ArrayList<>();
+            for (int i = 0; i < 250; i++) {
+                empleats.add(new Employee("Stream" + i, "Cognom", 20000 + i));
+            }
+            Manager.addEmployees(empleats);
+            Set<Long> vistos = new HashSet<>();
+
+            // ACT
+            long total = Manager.streamCollection(Employee.class, 40,
+                emp -> vistos.add(emp.getEmployeeId()));
+
+            // ASSERT
+            assertEquals(250, total);
+            assertThat(vistos).hasSize(250);
+        }
+
+        /**
+         * Test: Dins del consumer es poden llegir les col·leccions LAZY.
+         */
+        @Test
+        @DisplayName("Les col·leccions LAZY es poden llegir dins del consumer")
+        void streamCollection_ColleccionsAccessibles() {
+            // ARRANGE
+            Set<Project> projectes = crearMultiplesProjectes(2);
+            crearEmpleatComplet("Anna", 3, projectes);
+            crearEmpleatComplet("Pere", 1, projectes);
+            List<Integer> contactes = new ArrayList<>();
+
+            // ACT
+            Manager.streamCollection(Employee.class, 1, emp -> {
+                contactes.add(emp.getContacts().size());
+                assertEquals(2, emp.getProjects().size());
+            });
+
+            // ASSERT
+            assertThat(contactes).containsExactlyInAnyOrder(3, 1);
+        }
+
+        /**
+         * Test: Taula buida retorna 0 sense cridar el consumer.
+         */
+        @Test
+        @DisplayName("Taula buida retorna 0")
+        void streamCollection_TaulaBuida_Zero() {
+            assertEquals(0, Manager.streamCollection(Project.class,
+                p -> Assertions.fail("No s'hauria de cridar")));
+        }
+
+        /**
+         * Test: Un fetch size invàlid es rebutja.
+         */
+        @Test
+        @DisplayName("fetchSize no positiu llança IllegalArgumentException")
+        void streamCollection_FetchSizeInvalid_Excepcio() {
+            assertThrows(IllegalArgumentException.class,
+                () -> Manager.streamCollection(Employee.class, 0, emp -> {}));
+        }
+
+        /**
+         * Test: Una excepció del consumer arriba al que crida.
+         */
+        @Test
+        @DisplayName("Una excepció del consumer es propaga")
+        void streamCollection_ExcepcioConsumer_EsPropaga() {
+            crearEmpleatProva();
+            assertThrows(IllegalStateException.class,
+                () -> Manager.streamCollection(Employee.class, emp -> {
+                    throw new IllegalStateException("error de prova");
+                }));
+        }
+    }
 }
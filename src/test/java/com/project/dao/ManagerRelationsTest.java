@@ -7,8 +7,10 @@ import com.project.test.HibernateTestBase;
 
 import org.junit.jupiter.api.*;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -558,4 +560,209 @@ class ManagerRelationsTest extends HibernateTestBase {
             );
         }
     }
+    
+    // ========================================================================
+    // TESTS D'ACTUALITZACIÓ PER DIFERÈNCIA (updateEmployeeProjects)
+    // ========================================================================
+    
+    /**
+     * Grup de tests que verifiquen que updateEmployeeProjects només
+     * toca les files d'employee_project que realment canvien.
+     * 
+     * Utilitzen les estadístiques d'Hibernate (generate_statistics=true
+     * a hibernate-test.properties) per comptar sentències.
+     */
+    @Nested
+    @DisplayName("updateEmployeeProjects per diferència")
+    class DeltaProjectUpdateTests {
+        
+        /**
+         * Test: Si el conjunt no canvia, no s'actualitza la col·lecció.
+         */
+        @Test
+        @DisplayName("Conjunt sense canvis no escriu a employee_project")
+        void mateixConjunt_NoEscriu() {
+            // ARRANGE
+            Employee emp = Manager.addEmployee("Delta", "Igual", 30000);
+            Project p1 = Manager.addProject("P1", "D", "ACTIU");
+            Project p2 = Manager.addProject("P2", "D", "ACTIU");
+            Manager.updateEmployeeProjects(emp.getEmployeeId(), Set.of(p1, p2));
+            Manager.getStatistics().clear();
+            
+            // ACT
+            Manager.updateEmployeeProjects(emp.getEmployeeId(), Set.of(p1, p2));
+            
+            // ASSERT - Només SELECT de l'empleat i de la seva col·lecció
+            assertAll(
+                () -> assertEquals(0, Manager.getStatistics().getCollectionUpdateCount()),
+                () -> assertEquals(0, Manager.getStatistics().getCollectionRecreateCount()),
+                () -> assertThat(Manager.getStatistics().getPrepareStatementCount()).isLessThanOrEqualTo(2)
+            );
+        }
+        
+        /**
+         * Test: Els projectes nous es carreguen amb una sola consulta.
+         */
+        @Test
+        @DisplayName("Projectes nous es resolen amb una sola consulta")
+        void projectesNous_UnaSolaConsulta() {
+            // ARRANGE
+            Employee emp = Manager.addEmployee("Delta", "Nous", 30000);
+            Set<Project> projectes = crearMultiplesProjectes(5);
+            Manager.getStatistics().clear();
+            
+            // ACT
+            Manager.updateEmployeeProjects(emp.getEmployeeId(), projectes);
+            
+            // ASSERT - empleat + col·lecció + multiLoad + INSERT en batch
+            assertThat(Manager.getStatistics().getPrepareStatementCount()).isLessThanOrEqualTo(4);
+            assertThat(Manager.findEmployeesByProject(
+                projectes.iterator().next().getProjectId())).hasSize(1);
+        }
+        
+        /**
+         * Test: Canvi parcial conserva els comuns, treu els sobrants i afegeix els nous.
+         */
+        @Test
+        @DisplayName("Canvi parcial aplica només la diferència")
+        void canviParcial_AplicaDiferencia() {
+            // ARRANGE
+            Employee emp = Manager.addEmployee("Delta", "Parcial", 30000);
+            Project p1 = Manager.addProject("P1", "D", "ACTIU");
+            Project p2 = Manager.addProject("P2", "D", "ACTIU");
+            Project p3 = Manager.addProject("P3", "D", "ACTIU");
+            Manager.updateEmployeeProjects(emp.getEmployeeId(), Set.of(p1, p2));
+            
+            // ACT
+            Manager.updateEmployeeProjects(emp.getEmployeeId(), Set.of(p2, p3));
+            
+            // ASSERT
+            assertAll(
+                () -> assertThat(Manager.findEmployeesByProject(p1.getProjectId())).isEmpty(),
+                () -> assertThat(Manager.findEmployeesByProject(p2.getProjectId())).hasSize(1),
+                () -> assertThat(Manager.findEmployeesByProject(p3.getProjectId())).hasSize(1),
+                () -> assertEquals(2, Manager.queryTable(
+                    "SELECT employee_id, project_id FROM employee_project WHERE employee_id = "
+                    + emp.getEmployeeId()).size())
+            );
+        }
+        
+        /**
+         * Test: Projectes inexistents o sense ID s'ignoren.
+         */
+        @Test
+        @DisplayName("Projectes inexistents s'ignoren")
+        void projecteInexistent_Ignorat() {
+            // ARRANGE
+            Employee emp = Manager.addEmployee("Delta", "Fantasma", 30000);
+            Project real = Manager.addProject("Real", "D", "ACTIU");
+            Project fantasma = new Project("Fantasma", "D", "ACTIU");
+            fantasma.setProjectId(999_999L);
+            Project nou = new Project("SenseId", "D", "ACTIU");
+            
+            // ACT
+            Manager.updateEmployeeProjects(emp.getEmployeeId(), Set.of(real, fantasma, nou));
+            
+            // ASSERT
+            assertEquals(1, Manager.queryTable(
+                "SELECT employee_id, project_id FROM employee_project WHERE employee_id = "
+                + emp.getEmployeeId()).size());
+        }
+    }
+    
+    // ========================================================================
+    // TESTS DE findCoworkers() (AUTOCOMBINACIÓ D'employee_project)
+    // ========================================================================
+    
+    /**
+     * Grup de tests per a findCoworkers().
+     */
+    @Nested
+    @DisplayName("findCoworkers() - Companys per projectes compartits")
+    class CoworkerTests {
+        
+        /**
+         * Test: Els companys surten ordenats per projectes compartits.
+         */
+        @Test
+        @DisplayName("Ordena per projectes compartits i exclou l'empleat")
+        void findCoworkers_OrdenatsPerProjectesCompartits() {
+            // ARRANGE
+            Project p1 = Manager.addProject("P1", "D", "ACTIU");
+            Project p2 = Manager.addProject("P2", "D", "ACTIU");
+            Project p3 = Manager.addProject("P3", "D", "ACTIU");
+            Project altre = Manager.addProject("Altre", "D", "ACTIU");
+            Employee anna = crearEmpleatComplet("Anna", 0, Set.of(p1, p2, p3));
+            Employee pere = crearEmpleatComplet("Pere", 0, Set.of(p1));
+            Employee marta = crearEmpleatComplet("Marta", 0, Set.of(p1, p2, p3, altre));
+            Employee joan = crearEmpleatComplet("Joan", 0, Set.of(p2, p3));
+            crearEmpleatComplet("Aliè", 0, Set.of(altre));
+            
+            // ACT
+            List<Coworker> companys = Manager.findCoworkers(anna.getEmployeeId(), 10);
+            
+            // ASSERT
+            assertThat(companys)
+                .extracting(Coworker::id, Coworker::sharedProjects)
+                .containsExactly(
+                    tuple(marta.getEmployeeId(), 3L),
+                    tuple(joan.getEmployeeId(), 2L),
+                    tuple(pere.getEmployeeId(), 1L));
+            assertEquals("Marta", companys.get(0).firstName());
+        }
+        
+        /**
+         * Test: El límit es respecta i els empats s'ordenen per ID.
+         */
+        @Test
+        @DisplayName("Respecta el límit i desempata per ID")
+        void findCoworkers_Limit() {
+            // ARRANGE
+            Project p1 = Manager.addProject("P1", "D", "ACTIU");
+            Employee anna = crearEmpleatComplet("Anna", 0, Set.of(p1));
+            List<Long> altres = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                altres.add(crearEmpleatComplet("Emp" + i, 0, Set.of(p1)).getEmployeeId());
+            }
+            altres.sort(null);
+            
+            // ACT
+            List<Coworker> companys = Manager.findCoworkers(anna.getEmployeeId(), 3);
+            
+            // ASSERT
+            assertThat(companys).extracting(Coworker::id).containsExactlyElementsOf(altres.subList(0, 3));
+        }
+        
+        /**
+         * Test: Sense projectes no hi ha companys; límit invàlid és un error.
+         */
+        @Test
+        @DisplayName("Sense projectes retorna buit i límit 0 és invàlid")
+        void findCoworkers_SenseProjectes() {
+            Employee sol = crearEmpleatProva();
+            assertAll(
+                () -> assertThat(Manager.findCoworkers(sol.getEmployeeId(), 5)).isEmpty(),
+                () -> assertThrows(IllegalArgumentException.class,
+                    () -> Manager.findCoworkers(sol.getEmployeeId(), 0))
+            );
+        }
+        
+        /**
+         * Test: El pla de H2 fa servir la PK i l'índex per projecte.
+         */
+        @Test
+        @DisplayName("El pla fa servir els índexs d'employee_project")
+        void findCoworkers_PlaAmbIndexs() {
+            // ACT
+            StringBuilder pla = new StringBuilder();
+            for (Object fila : Manager.queryTable(
+                    "EXPLAIN " + Manager.COWORKERS_SQL.replace(":id", "1").replace(":limit", "10"))) {
+                pla.append(fila).append('\n');
+            }
+            
+            // ASSERT
+            assertThat(pla.toString().toUpperCase())
+                .contains("IDX_EMPLOYEE_PROJECT_PROJECT");
+        }
+    }
 }
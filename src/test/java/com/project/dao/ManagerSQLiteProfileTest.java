@@ -0,0 +1,189 @@
+package com.project.dao;
+
+import com.project.domain.Employee;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS DEL PERFIL DE RENDIMENT DE SQLITE
+ * =======================================
+ *
+ * Amb SQLiteDialect el Manager aplica les pragmes de project.sqlite.profile
+ * (performance per defecte) a cada connexió que obre el driver.
+ *
+ * Comprova:
+ * - Que cada pragma del perfil té el valor esperat
+ * - Que project.sqlite.<pragma> canvia el valor del perfil
+ * - Que totes les connexions del pool les tenen, no només la primera
+ * - Que les consultes no intenten posar la connexió en només lectura
+ *
+ * No hereta de HibernateTestBase perquè necessita SQLite
+ * (hibernate-test-sqlite-profile.properties).
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Tests del perfil de SQLite")
+class ManagerSQLiteProfileTest {
+
+    /**
+     * hibernate.hikari.maximumPoolSize de la configuració.
+     */
+    private static final int POOL_SIZE = 4;
+
+    private static final String PROPERTIES = "hibernate-test-sqlite-profile.properties";
+
+    @BeforeAll
+    void initHibernate() {
+        Manager.createSessionFactory(PROPERTIES);
+    }
+
+    @AfterAll
+    void closeHibernate() {
+        Manager.close();
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        Manager.queryUpdate("DELETE FROM employee_project");
+        Manager.queryUpdate("DELETE FROM contacts");
+        Manager.queryUpdate("DELETE FROM projects");
+        Manager.queryUpdate("DELETE FROM employees");
+    }
+
+    /**
+     * Valor d'una pragma a la connexió que faci servir la consulta.
+     */
+    private static String pragma(String name) {
+        return Manager.inReadOnlySession("PRAGMA " + name, session -> session.doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("PRAGMA " + name)) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }));
+    }
+
+    // ========================================================================
+    // TESTS DE LES PRAGMES
+    // ========================================================================
+
+    /**
+     * Test: El perfil posa la BD en mode WAL.
+     */
+    @Test
+    @DisplayName("journal_mode és WAL")
+    void journalMode_WAL() {
+        assertEquals("wal", pragma("journal_mode").toLowerCase());
+    }
+
+    /**
+     * Test: synchronous i temp_store del perfil.
+     */
+    @Test
+    @DisplayName("synchronous és NORMAL (1) i temp_store és MEMORY (2)")
+    void synchronousITempStore() {
+        assertAll(
+            () -> assertEquals("1", pragma("synchronous")),
+            () -> assertEquals("2", pragma("temp_store"))
+        );
+    }
+
+    /**
+     * Test: mmap_size i busy_timeout del perfil.
+     */
+    @Test
+    @DisplayName("mmap_size i busy_timeout tenen els valors del perfil")
+    void mmapSizeIBusyTimeout() {
+        assertAll(
+            () -> assertEquals("268435456", pragma("mmap_size")),
+            () -> assertEquals("5000", pragma("busy_timeout"))
+        );
+    }
+
+    /**
+     * Test: Una pragma configurada té prioritat sobre el perfil.
+     */
+    @Test
+    @DisplayName("project.sqlite.cache_size substitueix el valor del perfil")
+    void cacheSize_Configurat() {
+        assertEquals("-8192", pragma("cache_size"));
+    }
+
+    /**
+     * Test: Amb SQLite es decideix en crear la SessionFactory, abans de cap
+     * consulta, que no es posa la connexió en només lectura (el driver no
+     * ho permet amb la connexió oberta i registraria un ERROR).
+     */
+    @Test
+    @DisplayName("Les consultes no canvien el mode de només lectura de SQLite")
+    void consulta_NoCanviaReadOnly() {
+        // ARRANGE
+        Manager.createSessionFactory(PROPERTIES);
+        assertFalse(Manager.isJdbcReadOnlySupported());
+        Manager.addEmployee("Anna", "Garcia", 40000);
+
+        // ACT
+        Object marcada = Manager.inReadOnlySession("readOnly", session -> {
+            session.createQuery("FROM Employee", Employee.class).list();
+            return session.getProperties().get(Manager.JDBC_READ_ONLY_PROPERTY);
+        });
+
+        // ASSERT
+        assertNull(marcada);
+        assertEquals(1, Manager.listCollection(Employee.class).size());
+    }
+
+    /**
+     * Test: Amb POOL_SIZE fils ocupant una connexió cadascun a la vegada,
+     * totes les connexions del pool tenen el perfil aplicat.
+     */
+    @Test
+    @DisplayName("Totes les connexions del pool tenen les pragmes")
+    void totesLesConnexions_TenenElPerfil() throws Exception {
+        // ARRANGE
+        Manager.addEmployee("Anna", "Garcia", 40000);
+        ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE);
+        CountDownLatch tots = new CountDownLatch(POOL_SIZE);
+        List<Future<String>> resultats = new ArrayList<>();
+
+        // ACT
+        try {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                resultats.add(executor.submit(() -> Manager.inReadOnlySession("pragmes", session -> {
+                    // Cada fil reté la seva connexió fins que tots en tenen una
+                    session.createQuery("FROM Employee", Employee.class).list();
+                    tots.countDown();
+                    try {
+                        tots.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return session.createNativeQuery(
+                            "SELECT journal_mode || ',' || (SELECT synchronous FROM pragma_synchronous) "
+                            + "FROM pragma_journal_mode", String.class).getSingleResult();
+                })));
+            }
+
+            // ASSERT
+            for (Future<String> resultat : resultats) {
+                assertEquals("wal,1", resultat.get().toLowerCase());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(POOL_SIZE, Manager.getPoolMetrics().total());
+    }
+}
@@ -0,0 +1,493 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+import com.project.test.HibernateTestBase;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTS DE LA CACHE DE SEGON NIVELL
+ * =================================
+ *
+ * Employee, Project, Contact i les col·leccions Employee.contacts,
+ * Employee.projects i Project.employees es guarden a la cache (ehcache.xml).
+ *
+ * Comprova:
+ * - Que les lectures repetides no van a la BD
+ * - Que cada mètode d'escriptura del Manager invalida el que toca
+ *   (la lectura posterior veu el canvi)
+ * - Els comptadors per region de getCacheRegionStatistics()
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests de la Cache de Segon Nivell")
+class ManagerSecondLevelCacheTest extends HibernateTestBase {
+
+    // ========================================================================
+    // MÈTODES D'UTILITAT
+    // ========================================================================
+
+    /**
+     * Llegeix l'empleat i els membres del projecte perquè quedin a la cache.
+     */
+    private void escalfar(Employee emp, Project projecte) {
+        llegirAmbColleccions(emp.getEmployeeId());
+        Manager.findEmployeesByProject(projecte.getProjectId());
+    }
+
+    private Employee llegirEmpleat(long id) {
+        return Manager.getById(Employee.class, id);
+    }
+
+    /**
+     * Llegeix l'empleat amb les col·leccions inicialitzades (listCollection
+     * les inicialitza des de la cache si hi són).
+     */
+    private Employee llegirAmbColleccions(long id) {
+        return Manager.listCollection(Employee.class).stream()
+                      .filter(emp -> emp.getEmployeeId() == id)
+                      .findFirst()
+                      .orElse(null);
+    }
+
+    private List<Long> membres(Project projecte) {
+        return Manager.findEmployeesByProject(projecte.getProjectId()).stream()
+                      .map(Employee::getEmployeeId)
+                      .sorted()
+                      .toList();
+    }
+
+    // ========================================================================
+    // TESTS DE LECTURA DES DE LA CACHE
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Lectures servides per la cache")
+    class CacheHitTests {
+
+        /**
+         * Test: El segon getById no fa cap SELECT.
+         */
+        @Test
+        @DisplayName("getById repetit no va a la BD")
+        void getById_SegonaCrida_SenseSentencies() {
+            // ARRANGE
+            Employee emp = crearEmpleatProva("Anna", "Puig", 30000);
+            llegirEmpleat(emp.getEmployeeId());
+            Manager.getStatistics().clear();
+
+            // ACT
+            Employee llegit = llegirEmpleat(emp.getEmployeeId());
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(0, Manager.getStatistics().getPrepareStatementCount()),
+                () -> assertEquals(30000, llegit.getSalary()),
+                () -> assertEquals(1, Manager.getStatistics().getSecondLevelCacheHitCount())
+            );
+        }
+
+        /**
+         * Test: findEmployeesByProject repetit no va a la BD.
+         */
+        @Test
+        @DisplayName("findEmployeesByProject repetit no va a la BD")
+        void findEmployeesByProject_SegonaCrida_SenseSentencies() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            for (int i = 0; i < 5; i++) {
+                crearEmpleatComplet("Emp" + i, 2, Set.of(projecte));
+            }
+            Manager.findEmployeesByProject(projecte.getProjectId());
+            Manager.getStatistics().clear();
+
+            // ACT
+            var resultat = Manager.findEmployeesByProject(projecte.getProjectId());
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(0, Manager.getStatistics().getPrepareStatementCount()),
+                () -> assertThat(resultat).hasSize(5).allSatisfy(emp -> {
+                    assertEquals(2, emp.getContacts().size());
+                    assertEquals(1, emp.getProjects().size());
+                })
+            );
+        }
+
+        /**
+         * Test: Els comptadors per region reflecteixen encerts i fallades.
+         */
+        @Test
+        @DisplayName("getCacheRegionStatistics compta encerts i fallades per region")
+        void getCacheRegionStatistics_EncertsIFallades() {
+            // ARRANGE
+            Employee emp = crearEmpleatProva("Anna", "Puig");
+            Manager.evictSecondLevelCache();
+            Manager.getStatistics().clear();
+
+            // ACT
+            llegirEmpleat(emp.getEmployeeId());
+            llegirEmpleat(emp.getEmployeeId());
+            Map<String, CacheRegionStatistics> regions = Manager.getCacheRegionStatistics();
+
+            // ASSERT
+            assertThat(regions).containsKeys("employees", "contacts", "projects",
+                    "employees.contacts", "employees.projects", "projects.employees");
+            assertAll(
+                () -> assertEquals(1, regions.get("employees").getMissCount()),
+                () -> assertEquals(1, regions.get("employees").getHitCount()),
+                () -> assertEquals(0, regions.get("contacts").getHitCount())
+            );
+        }
+    }
+
+    // ========================================================================
+    // TESTS D'INVALIDACIÓ PER LES ESCRIPTURES
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Invalidació en escriure amb el Manager")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("updateEmployee")
+        void updateEmployee_Invalida() {
+            Employee emp = crearEmpleatProva("Anna", "Puig", 30000);
+            llegirEmpleat(emp.getEmployeeId());
+
+            Manager.updateEmployee(emp.getEmployeeId(), "Anna", "Puig", 35000);
+
+            assertEquals(35000, llegirEmpleat(emp.getEmployeeId()).getSalary());
+        }
+
+        @Test
+        @DisplayName("addContactToEmployee, updateContact i removeContactFromEmployee")
+        void contactes_Invalida() {
+            // ARRANGE
+            Employee emp = crearEmpleatProva("Anna", "Puig");
+            Contact contacte = crearContacteProva(emp.getEmployeeId(), "EMAIL", "anna@test.com");
+            llegirAmbColleccions(emp.getEmployeeId());
+            Manager.getById(Contact.class, contacte.getContactId());
+
+            // ACT i ASSERT
+            Manager.addContactToEmployee(emp.getEmployeeId(), "PHONE", "666", "Mòbil");
+            assertEquals(2, llegirAmbColleccions(emp.getEmployeeId()).getContacts().size());
+
+            Manager.updateContact(contacte.getContactId(), "EMAIL", "nou@test.com", "Email");
+            assertEquals("nou@test.com",
+                Manager.<Contact>getById(Contact.class, contacte.getContactId()).getValue());
+
+            Manager.removeContactFromEmployee(emp.getEmployeeId(), contacte.getContactId());
+            assertThat(llegirAmbColleccions(emp.getEmployeeId()).getContacts())
+                .extracting(Contact::getContactType)
+                .containsExactly("PHONE");
+        }
+
+        @Test
+        @DisplayName("addContacts massiu")
+        void addContacts_Invalida() {
+            // ARRANGE
+            Employee emp = crearEmpleatComplet("Anna", 1, null);
+            llegirAmbColleccions(emp.getEmployeeId());
+            Contact nou = new Contact("PHONE", "666", "Mòbil");
+            nou.setEmployee(emp);
+
+            // ACT
+            Manager.addContacts(List.of(nou));
+
+            // ASSERT
+            assertEquals(2, llegirAmbColleccions(emp.getEmployeeId()).getContacts().size());
+        }
+
+        @Test
+        @DisplayName("updateEmployeeProjects invalida els dos costats")
+        void updateEmployeeProjects_Invalida() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Project p2 = crearProjecteProva("P2");
+            Employee emp = crearEmpleatComplet("Anna", 0, Set.of(p1));
+            escalfar(emp, p1);
+            membres(p2);
+
+            // ACT
+            Manager.updateEmployeeProjects(emp.getEmployeeId(), Set.of(p2));
+
+            // ASSERT
+            assertAll(
+                () -> assertThat(membres(p1)).isEmpty(),
+                () -> assertThat(membres(p2)).containsExactly(emp.getEmployeeId()),
+                () -> assertThat(llegirAmbColleccions(emp.getEmployeeId()).getProjects())
+                        .extracting(Project::getProjectId)
+                        .containsExactly(p2.getProjectId())
+            );
+        }
+
+        @Test
+        @DisplayName("assignEmployeesToProject i unassignEmployeesFromProject")
+        void assignacioMassiva_Invalida() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            Employee emp = crearEmpleatProva("Anna", "Puig");
+            escalfar(emp, projecte);
+
+            // ACT i ASSERT
+            Manager.assignEmployeesToProject(projecte.getProjectId(), List.of(emp.getEmployeeId()));
+            assertThat(membres(projecte)).containsExactly(emp.getEmployeeId());
+            assertEquals(1, llegirAmbColleccions(emp.getEmployeeId()).getProjects().size());
+
+            Manager.unassignEmployeesFromProject(projecte.getProjectId(), List.of(emp.getEmployeeId()));
+            assertThat(membres(projecte)).isEmpty();
+            assertThat(llegirAmbColleccions(emp.getEmployeeId()).getProjects()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("deleteEmployee")
+        void deleteEmployee_Invalida() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            Employee emp = crearEmpleatComplet("Anna", 2, Set.of(projecte));
+            escalfar(emp, projecte);
+
+            // ACT
+            Manager.deleteEmployee(emp.getEmployeeId());
+
+            // ASSERT
+            assertAll(
+                () -> assertNull(llegirEmpleat(emp.getEmployeeId())),
+                () -> assertThat(membres(projecte)).isEmpty()
+            );
+        }
+
+        @Test
+        @DisplayName("delete genèric d'un empleat i d'un contacte")
+        void deleteGeneric_Invalida() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            Employee emp = crearEmpleatComplet("Anna", 0, Set.of(projecte));
+            Employee altre = crearEmpleatComplet("Pere", 0, null);
+            Contact contacte = crearContacteProva(altre.getEmployeeId(), "EMAIL", "pere@test.com");
+            escalfar(emp, projecte);
+
+            // ACT
+            Manager.delete(Employee.class, emp.getEmployeeId());
+            Manager.delete(Contact.class, contacte.getContactId());
+
+            // ASSERT
+            assertAll(
+                () -> assertThat(membres(projecte)).isEmpty(),
+                () -> assertThat(llegirAmbColleccions(altre.getEmployeeId()).getContacts()).isEmpty()
+            );
+        }
+
+        @Test
+        @DisplayName("deleteProject, updateProject i bulkUpdateProjectStatus")
+        void projectes_Invalida() {
+            // ARRANGE
+            Project p1 = crearProjecteProva("P1");
+            Project p2 = crearProjecteProva("P2");
+            Employee emp = crearEmpleatComplet("Anna", 0, Set.of(p1, p2));
+            escalfar(emp, p1);
+            Manager.getById(Project.class, p2.getProjectId());
+
+            // ACT i ASSERT
+            Manager.deleteProject(p1.getProjectId());
+            assertThat(llegirAmbColleccions(emp.getEmployeeId()).getProjects())
+                .extracting(Project::getProjectId)
+                .containsExactly(p2.getProjectId());
+
+            Manager.updateProject(p2.getProjectId(), "P2", "Nova", "ACTIU");
+            assertEquals("Nova", Manager.<Project>getById(Project.class, p2.getProjectId()).getDescription());
+
+            Manager.bulkUpdateProjectStatus(List.of(p2.getProjectId()), "COMPLETAT");
+            assertEquals("COMPLETAT", Manager.<Project>getById(Project.class, p2.getProjectId()).getStatus());
+        }
+
+        @Test
+        @DisplayName("deleteContactsByType i adjustSalaries")
+        void operacionsMassives_Invalida() {
+            // ARRANGE
+            Employee emp = crearEmpleatComplet("Anna", 3, null);
+            llegirAmbColleccions(emp.getEmployeeId());
+
+            // ACT i ASSERT
+            Manager.deleteContactsByType("EMAIL");
+            assertThat(llegirAmbColleccions(emp.getEmployeeId()).getContacts())
+                .extracting(Contact::getContactType)
+                .containsExactlyInAnyOrder("PHONE", "ADDRESS");
+
+            Manager.adjustSalaries(CriteriaFilter.all(), 10.0);
+            assertEquals(44000, llegirEmpleat(emp.getEmployeeId()).getSalary());
+        }
+
+        @Test
+        @DisplayName("queryUpdate amb SQL natiu")
+        void queryUpdate_Invalida() {
+            Employee emp = crearEmpleatProva("Anna", "Puig", 30000);
+            llegirEmpleat(emp.getEmployeeId());
+
+            Manager.queryUpdate("UPDATE employees SET salary = 31000 WHERE id = " + emp.getEmployeeId());
+
+            assertEquals(31000, llegirEmpleat(emp.getEmployeeId()).getSalary());
+        }
+    }
+
+    // ========================================================================
+    // TESTS DE LA CACHE DE CONSULTES
+    // ========================================================================
+
+    /**
+     * findEmployeesByContactType i findEmployeesByProject guarden el resultat
+     * a la region lookups.employees. Cada resultat s'invalida només quan
+     * canvia alguna de les taules que consulta.
+     */
+    @Nested
+    @DisplayName("Cache de consultes de findEmployeesByContactType i findEmployeesByProject")
+    class QueryCacheTests {
+
+        /**
+         * Test: La segona crida amb els mateixos paràmetres no va a la BD.
+         */
+        @Test
+        @DisplayName("La mateixa consulta repetida surt de la cache")
+        void findEmployeesByContactType_Repetida_DeLaCache() {
+            // ARRANGE
+            for (int i = 0; i < 4; i++) {
+                crearEmpleatComplet("Emp" + i, 2, null);
+            }
+            Manager.findEmployeesByContactType("EMAIL");
+            Manager.getStatistics().clear();
+
+            // ACT
+            var resultat = Manager.findEmployeesByContactType("EMAIL");
+
+            // ASSERT
+            assertAll(
+                () -> assertThat(resultat).hasSize(4)
+                        .allSatisfy(emp -> assertEquals(2, emp.getContacts().size())),
+                () -> assertEquals(1, Manager.getStatistics().getQueryCacheHitCount()),
+                () -> assertEquals(0, Manager.getStatistics().getPrepareStatementCount())
+            );
+        }
+
+        /**
+         * Test: Cada valor del paràmetre té la seva entrada.
+         */
+        @Test
+        @DisplayName("Paràmetres diferents no comparteixen resultat")
+        void findEmployeesByContactType_ParametresDiferents() {
+            // ARRANGE
+            Employee ambEmail = crearEmpleatComplet("Anna", 1, null);
+            Employee ambTelefon = crearEmpleatProva("Pere", "Puig");
+            crearContacteProva(ambTelefon.getEmployeeId(), "PHONE", "666");
+
+            // ACT
+            var emails = Manager.findEmployeesByContactType("EMAIL");
+            var telefons = Manager.findEmployeesByContactType("PHONE");
+
+            // ASSERT
+            assertThat(emails).extracting(Employee::getEmployeeId).containsExactly(ambEmail.getEmployeeId());
+            assertThat(telefons).extracting(Employee::getEmployeeId).containsExactly(ambTelefon.getEmployeeId());
+        }
+
+        /**
+         * Test: Un canvi a contacts invalida la consulta per tipus de contacte.
+         */
+        @Test
+        @DisplayName("Afegir un contacte invalida la consulta per tipus")
+        void findEmployeesByContactType_NouContacte_Invalida() {
+            // ARRANGE
+            crearEmpleatComplet("Anna", 1, null);
+            Employee pere = crearEmpleatProva("Pere", "Puig");
+            assertThat(Manager.findEmployeesByContactType("EMAIL")).hasSize(1);
+
+            // ACT
+            Manager.addContactToEmployee(pere.getEmployeeId(), "EMAIL", "pere@test.com", "Email");
+
+            // ASSERT
+            assertThat(Manager.findEmployeesByContactType("EMAIL")).hasSize(2);
+        }
+
+        /**
+         * Test: Les escriptures a taules que la consulta no llegeix no la invaliden.
+         */
+        @Test
+        @DisplayName("Canvis a projects i employee_project no invaliden la consulta per tipus")
+        void findEmployeesByContactType_AltresTaules_NoInvalida() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            Employee emp = crearEmpleatComplet("Anna", 1, null);
+            Manager.findEmployeesByContactType("EMAIL");
+
+            // ACT
+            Manager.updateProject(projecte.getProjectId(), "P1", "Nova", "ACTIU");
+            Manager.assignEmployeesToProject(projecte.getProjectId(), List.of(emp.getEmployeeId()));
+            Manager.getStatistics().clear();
+            Manager.findEmployeesByContactType("EMAIL");
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(1, Manager.getStatistics().getQueryCacheHitCount()),
+                () -> assertEquals(0, Manager.getStatistics().getQueryCacheMissCount())
+            );
+        }
+
+        /**
+         * Test: Un canvi a employee_project invalida la consulta per projecte,
+         * però un canvi de contactes no.
+         */
+        @Test
+        @DisplayName("findEmployeesByProject s'invalida amb employee_project i no amb contacts")
+        void findEmployeesByProject_InvalidacioPerTaula() {
+            // ARRANGE
+            Project projecte = crearProjecteProva("P1");
+            Employee anna = crearEmpleatComplet("Anna", 0, Set.of(projecte));
+            Employee pere = crearEmpleatProva("Pere", "Puig");
+            assertThat(membres(projecte)).containsExactly(anna.getEmployeeId());
+
+            // ACT i ASSERT: contacts no afecta
+            Manager.addContactToEmployee(pere.getEmployeeId(), "EMAIL", "pere@test.com", "Email");
+            Manager.getStatistics().clear();
+            membres(projecte);
+            assertEquals(1, Manager.getStatistics().getQueryCacheHitCount());
+
+            // ACT i ASSERT: employee_project sí
+            Manager.updateEmployeeProjects(pere.getEmployeeId(), Set.of(projecte));
+            assertThat(membres(projecte)).containsExactly(anna.getEmployeeId(), pere.getEmployeeId());
+        }
+
+        /**
+         * Test: Els comptadors de la region de consultes.
+         */
+        @Test
+        @DisplayName("getCacheRegionStatistics inclou la region de consultes")
+        void getCacheRegionStatistics_RegionConsultes() {
+            // ARRANGE
+            crearEmpleatComplet("Anna", 1, null);
+            Manager.getStatistics().clear();
+
+            // ACT
+            Manager.findEmployeesByContactType("EMAIL");
+            Manager.findEmployeesByContactType("EMAIL");
+            CacheRegionStatistics lookups = Manager.getCacheRegionStatistics()
+                    .get(Manager.EMPLOYEE_LOOKUP_CACHE_REGION);
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(1, lookups.getMissCount()),
+                () -> assertEquals(1, lookups.getHitCount()),
+                () -> assertEquals(1, lookups.getPutCount())
+            );
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.project.dao;
+
+import com.project.domain.Contact;
+import com.project.domain.Employee;
+
+import org.hibernate.HibernateException;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS DE L'ESCRIPTOR ÚNIC AMB COMMIT AGRUPAT
+ * ============================================
+ *
+ * Amb project.write_mode=single_writer totes les escriptures del Manager
+ * les executa un sol fil, que agrupa les operacions encuades en un commit.
+ *
+ * Per fer-ho determinista, els tests bloquegen la BD des d'una connexió
+ * JDBC pròpia (BEGIN IMMEDIATE): l'escriptor es queda esperant el bloqueig
+ * amb la primera operació i les següents s'acumulen a la cua. En alliberar
+ * el bloqueig, la primera s'executa sola i la resta en un sol commit.
+ *
+ * Comprova:
+ * - Que les operacions encuades es confirmen en un sol commit
+ * - Que una operació que falla no fa fallar les altres del seu grup
+ * - Que les lectures no esperen l'escriptor (WAL)
+ * - Que les insercions massives i els tipus de contacte nous també hi passen
+ * - Que close() executa les operacions pendents
+ * - Que els commits són durables (synchronous=FULL)
+ *
+ * No hereta de HibernateTestBase perquè necessita SQLite
+ * (hibernate-test-single-writer.properties).
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Tests de l'escriptor únic")
+class ManagerSingleWriterTest {
+
+    private static final String PROPERTIES = "hibernate-test-single-writer.properties";
+    private static final String URL = "jdbc:sqlite:./target/single-writer-test.db";
+
+    /**
+     * Temps màxim esperant que la cua arribi a una mida (menys que el
+     * busy_timeout de 5 s del perfil performance).
+     */
+    private static final long QUEUE_TIMEOUT_MILLIS = 3_000;
+
+    private ExecutorService executor;
+
+    @BeforeAll
+    void initHibernate() {
+        Manager.createSessionFactory(PROPERTIES);
+    }
+
+    @AfterAll
+    void closeHibernate() {
+        Manager.close();
+    }
+
+    /**
+     * El primer ID de cada SessionFactory llegeix MAX(id) (BlockIdGenerator
+     * increment) i una transacció de SQLite que ja ha llegit no espera el
+     * bloqueig: falla amb SQLITE_BUSY. Crear un empleat abans de buidar les
+     * taules deixa el generador carregat i el primer pas d'addEmployee és l'INSERT.
+     */
+    @BeforeEach
+    void cleanDatabase() {
+        Manager.addEmployee("Escalfament", "Writer", 0);
+        Manager.queryUpdate("DELETE FROM employee_project");
+        Manager.queryUpdate("DELETE FROM contacts");
+        Manager.queryUpdate("DELETE FROM projects");
+        Manager.queryUpdate("DELETE FROM employees");
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Obre una connexió pròpia i agafa el bloqueig d'escriptura de la BD.
+     * Tancar-la l'allibera.
+     */
+    private static Connection lockDatabase() throws SQLException {
+        Connection connection = DriverManager.getConnection(URL);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("BEGIN IMMEDIATE");
+        }
+        return connection;
+    }
+
+    /**
+     * Espera que la cua tingui exactament expected operacions pendents.
+     */
+    private static void awaitPending(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + QUEUE_TIMEOUT_MILLIS;
+        while (Manager.getWriteQueueMetrics().pending() != expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("La cua no ha arribat a " + expected + " operacions: " + Manager.getWriteQueueMetrics());
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Espera que l'escriptor hagi agafat una operació (i es quedi esperant
+     * el bloqueig de la BD).
+     */
+    private static void awaitWriterBusy() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + QUEUE_TIMEOUT_MILLIS;
+        while (Manager.getWriteQueueMetrics().running() != 1) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("L'escriptor no ha agafat cap operació: " + Manager.getWriteQueueMetrics());
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private Future<Employee> addEmployeeAsync(String firstName) {
+        return executor.submit(() -> Manager.addEmployee(firstName, "Writer", 30000));
+    }
+
+    private static long countEmployees() {
+        return Manager.inReadOnlySession("comptar empleats", session ->
+                session.createQuery("SELECT COUNT(e) FROM Employee e", Long.class).getSingleResult());
+    }
+
+    // ========================================================================
+    // TESTS DEL COMMIT AGRUPAT
+    // ========================================================================
+
+    /**
+     * Test: Les operacions que esperen a la cua es confirmen en un sol commit
+     * i cada fil rep el seu empleat amb ID.
+     */
+    @Test
+    @DisplayName("Les escriptures encuades es confirmen en un sol commit")
+    void escripturesEncuades_UnSolCommit() throws Exception {
+        // ARRANGE
+        int fils = 20;
+        WriteQueueMetrics abans = Manager.getWriteQueueMetrics();
+        List<Future<Employee>> resultats = new ArrayList<>();
+
+        // ACT
+        try (Connection lock = lockDatabase()) {
+            resultats.add(addEmployeeAsync("Primer"));
+            awaitWriterBusy();  // L'escriptor l'ha agafat i espera el bloqueig
+            for (int i = 0; i < fils - 1; i++) {
+                resultats.add(addEmployeeAsync("Encuat" + i));
+            }
+            awaitPending(fils - 1);
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Future<Employee> resultat : resultats) {
+            ids.add(resultat.get().getEmployeeId());
+        }
+        WriteQueueMetrics despres = Manager.getWriteQueueMetrics();
+
+        // ASSERT
+        assertAll(
+            () -> assertEquals(fils, ids.stream().distinct().count()),
+            () -> assertEquals(fils, countEmployees()),
+            () -> assertEquals(fils, despres.operations() - abans.operations()),
+            () -> assertEquals(2, despres.commits() - abans.commits()),
+            () -> assertEquals(fils - 1, despres.largestBatch())
+        );
+    }
+
+    /**
+     * Test: Si una operació del grup falla, només falla aquesta: les altres
+     * es tornen a executar soles i es confirmen.
+     */
+    @Test
+    @DisplayName("Una operació errònia no fa fallar la resta del grup")
+    void operacioErronia_NomesFallaElla() throws Exception {
+        // ARRANGE
+        WriteQueueMetrics abans = Manager.getWriteQueueMetrics();
+        List<Future<Employee>> correctes = new ArrayList<>();
+        Future<?> erronia;
+
+        // ACT
+        try (Connection lock = lockDatabase()) {
+            correctes.add(addEmployeeAsync("Primer"));
+            awaitWriterBusy();
+            correctes.add(addEmployeeAsync("Abans"));
+            awaitPending(1);
+            erronia = executor.submit(() -> Manager.queryUpdate("UPDATE taula_inexistent SET x = 1"));
+            awaitPending(2);
+            correctes.add(addEmployeeAsync("Despres"));
+            awaitPending(3);
+        }
+
+        // ASSERT
+        ExecutionException error = assertThrows(ExecutionException.class, erronia::get);
+        assertInstanceOf(HibernateException.class, error.getCause());
+        for (Future<Employee> correcta : correctes) {
+            assertNotNull(correcta.get().getEmployeeId());
+        }
+        assertAll(
+            () -> assertEquals(3, countEmployees()),
+            () -> assertEquals(3, Manager.getWriteQueueMetrics().retried() - abans.retried())
+        );
+    }
+
+    // ========================================================================
+    // TESTS DE LECTURA I ALTRES ESCRIPTURES
+    // ========================================================================
+
+    /**
+     * Test: Amb l'escriptor bloquejat, les lectures acaben igualment i
+     * veuen l'última versió confirmada.
+     */
+    @Test
+    @DisplayName("Les lectures no esperen l'escriptor")
+    void lectures_NoEsperenLEscriptor() throws Exception {
+        // ARRANGE
+        Employee existent = Manager.addEmployee("Anna", "Garcia", 40000);
+        Future<Employee> pendent;
+
+        // ACT
+        try (Connection lock = lockDatabase()) {
+            pendent = addEmployeeAsync("Pendent");
+            awaitWriterBusy();
+            Employee llegit = Manager.getById(Employee.class, existent.getEmployeeId());
+
+            // ASSERT
+            assertNotNull(llegit);
+            assertEquals(1, countEmployees());
+            assertFalse(pendent.isDone());
+        }
+        assertNotNull(pendent.get().getEmployeeId());
+        assertEquals(2, countEmployees());
+    }
+
+    /**
+     * Test: Les insercions massives (exclusives a la cua) i els contactes
+     * amb tipus nous funcionen igual que en mode direct, índexs inclosos.
+     */
+    @Test
+    @DisplayName("Insercions massives i tipus nous passen per l'escriptor")
+    void insercionsMassives_ITipusNous() {
+        // ARRANGE
+        List<Employee> empleats = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Employee emp = new Employee("Massiu" + i, "Writer", 20000);
+            emp.addContact(new Contact("EMAIL", "massiu" + i + "@escriptor.cat", null));
+            empleats.add(emp);
+        }
+
+        // ACT
+        List<Long> ids = Manager.addEmployees(empleats, 10);
+        Contact contacte = Manager.addContactToEmployee(ids.get(0), "TIPUS_ESCRIPTOR", "escriptor-nou", null);
+
+        // ASSERT
+        assertAll(
+            () -> assertEquals(30, ids.size()),
+            () -> assertEquals(30, countEmployees()),
+            () -> assertNotNull(contacte.getContactId()),
+            () -> assertEquals(30, Manager.searchContacts("@escriptor.cat", 100).size()),
+            () -> assertEquals(1, Manager.findContactsByEmployeeAndType(ids.get(0), "TIPUS_ESCRIPTOR").size())
+        );
+    }
+
+    // ========================================================================
+    // TESTS DE TANCAMENT
+    // ========================================================================
+
+    /**
+     * Test: Amb el perfil performance i sense project.sqlite.synchronous,
+     * l'escriptor únic confirma amb synchronous=FULL (2).
+     */
+    @Test
+    @DisplayName("Els commits de l'escriptor únic són durables")
+    void synchronous_Full() {
+        String synchronous = Manager.inReadOnlySession("PRAGMA synchronous", session ->
+                session.doReturningWork(connection -> {
+                    try (Statement statement = connection.createStatement();
+                         ResultSet rs = statement.executeQuery("PRAGMA synchronous")) {
+                        rs.next();
+                        return rs.getString(1);
+                    }
+                }));
+
+        assertEquals("2", synchronous);
+    }
+
+    /**
+     * Test: close() espera les operacions encuades i després ja no n'accepta.
+     */
+    @Test
+    @DisplayName("close() executa les escriptures pendents")
+    void close_ExecutaLesPendents() throws Exception {
+        // ARRANGE
+        int fils = 10;
+        List<Future<Employee>> resultats = new ArrayList<>();
+        Future<?> tancament;
+
+        // ACT
+        try (Connection lock = lockDatabase()) {
+            resultats.add(addEmployeeAsync("Primer"));
+            awaitWriterBusy();
+            for (int i = 0; i < fils - 1; i++) {
+                resultats.add(addEmployeeAsync("Pendent" + i));
+            }
+            awaitPending(fils - 1);
+            tancament = executor.submit(Manager::close);
+        }
+        tancament.get();
+
+        // ASSERT
+        try {
+            for (Future<Employee> resultat : resultats) {
+                assertNotNull(resultat.get().getEmployeeId());
+            }
+        } finally {
+            Manager.createSessionFactory(PROPERTIES);
+        }
+        assertEquals(fils, countEmployees());
+    }
+}
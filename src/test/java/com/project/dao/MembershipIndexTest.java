@@ -0,0 +1,137 @@
+package com.project.dao;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS UNITARIS DE MembershipIndex
+ * =================================
+ *
+ * Proven l'estructura sense BD: construcció a partir de parells,
+ * actualitzacions incrementals i les operacions sobre arrays ordenats
+ * (inclosos els dos camins de la unió: bitmap i fusió).
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests unitaris de MembershipIndex")
+class MembershipIndexTest {
+
+    private MembershipIndex index;
+
+    /**
+     * Empleats 1, 2 i 3; projectes 10 i 20.
+     * 1 -> {10, 20}, 2 -> {10}, 3 -> {20}
+     */
+    @BeforeEach
+    void setUp() {
+        index = new MembershipIndex();
+        index.load(new long[] {1, 2, 3, 1, 1}, new long[] {20, 10, 20, 10, 20}, 5, 0);
+    }
+
+    @Nested
+    @DisplayName("Construcció i consultes")
+    class LoadTests {
+
+        @Test
+        @DisplayName("load agrupa, ordena i treu duplicats")
+        void load_AgrupaIOrdena() {
+            assertAll(
+                () -> assertArrayEquals(new long[] {10, 20}, index.projectsOf(1)),
+                () -> assertArrayEquals(new long[] {1, 2}, index.membersOf(10)),
+                () -> assertArrayEquals(new long[] {1, 3}, index.membersOf(20)),
+                () -> assertEquals(3, index.employeeCount()),
+                () -> assertEquals(2, index.projectCount())
+            );
+        }
+
+        @Test
+        @DisplayName("Intersecció i unió")
+        void interseccioIUnio() {
+            assertAll(
+                () -> assertArrayEquals(new long[] {1}, index.membersOfAll(10, 20)),
+                () -> assertArrayEquals(new long[] {1, 2, 3}, index.membersOfAny(10, 20)),
+                () -> assertArrayEquals(new long[] {1, 2}, index.membersOfAny(10, 99)),
+                () -> assertArrayEquals(new long[0], index.membersOfAll(10, 99))
+            );
+        }
+
+        @Test
+        @DisplayName("La unió d'IDs dispersos fa servir la fusió")
+        void unio_IdsDispersos() {
+            // ARRANGE: rang de 10^12 per 3 IDs, massa gran per un bitmap
+            index.load(new long[] {5, 1_000_000_000_000L, 7}, new long[] {1, 1, 2}, 3, 0);
+
+            // ACT i ASSERT
+            assertArrayEquals(new long[] {5, 7, 1_000_000_000_000L}, index.membersOfAny(1, 2));
+        }
+
+        @Test
+        @DisplayName("load indica si s'ha aplicat una escriptura des de la lectura")
+        void load_DetectaEscripturesEntremig() {
+            // ARRANGE
+            long readFrom = index.updateCount();
+            index.setProjectsOf(4, new long[] {10});
+
+            // ACT
+            boolean coherent = index.load(new long[] {1}, new long[] {10}, 1, readFrom);
+
+            // ASSERT
+            assertFalse(coherent);
+            assertTrue(index.load(new long[] {1}, new long[] {10}, 1, index.updateCount()));
+        }
+
+        @Test
+        @DisplayName("La unió amb una sola fila no comparteix l'array intern")
+        void unio_UnaFila_Copia() {
+            index.membersOfAny(99, 10, 98)[0] = -1;
+            assertArrayEquals(new long[] {1, 2}, index.membersOf(10));
+        }
+    }
+
+    @Nested
+    @DisplayName("Actualitzacions incrementals")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("setProjectsOf ajusta les dues bandes")
+        void setProjectsOf_DuesBandes() {
+            index.setProjectsOf(2, new long[] {20, 30});
+
+            assertAll(
+                () -> assertArrayEquals(new long[] {1}, index.membersOf(10)),
+                () -> assertArrayEquals(new long[] {1, 2, 3}, index.membersOf(20)),
+                () -> assertArrayEquals(new long[] {2}, index.membersOf(30)),
+                () -> assertTrue(index.isMember(2, 30)),
+                () -> assertFalse(index.isMember(2, 10))
+            );
+        }
+
+        @Test
+        @DisplayName("removeProject i removeEmployee no deixen files buides")
+        void remove_SenseFilesBuides() {
+            index.removeProject(10);
+            index.removeEmployee(3);
+
+            assertAll(
+                () -> assertArrayEquals(new long[] {20}, index.projectsOf(1)),
+                () -> assertArrayEquals(new long[0], index.projectsOf(2)),
+                () -> assertArrayEquals(new long[] {1}, index.membersOf(20)),
+                () -> assertEquals(1, index.employeeCount()),
+                () -> assertEquals(1, index.projectCount())
+            );
+        }
+
+        @Test
+        @DisplayName("removeMembers treu només els indicats")
+        void removeMembers_NomesIndicats() {
+            index.removeMembers(20, new long[] {3, 99});
+
+            assertAll(
+                () -> assertArrayEquals(new long[] {1}, index.membersOf(20)),
+                () -> assertArrayEquals(new long[0], index.projectsOf(3))
+            );
+        }
+    }
+}
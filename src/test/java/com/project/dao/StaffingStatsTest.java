@@ -0,0 +1,170 @@
+package com.project.dao;
+
+import com.project.dao.StaffingStats.EmployeeProjectCount;
+import com.project.dao.StaffingStats.ProjectStaffing;
+import com.project.dao.StaffingStats.TopEarner;
+import com.project.domain.Employee;
+import com.project.domain.Project;
+import com.project.test.HibernateTestBase;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTS DE StaffingStats
+ * ======================
+ *
+ * Estadístiques de plantilla i salaris calculades amb GROUP BY i funcions
+ * de finestra, sense carregar entitats.
+ *
+ * Escenari comú:
+ * - P1 (ACTIU): Anna 50000, Bernat 40000, Carla 40000
+ * - P2 (COMPLETAT): Anna 50000
+ * - P3 (PLANIFICAT): sense empleats
+ * - Dani 30000: sense projectes
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@DisplayName("Tests de StaffingStats")
+class StaffingStatsTest extends HibernateTestBase {
+
+    private Project p1, p2, p3;
+    private Employee anna, bernat, carla, dani;
+
+    @BeforeEach
+    void crearEscenari() {
+        p1 = crearProjecteProva("P1", "Actiu", "ACTIU");
+        p2 = crearProjecteProva("P2", "Completat", "COMPLETAT");
+        p3 = crearProjecteProva("P3", "Planificat", "PLANIFICAT");
+        anna = crearEmpleatProva("Anna", "Puig", 50000);
+        bernat = crearEmpleatProva("Bernat", "Soler", 40000);
+        carla = crearEmpleatProva("Carla", "Vidal", 40000);
+        dani = crearEmpleatProva("Dani", "Roca", 30000);
+        Manager.assignEmployeesToProject(p1.getProjectId(),
+            List.of(anna.getEmployeeId(), bernat.getEmployeeId(), carla.getEmployeeId()));
+        Manager.assignEmployeesToProject(p2.getProjectId(), List.of(anna.getEmployeeId()));
+        Manager.getStatistics().clear();
+    }
+
+    // ========================================================================
+    // PLANTILLA PER PROJECTE
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Plantilla per projecte")
+    class ByProjectTests {
+
+        @Test
+        @DisplayName("Compta empleats i suma salaris de cada projecte")
+        void byProject_TotsElsProjectes() {
+            // ACT
+            List<ProjectStaffing> stats = StaffingStats.byProject(null);
+
+            // ASSERT: ordenats per ID, P3 surt amb 0
+            assertThat(stats).containsExactly(
+                new ProjectStaffing(p1.getProjectId(), "P1", "ACTIU", 3, 130000, 130000 / 3.0),
+                new ProjectStaffing(p2.getProjectId(), "P2", "COMPLETAT", 1, 50000, 50000),
+                new ProjectStaffing(p3.getProjectId(), "P3", "PLANIFICAT", 0, 0, 0)
+            );
+        }
+
+        @Test
+        @DisplayName("Filtra per estat del projecte")
+        void byProject_FiltreEstat() {
+            assertAll(
+                () -> assertThat(StaffingStats.byProject("COMPLETAT"))
+                    .extracting(ProjectStaffing::projectId)
+                    .containsExactly(p2.getProjectId()),
+                () -> assertThat(StaffingStats.byProject("INEXISTENT")).isEmpty()
+            );
+        }
+
+        @Test
+        @DisplayName("Una sola consulta sense carregar entitats")
+        void byProject_UnaConsulta() {
+            // ACT
+            StaffingStats.byProject(null);
+
+            // ASSERT
+            assertAll(
+                () -> assertEquals(1, Manager.getStatistics().getPrepareStatementCount()),
+                () -> assertEquals(0, Manager.getStatistics().getEntityLoadCount()),
+                () -> assertEquals(0, Manager.getStatistics().getCollectionLoadCount())
+            );
+        }
+    }
+
+    // ========================================================================
+    // PROJECTES PER EMPLEAT
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Projectes per empleat")
+    class ByEmployeeTests {
+
+        @Test
+        @DisplayName("Compta els projectes de cada empleat, inclosos els que no en tenen")
+        void projectCount_TotsElsEmpleats() {
+            assertThat(StaffingStats.projectCountByEmployee(null)).containsExactly(
+                new EmployeeProjectCount(anna.getEmployeeId(), "Anna", "Puig", 2),
+                new EmployeeProjectCount(bernat.getEmployeeId(), "Bernat", "Soler", 1),
+                new EmployeeProjectCount(carla.getEmployeeId(), "Carla", "Vidal", 1),
+                new EmployeeProjectCount(dani.getEmployeeId(), "Dani", "Roca", 0)
+            );
+        }
+
+        @Test
+        @DisplayName("Amb filtre d'estat només compta aquells projectes")
+        void projectCount_FiltreEstat() {
+            // ACT
+            List<EmployeeProjectCount> stats = StaffingStats.projectCountByEmployee("COMPLETAT");
+
+            // ASSERT: tots els empleats hi surten, només Anna en té un de COMPLETAT
+            assertThat(stats)
+                .extracting(EmployeeProjectCount::projectCount)
+                .containsExactly(1L, 0L, 0L, 0L);
+        }
+    }
+
+    // ========================================================================
+    // TOP-N SALARIS PER PROJECTE
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Salaris més alts per projecte")
+    class TopPaidTests {
+
+        @Test
+        @DisplayName("Retorna els n primers de cada projecte en ordre")
+        void topPaid_NPrimers() {
+            // ACT
+            List<TopEarner> top = StaffingStats.topPaidByProject(2, null);
+
+            // ASSERT: l'empat de Bernat i Carla es desfà per ID
+            assertThat(top).containsExactly(
+                new TopEarner(p1.getProjectId(), "P1", anna.getEmployeeId(), "Anna", "Puig", 50000, 1),
+                new TopEarner(p1.getProjectId(), "P1", bernat.getEmployeeId(), "Bernat", "Soler", 40000, 2),
+                new TopEarner(p2.getProjectId(), "P2", anna.getEmployeeId(), "Anna", "Puig", 50000, 1)
+            );
+        }
+
+        @Test
+        @DisplayName("Filtra per estat del projecte")
+        void topPaid_FiltreEstat() {
+            assertThat(StaffingStats.topPaidByProject(5, "ACTIU"))
+                .extracting(TopEarner::employeeId)
+                .containsExactly(anna.getEmployeeId(), bernat.getEmployeeId(), carla.getEmployeeId());
+        }
+
+        @Test
+        @DisplayName("n ha de ser positiu")
+        void topPaid_NInvalid() {
+            assertThrows(IllegalArgumentException.class, () -> StaffingStats.topPaidByProject(0, null));
+        }
+    }
+}
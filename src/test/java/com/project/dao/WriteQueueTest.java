@@ -0,0 +1,106 @@
+package com.project.dao;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TESTS UNITARIS DE WriteQueue
+ * ============================
+ *
+ * Proven la cua amb una SessionFactory d'H2 sense entitats: les operacions
+ * no toquen cap taula, només compten si s'han executat.
+ *
+ * Comprova:
+ * - Que un Error dins d'un grup fa fallar els futures del grup
+ * - Que després l'escriptor continua executant la resta de la cua
+ *
+ * @author Test Suite Generator
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Tests unitaris de WriteQueue")
+class WriteQueueTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private SessionFactory factory;
+    private WriteQueue queue;
+
+    @BeforeAll
+    void initFactory() {
+        factory = new Configuration()
+                .setProperty("hibernate.connection.driver_class", "org.h2.Driver")
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:write-queue-test;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    void closeFactory() {
+        factory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        queue = new WriteQueue(factory, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.close();
+    }
+
+    /**
+     * Encua una operació exclusiva que ocupa l'escriptor fins que s'obre la
+     * barrera: les següents s'agrupen.
+     */
+    private CountDownLatch blockWriter() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submitExclusive("bloqueig", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        return release;
+    }
+
+    /**
+     * Test: Un Error dins d'un grup completa amb l'Error els futures del
+     * grup, i l'escriptor executa les operacions que venen després.
+     */
+    @Test
+    @DisplayName("Un Error en un grup no atura l'escriptor")
+    void errorEnUnGrup_NoAturaLEscriptor() throws Exception {
+        // ARRANGE
+        CountDownLatch release = blockWriter();
+        CompletableFuture<String> correcta = queue.submit("correcta", session -> "ok", () -> "ok");
+        CompletableFuture<String> erronia = queue.submit("erronia", session -> {
+            throw new StackOverflowError("Error de prova");
+        }, () -> "no s'hauria d'executar");
+
+        // ACT
+        release.countDown();
+        CompletionException error = assertThrows(CompletionException.class, erronia::join);
+        CompletableFuture<String> despres = queue.submit("despres", session -> "despres", () -> "despres");
+
+        // ASSERT
+        assertInstanceOf(StackOverflowError.class, error.getCause());
+        assertTrue(correcta.isCompletedExceptionally());
+        assertEquals("despres", despres.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+}
@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.*;
  * - Relació ManyToOne amb Employee
  * - equals() i hashCode()
  * - toString()
+ * - ContactTypeConverter amb tipus no registrats
  * 
  * PARTICULARITATS DE CONTACT:
  * - Sempre ha de tenir un Employee associat (nullable=false a BD)
@@ -631,4 +632,40 @@ class ContactEntityTest {
             assertEquals(c1.getValue(), c3.getValue());
         }
     }
+
+    // ========================================================================
+    // TESTS DEL CONVERTER DE TIPUS
+    // ========================================================================
+
+    /**
+     * Grup de tests per a ContactTypeConverter (sense BD: només el diccionari).
+     */
+    @Nested
+    @DisplayName("ContactTypeConverter")
+    class ContactTypeConverterTests {
+
+        private final ContactTypeConverter converter = new ContactTypeConverter();
+
+        /**
+         * Test: Un tipus que no és al diccionari no es tradueix a cap ID:
+         * desar-lo ha de fallar, no escriure un ID inexistent.
+         */
+        @Test
+        @DisplayName("Un tipus no registrat llança IllegalArgumentException")
+        void tipusNoRegistrat_LlancaExcepcio() {
+            // ACT & ASSERT
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> converter.convertToDatabaseColumn("TIPUS_NO_REGISTRAT"));
+            assertThat(error.getMessage()).contains("TIPUS_NO_REGISTRAT");
+        }
+
+        /**
+         * Test: Un tipus null es desa com a null.
+         */
+        @Test
+        @DisplayName("Un tipus null es tradueix a null")
+        void tipusNull_RetornaNull() {
+            assertNull(converter.convertToDatabaseColumn(null));
+        }
+    }
 }